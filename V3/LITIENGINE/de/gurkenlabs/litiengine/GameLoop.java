@@ -27,12 +27,18 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
 	private final List<TimedAction> actions;
 
+	private final List<StateHashListener> stateHashListeners = new CopyOnWriteArrayList<>();
+
 	private long lastUpsTime;
 
 	private float timeScale;
 
 	private int updateCount;
 
+	private volatile boolean deterministic;
+
+	private volatile boolean unthrottled;
+
 	protected GameLoop(String name, final int updateRate) {
 		super(name, updateRate);
 		this.actions = new CopyOnWriteArrayList<>();
@@ -64,6 +70,70 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 		this.timeScale = timeScale;
 	}
 
+	/**
+	 * Determines whether this loop runs in deterministic (lockstep) mode.
+	 * <p>
+	 * In deterministic mode, the delta time of each tick is the fixed tick
+	 * duration of the update rate instead of the measured wall-clock time and the
+	 * current environment's state is hashed after each tick for the registered
+	 * {@code StateHashListener}s. Together with the attach order update sequence of
+	 * the loop, the map id order of the environment's entities and the seeded
+	 * {@link de.gurkenlabs.litiengine.environment.Environment#getRandom()}, the
+	 * same inputs always produce the same sequence of states.
+	 * </p>
+	 *
+	 * @return True if the loop is deterministic; otherwise false.
+	 */
+	@Override
+	public boolean isDeterministic() {
+		return this.deterministic;
+	}
+
+	@Override
+	public void setDeterministic(final boolean deterministic) {
+		this.deterministic = deterministic;
+	}
+
+	/**
+	 * Determines whether this loop runs as fast as possible instead of pausing
+	 * after each tick to meet its update rate.
+	 * <p>
+	 * Unlike a greater time scale, this doesn't change what happens within a
+	 * single tick; the ticks just follow each other without delay. This is
+	 * intended to be used in deterministic mode (e.g. for the headless replay of
+	 * recorded input), because otherwise the measured delta time of a tick would
+	 * only consist of its processing time.
+	 * </p>
+	 *
+	 * @return True if the loop doesn't delay its ticks; otherwise false.
+	 * 
+	 * @see #isDeterministic()
+	 */
+	@Override
+	public boolean isUnthrottled() {
+		return this.unthrottled;
+	}
+
+	@Override
+	public void setUnthrottled(final boolean unthrottled) {
+		this.unthrottled = unthrottled;
+	}
+
+	@Override
+	public void onStateHashed(final StateHashListener listener) {
+		this.stateHashListeners.add(listener);
+	}
+
+	@Override
+	public void removeStateHashListener(final StateHashListener listener) {
+		this.stateHashListeners.remove(listener);
+	}
+
+	@Override
+	public long getDeltaTime() {
+		return this.deterministic ? 1000 / this.getUpdateRate() : super.getDeltaTime();
+	}
+
 	@Override
 	public void updateExecutionTime(int index, long ticks) {
 		for (TimedAction action : this.actions) {
@@ -83,6 +153,13 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 		if (this.getTimeScale() > 0) {
 			super.process();
 			this.executeTimedActions();
+
+			if (this.deterministic && !this.stateHashListeners.isEmpty() && Game.world().environment() != null) {
+				final long hash = Game.world().environment().getStateHash();
+				for (final StateHashListener listener : this.stateHashListeners) {
+					listener.stateHashed(this.getTicks(), hash);
+				}
+			}
 		}
 
 		this.trackUpdateRate();
@@ -94,6 +171,15 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 		return (long) (1000 / (this.getUpdateRate() * scale));
 	}
 
+	@Override
+	protected double delay() {
+		if (this.unthrottled) {
+			return 0;
+		}
+
+		return super.delay();
+	}
+
 	private void executeTimedActions() {
 		final List<TimedAction> executed = new ArrayList<>();
 		for (final TimedAction action : this.actions) {
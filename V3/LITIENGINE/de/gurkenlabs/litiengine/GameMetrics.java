@@ -11,6 +11,11 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 import de.gurkenlabs.litiengine.configuration.ClientConfiguration;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
+import de.gurkenlabs.litiengine.graphics.TextCache;
+import de.gurkenlabs.litiengine.graphics.TextRenderer;
+import de.gurkenlabs.litiengine.resources.ImageCache;
+import de.gurkenlabs.litiengine.resources.Images;
+import de.gurkenlabs.litiengine.resources.Resources;
 
 public final class GameMetrics implements IRenderable {
 	private static final Font TITLE_FONT = new Font(Font.MONOSPACED, Font.BOLD, 12);
@@ -80,6 +85,41 @@ public final class GameMetrics implements IRenderable {
 		return this.usedMemory;
 	}
 
+	/**
+	 * Gets the number of lookups in the derived image cache that found an image.
+	 * 
+	 * @return The number of image cache hits.
+	 * 
+	 * @see Images#cache()
+	 */
+	public long getImageCacheHits() {
+		return Resources.images().cache().getHits();
+	}
+
+	/**
+	 * Gets the number of lookups in the derived image cache that didn't find an
+	 * image.
+	 * 
+	 * @return The number of image cache misses.
+	 * 
+	 * @see Images#cache()
+	 */
+	public long getImageCacheMisses() {
+		return Resources.images().cache().getMisses();
+	}
+
+	/**
+	 * Gets the number of images that were evicted from the derived image cache
+	 * because it exceeded its maximum size.
+	 * 
+	 * @return The number of evicted images.
+	 * 
+	 * @see Images#cache()
+	 */
+	public long getImageCacheEvictions() {
+		return Resources.images().cache().getEvictions();
+	}
+
 	public Color getRenderColor() {
 		return this.renderColor;
 	}
@@ -116,6 +156,21 @@ public final class GameMetrics implements IRenderable {
 			this.drawMetric(g, "java      : " + Runtime.class.getPackage().getImplementationVersion());
 			this.drawMetric(g, "memory    : " + String.format("%-5.5s", this.usedMemory) + " MB");
 			this.drawMetric(g, "threads   : " + Thread.activeCount());
+
+			final ImageCache cache = Resources.images().cache();
+			this.drawTitle(g, "[image cache]");
+			this.drawMetric(g, "images    : " + cache.count() + " - " + String.format("%-5.5s", cache.getSize() / (1024f * 1024f)) + " MB");
+			this.drawMetric(g, "hits      : " + cache.getHits());
+			this.drawMetric(g, "misses    : " + cache.getMisses());
+			this.drawMetric(g, "evictions : " + cache.getEvictions());
+
+			final TextCache textCache = TextRenderer.cache();
+			this.drawTitle(g, "[text cache]");
+			this.drawMetric(g, "texts     : " + textCache.count() + " - "
+					+ String.format("%-5.5s", textCache.getSize() / (1024f * 1024f)) + " MB");
+			this.drawMetric(g, "hits      : " + textCache.getHits());
+			this.drawMetric(g, "misses    : " + textCache.getMisses());
+			this.drawMetric(g, "evictions : " + textCache.getEvictions());
 		}
 
 		// render network metrics
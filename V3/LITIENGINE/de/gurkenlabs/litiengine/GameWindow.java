@@ -43,7 +43,8 @@ public final class GameWindow {
 	private Point screenLocation;
 
 	public GameWindow() {
-		this.hostControl = new JFrame();
+		// without a display there's nothing to host the game in
+		this.hostControl = GraphicsEnvironment.isHeadless() ? null : new JFrame();
 
 		this.resolutionChangedConsumer = new CopyOnWriteArrayList<>();
 
@@ -64,7 +65,10 @@ public final class GameWindow {
 	public void init() {
 		if (Game.isInNoGUIMode()) {
 			this.resolution = new Dimension(0, 0);
-			this.hostControl.setVisible(false);
+			if (this.hostControl != null) {
+				this.hostControl.setVisible(false);
+			}
+
 			return;
 		}
 
@@ -95,7 +99,7 @@ public final class GameWindow {
 			return true;
 		}
 
-		return this.hostControl.isFocusOwner();
+		return this.hostControl != null && this.hostControl.isFocusOwner();
 	}
 
 	public void onResolutionChanged(final Consumer<Dimension> resolutionConsumer) {
@@ -123,15 +127,15 @@ public final class GameWindow {
 	}
 
 	public Dimension getSize() {
-		return this.hostControl.getSize();
+		return this.hostControl != null ? this.hostControl.getSize() : new Dimension();
 	}
 
 	public int getWidth() {
-		return this.hostControl.getWidth();
+		return this.hostControl != null ? this.hostControl.getWidth() : 0;
 	}
 
 	public int getHeight() {
-		return this.hostControl.getHeight();
+		return this.hostControl != null ? this.hostControl.getHeight() : 0;
 	}
 
 	public RenderComponent getRenderComponent() {
@@ -147,20 +151,30 @@ public final class GameWindow {
 			return this.screenLocation;
 		}
 
+		if (this.hostControl == null) {
+			return new Point();
+		}
+
 		this.screenLocation = this.hostControl.getLocationOnScreen();
 		return this.screenLocation;
 	}
 
 	public void setIconImage(Image image) {
-		this.hostControl.setIconImage(image);
+		if (this.hostControl != null) {
+			this.hostControl.setIconImage(image);
+		}
 	}
 
 	public void setIconImages(List<? extends Image> image) {
-		this.hostControl.setIconImages(image);
+		if (this.hostControl != null) {
+			this.hostControl.setIconImages(image);
+		}
 	}
 
 	public void setTitle(String name) {
-		this.hostControl.setTitle(name);
+		if (this.hostControl != null) {
+			this.hostControl.setTitle(name);
+		}
 	}
 
 	private void setResolution(Dimension dim) {
@@ -11,4 +11,34 @@ public interface IGameLoop extends ILoop {
 	public int getUpdateRate();
 
 	public void setTimeScale(float timeScale);
+
+	// loops that don't support the lockstep mode only need to implement the methods above
+
+	public default boolean isDeterministic() {
+		return false;
+	}
+
+	public default void setDeterministic(boolean deterministic) {
+		if (deterministic) {
+			throw new UnsupportedOperationException("the loop doesn't support the deterministic mode");
+		}
+	}
+
+	public default boolean isUnthrottled() {
+		return false;
+	}
+
+	public default void setUnthrottled(boolean unthrottled) {
+		if (unthrottled) {
+			throw new UnsupportedOperationException("the loop doesn't support the unthrottled mode");
+		}
+	}
+
+	public default void onStateHashed(StateHashListener listener) {
+		// a loop that isn't deterministic never hashes its state
+	}
+
+	public default void removeStateHashListener(StateHashListener listener) {
+		// a loop that isn't deterministic never hashes its state
+	}
 }
\ No newline at end of file
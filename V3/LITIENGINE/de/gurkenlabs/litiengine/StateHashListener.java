@@ -0,0 +1,22 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.EventListener;
+
+/**
+ * This listener provides a callback for the state hash that a deterministic
+ * {@code GameLoop} computes after each tick. Peers that run the same simulation
+ * can compare these hashes to detect a desynchronization.
+ *
+ * @see GameLoop#setDeterministic(boolean)
+ * @see de.gurkenlabs.litiengine.environment.Environment#getStateHash()
+ */
+@FunctionalInterface
+public interface StateHashListener extends EventListener {
+	/**
+	 * This method is called after a tick of a deterministic game loop.
+	 *
+	 * @param tick The tick that was just performed.
+	 * @param hash The hash of the environment's state after the tick.
+	 */
+	public void stateHashed(long tick, long hash);
+}
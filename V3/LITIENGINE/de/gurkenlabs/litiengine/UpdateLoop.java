@@ -1,8 +1,13 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,7 +15,12 @@ import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 	private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
-	private final Set<IUpdateable> updatables;
+	private final Map<IUpdateable, Long> updatables;
+
+	// updatables by attach sequence, so that they are always updated in the same order
+	private final Map<Long, IUpdateable> updateOrder;
+	private final AtomicLong attachSequence = new AtomicLong();
+	private final Set<IUpdateable> attached = new AttachedUpdatables();
 
 	private int tickRate;
 
@@ -22,7 +32,8 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
 	protected UpdateLoop(String name, int tickRate) {
 		super(name);
-		this.updatables = Collections.newSetFromMap(new ConcurrentHashMap<IUpdateable, Boolean>());
+		this.updatables = new ConcurrentHashMap<>();
+		this.updateOrder = new ConcurrentSkipListMap<>();
 		this.tickRate = tickRate;
 	}
 
@@ -69,15 +80,27 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 			return;
 		}
 
-		if (!this.updatables.add(updatable)) {
-			log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
-			return;
+		// both maps are changed under the same lock, so that a concurrent detach can't
+		// remove the updatable from one map but not from the other
+		synchronized (this.updateOrder) {
+			final long sequence = this.attachSequence.incrementAndGet();
+			if (this.updatables.putIfAbsent(updatable, sequence) != null) {
+				log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
+				return;
+			}
+
+			this.updateOrder.put(sequence, updatable);
 		}
 	}
 
 	@Override
 	public void detach(final IUpdateable updatable) {
-		this.updatables.remove(updatable);
+		synchronized (this.updateOrder) {
+			final Long sequence = this.updatables.remove(updatable);
+			if (sequence != null) {
+				this.updateOrder.remove(sequence);
+			}
+		}
 	}
 
 	@Override
@@ -100,8 +123,13 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 		return this.processTime;
 	}
 
+	/**
+	 * Gets the attached instances in the order in which they were attached.
+	 * 
+	 * @return The updatables of this loop.
+	 */
 	protected Set<IUpdateable> getUpdatables() {
-		return this.updatables;
+		return Collections.unmodifiableSet(this.attached);
 	}
 
 	/**
@@ -170,4 +198,25 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 	protected void setTickRate(int tickRate) {
 		this.tickRate = tickRate;
 	}
+
+	/**
+	 * A set view of the attached updatables that iterates them in the order in
+	 * which they were attached, without copying them on every tick.
+	 */
+	private final class AttachedUpdatables extends AbstractSet<IUpdateable> {
+		@Override
+		public Iterator<IUpdateable> iterator() {
+			return UpdateLoop.this.updateOrder.values().iterator();
+		}
+
+		@Override
+		public int size() {
+			return UpdateLoop.this.updatables.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o != null && UpdateLoop.this.updatables.containsKey(o);
+		}
+	}
 }
@@ -33,9 +33,16 @@ public class GraphicConfiguration extends ConfigurationGroup {
 		this.graphicQuality = Quality.LOW;
 		this.fullscreen = false;
 		this.renderDynamicShadows = false;
-		Dimension d = Toolkit.getDefaultToolkit().getScreenSize();
-		this.resolutionWidth = d.width;
-		this.resolutionHeight = d.height - 100;
+		if (GraphicsEnvironment.isHeadless()) {
+			// there's no screen to fit, so just use a common resolution
+			this.resolutionWidth = 1280;
+			this.resolutionHeight = 720;
+		} else {
+			Dimension d = Toolkit.getDefaultToolkit().getScreenSize();
+			this.resolutionWidth = d.width;
+			this.resolutionHeight = d.height - 100;
+		}
+
 		this.setEnableResolutionScale(true);
 		this.setReduceFramesWhenNotFocused(true);
 		this.setAntiAliasing(false);
@@ -201,7 +201,8 @@ public class Creature extends CombatEntity implements IMobileEntity {
 	protected void updateAnimationController() {
 		CreatureAnimationController<Creature> controller = new CreatureAnimationController<>(this, true);
 		this.getControllers().addController(controller);
-		if (Game.world().environment() != null && Game.world().environment().isLoaded()) {
+		// if the entity isn't loaded yet, the controller is attached when it is
+		if (this.getEnvironment() != null && this.getEnvironment().isLoaded()) {
 			Game.loop().attach(controller);
 		}
 	}
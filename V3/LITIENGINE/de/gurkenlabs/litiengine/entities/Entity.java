@@ -308,6 +308,9 @@ public abstract class Entity implements IEntity {
 	@Override
 	public void setName(final String name) {
 		this.name = name;
+		if (this.getEnvironment() != null) {
+			this.getEnvironment().updateName(this);
+		}
 	}
 
 	@Override
@@ -155,7 +155,8 @@ public class Prop extends CombatEntity {
 	private void updateAnimationController() {
 		PropAnimationController<Prop> controller = new PropAnimationController<>(this);
 		this.getControllers().addController(controller);
-		if (Game.world().environment() != null && Game.world().environment().isLoaded()) {
+		// if the entity isn't loaded yet, the controller is attached when it is
+		if (this.getEnvironment() != null && this.getEnvironment().isLoaded()) {
 			Game.loop().attach(controller);
 		}
 	}
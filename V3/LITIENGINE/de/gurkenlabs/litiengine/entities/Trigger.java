@@ -3,12 +3,12 @@ package de.gurkenlabs.litiengine.entities;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.Game;
-import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.annotation.CollisionInfo;
 import de.gurkenlabs.litiengine.annotation.EntityInfo;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectProperty;
@@ -18,7 +18,7 @@ import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
 @CollisionInfo(collision = false)
 @EntityInfo(renderType = RenderType.OVERLAY)
-public class Trigger extends CollisionEntity implements IUpdateable {
+public class Trigger extends CollisionEntity {
 	public enum TriggerActivation {
 		COLLISION, INTERACT
 	}
@@ -26,7 +26,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 	public static final String INTERACT_MESSAGE = "interact";
 	private static final Logger log = Logger.getLogger(Trigger.class.getName());
 
-	private List<IEntity> activated;
+	private final Collection<IEntity> activated;
 	private final Collection<TriggerActivatedListener> activatedListeners;
 	private final Collection<TriggerDeactivatedListener> deactivatedListeners;
 	private final Collection<TriggerActivatingCondition> activatingConditions;
@@ -67,7 +67,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 		this.deactivatedListeners = new CopyOnWriteArrayList<>();
 		this.activators = new CopyOnWriteArrayList<>();
 		this.targets = new CopyOnWriteArrayList<>();
-		this.activated = new CopyOnWriteArrayList<>();
+		this.activated = ConcurrentHashMap.newKeySet();
 		this.message = message;
 		this.isOneTimeTrigger = isOneTime;
 		this.activationType = activation;
@@ -223,38 +223,45 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 		this.cooldown = cooldown;
 	}
 
-	@Override
-	public void update() {
-		if (Game.world().environment() == null || this.activationType != TriggerActivation.COLLISION) {
+	/**
+	 * This method is called by the environment when the collision box of the
+	 * specified entity started to overlap the collision box of this trigger. If
+	 * this trigger is activated by collision, it tries to activate for the entity.
+	 * 
+	 * @param entity The entity that entered this trigger.
+	 */
+	public void entered(final ICollisionEntity entity) {
+		if (this.activationType != TriggerActivation.COLLISION || this.activated.contains(entity)) {
 			return;
 		}
 
-		final List<IEntity> collEntities = this.getEntitiesInCollisionBox();
-		for (final IEntity ent : collEntities) {
-			if (this.activated.contains(ent)) {
-				continue;
-			}
+		this.activate(entity, entity.getMapId());
+		this.activated.add(entity);
+	}
 
-			this.activate(ent, ent.getMapId());
+	/**
+	 * This method is called by the environment when the collision box of the
+	 * specified entity stopped to overlap the collision box of this trigger or the
+	 * entity was removed. If this trigger is activated by collision, the
+	 * deactivation event is sent.
+	 * 
+	 * @param entity The entity that exited this trigger.
+	 */
+	public void exited(final ICollisionEntity entity) {
+		if (this.activationType != TriggerActivation.COLLISION || !this.activated.remove(entity)) {
+			return;
 		}
 
-		// send deactivation event
-		for (final IEntity ent : this.activated) {
-			if (!collEntities.contains(ent)) {
-				List<Integer> triggerTargets = this.getTargets();
-				if (triggerTargets.isEmpty()) {
-					triggerTargets = new ArrayList<>();
-					triggerTargets.add(ent.getMapId());
-				}
-
-				final TriggerEvent event = new TriggerEvent(this, ent, triggerTargets);
-				for (final TriggerDeactivatedListener listener : this.deactivatedListeners) {
-					listener.deactivated(event);
-				}
-			}
+		List<Integer> triggerTargets = this.getTargets();
+		if (triggerTargets.isEmpty()) {
+			triggerTargets = new ArrayList<>();
+			triggerTargets.add(entity.getMapId());
 		}
 
-		this.activated = collEntities;
+		final TriggerEvent event = new TriggerEvent(this, entity, triggerTargets);
+		for (final TriggerDeactivatedListener listener : this.deactivatedListeners) {
+			listener.deactivated(event);
+		}
 	}
 
 	private boolean activate(final IEntity activator, final int tar) {
@@ -317,21 +324,6 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 		return true;
 	}
 
-	private List<IEntity> getEntitiesInCollisionBox() {
-		final List<IEntity> collEntities = new CopyOnWriteArrayList<>();
-		for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
-			if (coll == this || !this.activators.isEmpty() && !this.activators.contains(coll.getMapId())) {
-				continue;
-			}
-
-			if (coll.getCollisionBox().intersects(this.getCollisionBox())) {
-				collEntities.add(coll);
-			}
-		}
-
-		return collEntities;
-	}
-
 	private List<Integer> getTargets(int optionalTarget) {
 		// always take local targets if there are any
 		List<Integer> localTargets = this.getTargets();
@@ -0,0 +1,140 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * Indexes the entities of an {@code Environment} by their types and by their
+ * names, so that they can be looked up without iterating all entities.
+ * <p>
+ * An entity is indexed by its concrete class and by all of its superclasses and
+ * interfaces, which are determined once per class. The entities of each type
+ * and name are kept sorted by map id, just like the entities of the
+ * environment.
+ * </p>
+ * <p>
+ * Lookups don't lock and can be performed concurrently with modifications.
+ * </p>
+ */
+final class EntityIndex {
+	private static final Map<Class<?>, Collection<Class<?>>> typeHierarchies = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Map<Integer, IEntity>> entitiesByType = new ConcurrentHashMap<>();
+	private final Map<String, Map<Integer, IEntity>> entitiesByName = new ConcurrentHashMap<>();
+	private final Map<IEntity, String> indexedNames = new IdentityHashMap<>();
+
+	synchronized void add(IEntity entity) {
+		for (Class<?> type : getTypeHierarchy(entity.getClass())) {
+			this.entitiesByType.computeIfAbsent(type, t -> new ConcurrentSkipListMap<>())
+					.put(entity.getMapId(), entity);
+		}
+
+		this.addName(entity);
+	}
+
+	synchronized void remove(IEntity entity) {
+		for (Class<?> type : getTypeHierarchy(entity.getClass())) {
+			final Map<Integer, IEntity> entities = this.entitiesByType.get(type);
+			if (entities != null) {
+				entities.remove(entity.getMapId(), entity);
+			}
+		}
+
+		this.removeName(entity);
+	}
+
+	synchronized void clear() {
+		this.entitiesByType.clear();
+		this.entitiesByName.clear();
+		this.indexedNames.clear();
+	}
+
+	/**
+	 * Moves the specified entity to its current name, if it's indexed under a
+	 * different one.
+	 *
+	 * @param entity The entity whose name might have changed.
+	 */
+	synchronized void updateName(IEntity entity) {
+		if (!this.indexedNames.containsKey(entity)) {
+			return;
+		}
+
+		final String name = this.indexedNames.get(entity);
+		if (name == null ? entity.getName() == null : name.equals(entity.getName())) {
+			return;
+		}
+
+		this.removeName(entity);
+		this.addName(entity);
+	}
+
+	<T> List<T> getByType(Class<? extends T> cls) {
+		final Map<Integer, IEntity> entities = this.entitiesByType.get(cls);
+		if (entities == null) {
+			return new ArrayList<>();
+		}
+
+		final List<T> found = new ArrayList<>(entities.size());
+		for (IEntity entity : entities.values()) {
+			found.add(cls.cast(entity));
+		}
+
+		return found;
+	}
+
+	Collection<IEntity> getByName(String name) {
+		final Map<Integer, IEntity> entities = this.entitiesByName.get(name);
+		return entities != null ? entities.values() : Collections.emptySet();
+	}
+
+	private void addName(IEntity entity) {
+		final String name = entity.getName();
+		this.indexedNames.put(entity, name);
+		if (name != null && !name.isEmpty()) {
+			this.entitiesByName.computeIfAbsent(name, n -> new ConcurrentSkipListMap<>())
+					.put(entity.getMapId(), entity);
+		}
+	}
+
+	private void removeName(IEntity entity) {
+		final String name = this.indexedNames.remove(entity);
+		if (name == null || name.isEmpty()) {
+			return;
+		}
+
+		final Map<Integer, IEntity> entities = this.entitiesByName.get(name);
+		if (entities != null && entities.remove(entity.getMapId(), entity) && entities.isEmpty()) {
+			this.entitiesByName.remove(name, entities);
+		}
+	}
+
+	private static Collection<Class<?>> getTypeHierarchy(Class<?> cls) {
+		return typeHierarchies.computeIfAbsent(cls, c -> {
+			final Set<Class<?>> types = new LinkedHashSet<>();
+			addTypes(c, types);
+			return Collections.unmodifiableCollection(new ArrayList<>(types));
+		});
+	}
+
+	private static void addTypes(Class<?> cls, Set<Class<?>> types) {
+		if (cls == null || !types.add(cls)) {
+			return;
+		}
+
+		addTypes(cls.getSuperclass(), types);
+		for (Class<?> type : cls.getInterfaces()) {
+			addTypes(type, types);
+		}
+	}
+}
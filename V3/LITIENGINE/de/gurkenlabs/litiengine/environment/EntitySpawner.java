@@ -116,6 +116,8 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
 			return;
 		}
 
+		final Random random = Game.world().environment() != null ? Game.world().environment().getRandom()
+				: new Random();
 		switch (this.getSpawnMode()) {
 		case ALLSPAWNPOINTS:
 			for (final Spawnpoint spawn : this.getSpawnPoints()) {
@@ -123,12 +125,12 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
 			}
 			break;
 		case ONERANDOMSPAWNPOINT:
-			final int rnd = new Random().nextInt(this.getSpawnPoints().size());
+			final int rnd = random.nextInt(this.getSpawnPoints().size());
 			this.spawn(this.getSpawnPoints().get(rnd), this.getSpawnAmount());
 			break;
 		case RANDOMSPAWNPOINTS:
 			for (int i = 0; i < this.getSpawnAmount(); i++) {
-				final int rnd2 = new Random().nextInt(this.getSpawnPoints().size());
+				final int rnd2 = random.nextInt(this.getSpawnPoints().size());
 				this.spawn(this.getSpawnPoints().get(rnd2), 1);
 			}
 
@@ -3,26 +3,30 @@ package de.gurkenlabs.litiengine.environment;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
@@ -59,6 +63,7 @@ import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.StaticShadowLayer;
 import de.gurkenlabs.litiengine.graphics.StaticShadowType;
 import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import de.gurkenlabs.litiengine.pathfinding.astar.AStarGrid;
 import de.gurkenlabs.litiengine.physics.GravityForce;
 import de.gurkenlabs.litiengine.physics.IMovementController;
 import de.gurkenlabs.litiengine.resources.Resources;
@@ -71,14 +76,20 @@ public final class Environment implements IRenderable {
 	private static final String GRAVITY_IDENTIFIER = "GRAVITY";
 	private static final Logger log = Logger.getLogger(Environment.class.getName());
 
-	private final Map<Integer, ICombatEntity> combatEntities = new ConcurrentHashMap<>();
-	private final Map<Integer, IMobileEntity> mobileEntities = new ConcurrentHashMap<>();
+	// entities are kept sorted by map id, so that they are always iterated in the same order
+	private final Map<Integer, ICombatEntity> combatEntities = new ConcurrentSkipListMap<>();
+	private final Map<Integer, IMobileEntity> mobileEntities = new ConcurrentSkipListMap<>();
 	private final Map<Integer, GravityForce> gravityForces = new ConcurrentHashMap<>();
 	private final Map<RenderType, Map<Integer, IEntity>> miscEntities = Collections
 			.synchronizedMap(new EnumMap<>(RenderType.class));
 	private final Map<IMapObjectLayer, List<IEntity>> layerEntities = new ConcurrentHashMap<>();
+	private final Map<String, List<IEntity>> layerEntitiesByName = new ConcurrentHashMap<>();
+	private final Map<Integer, List<IEntity>> layerEntitiesById = new ConcurrentHashMap<>();
 	private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
-	private final Map<Integer, IEntity> allEntities = new ConcurrentHashMap<>();
+	private final Map<Integer, IEntity> allEntities = new ConcurrentSkipListMap<>();
+	private final SpatialIndex spatialIndex = new SpatialIndex(SpatialIndex.DEFAULT_CELL_SIZE);
+	private final EntityIndex entityIndex = new EntityIndex();
+	private final OverlapTracker overlapTracker = new OverlapTracker(SpatialIndex.DEFAULT_CELL_SIZE);
 
 	private final Map<RenderType, Collection<EnvironmentRenderListener>> renderListeners = Collections
 			.synchronizedMap(new EnumMap<>(RenderType.class));
@@ -99,6 +110,11 @@ public final class Environment implements IRenderable {
 
 	private AmbientLight ambientLight;
 	private StaticShadowLayer staticShadowLayer;
+	private AStarGrid pathfindingGrid;
+	private Color ambientColor;
+	private Color shadowColor;
+	private boolean lightingUpToDate;
+	private boolean mapObjectsLoaded;
 	private boolean loaded;
 	private boolean initialized;
 	private IMap map;
@@ -106,6 +122,9 @@ public final class Environment implements IRenderable {
 
 	private int gravity;
 
+	private long seed;
+	private Random random;
+
 	static {
 		registerMapObjectLoader(new PropMapObjectLoader());
 		registerMapObjectLoader(new CollisionBoxMapObjectLoader());
@@ -121,8 +140,13 @@ public final class Environment implements IRenderable {
 	public Environment(final IMap map) {
 		this();
 		this.map = map;
+		// environments can be created before the game was initialized, e.g. by tools
+		final boolean deterministic = Game.loop() != null && Game.loop().isDeterministic();
+		if (deterministic && map != null && map.getName() != null) {
+			this.setSeed(map.getName().hashCode());
+		}
+
 		if (this.getMap() != null) {
-			Game.physics().setBounds(this.getMap().getBounds());
 			this.setGravity(this.getMap().getIntValue(MapProperty.GRAVITY));
 		}
 	}
@@ -132,8 +156,9 @@ public final class Environment implements IRenderable {
 	}
 
 	private Environment() {
+		this.setSeed(System.nanoTime());
 		for (RenderType renderType : RenderType.values()) {
-			this.miscEntities.put(renderType, new ConcurrentHashMap<>());
+			this.miscEntities.put(renderType, new ConcurrentSkipListMap<>());
 			this.renderListeners.put(renderType, ConcurrentHashMap.newKeySet());
 			this.renderables.put(renderType, ConcurrentHashMap.newKeySet());
 		}
@@ -250,9 +275,13 @@ public final class Environment implements IRenderable {
 		// we need to load the new entity manually
 		if (this.loaded) {
 			this.load(entity);
+		} else if (entity instanceof LightSource || entity instanceof StaticShadow) {
+			this.lightingUpToDate = false;
 		}
 
 		this.allEntities.put(entity.getMapId(), entity);
+		this.spatialIndex.add(entity);
+		this.entityIndex.add(entity);
 
 		this.fireEntityEvent(l -> l.entityAdded(entity));
 	}
@@ -333,8 +362,13 @@ public final class Environment implements IRenderable {
 		this.mobileEntities.clear();
 		this.gravityForces.clear();
 		this.layerEntities.clear();
+		this.layerEntitiesByName.clear();
+		this.layerEntitiesById.clear();
 		this.entitiesByTag.clear();
 		this.allEntities.clear();
+		this.spatialIndex.clear();
+		this.entityIndex.clear();
+		this.overlapTracker.clear();
 
 		for (RenderType renderType : RenderType.values()) {
 			this.miscEntities.get(renderType).clear();
@@ -359,11 +393,13 @@ public final class Environment implements IRenderable {
 
 		this.ambientLight = null;
 		this.staticShadowLayer = null;
+		this.pathfindingGrid = null;
 
 		for (Map<Integer, IEntity> type : this.miscEntities.values()) {
 			type.clear();
 		}
 
+		this.mapObjectsLoaded = false;
 		this.initialized = false;
 
 		this.fireEvent(l -> l.cleared(this));
@@ -392,9 +428,13 @@ public final class Environment implements IRenderable {
 		// for rectangle we can just use the intersects method
 		if (shape instanceof Rectangle2D) {
 			final Rectangle2D rect = (Rectangle2D) shape;
-			for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition)
-					.collect(Collectors.toList())) {
-				if (combatEntity.getHitBox().intersects(rect)) {
+			for (final IEntity entity : this.spatialIndex.getCandidates(rect)) {
+				if (!(entity instanceof ICombatEntity)) {
+					continue;
+				}
+
+				final ICombatEntity combatEntity = (ICombatEntity) entity;
+				if (condition.test(combatEntity) && combatEntity.getHitBox().intersects(rect)) {
 					foundCombatEntities.add(combatEntity);
 				}
 			}
@@ -404,9 +444,14 @@ public final class Environment implements IRenderable {
 
 		// for other shapes, we check if the shape's bounds intersect the hitbox and
 		// if so, we then check if the actual shape intersects the hitbox
-		for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition)
-				.collect(Collectors.toList())) {
-			if (combatEntity.getHitBox().intersects(shape.getBounds())
+		final Rectangle2D bounds = shape.getBounds();
+		for (final IEntity entity : this.spatialIndex.getCandidates(bounds)) {
+			if (!(entity instanceof ICombatEntity)) {
+				continue;
+			}
+
+			final ICombatEntity combatEntity = (ICombatEntity) entity;
+			if (condition.test(combatEntity) && combatEntity.getHitBox().intersects(bounds)
 					&& GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
 				foundCombatEntities.add(combatEntity);
 			}
@@ -422,7 +467,7 @@ public final class Environment implements IRenderable {
 		}
 		if (shape instanceof Rectangle2D) {
 			final Rectangle2D rect = (Rectangle2D) shape;
-			for (final IEntity entity : this.getEntities()) {
+			for (final IEntity entity : this.spatialIndex.getCandidates(rect)) {
 				if (entity.getBoundingBox().intersects(rect)) {
 					foundEntities.add(entity);
 				}
@@ -432,8 +477,9 @@ public final class Environment implements IRenderable {
 		// for other shapes, we check if the shape's bounds intersect the hitbox
 		// and
 		// if so, we then check if the actual shape intersects the hitbox
-		for (final IEntity entity : this.getEntities()) {
-			if (entity.getBoundingBox().intersects(shape.getBounds())
+		final Rectangle2D bounds = shape.getBounds();
+		for (final IEntity entity : this.spatialIndex.getCandidates(bounds)) {
+			if (entity.getBoundingBox().intersects(bounds)
 					&& GeometricUtilities.shapeIntersects(entity.getBoundingBox(), shape)) {
 				foundEntities.add(entity);
 			}
@@ -442,6 +488,85 @@ public final class Environment implements IRenderable {
 		return foundEntities;
 	}
 
+	/**
+	 * Searches for all entities whose bounding box is within the specified radius
+	 * around the specified location.
+	 * 
+	 * @param center The center of the search.
+	 * @param radius The radius around the center.
+	 * @return A list of all entities within the radius, ordered by their map ids.
+	 */
+	public Collection<IEntity> findEntities(final Point2D center, final double radius) {
+		final Collection<IEntity> foundEntities = new ArrayList<>();
+		if (center == null) {
+			return foundEntities;
+		}
+
+		final Rectangle2D bounds = new Rectangle2D.Double(center.getX() - radius, center.getY() - radius, radius * 2,
+				radius * 2);
+		for (final IEntity entity : this.spatialIndex.getCandidates(bounds)) {
+			if (SpatialIndex.distance(entity, center) <= radius) {
+				foundEntities.add(entity);
+			}
+		}
+
+		return foundEntities;
+	}
+
+	/**
+	 * Searches for all entities whose bounding box intersects the specified line,
+	 * e.g. to find out which entities are hit by a projectile.
+	 * 
+	 * @param line The line to check intersection for.
+	 * @return A list of all entities that intersect the line, ordered by the
+	 *         distance from the start of the line to the point where the line
+	 *         enters their bounding box.
+	 */
+	public List<IEntity> findEntities(final Line2D line) {
+		final List<IEntity> foundEntities = new ArrayList<>();
+		if (line == null) {
+			return foundEntities;
+		}
+
+		final Map<IEntity, Double> hits = new IdentityHashMap<>();
+		for (final IEntity entity : this.spatialIndex.getCandidates(line.getBounds2D())) {
+			final double hit = SpatialIndex.intersect(line, entity.getBoundingBox());
+			if (!Double.isNaN(hit)) {
+				hits.put(entity, hit);
+				foundEntities.add(entity);
+			}
+		}
+
+		// the candidates are ordered by their map ids, which breaks ties
+		foundEntities.sort(Comparator.comparingDouble(hits::get));
+		return foundEntities;
+	}
+
+	/**
+	 * Searches for the entities whose bounding boxes are the closest to the
+	 * specified location.
+	 * 
+	 * @param location  The location to search from.
+	 * @param count     The maximum number of entities to find.
+	 * @param condition An additional condition which determines if an entity
+	 *                  should be considered. It must not add, remove or move any
+	 *                  entities.
+	 * @return A list of at most {@code count} entities, ordered by their distance
+	 *         to the location.
+	 */
+	public List<IEntity> findNearestEntities(final Point2D location, final int count,
+			final Predicate<IEntity> condition) {
+		if (location == null) {
+			return new ArrayList<>();
+		}
+
+		return this.spatialIndex.getNearest(location, count, condition);
+	}
+
+	public List<IEntity> findNearestEntities(final Point2D location, final int count) {
+		return this.findNearestEntities(location, count, entity -> true);
+	}
+
 	public IEntity get(final int mapId) {
 		return this.allEntities.get(mapId);
 	}
@@ -483,13 +608,8 @@ public final class Environment implements IRenderable {
 			return null;
 		}
 
-		for (final IEntity entity : this.allEntities.values()) {
-			if (entity.getName() != null && entity.getName().equals(name)) {
-				return entity;
-			}
-		}
-
-		return null;
+		final Iterator<IEntity> entities = this.entityIndex.getByName(name).iterator();
+		return entities.hasNext() ? entities.next() : null;
 	}
 
 	public <T extends IEntity> T get(Class<T> clss, String name) {
@@ -501,6 +621,19 @@ public final class Environment implements IRenderable {
 		return clss.cast(ent);
 	}
 
+	/**
+	 * Updates the name under which the specified entity is found by this
+	 * environment, e.g. with {@link #get(String)}. Entities call this when their
+	 * name was changed.
+	 * 
+	 * @param entity The entity whose name was changed.
+	 */
+	public void updateName(final IEntity entity) {
+		if (entity != null) {
+			this.entityIndex.updateName(entity);
+		}
+	}
+
 	public Collection<IEntity> getByTag(String... tags) {
 		Collection<IEntity> foundEntities = new ArrayList<>();
 		for (String rawTag : tags) {
@@ -536,11 +669,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public MapArea getArea(final int mapId) {
-		return getById(this.getAreas(), mapId);
+		return this.getById(this.getAreas(), mapId);
 	}
 
 	public MapArea getArea(final String name) {
-		return getByName(this.getAreas(), name);
+		return this.getByName(this.getAreas(), name);
 	}
 
 	public Point2D getCenter() {
@@ -553,11 +686,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public Emitter getEmitter(int mapId) {
-		return getById(this.getEmitters(), mapId);
+		return this.getById(this.getEmitters(), mapId);
 	}
 
 	public Emitter getEmitter(String name) {
-		return getByName(this.getEmitters(), name);
+		return this.getByName(this.getEmitters(), name);
 	}
 
 	public Collection<CollisionBox> getCollisionBoxes() {
@@ -565,11 +698,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public CollisionBox getCollisionBox(int mapId) {
-		return getById(this.getCollisionBoxes(), mapId);
+		return this.getById(this.getCollisionBoxes(), mapId);
 	}
 
 	public CollisionBox getCollisionBox(String name) {
-		return getByName(this.getCollisionBoxes(), name);
+		return this.getByName(this.getCollisionBoxes(), name);
 	}
 
 	public Collection<ICombatEntity> getCombatEntities() {
@@ -577,11 +710,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public ICombatEntity getCombatEntity(final int mapId) {
-		return getById(this.getCombatEntities(), mapId);
+		return this.combatEntities.get(mapId);
 	}
 
 	public ICombatEntity getCombatEntity(String name) {
-		return getByName(this.getCombatEntities(), name);
+		return this.getByName(this.combatEntities, name);
 	}
 
 	public Collection<IEntity> getEntities() {
@@ -647,13 +780,8 @@ public final class Environment implements IRenderable {
 			return Collections.emptySet();
 		}
 
-		for (Entry<IMapObjectLayer, List<IEntity>> entry : this.layerEntities.entrySet()) {
-			if (name.equals(entry.getKey().getName())) {
-				return entry.getValue();
-			}
-		}
-
-		return Collections.emptySet();
+		final List<IEntity> entities = this.layerEntitiesByName.get(name);
+		return entities != null ? entities : Collections.emptySet();
 	}
 
 	/**
@@ -671,28 +799,28 @@ public final class Environment implements IRenderable {
 	 * @see ILayer#getId()
 	 */
 	public Collection<IEntity> getEntitiesByLayer(final int layerId) {
-		for (Entry<IMapObjectLayer, List<IEntity>> entry : this.layerEntities.entrySet()) {
-			if (layerId == entry.getKey().getId()) {
-				return entry.getValue();
-			}
-		}
-
-		return Collections.emptySet();
+		final List<IEntity> entities = this.layerEntitiesById.get(layerId);
+		return entities != null ? entities : Collections.emptySet();
 	}
 
 	public Map<String, Collection<IEntity>> getEntitiesByTag() {
 		return this.entitiesByTag;
 	}
 
+	/**
+	 * Gets all entities that are instances of the specified class or interface,
+	 * sorted by their map id.
+	 * <p>
+	 * The entities are looked up from an index that is maintained when entities
+	 * are added or removed, so this doesn't iterate all entities of the
+	 * environment.
+	 * </p>
+	 * 
+	 * @param cls The class or interface of the entities.
+	 * @return A new collection that contains the entities of the specified type.
+	 */
 	public <T> Collection<T> getByType(Class<? extends T> cls) {
-		Collection<T> foundEntities = new ArrayList<>();
-		for (IEntity ent : this.getEntities()) {
-			if (cls.isInstance(ent)) {
-				foundEntities.add(cls.cast(ent));
-			}
-		}
-
-		return foundEntities;
+		return this.entityIndex.getByType(cls);
 	}
 
 	public Collection<LightSource> getLightSources() {
@@ -700,11 +828,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public LightSource getLightSource(final int mapId) {
-		return getById(this.getLightSources(), mapId);
+		return this.getById(this.getLightSources(), mapId);
 	}
 
 	public LightSource getLightSource(String name) {
-		return getByName(this.getLightSources(), name);
+		return this.getByName(this.getLightSources(), name);
 	}
 
 	/**
@@ -725,11 +853,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public IMobileEntity getMobileEntity(final int mapId) {
-		return getById(this.getMobileEntities(), mapId);
+		return this.mobileEntities.get(mapId);
 	}
 
 	public IMobileEntity getMobileEntity(String name) {
-		return getByName(this.getMobileEntities(), name);
+		return this.getByName(this.mobileEntities, name);
 	}
 
 	/**
@@ -751,19 +879,19 @@ public final class Environment implements IRenderable {
 	}
 
 	public Prop getProp(int mapId) {
-		return getById(this.getProps(), mapId);
+		return this.getById(this.getProps(), mapId);
 	}
 
 	public Prop getProp(String name) {
-		return getByName(this.getProps(), name);
+		return this.getByName(this.getProps(), name);
 	}
 
 	public Creature getCreature(int mapId) {
-		return getById(this.getCreatures(), mapId);
+		return this.getById(this.getCreatures(), mapId);
 	}
 
 	public Creature getCreature(String name) {
-		return getByName(this.getCreatures(), name);
+		return this.getByName(this.getCreatures(), name);
 	}
 
 	public Collection<Creature> getCreatures() {
@@ -771,11 +899,11 @@ public final class Environment implements IRenderable {
 	}
 
 	public Spawnpoint getSpawnpoint(final int mapId) {
-		return getById(this.getSpawnPoints(), mapId);
+		return this.getById(this.getSpawnPoints(), mapId);
 	}
 
 	public Spawnpoint getSpawnpoint(final String name) {
-		return getByName(this.getSpawnPoints(), name);
+		return this.getByName(this.getSpawnPoints(), name);
 	}
 
 	public Collection<Spawnpoint> getSpawnPoints() {
@@ -787,23 +915,38 @@ public final class Environment implements IRenderable {
 	}
 
 	public StaticShadow getStaticShadow(int mapId) {
-		return getById(this.getStaticShadows(), mapId);
+		return this.getById(this.getStaticShadows(), mapId);
 	}
 
 	public StaticShadow getStaticShadow(String name) {
-		return getByName(this.getStaticShadows(), name);
+		return this.getByName(this.getStaticShadows(), name);
 	}
 
 	public StaticShadowLayer getStaticShadowLayer() {
 		return this.staticShadowLayer;
 	}
 
+	/**
+	 * Gets the pathfinding grid of this environment with the tile width of its map
+	 * as node size. The grid is built on the first call, unless it was already
+	 * built by {@link GameWorld#prefetch(String)}.
+	 * 
+	 * @return The pathfinding grid or null if this environment has no map.
+	 */
+	public AStarGrid getPathfindingGrid() {
+		if (this.pathfindingGrid == null && this.getMap() != null) {
+			this.pathfindingGrid = this.createPathfindingGrid();
+		}
+
+		return this.pathfindingGrid;
+	}
+
 	public Trigger getTrigger(final int mapId) {
-		return getById(this.getTriggers(), mapId);
+		return this.getById(this.getTriggers(), mapId);
 	}
 
 	public Trigger getTrigger(final String name) {
-		return getByName(this.getTriggers(), name);
+		return this.getByName(this.getTriggers(), name);
 	}
 
 	public Collection<Trigger> getTriggers() {
@@ -814,6 +957,18 @@ public final class Environment implements IRenderable {
 		return new ArrayList<>(this.getEntitiesByTag().keySet());
 	}
 
+	/**
+	 * Initializes this environment by loading the entities of its map and
+	 * rendering its static shadows and ambient light. This doesn't register
+	 * anything with the game loop or the physics engine, which is done when the
+	 * environment is loaded.
+	 * <p>
+	 * Like {@link #load()}, this must be called on the game loop, because it
+	 * calls the map object loaders and the {@code EnvironmentListener}s.
+	 * </p>
+	 * 
+	 * @see #load()
+	 */
 	public final void init() {
 		if (this.initialized) {
 			return;
@@ -821,14 +976,70 @@ public final class Environment implements IRenderable {
 
 		if (this.getMap() != null) {
 			this.loadMapObjects();
-			this.addStaticShadows();
-			this.addAmbientLight();
+
+			// the lighting may already have been baked by a prefetch
+			if (this.staticShadowLayer == null || this.ambientLight == null) {
+				this.addStaticShadows();
+				this.addAmbientLight();
+				this.lightingUpToDate = true;
+			}
 		}
 
 		this.fireEvent(l -> l.initialized(this));
 		this.initialized = true;
 	}
 
+	/**
+	 * Loads the entities of the map, so that the lighting and the pathfinding grid
+	 * can be baked by {@link #bake()} on a background thread. Like {@link #init()},
+	 * this must be called on the game loop.
+	 * 
+	 * @return True if the environment needs to be baked; false if it's already
+	 *         initialized.
+	 */
+	boolean prefetch() {
+		if (this.initialized || this.getMap() == null) {
+			return false;
+		}
+
+		this.loadMapObjects();
+
+		// entities that are added before the baked layers are handed over invalidate
+		// them again
+		this.lightingUpToDate = true;
+		return true;
+	}
+
+	/**
+	 * Renders the static shadows and the ambient light and builds the pathfinding
+	 * grid of this environment. This only reads the entities of the environment
+	 * and can therefore run on a background thread after {@link #prefetch()}.
+	 * 
+	 * @return The baked layers and grid, which are handed over by
+	 *         {@link #init(Baked)}.
+	 */
+	Baked bake() {
+		return new Baked(this.createStaticShadowLayer(), this.createAmbientLight(), this.createPathfindingGrid());
+	}
+
+	/**
+	 * Initializes this environment with the layers and the grid that were baked by
+	 * {@link #bake()}. They are discarded if the environment was initialized on
+	 * the game loop in the meantime.
+	 * 
+	 * @param baked The baked layers and grid.
+	 */
+	void init(final Baked baked) {
+		if (this.initialized) {
+			return;
+		}
+
+		this.staticShadowLayer = baked.staticShadowLayer;
+		this.ambientLight = baked.ambientLight;
+		this.pathfindingGrid = baked.pathfindingGrid;
+		this.init();
+	}
+
 	public boolean isLoaded() {
 		return this.loaded;
 	}
@@ -839,6 +1050,8 @@ public final class Environment implements IRenderable {
 			return;
 		}
 
+		this.random = new Random(this.seed);
+
 		if (this.getMap() != null) {
 			Game.physics().setBounds(new Rectangle2D.Double(0, 0, this.getMap().getSizeInPixels().getWidth(),
 					this.getMap().getSizeInPixels().getHeight()));
@@ -854,7 +1067,17 @@ public final class Environment implements IRenderable {
 		}
 
 		this.getEntities().stream().forEach(this::load);
-		this.updateLighting();
+		Game.loop().attach(this.overlapTracker);
+
+		// the lighting was already rendered if the environment was just initialized
+		if (this.getMap() != null && this.ambientLight == null && this.staticShadowLayer == null) {
+			this.staticShadowLayer = new StaticShadowLayer(this, this.shadowColor);
+			this.ambientLight = new AmbientLight(this, this.ambientColor);
+		} else if (!this.lightingUpToDate) {
+			this.updateLighting();
+		}
+
+		this.lightingUpToDate = false;
 		this.loaded = true;
 		this.fireEvent(l -> l.loaded(this));
 	}
@@ -950,11 +1173,14 @@ public final class Environment implements IRenderable {
 		}
 
 		this.allEntities.remove(entity.getMapId());
-		Iterator<List<IEntity>> iter = this.layerEntities.values().iterator();
+		this.spatialIndex.remove(entity);
+		this.entityIndex.remove(entity);
+		Iterator<Entry<IMapObjectLayer, List<IEntity>>> iter = this.layerEntities.entrySet().iterator();
 		while (iter.hasNext()) {
-			List<IEntity> layer = iter.next();
-			if (layer.remove(entity) && layer.isEmpty()) {
+			Entry<IMapObjectLayer, List<IEntity>> layer = iter.next();
+			if (layer.getValue().remove(entity) && layer.getValue().isEmpty()) {
 				iter.remove();
+				this.removeLayerEntities(layer.getKey(), layer.getValue());
 			}
 		}
 		if (this.miscEntities.get(entity.getRenderType()) != null) {
@@ -1108,6 +1334,68 @@ public final class Environment implements IRenderable {
 		return this.gravity;
 	}
 
+	/**
+	 * Gets the random number generator of this environment. Game logic that needs
+	 * to be reproducible, e.g. for replays or lockstep multiplayer, should use this
+	 * generator instead of its own.
+	 * <p>
+	 * The generator is reset to the environment's seed whenever the environment is
+	 * loaded.
+	 * </p>
+	 * 
+	 * @return The random number generator of this environment.
+	 * @see #setSeed(long)
+	 */
+	public Random getRandom() {
+		return this.random;
+	}
+
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Sets the seed of this environment's random number generator. By default, the
+	 * seed is derived from the map name if the game loop is deterministic and
+	 * random otherwise.
+	 * 
+	 * @param seed The seed.
+	 */
+	public void setSeed(final long seed) {
+		this.seed = seed;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Computes a hash of the simulation state of all entities, i.e. their
+	 * location, size and angle, the hit points of combat entities and the velocity
+	 * of mobile entities. The entities are visited in the order of their map ids,
+	 * so equal states always produce equal hashes.
+	 * 
+	 * @return The hash of the current state.
+	 */
+	public long getStateHash() {
+		long hash = 0xcbf29ce484222325L;
+		for (final IEntity entity : this.allEntities.values()) {
+			hash = hash(hash, entity.getMapId());
+			hash = hash(hash, Double.doubleToLongBits(entity.getX()));
+			hash = hash(hash, Double.doubleToLongBits(entity.getY()));
+			hash = hash(hash, Double.doubleToLongBits(entity.getWidth()));
+			hash = hash(hash, Double.doubleToLongBits(entity.getHeight()));
+			hash = hash(hash, Double.doubleToLongBits(entity.getAngle()));
+
+			if (entity instanceof ICombatEntity) {
+				hash = hash(hash, ((ICombatEntity) entity).getHitPoints().getCurrentValue());
+			}
+
+			if (entity instanceof IMobileEntity) {
+				hash = hash(hash, Float.floatToIntBits(((IMobileEntity) entity).getVelocity().getCurrentValue()));
+			}
+		}
+
+		return hash;
+	}
+
 	public void setGravity(int gravity) {
 		this.gravity = gravity;
 
@@ -1160,6 +1448,9 @@ public final class Environment implements IRenderable {
 			this.unload(entity);
 		}
 
+		Game.loop().detach(this.overlapTracker);
+		this.overlapTracker.clear();
+
 		if (Game.screens() != null && Game.window().getRenderComponent() != null && Game.hasStarted()) {
 			Game.window().getRenderComponent().setBackground(RenderComponent.DEFAULT_BACKGROUND_COLOR);
 		}
@@ -1168,6 +1459,23 @@ public final class Environment implements IRenderable {
 		this.fireEvent(l -> l.unloaded(this));
 	}
 
+	/**
+	 * Releases the static shadow and ambient light layers of this unloaded
+	 * environment, which are images of the size of the whole map. They are
+	 * rendered again with their current colors when the environment is loaded
+	 * again.
+	 */
+	void releaseLighting() {
+		if (this.loaded || !this.initialized || this.ambientLight == null || this.staticShadowLayer == null) {
+			return;
+		}
+
+		this.ambientColor = this.ambientLight.getColor();
+		this.shadowColor = this.staticShadowLayer.getColor();
+		this.ambientLight = null;
+		this.staticShadowLayer = null;
+	}
+
 	public Collection<IEntity> load(final IMapObject mapObject) {
 		if (mapObject == null) {
 			return new ArrayList<>();
@@ -1200,8 +1508,7 @@ public final class Environment implements IRenderable {
 					// the layer's RenderType
 					if (mapObject.getLayer() != null && entity.renderWithLayer()) {
 						this.addEntity(entity);
-						this.layerEntities.computeIfAbsent(mapObject.getLayer(), m -> new CopyOnWriteArrayList<>())
-								.add(entity);
+						this.getOrCreateLayerEntities(mapObject.getLayer()).add(entity);
 					} else {
 						this.add(entity);
 					}
@@ -1214,26 +1521,72 @@ public final class Environment implements IRenderable {
 		return new ArrayList<>();
 	}
 
-	private static <T extends IEntity> T getById(Collection<T> entities, int mapId) {
-		for (final T m : entities) {
-			if (m.getMapId() == mapId) {
-				return m;
+	private List<IEntity> getOrCreateLayerEntities(IMapObjectLayer layer) {
+		return this.layerEntities.computeIfAbsent(layer, l -> {
+			final List<IEntity> entities = new CopyOnWriteArrayList<>();
+			if (l.getName() != null) {
+				this.layerEntitiesByName.putIfAbsent(l.getName(), entities);
+			}
+
+			this.layerEntitiesById.putIfAbsent(l.getId(), entities);
+			return entities;
+		});
+	}
+
+	private void removeLayerEntities(IMapObjectLayer layer, List<IEntity> entities) {
+		if (layer.getName() != null && this.layerEntitiesByName.remove(layer.getName(), entities)) {
+			// another layer with the same name might still have entities
+			for (Entry<IMapObjectLayer, List<IEntity>> other : this.layerEntities.entrySet()) {
+				if (layer.getName().equals(other.getKey().getName())) {
+					this.layerEntitiesByName.putIfAbsent(layer.getName(), other.getValue());
+					break;
+				}
+			}
+		}
+
+		if (this.layerEntitiesById.remove(layer.getId(), entities)) {
+			for (Entry<IMapObjectLayer, List<IEntity>> other : this.layerEntities.entrySet()) {
+				if (layer.getId() == other.getKey().getId()) {
+					this.layerEntitiesById.putIfAbsent(layer.getId(), other.getValue());
+					break;
+				}
+			}
+		}
+	}
+
+	private <T extends IEntity> T getByName(Map<Integer, T> entities, String name) {
+		if (name == null || name.isEmpty()) {
+			return null;
+		}
+
+		for (final IEntity entity : this.entityIndex.getByName(name)) {
+			final T found = entities.get(entity.getMapId());
+			if (found == entity) {
+				return found;
 			}
 		}
 
 		return null;
 	}
 
-	private static <T extends IEntity> T getByName(Collection<T> entities, String name) {
+	@SuppressWarnings("unchecked")
+	private <T extends IEntity> T getById(Collection<T> entities, int mapId) {
+		final IEntity entity = this.allEntities.get(mapId);
+		return entity != null && entities.contains(entity) ? (T) entity : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends IEntity> T getByName(Collection<T> entities, String name) {
 		if (name == null || name.isEmpty()) {
 			return null;
 		}
 
-		for (final T m : entities) {
-			if (m.getName() != null && m.getName().equals(name)) {
-				return m;
+		for (final IEntity entity : this.entityIndex.getByName(name)) {
+			if (entities.contains(entity)) {
+				return (T) entity;
 			}
 		}
+
 		return null;
 	}
 
@@ -1275,19 +1628,36 @@ public final class Environment implements IRenderable {
 	}
 
 	private void addAmbientLight() {
-		final Color ambientColor = this.getMap().getColorValue(MapProperty.AMBIENTCOLOR, AmbientLight.DEFAULT_COLOR);
-		this.ambientLight = new AmbientLight(this, ambientColor);
+		this.ambientLight = this.createAmbientLight();
 	}
 
 	private void addStaticShadows() {
+		this.staticShadowLayer = this.createStaticShadowLayer();
+	}
+
+	private AmbientLight createAmbientLight() {
+		final Color ambientColor = this.getMap().getColorValue(MapProperty.AMBIENTCOLOR, AmbientLight.DEFAULT_COLOR);
+		return new AmbientLight(this, ambientColor);
+	}
+
+	private StaticShadowLayer createStaticShadowLayer() {
 		final Color color = this.getMap().getColorValue(MapProperty.SHADOWCOLOR, StaticShadow.DEFAULT_COLOR);
-		this.staticShadowLayer = new StaticShadowLayer(this, color);
+		return new StaticShadowLayer(this, color);
+	}
+
+	private AStarGrid createPathfindingGrid() {
+		return new AStarGrid(this, this.getMap().getTileSize().width);
 	}
 
 	public Collection<Integer> getAllMapIDs() {
 		return this.allEntities.keySet();
 	}
 
+	private static long hash(final long hash, final long value) {
+		// FNV-1a over the whole value instead of single bytes
+		return (hash ^ value) * 0x100000001b3L;
+	}
+
 	private static void dispose(final Collection<? extends IEntity> entities) {
 		for (final IEntity entity : entities) {
 			if (entity instanceof IUpdateable) {
@@ -1317,8 +1687,9 @@ public final class Environment implements IRenderable {
 			entity.getEnvironment().remove(entity);
 		}
 
-		// 1. add to physics engine
+		// 1. add to physics engine and track the overlaps with triggers
 		loadPhysicsEntity(entity);
+		this.overlapTracker.add(entity);
 
 		// 2. register for update or activate
 		loadUpdatableOrEmitterEntity(entity);
@@ -1335,6 +1706,8 @@ public final class Environment implements IRenderable {
 			this.updateLighting(entity);
 		}
 
+		// the name might have been changed while the environment wasn't loaded
+		this.entityIndex.updateName(entity);
 		entity.loaded(this);
 	}
 
@@ -1376,11 +1749,17 @@ public final class Environment implements IRenderable {
 	}
 
 	private void loadMapObjects() {
+		if (this.mapObjectsLoaded) {
+			return;
+		}
+
 		for (final IMapObjectLayer layer : this.getMap().getMapObjectLayers()) {
 			for (final IMapObject mapObject : layer.getMapObjects()) {
 				this.load(mapObject);
 			}
 		}
+
+		this.mapObjectsLoaded = true;
 	}
 
 	/**
@@ -1396,11 +1775,13 @@ public final class Environment implements IRenderable {
 	 * @param entity
 	 */
 	private void unload(final IEntity entity) {
-		// 1. remove from physics engine
+		// 1. remove from physics engine and stop tracking the overlaps with triggers
 		if (entity instanceof ICollisionEntity) {
 			Game.physics().remove((ICollisionEntity) entity);
 		}
 
+		this.overlapTracker.remove(entity);
+
 		// 2. unregister from update
 		if (entity instanceof IUpdateable) {
 			Game.loop().detach((IUpdateable) entity);
@@ -1424,4 +1805,21 @@ public final class Environment implements IRenderable {
 
 		entity.removed(this);
 	}
+
+	/**
+	 * The lighting layers and the pathfinding grid of an environment that were
+	 * baked on a background thread.
+	 */
+	static final class Baked {
+		private final StaticShadowLayer staticShadowLayer;
+		private final AmbientLight ambientLight;
+		private final AStarGrid pathfindingGrid;
+
+		private Baked(final StaticShadowLayer staticShadowLayer, final AmbientLight ambientLight,
+				final AStarGrid pathfindingGrid) {
+			this.staticShadowLayer = staticShadowLayer;
+			this.ambientLight = ambientLight;
+			this.pathfindingGrid = pathfindingGrid;
+		}
+	}
 }
\ No newline at end of file
@@ -4,18 +4,38 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.resources.Resources;
 
 public final class GameWorld implements IUpdateable {
+	private static final Logger log = Logger.getLogger(GameWorld.class.getName());
+	private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		final Thread thread = new Thread(r, "Environment Prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final Executor GAME_LOOP = action -> Game.loop().perform(0, action);
+
 	private final List<EnvironmentLoadedListener> loadedListeners = new CopyOnWriteArrayList<>();
 	private final List<EnvironmentUnloadedListener> unloadedListeners = new CopyOnWriteArrayList<>();
 	private final Map<String, Collection<EnvironmentListener>> environmentListeners = new ConcurrentHashMap<>();
@@ -24,6 +44,9 @@ public final class GameWorld implements IUpdateable {
 	private final Map<String, Collection<IUpdateable>> updatables = new ConcurrentHashMap<>();
 
 	private final Map<String, Environment> environments = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<Environment>> prefetches = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<IMap>> prefetchedMaps = new ConcurrentHashMap<>();
+	private final Queue<Environment> unloadedEnvironments = new ConcurrentLinkedQueue<>();
 
 	private Environment environment;
 	private ICamera camera;
@@ -31,6 +54,12 @@ public final class GameWorld implements IUpdateable {
 
 	@Override
 	public void update() {
+		// release the resources of one previously unloaded environment per tick
+		final Environment unloaded = this.unloadedEnvironments.poll();
+		if (unloaded != null && unloaded != this.environment()) {
+			unloaded.releaseLighting();
+		}
+
 		if (this.environment() == null) {
 			return;
 		}
@@ -123,7 +152,10 @@ public final class GameWorld implements IUpdateable {
 	 */
 	public void clear() {
 		this.unloadEnvironment();
+		this.awaitPrefetches();
+		this.prefetches.clear();
 		this.environments.clear();
+		this.unloadedEnvironments.clear();
 		this.setCamera(null);
 
 		this.environmentListeners.clear();
@@ -155,6 +187,8 @@ public final class GameWorld implements IUpdateable {
 			return null;
 		}
 
+		// don't load the map a second time while it's being prefetched
+		this.awaitPrefetch(mapName);
 		IMap map = Resources.maps().get(mapName);
 		return this.getEnvironment(map);
 	}
@@ -283,12 +317,97 @@ public final class GameWorld implements IUpdateable {
 		return env;
 	}
 
+	/**
+	 * Initializes the <code>Environment</code> of the map with the specified name
+	 * in the background, so that a subsequent call to
+	 * {@link #loadEnvironment(String)} only needs to register its entities with
+	 * the game loop and the physics engine.
+	 * 
+	 * <p>
+	 * <i>This should be called early enough before a level transition, e.g. when
+	 * the player approaches the exit of the current level. If the environment is
+	 * requested before its map was loaded, the calling thread waits for it; if
+	 * it's loaded before the prefetch has finished, it's initialized on the game
+	 * loop as usual.</i>
+	 * </p>
+	 * 
+	 * <p>
+	 * <i>The prefetch runs in three steps: the map, the images of its tilesets
+	 * and their sprites are loaded on a background thread. The environment is
+	 * created and its map objects are loaded on the game loop, so the map object
+	 * loaders and the environment listeners are never called on the background
+	 * thread. Its lighting layers and pathfinding grid are then baked on the
+	 * background thread and handed over to the environment on the game
+	 * loop.</i>
+	 * </p>
+	 * 
+	 * @param mapName The name of the map.
+	 * @return A future that completes with the initialized environment or with
+	 *         null if no such map can be found.
+	 * 
+	 * @see GameWorld#loadEnvironmentAsync(String)
+	 * @see Environment#getPathfindingGrid()
+	 */
+	public CompletableFuture<Environment> prefetch(String mapName) {
+		if (mapName == null || mapName.isEmpty()) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return this.prefetches.computeIfAbsent(mapName.toLowerCase(), name -> {
+			final CompletableFuture<IMap> map = CompletableFuture.supplyAsync(() -> prefetchMap(mapName),
+					PREFETCH_EXECUTOR);
+			this.prefetchedMaps.put(name, map);
+
+			final CompletableFuture<Environment> env = map
+					.thenComposeAsync(loaded -> this.prefetchEnvironment(name, loaded), GAME_LOOP);
+			env.whenComplete((result, error) -> {
+				this.prefetches.remove(name, env);
+				if (error != null) {
+					log.log(Level.SEVERE, error.getMessage(), error);
+				}
+			});
+
+			return env;
+		});
+	}
+
+	/**
+	 * Prefetches the map with the specified name on a background thread and loads
+	 * its <code>Environment</code> as current environment on the game loop
+	 * afterwards.
+	 * 
+	 * @param mapName The map name by which the environment is identified.
+	 * @return A future that completes with the environment after it was loaded.
+	 * 
+	 * @see GameWorld#prefetch(String)
+	 * @see GameWorld#loadEnvironment(String)
+	 */
+	public CompletableFuture<Environment> loadEnvironmentAsync(String mapName) {
+		final CompletableFuture<Environment> loaded = new CompletableFuture<>();
+		this.prefetch(mapName).whenComplete((map, error) -> Game.loop().perform(0, () -> {
+			try {
+				loaded.complete(this.loadEnvironment(mapName));
+			} catch (RuntimeException e) {
+				log.log(Level.SEVERE, e.getMessage(), e);
+				loaded.completeExceptionally(e);
+			}
+		}));
+
+		return loaded;
+	}
+
 	/**
 	 * Unloads the current <code>Environment</code> and sets it to null.
+	 * 
+	 * <p>
+	 * <i>The baked lighting layers of the unloaded environment are released
+	 * during one of the next ticks and rendered again if it's loaded again.</i>
+	 * </p>
 	 */
 	public void unloadEnvironment() {
 		if (this.environment() != null) {
 			this.environment().unload();
+			this.unloadedEnvironments.add(this.environment());
 
 			for (final EnvironmentUnloadedListener listener : this.unloadedListeners) {
 				listener.unloaded(this.environment());
@@ -436,6 +555,67 @@ public final class GameWorld implements IUpdateable {
 		return null;
 	}
 
+	private CompletableFuture<Environment> prefetchEnvironment(final String name, final IMap map) {
+		if (!this.prefetches.containsKey(name)) {
+			// the game world was cleared in the meantime
+			return CompletableFuture.completedFuture(null);
+		}
+
+		final Environment env = this.getEnvironment(map);
+		if (env == null || !env.prefetch()) {
+			return CompletableFuture.completedFuture(env);
+		}
+
+		return CompletableFuture.supplyAsync(env::bake, PREFETCH_EXECUTOR).thenApplyAsync(baked -> {
+			env.init(baked);
+			return env;
+		}, GAME_LOOP);
+	}
+
+	private static IMap prefetchMap(final String mapName) {
+		final IMap map = Resources.maps().get(mapName);
+		if (map == null) {
+			return null;
+		}
+
+		for (final ITileset tileset : map.getTilesets()) {
+			if (tileset.getImage() == null) {
+				continue;
+			}
+
+			final Spritesheet spritesheet = tileset.getSpritesheet();
+			if (spritesheet != null) {
+				// analyzes all sprites of the tileset's layout
+				spritesheet.getTrimBounds(0, tileset.getMargin(), tileset.getSpacing());
+			}
+		}
+
+		return map;
+	}
+
+	// only waits for the map, because the other steps of a prefetch need the game loop
+	private void awaitPrefetch(final String mapName) {
+		await(this.prefetchedMaps.remove(mapName.toLowerCase()));
+	}
+
+	private void awaitPrefetches() {
+		for (String mapName : this.prefetchedMaps.keySet()) {
+			await(this.prefetchedMaps.remove(mapName));
+		}
+	}
+
+	private static void await(final CompletableFuture<IMap> prefetch) {
+		if (prefetch == null) {
+			return;
+		}
+
+		try {
+			prefetch.join();
+		} catch (CancellationException | CompletionException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+	}
+
 	private void addEnvironment(Environment env) {
 		String mapName = getMapName(env);
 		if (mapName == null) {
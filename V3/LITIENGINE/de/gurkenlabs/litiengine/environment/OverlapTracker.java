@@ -0,0 +1,292 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.Trigger;
+import de.gurkenlabs.litiengine.entities.Trigger.TriggerActivation;
+import de.gurkenlabs.litiengine.physics.Collision;
+
+/**
+ * Keeps track of the collision entities that overlap the triggers of a loaded
+ * {@code Environment} and notifies the triggers when an entity enters or exits
+ * them.
+ * <p>
+ * Triggers and collision entities are kept in two spatial hash grids over their
+ * collision boxes. When an entity is moved or resized, it's only marked as
+ * changed; once per update, the changed entities are moved in the grids and
+ * their overlaps are determined again against the candidates from the other
+ * grid. The difference to their previous overlaps results in the enter and exit
+ * events. If nothing moved, an update does nothing.
+ * </p>
+ * <p>
+ * The events are sent after the overlaps have been updated, so the triggers may
+ * safely move or remove entities when they're notified.
+ * </p>
+ *
+ * @see Trigger#entered(ICollisionEntity)
+ * @see Trigger#exited(ICollisionEntity)
+ */
+final class OverlapTracker implements EntityTransformListener, IUpdateable {
+	private final SpatialIndex triggers;
+	private final SpatialIndex colliders;
+
+	// the pairs of overlapping triggers and collision entities, stored for both
+	// sides so that the pairs of an entity can be updated without a lookup
+	private final Map<IEntity, Set<IEntity>> triggerOverlaps = new IdentityHashMap<>();
+	private final Map<IEntity, Set<IEntity>> colliderOverlaps = new IdentityHashMap<>();
+
+	private final Set<IEntity> tracked = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<IEntity> changed = new LinkedHashSet<>();
+	private final List<Event> pending = new ArrayList<>();
+
+	OverlapTracker(int cellSize) {
+		this.triggers = new SpatialIndex(cellSize, OverlapTracker::getCollisionBox);
+		this.colliders = new SpatialIndex(cellSize, OverlapTracker::getCollisionBox);
+	}
+
+	@Override
+	public void locationChanged(IEntity entity) {
+		this.changed(entity);
+	}
+
+	@Override
+	public void sizeChanged(IEntity entity) {
+		this.changed(entity);
+	}
+
+	synchronized void add(IEntity entity) {
+		final boolean trigger = entity instanceof Trigger
+				&& ((Trigger) entity).getActivationType() == TriggerActivation.COLLISION;
+		if (!trigger && !(entity instanceof ICollisionEntity) || !this.tracked.add(entity)) {
+			return;
+		}
+
+		if (trigger) {
+			this.triggers.add(entity);
+		}
+
+		if (entity instanceof ICollisionEntity) {
+			this.colliders.add(entity);
+		}
+
+		entity.addTransformListener(this);
+		this.changed.add(entity);
+	}
+
+	/**
+	 * Stops tracking the specified entity. The triggers that it was overlapping
+	 * are notified with the next update that the entity exited them, whereas a
+	 * removed trigger doesn't receive any further events.
+	 *
+	 * @param entity the entity to remove
+	 */
+	synchronized void remove(IEntity entity) {
+		if (!this.tracked.remove(entity)) {
+			return;
+		}
+
+		entity.removeTransformListener(this);
+		this.changed.remove(entity);
+
+		if (this.triggers.contains(entity)) {
+			this.triggers.remove(entity);
+			for (final IEntity collider : get(this.triggerOverlaps, entity)) {
+				this.removePair(entity, collider);
+			}
+		}
+
+		if (this.colliders.contains(entity)) {
+			this.colliders.remove(entity);
+			for (final IEntity trigger : get(this.colliderOverlaps, entity)) {
+				this.removePair(trigger, entity);
+				this.pending.add(new Event(trigger, entity, false));
+			}
+		}
+	}
+
+	synchronized void clear() {
+		for (final IEntity entity : this.tracked) {
+			entity.removeTransformListener(this);
+		}
+
+		this.tracked.clear();
+		this.triggers.clear();
+		this.colliders.clear();
+		this.triggerOverlaps.clear();
+		this.colliderOverlaps.clear();
+		this.changed.clear();
+		this.pending.clear();
+	}
+
+	@Override
+	public void update() {
+		final List<Event> events;
+		synchronized (this) {
+			if (this.changed.isEmpty() && this.pending.isEmpty()) {
+				return;
+			}
+
+			// move all changed entities first, so that the overlaps are determined against
+			// the current state of both grids
+			for (final IEntity entity : this.changed) {
+				this.triggers.update(entity);
+				this.colliders.update(entity);
+			}
+
+			for (final IEntity entity : this.changed) {
+				if (this.triggers.contains(entity)) {
+					this.updateTrigger(entity);
+				}
+
+				if (this.colliders.contains(entity)) {
+					this.updateCollider(entity);
+				}
+			}
+
+			this.changed.clear();
+			events = new ArrayList<>(this.pending);
+			this.pending.clear();
+		}
+
+		for (final Event event : events) {
+			// a trigger might have been removed by a previous event
+			if (!this.isTracked(event.trigger)) {
+				continue;
+			}
+
+			final Trigger trigger = (Trigger) event.trigger;
+			if (event.entered) {
+				trigger.entered((ICollisionEntity) event.entity);
+			} else {
+				trigger.exited((ICollisionEntity) event.entity);
+			}
+		}
+	}
+
+	private synchronized void changed(IEntity entity) {
+		if (this.tracked.contains(entity)) {
+			this.changed.add(entity);
+		}
+	}
+
+	private synchronized boolean isTracked(IEntity trigger) {
+		return this.triggers.contains(trigger);
+	}
+
+	private void updateTrigger(IEntity trigger) {
+		final Set<IEntity> overlaps = new LinkedHashSet<>();
+		for (final IEntity collider : this.colliders.getCandidates(getCollisionBox(trigger))) {
+			if (overlaps((Trigger) trigger, collider)) {
+				overlaps.add(collider);
+			}
+		}
+
+		for (final IEntity collider : get(this.triggerOverlaps, trigger)) {
+			if (!overlaps.contains(collider)) {
+				this.removePair(trigger, collider);
+				this.pending.add(new Event(trigger, collider, false));
+			}
+		}
+
+		for (final IEntity collider : overlaps) {
+			if (this.addPair(trigger, collider)) {
+				this.pending.add(new Event(trigger, collider, true));
+			}
+		}
+	}
+
+	private void updateCollider(IEntity collider) {
+		final Set<IEntity> overlaps = new LinkedHashSet<>();
+		for (final IEntity trigger : this.triggers.getCandidates(getCollisionBox(collider))) {
+			if (overlaps((Trigger) trigger, collider)) {
+				overlaps.add(trigger);
+			}
+		}
+
+		for (final IEntity trigger : get(this.colliderOverlaps, collider)) {
+			if (!overlaps.contains(trigger)) {
+				this.removePair(trigger, collider);
+				this.pending.add(new Event(trigger, collider, false));
+			}
+		}
+
+		for (final IEntity trigger : overlaps) {
+			if (this.addPair(trigger, collider)) {
+				this.pending.add(new Event(trigger, collider, true));
+			}
+		}
+	}
+
+	private boolean addPair(IEntity trigger, IEntity collider) {
+		if (!this.triggerOverlaps.computeIfAbsent(trigger, t -> new LinkedHashSet<>()).add(collider)) {
+			return false;
+		}
+
+		this.colliderOverlaps.computeIfAbsent(collider, c -> new LinkedHashSet<>()).add(trigger);
+		return true;
+	}
+
+	private void removePair(IEntity trigger, IEntity collider) {
+		remove(this.triggerOverlaps, trigger, collider);
+		remove(this.colliderOverlaps, collider, trigger);
+	}
+
+	private static List<IEntity> get(Map<IEntity, Set<IEntity>> overlaps, IEntity entity) {
+		final Set<IEntity> entities = overlaps.get(entity);
+		return entities != null ? new ArrayList<>(entities) : Collections.emptyList();
+	}
+
+	private static void remove(Map<IEntity, Set<IEntity>> overlaps, IEntity key, IEntity value) {
+		final Set<IEntity> entities = overlaps.get(key);
+		if (entities != null && entities.remove(value) && entities.isEmpty()) {
+			overlaps.remove(key);
+		}
+	}
+
+	/**
+	 * Checks whether the specified entity can enter the trigger, which is the case
+	 * for all entities that are considered by the physics engine and that are
+	 * allowed to activate the trigger.
+	 *
+	 * @param trigger the trigger
+	 * @param entity  the entity
+	 * @return true if the collision boxes of the trigger and the entity overlap
+	 */
+	private static boolean overlaps(Trigger trigger, IEntity entity) {
+		if (entity == trigger
+				|| !trigger.getActivators().isEmpty() && !trigger.getActivators().contains(entity.getMapId())) {
+			return false;
+		}
+
+		final ICollisionEntity collider = (ICollisionEntity) entity;
+		return (collider.getCollisionType() == Collision.DYNAMIC || collider.getCollisionType() == Collision.STATIC)
+				&& collider.getCollisionBox().intersects(trigger.getCollisionBox());
+	}
+
+	private static Rectangle2D getCollisionBox(IEntity entity) {
+		return ((ICollisionEntity) entity).getCollisionBox();
+	}
+
+	private static final class Event {
+		private final IEntity trigger;
+		private final IEntity entity;
+		private final boolean entered;
+
+		private Event(IEntity trigger, IEntity entity, boolean entered) {
+			this.trigger = trigger;
+			this.entity = entity;
+			this.entered = entered;
+		}
+	}
+}
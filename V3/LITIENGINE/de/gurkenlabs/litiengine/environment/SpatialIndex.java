@@ -0,0 +1,413 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.ICombatEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * A spatial hash grid over the entities of an {@code Environment} that is used
+ * to narrow down spatial queries to the entities in the affected cells.
+ * <p>
+ * Each entity is stored in all the cells that are covered by its bounding box
+ * or, for combat entities, by the union of its bounding box and its hit box.
+ * The index listens to the transform events of its entities and only moves an
+ * entity to other cells if the range of cells that it covers changed. Entities
+ * that would cover too many cells, e.g. large map areas, are kept in a separate
+ * list that is considered by every query.
+ * </p>
+ * <p>
+ * The queries return candidates whose cells overlap the queried area; the
+ * caller is responsible for the exact intersection tests.
+ * </p>
+ * <p>
+ * An index can also be created for other bounds than the bounding box, e.g.
+ * the collision box. Such an index doesn't listen to the transform events
+ * because the bounds might not be up to date yet when the event is fired; its
+ * owner has to call {@link #update(IEntity)} instead.
+ * </p>
+ */
+final class SpatialIndex implements EntityTransformListener {
+	static final int DEFAULT_CELL_SIZE = 64;
+	private static final int MAX_CELLS_PER_ENTITY = 256;
+
+	private static final Comparator<IEntity> BY_MAP_ID = Comparator.comparingInt(IEntity::getMapId);
+
+	private final int cellSize;
+	private final Function<IEntity, Rectangle2D> bounds;
+	private final boolean listening;
+	private final Map<Long, List<Entry>> cells = new HashMap<>();
+	private final Map<IEntity, Entry> entries = new IdentityHashMap<>();
+	private final List<Entry> oversized = new ArrayList<>();
+	private int queryMark;
+
+	// the range of cells that has ever been occupied, which limits the search for
+	// the nearest entities
+	private int minCellX = Integer.MAX_VALUE;
+	private int minCellY = Integer.MAX_VALUE;
+	private int maxCellX = Integer.MIN_VALUE;
+	private int maxCellY = Integer.MIN_VALUE;
+
+	SpatialIndex(int cellSize) {
+		this.cellSize = cellSize;
+		this.bounds = SpatialIndex::getBounds;
+		this.listening = true;
+	}
+
+	SpatialIndex(int cellSize, Function<IEntity, Rectangle2D> bounds) {
+		this.cellSize = cellSize;
+		this.bounds = bounds;
+		this.listening = false;
+	}
+
+	@Override
+	public void locationChanged(IEntity entity) {
+		this.update(entity);
+	}
+
+	@Override
+	public void sizeChanged(IEntity entity) {
+		this.update(entity);
+	}
+
+	synchronized void add(IEntity entity) {
+		if (this.entries.containsKey(entity)) {
+			return;
+		}
+
+		final Entry entry = new Entry(entity);
+		this.entries.put(entity, entry);
+		this.insert(entry, this.bounds.apply(entity));
+		if (this.listening) {
+			entity.addTransformListener(this);
+		}
+	}
+
+	synchronized void remove(IEntity entity) {
+		final Entry entry = this.entries.remove(entity);
+		if (entry == null) {
+			return;
+		}
+
+		this.erase(entry);
+		if (this.listening) {
+			entity.removeTransformListener(this);
+		}
+	}
+
+	synchronized void clear() {
+		if (this.listening) {
+			for (final IEntity entity : this.entries.keySet()) {
+				entity.removeTransformListener(this);
+			}
+		}
+
+		this.entries.clear();
+		this.cells.clear();
+		this.oversized.clear();
+		this.minCellX = Integer.MAX_VALUE;
+		this.minCellY = Integer.MAX_VALUE;
+		this.maxCellX = Integer.MIN_VALUE;
+		this.maxCellY = Integer.MIN_VALUE;
+	}
+
+	synchronized int size() {
+		return this.entries.size();
+	}
+
+	synchronized boolean contains(IEntity entity) {
+		return this.entries.containsKey(entity);
+	}
+
+	/**
+	 * Moves the specified entity to the cells that are covered by its current
+	 * bounds, if they changed.
+	 *
+	 * @param entity the entity to update
+	 */
+	synchronized void update(IEntity entity) {
+		final Entry entry = this.entries.get(entity);
+		if (entry == null) {
+			return;
+		}
+
+		final Rectangle2D entityBounds = this.bounds.apply(entity);
+		if (entry.minX == this.cell(entityBounds.getMinX()) && entry.minY == this.cell(entityBounds.getMinY())
+				&& entry.maxX == this.cell(entityBounds.getMaxX()) && entry.maxY == this.cell(entityBounds.getMaxY())) {
+			return;
+		}
+
+		this.erase(entry);
+		this.insert(entry, entityBounds);
+	}
+
+	/**
+	 * Gets all entities that are stored in the cells that overlap the specified
+	 * area, ordered by their map ids.
+	 *
+	 * @param area the area to search
+	 * @return the entities that might intersect the area
+	 */
+	synchronized List<IEntity> getCandidates(Rectangle2D area) {
+		final List<IEntity> candidates = new ArrayList<>();
+		final int minX = this.cell(area.getMinX());
+		final int minY = this.cell(area.getMinY());
+		final int maxX = this.cell(area.getMaxX());
+		final int maxY = this.cell(area.getMaxY());
+
+		if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.entries.size()) {
+			// the area covers more cells than there are entities
+			for (final Entry entry : this.entries.values()) {
+				if (entry.overlaps(minX, minY, maxX, maxY)) {
+					candidates.add(entry.entity);
+				}
+			}
+		} else {
+			final int mark = ++this.queryMark;
+			for (final Entry entry : this.oversized) {
+				if (entry.overlaps(minX, minY, maxX, maxY)) {
+					candidates.add(entry.entity);
+				}
+			}
+
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					final List<Entry> cell = this.cells.get(key(x, y));
+					if (cell == null) {
+						continue;
+					}
+
+					for (final Entry entry : cell) {
+						if (entry.mark != mark) {
+							entry.mark = mark;
+							candidates.add(entry.entity);
+						}
+					}
+				}
+			}
+		}
+
+		candidates.sort(BY_MAP_ID);
+		return candidates;
+	}
+
+	/**
+	 * Gets the entities whose bounding boxes are the closest to the specified
+	 * location, by searching the cells in rings around the location until no
+	 * closer entity can be found.
+	 *
+	 * @param location  the location to search from
+	 * @param count     the maximum number of entities
+	 * @param condition the condition that the entities must satisfy
+	 * @return the closest entities, ordered by their distance to the location
+	 */
+	synchronized List<IEntity> getNearest(Point2D location, int count, Predicate<? super IEntity> condition) {
+		final List<IEntity> nearest = new ArrayList<>();
+		if (count <= 0 || this.entries.isEmpty()) {
+			return nearest;
+		}
+
+		final Comparator<Candidate> byDistance = Comparator.comparingDouble((Candidate c) -> c.distance)
+				.thenComparing(c -> c.entity, BY_MAP_ID);
+		final PriorityQueue<Candidate> best = new PriorityQueue<>(count, byDistance.reversed());
+		final int mark = ++this.queryMark;
+		for (final Entry entry : this.oversized) {
+			entry.mark = mark;
+			offer(best, count, byDistance, entry.entity, location, condition);
+		}
+
+		final int centerX = this.cell(location.getX());
+		final int centerY = this.cell(location.getY());
+		final int maxRing = this.cells.isEmpty() ? -1
+				: Math.max(Math.max(centerX - this.minCellX, this.maxCellX - centerX),
+						Math.max(centerY - this.minCellY, this.maxCellY - centerY));
+		int visited = this.oversized.size();
+		for (int ring = 0; ring <= maxRing && visited < this.entries.size(); ring++) {
+			if (best.size() == count && best.peek().distance <= (ring - 1.0) * this.cellSize) {
+				// every entity that hasn't been visited yet is at least this far away
+				break;
+			}
+
+			for (int x = centerX - ring; x <= centerX + ring; x++) {
+				final boolean edge = x == centerX - ring || x == centerX + ring;
+				for (int y = centerY - ring; y <= centerY + ring; y += edge ? 1 : 2 * ring) {
+					final List<Entry> cell = this.cells.get(key(x, y));
+					if (cell != null) {
+						for (final Entry entry : cell) {
+							if (entry.mark != mark) {
+								entry.mark = mark;
+								visited++;
+								offer(best, count, byDistance, entry.entity, location, condition);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		while (!best.isEmpty()) {
+			nearest.add(best.poll().entity);
+		}
+
+		Collections.reverse(nearest);
+		return nearest;
+	}
+
+	/**
+	 * Gets the distance between the specified location and the bounding box of the
+	 * entity. The distance is 0 if the location is inside the bounding box.
+	 *
+	 * @param entity   the entity
+	 * @param location the location
+	 * @return the distance between the location and the entity
+	 */
+	static double distance(IEntity entity, Point2D location) {
+		final Rectangle2D box = entity.getBoundingBox();
+		final double dx = Math.max(0, Math.max(box.getMinX() - location.getX(), location.getX() - box.getMaxX()));
+		final double dy = Math.max(0, Math.max(box.getMinY() - location.getY(), location.getY() - box.getMaxY()));
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * Gets the relative position on the line at which it enters the rectangle.
+	 *
+	 * @param line      the line
+	 * @param rectangle the rectangle
+	 * @return the position between 0 (the start of the line) and 1 (the end of
+	 *         the line) or {@code Double.NaN} if the line doesn't intersect the
+	 *         rectangle
+	 */
+	static double intersect(Line2D line, Rectangle2D rectangle) {
+		final double dx = line.getX2() - line.getX1();
+		final double dy = line.getY2() - line.getY1();
+		double enter = 0;
+		double exit = 1;
+		final double[] limits = { -dx, line.getX1() - rectangle.getMinX(), dx, rectangle.getMaxX() - line.getX1(), -dy,
+				line.getY1() - rectangle.getMinY(), dy, rectangle.getMaxY() - line.getY1() };
+		for (int i = 0; i < limits.length; i += 2) {
+			final double p = limits[i];
+			final double q = limits[i + 1];
+			if (p == 0) {
+				if (q < 0) {
+					return Double.NaN;
+				}
+			} else if (p < 0) {
+				enter = Math.max(enter, q / p);
+			} else {
+				exit = Math.min(exit, q / p);
+			}
+		}
+
+		return enter <= exit ? enter : Double.NaN;
+	}
+
+	private static void offer(PriorityQueue<Candidate> best, int count, Comparator<Candidate> byDistance,
+			IEntity entity, Point2D location, Predicate<? super IEntity> condition) {
+		if (!condition.test(entity)) {
+			return;
+		}
+
+		final Candidate candidate = new Candidate(entity, distance(entity, location));
+		if (best.size() < count) {
+			best.add(candidate);
+		} else if (byDistance.compare(candidate, best.peek()) < 0) {
+			best.poll();
+			best.add(candidate);
+		}
+	}
+
+	private static Rectangle2D getBounds(IEntity entity) {
+		final Rectangle2D bounds = entity.getBoundingBox();
+		if (entity instanceof ICombatEntity && ((ICombatEntity) entity).getHitBox() != null) {
+			return bounds.createUnion(((ICombatEntity) entity).getHitBox().getBounds2D());
+		}
+
+		return bounds;
+	}
+
+	private static long key(int x, int y) {
+		return (long) x << 32 | y & 0xFFFFFFFFL;
+	}
+
+	private int cell(double coordinate) {
+		return (int) Math.floor(coordinate / this.cellSize);
+	}
+
+	private void insert(Entry entry, Rectangle2D bounds) {
+		entry.minX = this.cell(bounds.getMinX());
+		entry.minY = this.cell(bounds.getMinY());
+		entry.maxX = this.cell(bounds.getMaxX());
+		entry.maxY = this.cell(bounds.getMaxY());
+		if ((long) (entry.maxX - entry.minX + 1) * (entry.maxY - entry.minY + 1) > MAX_CELLS_PER_ENTITY) {
+			this.oversized.add(entry);
+			return;
+		}
+
+		this.minCellX = Math.min(this.minCellX, entry.minX);
+		this.minCellY = Math.min(this.minCellY, entry.minY);
+		this.maxCellX = Math.max(this.maxCellX, entry.maxX);
+		this.maxCellY = Math.max(this.maxCellY, entry.maxY);
+
+		for (int x = entry.minX; x <= entry.maxX; x++) {
+			for (int y = entry.minY; y <= entry.maxY; y++) {
+				this.cells.computeIfAbsent(key(x, y), k -> new ArrayList<>(4)).add(entry);
+			}
+		}
+	}
+
+	private void erase(Entry entry) {
+		if (this.oversized.remove(entry)) {
+			return;
+		}
+
+		for (int x = entry.minX; x <= entry.maxX; x++) {
+			for (int y = entry.minY; y <= entry.maxY; y++) {
+				final long key = key(x, y);
+				final List<Entry> cell = this.cells.get(key);
+				if (cell != null && cell.remove(entry) && cell.isEmpty()) {
+					this.cells.remove(key);
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+		private final IEntity entity;
+		private int minX;
+		private int minY;
+		private int maxX;
+		private int maxY;
+		private int mark;
+
+		private Entry(IEntity entity) {
+			this.entity = entity;
+		}
+
+		private boolean overlaps(int x1, int y1, int x2, int y2) {
+			return this.minX <= x2 && this.maxX >= x1 && this.minY <= y2 && this.maxY >= y1;
+		}
+	}
+
+	private static final class Candidate {
+		private final IEntity entity;
+		private final double distance;
+
+		private Candidate(IEntity entity, double distance) {
+			this.entity = entity;
+			this.distance = distance;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
@@ -93,6 +94,25 @@ public class MapRenderer {
 				p.x += offset.getX();
 				p.y += offset.getY();
 			}
+
+			// skip the transparent margins of tiles that are rendered directly from their spritesheet
+			final ITileset tileset = tile.getTilesetEntry().getTileset();
+			if (!tile.isFlipped() && tileset.getImage() != null) {
+				final Spritesheet spritesheet = tileset.getSpritesheet();
+				final int id = tile.getTilesetEntry().getId();
+				final int margin = tileset.getMargin();
+				final int spacing = tileset.getSpacing();
+				if (spritesheet != null && image == spritesheet.getSprite(id, margin, spacing)) {
+					final Rectangle trim = spritesheet.getTrimBounds(id, margin, spacing);
+					image = spritesheet.getTrimmedSprite(id, margin, spacing);
+					if (trim == null || image == null) {
+						return;
+					}
+
+					p.translate(trim.x, trim.y);
+				}
+			}
+
 			if (viewport.intersects(p.x, p.y, image.getWidth(), image.getHeight())) {
 				ImageRenderer.render(g, image, p.x - viewport.getX(), p.y - viewport.getY());
 			}
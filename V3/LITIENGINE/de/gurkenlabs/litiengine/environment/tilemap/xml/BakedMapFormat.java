@@ -0,0 +1,89 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+/**
+ * The binary format of the pre-baked maps that are written by the
+ * {@code BakedMapWriter} and read by the {@code BakedMapReader}.
+ * <p>
+ * A baked map starts with a header that consists of the magic number, the
+ * format version and the length of the metadata section. The metadata section
+ * contains the attributes and custom properties of the map, its tileset
+ * references and all layers in document order, including the complete map
+ * objects. It is followed by the tile data section, which starts at the next
+ * 4-byte boundary and holds the grid ids (including the flip flags) of every
+ * tile layer as a packed array of big-endian ints in row-major order. The tile
+ * layers reference their data by its offset into this section, so that the
+ * section can be used in place without being decoded.
+ * </p>
+ * <p>
+ * All strings are stored as their UTF-8 length followed by the UTF-8 bytes,
+ * where a length of -1 denotes {@code null}. Optional colors are stored as a
+ * boolean flag followed by the ARGB value.
+ * </p>
+ *
+ * @see BakedMapWriter
+ * @see BakedMapReader
+ */
+public final class BakedMapFormat {
+	public static final String FILE_EXTENSION = "tmxb";
+
+	static final int MAGIC = 0x544D5842;
+	static final int VERSION = 1;
+
+	/**
+	 * magic number, version and length of the metadata section (all ints).
+	 */
+	static final int HEADER_SIZE = 12;
+
+	/**
+	 * first grid id and the location of the tileset relative to the map.
+	 */
+	static final byte TILESET_EXTERNAL = 0;
+
+	/**
+	 * first grid id and the XML of the tileset.
+	 */
+	static final byte TILESET_EMBEDDED = 1;
+
+	/**
+	 * the offset of the grid ids in the tile data section (int), which directly
+	 * follows the size of the layer.
+	 */
+	static final byte LAYER_TILE = 0;
+
+	/**
+	 * color (string), the number of objects (int) and the objects.
+	 */
+	static final byte LAYER_OBJECT = 1;
+
+	/**
+	 * the image (flag, source, width, height and transparent color) and the
+	 * transparent color of the layer.
+	 */
+	static final byte LAYER_IMAGE = 2;
+
+	/**
+	 * the number of child layers (int) and the child layers.
+	 */
+	static final byte LAYER_GROUP = 3;
+
+	static final byte SHAPE_RECTANGLE = 0;
+	static final byte SHAPE_ELLIPSE = 1;
+	static final byte SHAPE_POINT = 2;
+	static final byte SHAPE_POLYLINE = 3;
+	static final byte SHAPE_POLYGON = 4;
+
+	static final int TEXT_WRAP = 1;
+	static final int TEXT_BOLD = 1 << 1;
+	static final int TEXT_ITALIC = 1 << 2;
+	static final int TEXT_UNDERLINE = 1 << 3;
+	static final int TEXT_STRIKEOUT = 1 << 4;
+	static final int TEXT_KERNING = 1 << 5;
+
+	private BakedMapFormat() {
+		throw new UnsupportedOperationException();
+	}
+
+	static int align(int position) {
+		return (position + 3) & ~3;
+	}
+}
@@ -0,0 +1,355 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+import de.gurkenlabs.litiengine.Align;
+import de.gurkenlabs.litiengine.Valign;
+import de.gurkenlabs.litiengine.environment.tilemap.ICustomProperty;
+import de.gurkenlabs.litiengine.environment.tilemap.ILayer;
+import de.gurkenlabs.litiengine.environment.tilemap.IMapOrientation;
+import de.gurkenlabs.litiengine.environment.tilemap.MapOrientations;
+import de.gurkenlabs.litiengine.environment.tilemap.RenderOrder;
+import de.gurkenlabs.litiengine.environment.tilemap.StaggerAxis;
+import de.gurkenlabs.litiengine.environment.tilemap.StaggerIndex;
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.URLAdapter;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+
+/**
+ * Loads maps that were baked by the {@code BakedMapWriter}.
+ * <p>
+ * Files on the file system are memory-mapped and the tile layers of the loaded
+ * map are {@code BakedTileLayer}s that read their grid ids directly from the
+ * mapped file, so the time it takes to load a map is mostly the time it takes
+ * to read its metadata. Other locations (e.g. resources in a JAR) are read into
+ * memory first.
+ * </p>
+ *
+ * @see BakedMapFormat
+ */
+public final class BakedMapReader {
+	private final URL location;
+	private final ByteBuffer buffer;
+	private final int tileDataStart;
+
+	private BakedMapReader(URL location, ByteBuffer buffer) throws TmxException {
+		this.location = location;
+		this.buffer = buffer;
+
+		if (buffer.remaining() < BakedMapFormat.HEADER_SIZE || buffer.getInt() != BakedMapFormat.MAGIC) {
+			throw new TmxException("not a baked map: " + location);
+		}
+
+		int version = buffer.getInt();
+		if (version != BakedMapFormat.VERSION) {
+			throw new TmxException("unsupported baked map version " + version + ": " + location);
+		}
+
+		this.tileDataStart = BakedMapFormat.align(BakedMapFormat.HEADER_SIZE + buffer.getInt());
+	}
+
+	public static TmxMap read(URL location) throws TmxException {
+		try {
+			return new BakedMapReader(location, map(location)).readMap();
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			throw new TmxException("could not read baked map " + location, e);
+		}
+	}
+
+	private static ByteBuffer map(URL location) throws IOException {
+		if ("file".equals(location.getProtocol())) {
+			try (FileChannel channel = FileChannel.open(Paths.get(location.toURI()), StandardOpenOption.READ)) {
+				// the mapping stays valid after the channel is closed
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+		}
+
+		try (InputStream in = Resources.get(location)) {
+			if (in == null) {
+				throw new IOException("could not find " + location);
+			}
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] chunk = new byte[8192];
+			int read;
+			while ((read = in.read(chunk)) != -1) {
+				bytes.write(chunk, 0, read);
+			}
+
+			return ByteBuffer.wrap(bytes.toByteArray());
+		}
+	}
+
+	private TmxMap readMap() throws TmxException {
+		TmxMap map = new TmxMap();
+		map.setVersion(this.buffer.getDouble());
+		map.setTiledVersion(this.readString());
+
+		IMapOrientation orientation = MapOrientations.forName(this.readString());
+		map.setOrientation(orientation != null ? orientation : MapOrientations.ORTHOGONAL);
+		String renderOrder = this.readString();
+		map.setRenderOrder(renderOrder != null ? RenderOrder.valueOf(renderOrder) : null);
+		map.setWidth(this.buffer.getInt());
+		map.setHeight(this.buffer.getInt());
+		map.setTileWidth(this.buffer.getInt());
+		map.setTileHeight(this.buffer.getInt());
+		int hexSideLength = this.buffer.getInt();
+		if (hexSideLength >= 0) {
+			map.setHexSideLength(hexSideLength);
+		}
+
+		String staggerAxis = this.readString();
+		map.setStaggerAxis(staggerAxis != null ? StaggerAxis.valueOf(staggerAxis) : null);
+		String staggerIndex = this.readString();
+		map.setStaggerIndex(staggerIndex != null ? StaggerIndex.valueOf(staggerIndex) : null);
+		map.setBackgroundColor(this.readColor());
+		map.setNextObjectId(this.buffer.getInt());
+		map.setNextLayerId(this.buffer.getInt());
+		map.setName(this.readString());
+		map.setProperties(this.readProperties());
+
+		int tilesets = this.buffer.getInt();
+		for (int i = 0; i < tilesets; i++) {
+			map.getTilesets().add(this.readTileset());
+		}
+
+		int layers = this.buffer.getInt();
+		for (int i = 0; i < layers; i++) {
+			this.readLayer(map::addLayer);
+		}
+
+		// resolves external tilesets, images and the tiles of map objects
+		map.finish(this.location);
+		return map;
+	}
+
+	private Tileset readTileset() throws TmxException {
+		int firstgid = this.buffer.getInt();
+		byte type = this.buffer.get();
+		String value = this.readString();
+		if (type == BakedMapFormat.TILESET_EXTERNAL) {
+			return new Tileset(firstgid, this.resolve(value));
+		}
+
+		try {
+			JAXBContext context = XmlUtilities.getContext(Tileset.class);
+			if (context == null) {
+				throw new TmxException("could not create the xml context for tilesets");
+			}
+
+			Unmarshaller unmarshaller = context.createUnmarshaller();
+			unmarshaller.setAdapter(new URLAdapter(this.location));
+			return (Tileset) unmarshaller.unmarshal(new StringReader(value));
+		} catch (JAXBException e) {
+			throw new TmxException("could not parse embedded tileset", e);
+		}
+	}
+
+	private void readLayer(Consumer<ILayer> parent) throws TmxException {
+		byte type = this.buffer.get();
+		int id = this.buffer.getInt();
+		String name = this.readString();
+		int width = this.buffer.getInt();
+		int height = this.buffer.getInt();
+
+		final Layer layer;
+		switch (type) {
+		case BakedMapFormat.LAYER_TILE:
+			layer = new BakedTileLayer(this.readTileData(width, height), width, height);
+			break;
+		case BakedMapFormat.LAYER_OBJECT:
+			layer = new MapObjectLayer();
+			break;
+		case BakedMapFormat.LAYER_IMAGE:
+			layer = new ImageLayer();
+			break;
+		case BakedMapFormat.LAYER_GROUP:
+			layer = new GroupLayer();
+			break;
+		default:
+			throw new TmxException("unknown layer type " + type);
+		}
+
+		layer.setId(id);
+		layer.setName(name);
+		layer.setWidth(width);
+		layer.setHeight(height);
+		layer.setOpacity(this.buffer.getFloat());
+		layer.setVisible(this.buffer.get() != 0);
+		layer.setOffsetX(this.buffer.getInt());
+		layer.setOffsetY(this.buffer.getInt());
+		layer.setProperties(this.readProperties());
+
+		// the layer is added before its contents, so that nested layers are added to
+		// the map as well
+		parent.accept(layer);
+
+		if (type == BakedMapFormat.LAYER_OBJECT) {
+			MapObjectLayer objectLayer = (MapObjectLayer) layer;
+			objectLayer.setColor(this.readString());
+			int objects = this.buffer.getInt();
+			for (int i = 0; i < objects; i++) {
+				objectLayer.addMapObject(this.readMapObject());
+			}
+		} else if (type == BakedMapFormat.LAYER_IMAGE) {
+			ImageLayer imageLayer = (ImageLayer) layer;
+			if (this.buffer.get() != 0) {
+				MapImage image = new MapImage();
+				image.setSource(this.readString());
+				image.setWidth(this.buffer.getInt());
+				image.setHeight(this.buffer.getInt());
+				image.setTransparentColor(this.readColor());
+				imageLayer.setImage(image);
+			}
+
+			imageLayer.setTransparentColor(this.readColor());
+		} else if (type == BakedMapFormat.LAYER_GROUP) {
+			GroupLayer group = (GroupLayer) layer;
+			int layers = this.buffer.getInt();
+			for (int i = 0; i < layers; i++) {
+				this.readLayer(group::addLayer);
+			}
+		}
+	}
+
+	private IntBuffer readTileData(int width, int height) {
+		int offset = this.buffer.getInt();
+		ByteBuffer data = this.buffer.duplicate();
+		data.position(this.tileDataStart + offset);
+		data.limit(this.tileDataStart + offset + width * height * Integer.BYTES);
+		return data.slice().asIntBuffer();
+	}
+
+	private MapObject readMapObject() throws TmxException {
+		MapObject mapObject = new MapObject();
+		mapObject.setId(this.buffer.getInt());
+		mapObject.setName(this.readString());
+		mapObject.setType(this.readString());
+		mapObject.setX(this.buffer.getFloat());
+		mapObject.setY(this.buffer.getFloat());
+		mapObject.setWidth(this.buffer.getFloat());
+		mapObject.setHeight(this.buffer.getFloat());
+		int gid = this.buffer.getInt();
+		if (gid != Tile.NONE) {
+			mapObject.setGridId(gid);
+		}
+
+		byte shape = this.buffer.get();
+		switch (shape) {
+		case BakedMapFormat.SHAPE_RECTANGLE:
+			break;
+		case BakedMapFormat.SHAPE_ELLIPSE:
+			mapObject.setEllipse(true);
+			break;
+		case BakedMapFormat.SHAPE_POINT:
+			mapObject.setPoint(true);
+			break;
+		case BakedMapFormat.SHAPE_POLYLINE:
+			Polyline polyline = new Polyline();
+			this.readPoints(polyline);
+			mapObject.setPolyline(polyline);
+			break;
+		case BakedMapFormat.SHAPE_POLYGON:
+			Polygon polygon = new Polygon();
+			this.readPoints(polygon);
+			mapObject.setPolygon(polygon);
+			break;
+		default:
+			throw new TmxException("unknown map object shape " + shape);
+		}
+
+		if (this.buffer.get() != 0) {
+			mapObject.setText(this.readText());
+		}
+
+		mapObject.setProperties(this.readProperties());
+		return mapObject;
+	}
+
+	private void readPoints(PolyShape shape) {
+		int points = this.buffer.getInt();
+		for (int i = 0; i < points; i++) {
+			shape.getPoints().add(new Point2D.Float(this.buffer.getFloat(), this.buffer.getFloat()));
+		}
+	}
+
+	private Text readText() {
+		String text = this.readString();
+		String fontName = this.readString();
+		int pixelSize = this.buffer.getInt();
+		Color color = new Color(this.buffer.getInt(), true);
+		String align = this.readString();
+		String valign = this.readString();
+		int flags = this.buffer.get();
+		return new Text(text, fontName, pixelSize, color, align != null ? Align.valueOf(align) : null,
+				valign != null ? Valign.valueOf(valign) : null, (flags & BakedMapFormat.TEXT_WRAP) != 0,
+				(flags & BakedMapFormat.TEXT_BOLD) != 0, (flags & BakedMapFormat.TEXT_ITALIC) != 0,
+				(flags & BakedMapFormat.TEXT_UNDERLINE) != 0, (flags & BakedMapFormat.TEXT_STRIKEOUT) != 0,
+				(flags & BakedMapFormat.TEXT_KERNING) != 0);
+	}
+
+	private Map<String, ICustomProperty> readProperties() throws TmxException {
+		int count = this.buffer.getInt();
+		Map<String, ICustomProperty> properties = new Hashtable<>(Math.max(count, 1));
+		for (int i = 0; i < count; i++) {
+			String name = this.readString();
+			String type = this.readString();
+			String value = this.readString();
+			CustomProperty property = new CustomProperty(type, value);
+			if ("file".equals(type)) {
+				property.setValue(this.resolve(value));
+			}
+
+			properties.put(name, property);
+		}
+
+		return properties;
+	}
+
+	private Color readColor() {
+		return this.buffer.get() != 0 ? new Color(this.buffer.getInt(), true) : null;
+	}
+
+	private String readString() {
+		int length = this.buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+		this.buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private URL resolve(String relativeLocation) throws TmxException {
+		try {
+			return new URL(this.location, relativeLocation);
+		} catch (MalformedURLException e) {
+			throw new TmxException(e);
+		}
+	}
+}
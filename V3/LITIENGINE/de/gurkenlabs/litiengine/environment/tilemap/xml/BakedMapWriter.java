@@ -0,0 +1,400 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.font.TextAttribute;
+import java.awt.geom.Point2D;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ICustomProperty;
+import de.gurkenlabs.litiengine.environment.tilemap.IGroupLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.IImageLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.ILayer;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.IMapImage;
+import de.gurkenlabs.litiengine.environment.tilemap.IMapObject;
+import de.gurkenlabs.litiengine.environment.tilemap.IMapObjectLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.IMapObjectText;
+import de.gurkenlabs.litiengine.environment.tilemap.IPolyShape;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.MapOrientations;
+import de.gurkenlabs.litiengine.resources.Maps;
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import de.gurkenlabs.litiengine.util.io.URLAdapter;
+import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+
+/**
+ * Bakes maps into the binary format that is described by
+ * {@link BakedMapFormat}. This is meant to be an offline step of the build
+ * process: the baked map can then be loaded by {@link Maps} without parsing any
+ * XML or decoding any tile data.
+ * <p>
+ * Infinite maps are baked as finite maps with the size of their tile layers.
+ * Relative paths (e.g. of images) are written as they are, so the baked map
+ * should be placed next to the map it was created from.
+ * </p>
+ *
+ * @see BakedMapReader
+ */
+public final class BakedMapWriter {
+	private static final Logger log = Logger.getLogger(BakedMapWriter.class.getName());
+
+	private final IMap map;
+	private final DataOutputStream meta;
+	private final List<ITileLayer> tileLayers = new ArrayList<>();
+	private int tileDataLength;
+
+	private BakedMapWriter(IMap map, OutputStream meta) {
+		this.map = map;
+		this.meta = new DataOutputStream(meta);
+	}
+
+	/**
+	 * Bakes all specified TMX maps into baked maps with the same name next to
+	 * them.
+	 *
+	 * @param args The paths of the maps to bake.
+	 */
+	public static void main(String[] args) {
+		for (String fileName : args) {
+			IMap map = Resources.maps().get(fileName);
+			if (map == null) {
+				log.log(Level.SEVERE, "Could not load map {0}", fileName);
+				continue;
+			}
+
+			File file = new File(new File(fileName).getParentFile(),
+					FileUtilities.getFileName(fileName) + "." + BakedMapFormat.FILE_EXTENSION);
+			try {
+				write(map, file);
+				log.log(Level.INFO, "Baked map {0} to {1}", new Object[] { fileName, file });
+			} catch (IOException e) {
+				log.log(Level.SEVERE, e.getMessage(), e);
+			}
+		}
+	}
+
+	public static void write(IMap map, File file) throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			write(map, out);
+		}
+	}
+
+	/**
+	 * Writes the specified map in the baked map format.
+	 *
+	 * @param map The map to bake.
+	 * @param out The stream to write to; it's not closed by this method.
+	 * @throws IOException If the map contains tilesets that are not supported or
+	 *                     if it could not be written.
+	 */
+	public static void write(IMap map, OutputStream out) throws IOException {
+		ByteArrayOutputStream metaBytes = new ByteArrayOutputStream();
+		BakedMapWriter writer = new BakedMapWriter(map, metaBytes);
+		writer.writeMap();
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(BakedMapFormat.MAGIC);
+		data.writeInt(BakedMapFormat.VERSION);
+		data.writeInt(metaBytes.size());
+		metaBytes.writeTo(data);
+
+		int position = BakedMapFormat.HEADER_SIZE + metaBytes.size();
+		for (int i = position; i < BakedMapFormat.align(position); i++) {
+			data.writeByte(0);
+		}
+
+		for (ITileLayer layer : writer.tileLayers) {
+			for (int y = 0; y < layer.getHeight(); y++) {
+				for (int x = 0; x < layer.getWidth(); x++) {
+					data.writeInt(Tile.getGridIdBitmask(layer.getTile(x, y)));
+				}
+			}
+		}
+
+		data.flush();
+	}
+
+	private void writeMap() throws IOException {
+		this.meta.writeDouble(this.map.getVersion());
+		this.writeString(this.map.getTiledVersion());
+		this.writeString(this.map.getOrientation().getName());
+		this.writeString(this.map.getRenderOrder() != null ? this.map.getRenderOrder().name() : null);
+		this.meta.writeInt(this.map.getWidth());
+		this.meta.writeInt(this.map.getHeight());
+		this.meta.writeInt(this.map.getTileWidth());
+		this.meta.writeInt(this.map.getTileHeight());
+		// the hex side length is only defined for hexagonal maps
+		this.meta.writeInt(this.map.getOrientation() == MapOrientations.HEXAGONAL ? this.map.getHexSideLength() : -1);
+		this.writeString(this.map.getStaggerAxis() != null ? this.map.getStaggerAxis().name() : null);
+		this.writeString(this.map.getStaggerIndex() != null ? this.map.getStaggerIndex().name() : null);
+		this.writeColor(this.map.getBackgroundColor());
+		this.meta.writeInt(this.map.getNextObjectId());
+		this.meta.writeInt(this.map.getNextLayerId());
+		this.writeString(this.map.getName());
+		this.writeProperties(this.map.getProperties());
+
+		this.meta.writeInt(this.map.getTilesets().size());
+		for (ITileset tileset : this.map.getTilesets()) {
+			this.writeTileset(tileset);
+		}
+
+		this.writeLayers(this.map.getRenderLayers());
+	}
+
+	private void writeTileset(ITileset tileset) throws IOException {
+		if (!(tileset instanceof Tileset)) {
+			throw new IOException("unsupported tileset implementation " + tileset.getClass().getName());
+		}
+
+		Tileset set = (Tileset) tileset;
+		this.meta.writeInt(set.getFirstGridId());
+		if (set.isExternal()) {
+			this.meta.writeByte(BakedMapFormat.TILESET_EXTERNAL);
+			this.writeString(this.relativize(set.getSource()));
+			return;
+		}
+
+		// embedded tilesets are small compared to the tile data, so they're just
+		// kept in the format that the tileset classes already know how to read
+		this.meta.writeByte(BakedMapFormat.TILESET_EMBEDDED);
+		try {
+			JAXBContext context = XmlUtilities.getContext(Tileset.class);
+			if (context == null) {
+				throw new IOException("could not create the xml context for tilesets");
+			}
+
+			Marshaller marshaller = context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+			marshaller.setAdapter(new URLAdapter());
+			StringWriter xml = new StringWriter();
+			marshaller.marshal(set, xml);
+			this.writeString(xml.toString());
+		} catch (JAXBException e) {
+			throw new IOException("could not write tileset " + set.getName(), e);
+		}
+	}
+
+	private void writeLayers(List<ILayer> layers) throws IOException {
+		this.meta.writeInt(layers.size());
+		for (ILayer layer : layers) {
+			this.writeLayer(layer);
+		}
+	}
+
+	private void writeLayer(ILayer layer) throws IOException {
+		final byte type;
+		if (layer instanceof ITileLayer) {
+			type = BakedMapFormat.LAYER_TILE;
+		} else if (layer instanceof IMapObjectLayer) {
+			type = BakedMapFormat.LAYER_OBJECT;
+		} else if (layer instanceof IImageLayer) {
+			type = BakedMapFormat.LAYER_IMAGE;
+		} else if (layer instanceof IGroupLayer) {
+			type = BakedMapFormat.LAYER_GROUP;
+		} else {
+			throw new IOException("unsupported layer implementation " + layer.getClass().getName());
+		}
+
+		this.meta.writeByte(type);
+		this.meta.writeInt(layer.getId());
+		this.writeString(layer.getName());
+		this.meta.writeInt(layer.getWidth());
+		this.meta.writeInt(layer.getHeight());
+		if (type == BakedMapFormat.LAYER_TILE) {
+			this.meta.writeInt(this.tileDataLength);
+			this.tileLayers.add((ITileLayer) layer);
+			this.tileDataLength += layer.getWidth() * layer.getHeight() * Integer.BYTES;
+		}
+
+		this.meta.writeFloat(layer.getOpacity());
+		this.meta.writeBoolean(layer.isVisible());
+		this.meta.writeInt(layer.getOffsetX());
+		this.meta.writeInt(layer.getOffsetY());
+		this.writeProperties(layer.getProperties());
+
+		if (type == BakedMapFormat.LAYER_OBJECT) {
+			IMapObjectLayer objectLayer = (IMapObjectLayer) layer;
+			this.writeString(objectLayer.getColorHexString());
+			this.meta.writeInt(objectLayer.getMapObjects().size());
+			for (IMapObject mapObject : objectLayer.getMapObjects()) {
+				this.writeMapObject(mapObject);
+			}
+		} else if (type == BakedMapFormat.LAYER_IMAGE) {
+			IImageLayer imageLayer = (IImageLayer) layer;
+			IMapImage image = imageLayer.getImage();
+			this.meta.writeBoolean(image != null);
+			if (image != null) {
+				this.writeString(image.getSource());
+				this.meta.writeInt(image.getDimension().width);
+				this.meta.writeInt(image.getDimension().height);
+				this.writeColor(image.getTransparentColor());
+			}
+			this.writeColor(imageLayer.getTransparentColor());
+		} else if (type == BakedMapFormat.LAYER_GROUP) {
+			this.writeLayers(((IGroupLayer) layer).getRenderLayers());
+		}
+	}
+
+	private void writeMapObject(IMapObject mapObject) throws IOException {
+		this.meta.writeInt(mapObject.getId());
+		this.writeString(mapObject.getName());
+		this.writeString(mapObject.getType());
+		this.meta.writeFloat(mapObject.getX());
+		this.meta.writeFloat(mapObject.getY());
+		this.meta.writeFloat(mapObject.getWidth());
+		this.meta.writeFloat(mapObject.getHeight());
+		this.meta.writeInt(mapObject.getGridId());
+
+		if (mapObject.isPolygon()) {
+			this.meta.writeByte(BakedMapFormat.SHAPE_POLYGON);
+			this.writePoints(mapObject.getPolygon());
+		} else if (mapObject.isPolyline()) {
+			this.meta.writeByte(BakedMapFormat.SHAPE_POLYLINE);
+			this.writePoints(mapObject.getPolyline());
+		} else if (mapObject.isEllipse()) {
+			this.meta.writeByte(BakedMapFormat.SHAPE_ELLIPSE);
+		} else if (mapObject.isPoint()) {
+			this.meta.writeByte(BakedMapFormat.SHAPE_POINT);
+		} else {
+			this.meta.writeByte(BakedMapFormat.SHAPE_RECTANGLE);
+		}
+
+		IMapObjectText text = mapObject.getText();
+		this.meta.writeBoolean(text != null);
+		if (text != null) {
+			this.writeText(text);
+		}
+
+		this.writeProperties(mapObject.getProperties());
+	}
+
+	private void writePoints(IPolyShape shape) throws IOException {
+		this.meta.writeInt(shape.getPoints().size());
+		for (Point2D point : shape.getPoints()) {
+			this.meta.writeFloat((float) point.getX());
+			this.meta.writeFloat((float) point.getY());
+		}
+	}
+
+	private void writeText(IMapObjectText text) throws IOException {
+		final String fontName;
+		final int pixelSize;
+		int flags = text.wrap() ? BakedMapFormat.TEXT_WRAP : 0;
+		if (text instanceof Text) {
+			Text xmlText = (Text) text;
+			fontName = xmlText.getFontName();
+			pixelSize = xmlText.getPixelSize();
+			flags |= xmlText.isBold() ? BakedMapFormat.TEXT_BOLD : 0;
+			flags |= xmlText.isItalic() ? BakedMapFormat.TEXT_ITALIC : 0;
+			flags |= xmlText.isUnderlined() ? BakedMapFormat.TEXT_UNDERLINE : 0;
+			flags |= xmlText.isStrikeout() ? BakedMapFormat.TEXT_STRIKEOUT : 0;
+			flags |= xmlText.useKerning() ? BakedMapFormat.TEXT_KERNING : 0;
+		} else {
+			Font font = text.getFont();
+			Map<TextAttribute, ?> attributes = font.getAttributes();
+			fontName = font.getFamily();
+			pixelSize = Math.round(font.getSize2D() / 0.75f); // points to pixels
+			flags |= font.isBold() ? BakedMapFormat.TEXT_BOLD : 0;
+			flags |= font.isItalic() ? BakedMapFormat.TEXT_ITALIC : 0;
+			flags |= TextAttribute.UNDERLINE_ON.equals(attributes.get(TextAttribute.UNDERLINE))
+					? BakedMapFormat.TEXT_UNDERLINE
+					: 0;
+			flags |= Boolean.TRUE.equals(attributes.get(TextAttribute.STRIKETHROUGH)) ? BakedMapFormat.TEXT_STRIKEOUT
+					: 0;
+			flags |= TextAttribute.KERNING_ON.equals(attributes.get(TextAttribute.KERNING))
+					? BakedMapFormat.TEXT_KERNING
+					: 0;
+		}
+
+		this.writeString(text.getText());
+		this.writeString(fontName);
+		this.meta.writeInt(pixelSize);
+		this.meta.writeInt(text.getColor().getRGB());
+		this.writeString(text.getAlign() != null ? text.getAlign().name() : null);
+		this.writeString(text.getValign() != null ? text.getValign().name() : null);
+		this.meta.writeByte(flags);
+	}
+
+	private void writeProperties(Map<String, ICustomProperty> properties) throws IOException {
+		if (properties == null) {
+			this.meta.writeInt(0);
+			return;
+		}
+
+		this.meta.writeInt(properties.size());
+		for (Map.Entry<String, ICustomProperty> property : properties.entrySet()) {
+			this.writeString(property.getKey());
+			this.writeString(property.getValue().getType());
+			URL file = property.getValue().getAsFile();
+			this.writeString(file != null ? this.relativize(file) : property.getValue().getAsString());
+		}
+	}
+
+	private void writeColor(Color color) throws IOException {
+		this.meta.writeBoolean(color != null);
+		if (color != null) {
+			this.meta.writeInt(color.getRGB());
+		}
+	}
+
+	private void writeString(String value) throws IOException {
+		if (value == null) {
+			this.meta.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.meta.writeInt(bytes.length);
+		this.meta.write(bytes);
+	}
+
+	/**
+	 * Gets the location of the specified resource relative to the directory of
+	 * the map, which is how Tiled references resources.
+	 *
+	 * @param location The absolute location of the resource.
+	 * @return The relative location or the absolute one, if the resource can't be
+	 *         referenced relative to the map.
+	 */
+	private String relativize(URL location) {
+		URL mapLocation = this.map.getPath();
+		if (mapLocation == null) {
+			return location.toExternalForm();
+		}
+
+		try {
+			if ("file".equals(mapLocation.getProtocol()) && "file".equals(location.getProtocol())) {
+				Path directory = Paths.get(mapLocation.toURI()).getParent();
+				return directory.relativize(Paths.get(location.toURI())).toString().replace(File.separatorChar, '/');
+			}
+
+			return mapLocation.toURI().resolve(".").relativize(location.toURI()).toString();
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return location.toExternalForm();
+		}
+	}
+}
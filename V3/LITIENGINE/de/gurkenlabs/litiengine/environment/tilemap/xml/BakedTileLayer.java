@@ -0,0 +1,34 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.nio.IntBuffer;
+
+/**
+ * A tile layer of a baked map that reads the grid ids of its tiles directly
+ * from the tile data section of the map file instead of decoding them into an
+ * array.
+ *
+ * @see BakedMapReader
+ */
+public class BakedTileLayer extends TileLayer {
+	private final IntBuffer gids;
+
+	BakedTileLayer(IntBuffer gids, int width, int height) {
+		if (gids.remaining() != width * height) {
+			throw new IllegalArgumentException("expected " + width * height + " grid ids but got " + gids.remaining());
+		}
+
+		this.gids = gids;
+		this.setWidth(width);
+		this.setHeight(height);
+	}
+
+	@Override
+	protected int getGridIdBitmask(int index) {
+		return this.gids.get(index);
+	}
+
+	@Override
+	protected int getGridIdCount() {
+		return this.gids.capacity();
+	}
+}
@@ -26,6 +26,16 @@ public class CustomPropertyProvider implements ICustomPropertyProvider {
 		this.properties = new Hashtable<>(); // use Hashtable because it rejects null keys and null values
 	}
 
+	/**
+	 * Creates a provider that uses the specified map for its properties, e.g. to
+	 * avoid allocating a map for providers that delegate their properties anyway.
+	 *
+	 * @param properties the map that holds the properties
+	 */
+	protected CustomPropertyProvider(Map<String, ICustomProperty> properties) {
+		this.properties = properties;
+	}
+
 	/**
 	 * Copy Constructor for copying instances of CustomPropertyProviders.
 	 *
@@ -5,6 +5,7 @@ import java.net.URL;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import de.gurkenlabs.litiengine.environment.tilemap.IImageLayer;
@@ -29,6 +30,16 @@ public class ImageLayer extends Layer implements IImageLayer {
 		return this.trans;
 	}
 
+	@XmlTransient
+	public void setImage(MapImage image) {
+		this.image = image;
+	}
+
+	@XmlTransient
+	public void setTransparentColor(Color color) {
+		this.trans = color;
+	}
+
 	@Override
 	public int getOffsetX() {
 		if (this.isInfiniteMap()) {
@@ -9,6 +9,7 @@ import javax.xml.bind.annotation.XmlTransient;
 
 import de.gurkenlabs.litiengine.environment.tilemap.ILayer;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
 import de.gurkenlabs.litiengine.environment.tilemap.LayerProperty;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 
@@ -138,7 +139,7 @@ public abstract class Layer extends CustomPropertyProvider implements ILayer {
 		}
 
 		this.renderType = this.getEnumValue(LayerProperty.LAYER_RENDER_TYPE, RenderType.class,
-				this instanceof TileLayer ? RenderType.GROUND : RenderType.NORMAL);
+				this instanceof ITileLayer ? RenderType.GROUND : RenderType.NORMAL);
 		this.renderTypeLoaded = true;
 		return this.renderType;
 	}
@@ -203,6 +204,21 @@ public abstract class Layer extends CustomPropertyProvider implements ILayer {
 		this.opacity = opacity;
 	}
 
+	@XmlTransient
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	@XmlTransient
+	public void setOffsetX(int offsetX) {
+		this.offsetx = offsetX;
+	}
+
+	@XmlTransient
+	public void setOffsetY(int offsetY) {
+		this.offsety = offsetY;
+	}
+
 	@Override
 	@XmlTransient
 	public void setVisible(boolean visible) {
@@ -344,6 +344,26 @@ public class MapObject extends CustomPropertyProvider implements IMapObject {
 		this.polyline = polyline;
 	}
 
+	@XmlTransient
+	public void setPolygon(Polygon polygon) {
+		this.polygon = polygon;
+	}
+
+	@XmlTransient
+	public void setText(Text text) {
+		this.text = text;
+	}
+
+	void setEllipse(boolean ellipse) {
+		// like an empty <ellipse/> element
+		this.ellipse = ellipse ? "" : null;
+	}
+
+	void setPoint(boolean point) {
+		// like an empty <point/> element
+		this.point = point ? "" : null;
+	}
+
 	@Override
 	public float getWidth() {
 		return this.width;
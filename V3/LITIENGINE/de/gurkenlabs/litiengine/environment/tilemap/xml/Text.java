@@ -52,6 +52,25 @@ public class Text implements IMapObjectText {
 	@XmlValue
 	private String text;
 
+	public Text() {
+	}
+
+	Text(String text, String fontfamily, int pixelsize, Color color, Align halign, Valign valign, boolean wrap,
+			boolean bold, boolean italic, boolean underline, boolean strikeout, boolean kerning) {
+		this.text = text;
+		this.fontfamily = fontfamily;
+		this.pixelsize = pixelsize;
+		this.color = color;
+		this.halign = halign;
+		this.valign = valign;
+		this.wrap = wrap ? 1 : 0;
+		this.bold = bold ? 1 : 0;
+		this.italic = italic ? 1 : 0;
+		this.underline = underline ? 1 : 0;
+		this.strikeout = strikeout ? 1 : 0;
+		this.kerning = kerning ? 1 : 0;
+	}
+
 	@Override
 	public String getText() {
 		return this.text;
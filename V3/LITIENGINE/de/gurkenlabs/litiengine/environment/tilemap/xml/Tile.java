@@ -92,29 +92,7 @@ public class Tile extends CustomPropertyProvider implements ITile {
 
 	@Override
 	public BufferedImage getImage() {
-		if (this.tilesetEntry == null) { // happens if the tile is empty
-			return null;
-		}
-		BufferedImage base = this.getTilesetEntry().getImage();
-		if (!this.isFlipped()) {
-			return base;
-		}
-		// save some overhead by doing all the reflection at once
-		// affine transforms are confusing: this actually does represent the correct
-		// order
-		AffineTransform tx = new AffineTransform();
-		if (this.isFlippedHorizontally()) {
-			tx.translate(base.getWidth(), 0.0);
-			tx.scale(-1.0, 1.0);
-		}
-		if (this.isFlippedVertically()) {
-			tx.translate(0.0, base.getHeight());
-			tx.scale(1.0, -1.0);
-		}
-		if (this.isFlippedDiagonally()) {
-			tx.concatenate(TX_DIAGONAL_FLIP);
-		}
-		return (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
+		return getImage(this);
 	}
 
 	@Override
@@ -176,6 +154,58 @@ public class Tile extends CustomPropertyProvider implements ITile {
 		return this.getGridId() + String.valueOf(this.getTilesetEntry());
 	}
 
+	static BufferedImage getImage(ITile tile) {
+		if (tile.getTilesetEntry() == null) { // happens if the tile is empty
+			return null;
+		}
+		BufferedImage base = tile.getTilesetEntry().getImage();
+		if (!tile.isFlipped()) {
+			return base;
+		}
+		// save some overhead by doing all the reflection at once
+		// affine transforms are confusing: this actually does represent the correct
+		// order
+		AffineTransform tx = new AffineTransform();
+		if (tile.isFlippedHorizontally()) {
+			tx.translate(base.getWidth(), 0.0);
+			tx.scale(-1.0, 1.0);
+		}
+		if (tile.isFlippedVertically()) {
+			tx.translate(0.0, base.getHeight());
+			tx.scale(1.0, -1.0);
+		}
+		if (tile.isFlippedDiagonally()) {
+			tx.concatenate(TX_DIAGONAL_FLIP);
+		}
+		return (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
+	}
+
+	/**
+	 * Gets the grid id of the specified tile including the flags that specify how
+	 * it's flipped, as it's stored in the tile data of a layer.
+	 *
+	 * @param tile the tile
+	 * @return the grid id and the flip flags of the tile
+	 */
+	static int getGridIdBitmask(ITile tile) {
+		if (tile == null) {
+			return NONE;
+		}
+
+		int gid = tile.getGridId();
+		if (tile.isFlippedHorizontally()) {
+			gid |= FLIPPED_HORIZONTALLY_FLAG;
+		}
+		if (tile.isFlippedVertically()) {
+			gid |= FLIPPED_VERTICALLY_FLAG;
+		}
+		if (tile.isFlippedDiagonally()) {
+			gid |= FLIPPED_DIAGONALLY_FLAG;
+		}
+
+		return gid;
+	}
+
 	void setTilesetEntry(ITilesetEntry entry) {
 		this.tilesetEntry = entry;
 	}
@@ -1,23 +1,15 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.InflaterInputStream;
 
-import javax.xml.bind.DatatypeConverter;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElementRef;
 import javax.xml.bind.annotation.XmlMixed;
 import javax.xml.bind.annotation.XmlTransient;
 
-import de.gurkenlabs.litiengine.util.ArrayUtilities;
-
 public class TileData {
 	protected static final String ENCODING_BASE64 = "base64";
 	protected static final String ENCODING_CSV = "csv";
@@ -130,96 +122,45 @@ public class TileData {
 			return new ArrayList<>();
 		}
 
-		if (this.isInfinite()) {
-			this.parsedTiles = this.parseChunkData();
-		} else {
-			this.parsedTiles = this.parseData();
-		}
-
+		this.parsedTiles = toTiles(this.parseGridIds());
 		return this.parsedTiles;
 	}
 
-	protected static List<Tile> parseBase64Data(String value, String compression) throws InvalidTileLayerException {
-		List<Tile> parsed = new ArrayList<>();
-
-		String enc = value.trim();
-		byte[] dec;
-		try {
-			dec = DatatypeConverter.parseBase64Binary(enc);
-		} catch (IllegalArgumentException e) {
-			throw new InvalidTileLayerException("invalid base64 string", e);
-		}
-		try (ByteArrayInputStream bais = new ByteArrayInputStream(dec)) {
-			InputStream is;
-
-			if (compression == null || compression.isEmpty()) {
-				is = bais;
-			} else if (compression.equals(COMPRESSION_GZIP)) {
-				is = new GZIPInputStream(bais, dec.length);
-			} else if (compression.equals(COMPRESSION_ZLIB)) {
-				is = new InflaterInputStream(bais);
-			} else {
-				throw new IllegalArgumentException("Unsupported tile layer compression method " + compression);
+	/**
+	 * Parses the grid ids of the tiles including the flags that specify how they
+	 * are flipped. Unlike {@link #parseTiles()}, this doesn't keep the parsed tiles
+	 * in memory.
+	 *
+	 * @return the grid ids of the tiles in row-major order
+	 * @throws InvalidTileLayerException if the tile data can't be parsed
+	 */
+	protected int[] parseGridIds() throws InvalidTileLayerException {
+		if (this.parsedTiles != null) {
+			int[] gids = new int[this.parsedTiles.size()];
+			for (int i = 0; i < gids.length; i++) {
+				gids[i] = Tile.getGridIdBitmask(this.parsedTiles.get(i));
 			}
 
-			int read;
-
-			while ((read = is.read()) != -1) {
-				int tileId = 0;
-				tileId |= read;
-
-				read = is.read();
-				int flags = read << Byte.SIZE;
-
-				read = is.read();
-				flags |= read << Byte.SIZE * 2;
-
-				read = is.read();
-				flags |= read << Byte.SIZE * 3;
-				tileId |= flags;
+			return gids;
+		}
 
-				if (tileId == Tile.NONE) {
-					parsed.add(Tile.EMPTY);
-				} else {
-					parsed.add(new Tile(tileId));
-				}
-			}
+		if (this.getEncoding() == null || this.getEncoding().isEmpty()) {
+			return new int[0];
+		}
 
-		} catch (IOException e) {
-			throw new InvalidTileLayerException(e);
+		if (this.isInfinite()) {
+			return this.parseChunkData();
 		}
 
-		return parsed;
+		return this.decode(this.value, 0);
 	}
 
-	protected static List<Tile> parseCsvData(String value) throws InvalidTileLayerException {
-
-		List<Tile> parsed = new ArrayList<>();
-
-		// trim 'space', 'tab', 'newline'. pay attention to additional unicode chars
-		// like \u2028, \u2029, \u0085 if necessary
-		String[] csvTileIds = value.trim().split("[\\s]*,[\\s]*");
-
-		for (String gid : csvTileIds) {
-			int tileId;
-			try {
-				tileId = Integer.parseUnsignedInt(gid);
-			} catch (NumberFormatException e) {
-				throw new InvalidTileLayerException(e);
-			}
-
-			if (tileId > Integer.MAX_VALUE) {
-				parsed.add(new Tile(tileId));
-			} else {
-				if (tileId == Tile.NONE) {
-					parsed.add(Tile.EMPTY);
-				} else {
-					parsed.add(new Tile((int) tileId));
-				}
-			}
-		}
+	protected static List<Tile> parseBase64Data(String value, String compression) throws InvalidTileLayerException {
+		return toTiles(TileDataDecoder.decodeBase64(value, compression, 0));
+	}
 
-		return parsed;
+	protected static List<Tile> parseCsvData(String value) throws InvalidTileLayerException {
+		return toTiles(TileDataDecoder.decodeCsv(value));
 	}
 
 	void afterUnmarshal(Unmarshaller u, Object parent) {
@@ -306,60 +247,62 @@ public class TileData {
 		this.offsetY = minY;
 	}
 
-	private List<Tile> parseChunkData() throws InvalidTileLayerException {
-		// first fill a two-dimensional array with all the information of the chunks
-		Tile[][] tileArr = new Tile[this.getHeight()][this.getWidth()];
+	private int[] parseChunkData() throws InvalidTileLayerException {
+		final int width = this.getWidth();
+		final int[] gids = new int[width * this.getHeight()];
 
-		if (this.getEncoding().equals(ENCODING_BASE64)) {
-			for (TileChunk chunk : this.chunks) {
-				List<Tile> chunkTiles = parseBase64Data(chunk.getValue(), this.compression);
-				this.addTiles(tileArr, chunk, chunkTiles);
-			}
-		} else if (this.getEncoding().equals(ENCODING_CSV)) {
-			for (TileChunk chunk : this.chunks) {
-				List<Tile> chunkTiles = parseCsvData(chunk.getValue());
-				this.addTiles(tileArr, chunk, chunkTiles);
-			}
-		} else {
-			throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
-		}
-
-		// fill up the rest of the map with Tile.EMPTY
-		for (int y = 0; y < tileArr.length; y++) {
-			for (int x = 0; x < tileArr[y].length; x++) {
-				if (tileArr[y][x] == null) {
-					tileArr[y][x] = Tile.EMPTY;
+		// the chunks cover distinct areas of the layer, so they can be decoded and
+		// copied to the grid ids concurrently
+		try {
+			this.chunks.parallelStream().forEach(chunk -> {
+				try {
+					final int[] chunkGids = this.decode(chunk.getValue(), chunk.getWidth() * chunk.getHeight());
+					this.addGridIds(gids, width, chunk, chunkGids);
+				} catch (InvalidTileLayerException e) {
+					throw new TmxError(e);
 				}
+			});
+		} catch (TmxError e) {
+			if (e.getCause() instanceof InvalidTileLayerException) {
+				throw (InvalidTileLayerException) e.getCause();
 			}
+
+			throw e;
 		}
 
-		return ArrayUtilities.toList(tileArr);
+		return gids;
 	}
 
-	private void addTiles(Tile[][] tileArr, TileChunk chunk, List<Tile> chunkTiles) {
+	private void addGridIds(int[] gids, int width, TileChunk chunk, int[] chunkGids) throws InvalidTileLayerException {
+		if (chunkGids.length < chunk.getWidth() * chunk.getHeight()) {
+			throw new InvalidTileLayerException(
+					"chunk at " + chunk.getX() + "," + chunk.getY() + " contains only " + chunkGids.length + " tiles");
+		}
+
 		int startX = chunk.getX() - this.minChunkOffsetXMap;
 		int startY = chunk.getY() - this.minChunkOffsetYMap;
 
-		int index = 0;
-
-		for (int y = startY; y < startY + chunk.getHeight(); y++) {
-			for (int x = startX; x < startX + chunk.getWidth(); x++) {
-				tileArr[y][x] = chunkTiles.get(index);
-				index++;
-			}
+		for (int y = 0; y < chunk.getHeight(); y++) {
+			System.arraycopy(chunkGids, y * chunk.getWidth(), gids, (startY + y) * width + startX, chunk.getWidth());
 		}
 	}
 
-	private List<Tile> parseData() throws InvalidTileLayerException {
-		List<Tile> tiles;
+	private int[] decode(String data, int sizeHint) throws InvalidTileLayerException {
 		if (this.getEncoding().equals(ENCODING_BASE64)) {
-			tiles = parseBase64Data(this.value, this.compression);
+			return TileDataDecoder.decodeBase64(data, this.compression, sizeHint);
 		} else if (this.getEncoding().equals(ENCODING_CSV)) {
-			tiles = parseCsvData(this.value);
+			return TileDataDecoder.decodeCsv(data);
 		} else {
 			throw new IllegalArgumentException("Unsupported tile layer encoding " + this.getEncoding());
 		}
+	}
+
+	private static List<Tile> toTiles(int[] gids) {
+		List<Tile> tiles = new ArrayList<>(gids.length);
+		for (int gid : gids) {
+			tiles.add(gid == Tile.NONE ? Tile.EMPTY : new Tile(gid));
+		}
 
 		return tiles;
 	}
-}
\ No newline at end of file
+}
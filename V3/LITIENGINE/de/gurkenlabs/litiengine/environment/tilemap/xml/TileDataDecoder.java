@@ -0,0 +1,245 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes the encoded contents of a {@code TileData} element directly into the
+ * grid ids of its tiles, including the flags that specify how they are flipped.
+ * <p>
+ * Base64 data is decoded once into a byte array that is inflated directly into
+ * a buffer of the expected size, and CSV data is parsed in a single pass over the
+ * characters of the value, so no intermediate streams, strings or tiles are
+ * created for the individual cells. The trailer of gzip data is verified.
+ * </p>
+ */
+final class TileDataDecoder {
+	private static final int GZIP_MAGIC = 0x8b1f;
+	private static final int GZIP_HEADER_SIZE = 10;
+	private static final int GZIP_FHCRC = 2;
+	private static final int GZIP_FEXTRA = 4;
+	private static final int GZIP_FNAME = 8;
+	private static final int GZIP_FCOMMENT = 16;
+	private static final int GZIP_TRAILER_SIZE = 8;
+
+	private TileDataDecoder() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Decodes base64 encoded tile data.
+	 *
+	 * @param value       the base64 encoded value
+	 * @param compression the compression of the data or {@code null} if the data
+	 *                    isn't compressed
+	 * @param sizeHint    the expected number of tiles or 0 if it isn't known
+	 * @return the grid ids of the tiles
+	 * @throws InvalidTileLayerException if the data can't be decoded
+	 */
+	static int[] decodeBase64(String value, String compression, int sizeHint) throws InvalidTileLayerException {
+		byte[] data;
+		try {
+			// the MIME decoder skips the line breaks and indentation around the value
+			data = Base64.getMimeDecoder().decode(value);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidTileLayerException("invalid base64 string", e);
+		}
+
+		if (compression == null || compression.isEmpty()) {
+			return toGridIds(data, data.length);
+		} else if (compression.equals(TileData.COMPRESSION_ZLIB)) {
+			return inflate(data, sizeHint, false);
+		} else if (compression.equals(TileData.COMPRESSION_GZIP)) {
+			return inflate(data, sizeHint, true);
+		} else {
+			throw new IllegalArgumentException("Unsupported tile layer compression method " + compression);
+		}
+	}
+
+	/**
+	 * Decodes comma-separated tile data. Whitespace around the grid ids and a
+	 * trailing comma are ignored.
+	 *
+	 * @param value the comma-separated grid ids
+	 * @return the grid ids of the tiles
+	 * @throws InvalidTileLayerException if the data contains anything else than
+	 *                                   unsigned 32-bit integers separated by
+	 *                                   commas
+	 */
+	static int[] decodeCsv(String value) throws InvalidTileLayerException {
+		int start = 0;
+		int end = value.length();
+		while (start < end && Character.isWhitespace(value.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+			end--;
+		}
+		if (end > start && value.charAt(end - 1) == ',') {
+			end--;
+		}
+		if (start == end) {
+			return new int[0];
+		}
+
+		int count = 1;
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i) == ',') {
+				count++;
+			}
+		}
+
+		final int[] gids = new int[count];
+		int index = 0;
+		long gid = 0;
+		int digits = 0;
+		boolean separated = false;
+		for (int i = start; i <= end; i++) {
+			final char c = i < end ? value.charAt(i) : ',';
+			if (c >= '0' && c <= '9') {
+				if (separated) {
+					throw new InvalidTileLayerException("missing comma in csv tile data at index " + i);
+				}
+
+				gid = gid * 10 + (c - '0');
+				if (gid > 0xFFFFFFFFL) {
+					throw new InvalidTileLayerException("grid id out of range in csv tile data at index " + i);
+				}
+
+				digits++;
+			} else if (c == ',') {
+				if (digits == 0) {
+					throw new InvalidTileLayerException("missing grid id in csv tile data at index " + i);
+				}
+
+				gids[index++] = (int) gid;
+				gid = 0;
+				digits = 0;
+				separated = false;
+			} else if (Character.isWhitespace(c)) {
+				separated = digits != 0;
+			} else {
+				throw new InvalidTileLayerException("invalid character '" + c + "' in csv tile data at index " + i);
+			}
+		}
+
+		return gids;
+	}
+
+	private static int[] inflate(byte[] data, int sizeHint, boolean gzip) throws InvalidTileLayerException {
+		final int offset = gzip ? getGzipDataOffset(data) : 0;
+		byte[] buffer = new byte[sizeHint > 0 ? sizeHint * Integer.BYTES : Math.max(data.length * 8, 1024)];
+		int length = 0;
+
+		// the native resources of an inflater are released right away instead of
+		// being left to the finalizer
+		final Inflater inflater = new Inflater(gzip);
+		try {
+			inflater.setInput(data, offset, data.length - offset);
+			while (!inflater.finished()) {
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+
+				final int read = inflater.inflate(buffer, length, buffer.length - length);
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new InvalidTileLayerException("truncated tile data");
+				}
+
+				length += read;
+			}
+
+			if (gzip) {
+				verifyGzipTrailer(data, data.length - inflater.getRemaining(), buffer, length);
+			}
+		} catch (DataFormatException e) {
+			throw new InvalidTileLayerException(e);
+		} finally {
+			inflater.end();
+		}
+
+		return toGridIds(buffer, length);
+	}
+
+	private static int getGzipDataOffset(byte[] data) throws InvalidTileLayerException {
+		if (data.length < GZIP_HEADER_SIZE || readUnsignedShort(data, 0) != GZIP_MAGIC
+				|| data[2] != Deflater.DEFLATED) {
+			throw new InvalidTileLayerException("invalid gzip header");
+		}
+
+		final int flags = data[3];
+		int offset = GZIP_HEADER_SIZE;
+		if ((flags & GZIP_FEXTRA) != 0) {
+			if (offset + 2 > data.length) {
+				throw new InvalidTileLayerException("invalid gzip header");
+			}
+
+			offset += 2 + readUnsignedShort(data, offset);
+		}
+		if ((flags & GZIP_FNAME) != 0) {
+			offset = skipZeroTerminated(data, offset);
+		}
+		if ((flags & GZIP_FCOMMENT) != 0) {
+			offset = skipZeroTerminated(data, offset);
+		}
+		if ((flags & GZIP_FHCRC) != 0) {
+			offset += 2;
+		}
+
+		if (offset >= data.length) {
+			throw new InvalidTileLayerException("invalid gzip header");
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Verifies the CRC-32 and the size of the uncompressed data that are stored in
+	 * the trailer after the deflated gzip data.
+	 */
+	private static void verifyGzipTrailer(byte[] data, int offset, byte[] inflated, int length)
+			throws InvalidTileLayerException {
+		if (offset + GZIP_TRAILER_SIZE > data.length) {
+			throw new InvalidTileLayerException("truncated gzip trailer");
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(inflated, 0, length);
+		if (readInt(data, offset) != (int) crc.getValue() || readInt(data, offset + 4) != length) {
+			throw new InvalidTileLayerException("corrupt gzip tile data");
+		}
+	}
+
+	private static int readUnsignedShort(byte[] data, int offset) {
+		return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8;
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return readUnsignedShort(data, offset) | readUnsignedShort(data, offset + 2) << 16;
+	}
+
+	private static int skipZeroTerminated(byte[] data, int offset) {
+		while (offset < data.length && data[offset] != 0) {
+			offset++;
+		}
+
+		return offset + 1;
+	}
+
+	private static int[] toGridIds(byte[] data, int length) throws InvalidTileLayerException {
+		if (length % Integer.BYTES != 0) {
+			throw new InvalidTileLayerException(
+					"the length of the tile data (" + length + " bytes) is not a multiple of " + Integer.BYTES);
+		}
+
+		final int[] gids = new int[length / Integer.BYTES];
+		ByteBuffer.wrap(data, 0, length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(gids);
+		return gids;
+	}
+}
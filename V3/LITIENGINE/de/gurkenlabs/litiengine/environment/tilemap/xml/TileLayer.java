@@ -1,75 +1,80 @@
 package de.gurkenlabs.litiengine.environment.tilemap.xml;
 
-import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.net.URL;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.xml.bind.annotation.XmlElement;
 
 import de.gurkenlabs.litiengine.environment.tilemap.ITile;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileLayer;
 
+/**
+ * A tile layer that stores the grid ids of its tiles, including the flags that
+ * specify how they are flipped, in a single {@code int} array. The tiles of the
+ * layer are lightweight views that are created whenever a tile is accessed and
+ * resolve their tileset entries through the map.
+ */
 public class TileLayer extends Layer implements ITileLayer {
+	private static final int[] NO_GRID_IDS = new int[0];
 
 	@XmlElement
 	private TileData data = null;
 
-	private transient List<ITile> tileList;
+	private transient int[] gids;
 
-	private transient Tile[][] tiles;
+	private final transient List<ITile> tileList = new TileList();
+
+	public TileLayer() {
+		super();
+	}
+
+	/**
+	 * Creates a tile layer with the specified grid ids.
+	 *
+	 * @param gids   the grid ids of the tiles in row-major order, including the
+	 *               flags that specify how they are flipped
+	 * @param width  the width of the layer in tiles
+	 * @param height the height of the layer in tiles
+	 */
+	public TileLayer(int[] gids, int width, int height) {
+		if (gids.length != width * height) {
+			throw new IllegalArgumentException("expected " + width * height + " grid ids but got " + gids.length);
+		}
+
+		this.gids = gids;
+		this.setWidth(width);
+		this.setHeight(height);
+	}
 
 	@Override
 	public ITile getTileByLocation(final Point2D location) {
-		final Optional<ITile> tile = this.getTiles().stream().filter(x -> x.getTileCoordinate().equals(location))
-				.findFirst();
-		return tile.isPresent() ? tile.get() : null;
+		return this.getTile((int) location.getX(), (int) location.getY());
 	}
 
 	@Override
 	public ITile getTile(int x, int y) {
-		this.getTiles();
-
-		if (this.tiles == null || this.tiles.length == 0) {
-			return null;
-		}
-
-		if (x < 0 || y < 0 || x > this.tiles.length - 1 || y > this.tiles[0].length - 1) {
+		final int width = this.getWidth();
+		if (x < 0 || y < 0 || x >= width || y >= this.getHeight() || y * width + x >= this.getGridIdCount()) {
 			return null;
 		}
 
-		return this.tiles[x][y];
+		final int gid = this.getGridIdBitmask(y * width + x);
+		final int gridId = TileView.getGridId(gid);
+		return new TileView(gid, x, y,
+				gridId != Tile.NONE && this.getMap() != null ? this.getMap().getTilesetEntry(gridId) : null);
 	}
 
+	/**
+	 * Gets a view of the tiles of this layer in row-major order. The tiles are
+	 * created when they're accessed, so the list doesn't hold any tiles itself.
+	 *
+	 * @return an unmodifiable view of the tiles
+	 */
 	@Override
 	public List<ITile> getTiles() {
-		if (this.tileList != null) {
-			return this.tileList;
-		}
-
-		try {
-			this.tileList = new CopyOnWriteArrayList<>(this.getData());
-			if (this.data == null) {
-				return this.tileList;
-			}
-
-			this.tiles = new Tile[this.getWidth()][this.getHeight()];
-			for (int i = 0; i < this.getData().size(); i++) {
-				final int x = i % this.getWidth();
-				final int y = i / this.getWidth();
-
-				final Tile tile = this.getData().get(i);
-				tile.setTileCoordinate(new Point(x, y));
-				this.tileList.add(tile);
-				this.tiles[x][y] = tile;
-			}
-
-			return this.tileList;
-		} catch (InvalidTileLayerException e) {
-			throw new TmxError(e);
-		}
+		return this.tileList;
 	}
 
 	@Override
@@ -90,8 +95,12 @@ public class TileLayer extends Layer implements ITileLayer {
 		return super.getHeight();
 	}
 
-	protected List<Tile> getData() throws InvalidTileLayerException {
-		return this.data.parseTiles();
+	protected int getGridIdBitmask(int index) {
+		return this.getGridIds()[index];
+	}
+
+	protected int getGridIdCount() {
+		return this.getGridIds().length;
 	}
 
 	protected TileData getRawTileData() {
@@ -101,8 +110,43 @@ public class TileLayer extends Layer implements ITileLayer {
 	@Override
 	void finish(URL location) throws TmxException {
 		super.finish(location);
-		for (Tile tile : getData()) {
-			tile.setTilesetEntry(this.getMap().getTilesetEntry(tile.getGridId()));
+		// decode the tiles while the map is loaded rather than when it's rendered
+		if (this.gids == null && this.data != null) {
+			this.gids = this.data.parseGridIds();
+		}
+	}
+
+	private int[] getGridIds() {
+		if (this.gids != null) {
+			return this.gids;
+		}
+
+		if (this.data == null) {
+			return NO_GRID_IDS;
+		}
+
+		try {
+			this.gids = this.data.parseGridIds();
+			return this.gids;
+		} catch (InvalidTileLayerException e) {
+			throw new TmxError(e);
+		}
+	}
+
+	private class TileList extends AbstractList<ITile> {
+		@Override
+		public ITile get(int index) {
+			if (index < 0 || index >= this.size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+			}
+
+			final int width = getWidth();
+			return getTile(index % width, index / width);
+		}
+
+		@Override
+		public int size() {
+			return getGridIdCount();
 		}
 	}
 }
@@ -0,0 +1,114 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ICustomProperty;
+import de.gurkenlabs.litiengine.environment.tilemap.ITile;
+import de.gurkenlabs.litiengine.environment.tilemap.ITilesetEntry;
+
+/**
+ * A lightweight tile that is created on demand for a cell of a
+ * {@code TileLayer}. The layer only stores the grid ids of its tiles, so a view
+ * holds nothing but the grid id, the location of the cell and the tileset entry
+ * that the grid id refers to. Its custom properties are those of the tileset
+ * entry; empty tiles don't have any.
+ */
+final class TileView extends CustomPropertyProvider implements ITile {
+	private static final int FLAGS = Tile.FLIPPED_HORIZONTALLY_FLAG | Tile.FLIPPED_VERTICALLY_FLAG
+			| Tile.FLIPPED_DIAGONALLY_FLAG;
+
+	private final int gidBitmask;
+	private final int x;
+	private final int y;
+	private final ITilesetEntry tilesetEntry;
+
+	TileView(int gidBitmask, int x, int y, ITilesetEntry tilesetEntry) {
+		super(Collections.emptyMap());
+		this.gidBitmask = gidBitmask;
+		this.x = x;
+		this.y = y;
+		this.tilesetEntry = tilesetEntry;
+	}
+
+	static int getGridId(int gidBitmask) {
+		return gidBitmask & ~FLAGS;
+	}
+
+	@Override
+	public Map<String, ICustomProperty> getProperties() {
+		return this.tilesetEntry == null ? Collections.emptyMap() : this.tilesetEntry.getProperties();
+	}
+
+	@Override
+	public void setProperties(Map<String, ICustomProperty> props) {
+		if (this.tilesetEntry != null) {
+			this.tilesetEntry.setProperties(props);
+		}
+	}
+
+	@Override
+	public int getGridId() {
+		return getGridId(this.gidBitmask);
+	}
+
+	@Override
+	public BufferedImage getImage() {
+		return Tile.getImage(this);
+	}
+
+	@Override
+	public Point getTileCoordinate() {
+		return new Point(this.x, this.y);
+	}
+
+	@Override
+	public ITilesetEntry getTilesetEntry() {
+		return this.tilesetEntry;
+	}
+
+	@Override
+	public boolean isFlippedHorizontally() {
+		return (this.gidBitmask & Tile.FLIPPED_HORIZONTALLY_FLAG) != 0;
+	}
+
+	@Override
+	public boolean isFlippedVertically() {
+		return (this.gidBitmask & Tile.FLIPPED_VERTICALLY_FLAG) != 0;
+	}
+
+	@Override
+	public boolean isFlippedDiagonally() {
+		return (this.gidBitmask & Tile.FLIPPED_DIAGONALLY_FLAG) != 0;
+	}
+
+	@Override
+	public boolean isFlipped() {
+		return (this.gidBitmask & FLAGS) != 0;
+	}
+
+	@Override
+	public boolean equals(Object anObject) {
+		if (this == anObject) {
+			return true;
+		}
+		if (!(anObject instanceof ITile)) {
+			return false;
+		}
+		return this.gidBitmask == Tile.getGridIdBitmask((ITile) anObject);
+	}
+
+	@Override
+	public int hashCode() {
+		// consistent with Tile
+		return this.gidBitmask ^ Objects.hashCode(this.tilesetEntry);
+	}
+
+	@Override
+	public String toString() {
+		return this.getGridId() + String.valueOf(this.tilesetEntry);
+	}
+}
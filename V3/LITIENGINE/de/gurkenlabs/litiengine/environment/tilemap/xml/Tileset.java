@@ -91,6 +91,19 @@ public class Tileset extends CustomPropertyProvider implements ITileset {
 		Resources.images().addClearedListener(() -> this.spriteSheet = null);
 	}
 
+	/**
+	 * Creates a reference to an external tileset that is resolved when the
+	 * tileset is finished.
+	 *
+	 * @param firstgid The first grid id of the tileset in its map.
+	 * @param source   The location of the external tileset.
+	 */
+	Tileset(int firstgid, URL source) {
+		this();
+		this.firstgid = firstgid;
+		this.source = source;
+	}
+
 	@Override
 	public java.util.Map<String, ICustomProperty> getProperties() {
 		return this.sourceTileset != null ? this.sourceTileset.getProperties() : super.getProperties();
@@ -325,6 +338,10 @@ public class Tileset extends CustomPropertyProvider implements ITileset {
 		return this.source != null;
 	}
 
+	URL getSource() {
+		return this.source;
+	}
+
 	public void load(List<Tileset> rawTilesets) {
 		if (this.source == null) {
 			return;
@@ -0,0 +1,74 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
+import de.gurkenlabs.litiengine.environment.tilemap.ITilesetEntry;
+
+/**
+ * Resolves grid ids to tileset entries by the ranges of grid ids that the
+ * tilesets of a map cover. The tileset of a grid id is found by a binary search
+ * over the first grid ids of the tilesets; resolved entries of grid ids up to
+ * {@link #MAX_CACHED_GRID_ID} are additionally cached in a table that is
+ * indexed by the grid id, so the tiles of a layer can be resolved whenever
+ * they're accessed instead of being stored.
+ * <p>
+ * The lookup is a snapshot of the tilesets at the time it was created.
+ * </p>
+ */
+final class TilesetLookup {
+	private static final int MAX_CACHED_GRID_ID = 1 << 16;
+
+	private final ITileset[] tilesets;
+	private final int[] firstGridIds;
+	private final int[] endGridIds;
+	private final ITilesetEntry[] entries;
+
+	TilesetLookup(List<ITileset> tilesets) {
+		this.tilesets = tilesets.toArray(new ITileset[tilesets.size()]);
+		Arrays.sort(this.tilesets, Comparator.comparingInt(ITileset::getFirstGridId));
+
+		this.firstGridIds = new int[this.tilesets.length];
+		this.endGridIds = new int[this.tilesets.length];
+		int maxGridId = 0;
+		for (int i = 0; i < this.tilesets.length; i++) {
+			this.firstGridIds[i] = this.tilesets[i].getFirstGridId();
+			this.endGridIds[i] = this.firstGridIds[i] + this.tilesets[i].getTileCount();
+			maxGridId = Math.max(maxGridId, this.endGridIds[i]);
+		}
+
+		this.entries = new ITilesetEntry[Math.min(maxGridId, MAX_CACHED_GRID_ID)];
+	}
+
+	ITilesetEntry getEntry(int gid) {
+		if (gid >= 0 && gid < this.entries.length) {
+			ITilesetEntry entry = this.entries[gid];
+			if (entry == null) {
+				// racing threads resolve the same entry, which is harmless
+				entry = this.resolve(gid);
+				this.entries[gid] = entry;
+			}
+
+			return entry;
+		}
+
+		return this.resolve(gid);
+	}
+
+	private ITilesetEntry resolve(int gid) {
+		int index = Arrays.binarySearch(this.firstGridIds, gid);
+		if (index < 0) {
+			// the tileset with the greatest first grid id below the grid id
+			index = -index - 2;
+		}
+
+		if (index < 0 || gid >= this.endGridIds[index]) {
+			return null;
+		}
+
+		ITileset tileset = this.tilesets[index];
+		return tileset.getTile(gid - tileset.getFirstGridId());
+	}
+}
@@ -7,10 +7,14 @@ import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -102,13 +106,13 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 	private String name;
 
 	@XmlElement(name = "tileset", type = Tileset.class)
-	private List<ITileset> tilesets;
+	private List<ITileset> tilesets = new TilesetList(this);
 
 	@XmlElements({ @XmlElement(name = "imagelayer", type = ImageLayer.class),
 			@XmlElement(name = "layer", type = TileLayer.class),
 			@XmlElement(name = "objectgroup", type = MapObjectLayer.class),
 			@XmlElement(name = "group", type = GroupLayer.class) })
-	private List<ILayer> layers;
+	private List<ILayer> layers = new CopyOnWriteArrayList<>();
 
 	@XmlTransient
 	private URL path;
@@ -129,6 +133,8 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 	@XmlTransient
 	private int chunkOffsetY;
 
+	private transient volatile TilesetLookup tilesetLookup;
+
 	@Override
 	public List<IImageLayer> getImageLayers() {
 		return this.imageLayers;
@@ -201,12 +207,13 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 
 	@Override
 	public ITilesetEntry getTilesetEntry(int gid) {
-		for (ITileset tileset : this.getTilesets()) {
-			if (tileset.containsTile(gid)) {
-				return tileset.getTile(gid - tileset.getFirstGridId());
-			}
+		TilesetLookup lookup = this.tilesetLookup;
+		if (lookup == null) {
+			lookup = new TilesetLookup(this.tilesets);
+			this.tilesetLookup = lookup;
 		}
-		return null;
+
+		return lookup.getEntry(gid);
 	}
 
 	@Override
@@ -292,6 +299,8 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 				((Tileset) tileset).finish(location);
 			}
 		}
+		// the tile counts of external tilesets are only known once they're loaded
+		this.tilesetLookup = null;
 		for (ILayer layer : this.layers) {
 			if (layer instanceof Layer) {
 				((Layer) layer).finish(location);
@@ -406,6 +415,21 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 		this.width = width;
 	}
 
+	@XmlTransient
+	public void setBackgroundColor(Color backgroundColor) {
+		this.backgroundcolor = backgroundColor;
+	}
+
+	@XmlTransient
+	public void setNextObjectId(int nextObjectId) {
+		this.nextObjectId = nextObjectId;
+	}
+
+	@XmlTransient
+	public void setNextLayerId(int nextLayerId) {
+		this.nextLayerId = nextLayerId;
+	}
+
 	@Override
 	public int compareTo(TmxMap o) {
 		if (this.name == null) {
@@ -481,10 +505,12 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 			this.mapOrientation = MapOrientations.ORTHOGONAL;
 		}
 
-		if (this.tilesets == null) {
-			this.tilesets = new CopyOnWriteArrayList<>();
+		if (!(this.tilesets instanceof TilesetList)) {
+			this.tilesets = this.tilesets != null ? new TilesetList(this, this.tilesets) : new TilesetList(this);
 		}
 
+		this.tilesetLookup = null;
+
 		if (this.layers == null) {
 			this.layers = new CopyOnWriteArrayList<>();
 		}
@@ -636,4 +662,136 @@ public final class TmxMap extends CustomPropertyProvider implements IMap, Compar
 		this.height = h;
 
 	}
+
+	/**
+	 * The tilesets of a map, which discards the tileset lookup of the map whenever
+	 * they're changed, so the grid ids are resolved against the current tilesets.
+	 */
+	private static final class TilesetList extends CopyOnWriteArrayList<ITileset> {
+		private static final long serialVersionUID = 7014350465312870125L;
+
+		private final transient TmxMap map;
+
+		private TilesetList(TmxMap map) {
+			this.map = map;
+		}
+
+		private TilesetList(TmxMap map, Collection<? extends ITileset> tilesets) {
+			super(tilesets);
+			this.map = map;
+		}
+
+		@Override
+		public ITileset set(int index, ITileset element) {
+			final ITileset previous = super.set(index, element);
+			this.changed();
+			return previous;
+		}
+
+		@Override
+		public boolean add(ITileset e) {
+			final boolean result = super.add(e);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public void add(int index, ITileset element) {
+			super.add(index, element);
+			this.changed();
+		}
+
+		@Override
+		public ITileset remove(int index) {
+			final ITileset removed = super.remove(index);
+			this.changed();
+			return removed;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			final boolean result = super.remove(o);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public boolean addIfAbsent(ITileset e) {
+			final boolean result = super.addIfAbsent(e);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			final boolean result = super.removeAll(c);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			final boolean result = super.retainAll(c);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public int addAllAbsent(Collection<? extends ITileset> c) {
+			final int added = super.addAllAbsent(c);
+			this.changed();
+			return added;
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			this.changed();
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends ITileset> c) {
+			final boolean result = super.addAll(c);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends ITileset> c) {
+			final boolean result = super.addAll(index, c);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super ITileset> filter) {
+			final boolean result = super.removeIf(filter);
+			this.changed();
+			return result;
+		}
+
+		@Override
+		public void replaceAll(UnaryOperator<ITileset> operator) {
+			super.replaceAll(operator);
+			this.changed();
+		}
+
+		@Override
+		public void sort(Comparator<? super ITileset> c) {
+			super.sort(c);
+			this.changed();
+		}
+
+		@Override
+		public List<ITileset> subList(int fromIndex, int toIndex) {
+			// a view would change the tilesets without passing through this list
+			return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+		}
+
+		private void changed() {
+			if (this.map != null) {
+				this.map.tilesetLookup = null;
+			}
+		}
+	}
 }
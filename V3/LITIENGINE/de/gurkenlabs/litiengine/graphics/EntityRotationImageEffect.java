@@ -10,6 +10,12 @@ public class EntityRotationImageEffect extends RotationImageEffect {
 		this.entity = entity;
 	}
 
+	@Override
+	public boolean isCacheable() {
+		// the angle of the entity changes over time
+		return false;
+	}
+
 	@Override
 	public double getAngle() {
 		return 360 - this.entity.getAngle();
@@ -13,6 +13,11 @@ public class FlashPixelsImageEffect extends ImageEffect {
 		this.color = color;
 	}
 
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
 	@Override
 	public BufferedImage apply(final BufferedImage image) {
 		return Imaging.flashVisiblePixels(image, this.color);
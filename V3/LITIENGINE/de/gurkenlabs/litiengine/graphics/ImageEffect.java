@@ -58,5 +58,20 @@ public abstract class ImageEffect implements ITimeToLive, Comparable<ImageEffect
 		return Integer.compare(this.getPriority(), other.getPriority());
 	}
 
+	/**
+	 * Determines whether this effect always produces the same result for the same
+	 * image. The results of such effects are memoized by the animation controllers
+	 * instead of being applied on every frame.
+	 * <p>
+	 * Effects that depend on any state that changes over time (e.g. the angle of
+	 * an entity) must not be cacheable, which is the default.
+	 * </p>
+	 * 
+	 * @return True if the results of this effect can be reused; otherwise false.
+	 */
+	public boolean isCacheable() {
+		return false;
+	}
+
 	public abstract BufferedImage apply(BufferedImage image);
 }
@@ -14,6 +14,11 @@ public class OverlayPixelsImageEffect extends ImageEffect {
 		this.color = color;
 	}
 
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
 	@Override
 	public BufferedImage apply(final BufferedImage image) {
 		final BufferedImage bimage = Imaging.getCompatibleImage(image.getWidth(null), image.getHeight(null));
@@ -6,6 +6,7 @@ import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.Image;
 import java.awt.MouseInfo;
 import java.awt.Point;
@@ -26,6 +27,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameMetrics.RenderInfo;
 import de.gurkenlabs.litiengine.gui.screens.Screen;
 import de.gurkenlabs.litiengine.input.Input;
 import de.gurkenlabs.litiengine.util.Imaging;
@@ -69,10 +71,13 @@ public class RenderComponent extends Canvas {
 		this.setFont(DEFAULT_FONT);
 
 		// hide default cursor
-		final BufferedImage cursorImg = Imaging.getCompatibleImage(16, 16);
-		final Cursor blankCursor = Toolkit.getDefaultToolkit().createCustomCursor(cursorImg, new Point(0, 0),
-				"blank cursor");
-		this.setCursor(blankCursor);
+		if (!GraphicsEnvironment.isHeadless()) {
+			final BufferedImage cursorImg = Imaging.getCompatibleImage(16, 16);
+			final Cursor blankCursor = Toolkit.getDefaultToolkit().createCustomCursor(cursorImg, new Point(0, 0),
+					"blank cursor");
+			this.setCursor(blankCursor);
+		}
+
 		this.setSize(size);
 
 		// canvas will scale when the size of this jframe gets changed
@@ -164,9 +169,16 @@ public class RenderComponent extends Canvas {
 					if (Game.config().debug().trackRenderTimes()) {
 						final double totalRenderTime = TimeUtilities.nanoToMs(System.nanoTime() - renderStart);
 						Game.metrics().trackRenderTime("screen", totalRenderTime);
+
+						final TextCache textCache = TextRenderer.cache();
+						Game.metrics().trackRenderTime("text", TimeUtilities.nanoToMs(textCache.getFrameRenderTime()),
+								new RenderInfo("texts", textCache.getFrameTexts()),
+								new RenderInfo("cached", textCache.getFrameCachedTexts()));
 					}
 				}
 
+				TextRenderer.cache().nextFrame();
+
 				final Point locationOnScreen = this.getLocationOnScreen();
 				final Rectangle rect = new Rectangle(locationOnScreen.x, locationOnScreen.y, this.getWidth(),
 						this.getHeight());
@@ -14,6 +14,11 @@ public class RotationImageEffect extends ImageEffect {
 		this.angle = angle;
 	}
 
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
 	@Override
 	public BufferedImage apply(final BufferedImage image) {
 		if (image == null) {
@@ -1,27 +1,29 @@
 package de.gurkenlabs.litiengine.graphics;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.RasterFormatException;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
+import de.gurkenlabs.litiengine.resources.ImageCache;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 
 public final class Spritesheet {
 	private static final Logger log = Logger.getLogger(Spritesheet.class.getName());
-
-	private final List<Integer> emptySprites = new CopyOnWriteArrayList<>();
+	private static final String CACHE_PREVIEW = "preview";
 
 	private final BufferedImage image;
 	private final String name;
 	private final ImageFormat imageFormat;
 
-	private BufferedImage[] sprites;
+	private final Map<Long, SpriteLayout> layouts = new ConcurrentHashMap<>();
 	private int columns;
 	private int rows;
 	private int spriteHeight;
@@ -39,14 +41,11 @@ public final class Spritesheet {
 		this.imageFormat = ImageFormat.get(FileUtilities.getExtension(path));
 
 		this.updateRowsAndCols();
-		this.sprites = new BufferedImage[this.getTotalNumberOfSprites()];
 
 		Resources.spritesheets().add(this.name, this);
 
-		Resources.images().addClearedListener(() -> {
-			this.emptySprites.clear();
-			this.sprites = new BufferedImage[this.getTotalNumberOfSprites()];
-		});
+		// the analysis of a layout remains valid because the image doesn't change
+		Resources.images().addClearedListener(() -> this.layouts.values().forEach(SpriteLayout::clearSprites));
 	}
 
 	/**
@@ -60,20 +59,17 @@ public final class Spritesheet {
 
 	public BufferedImage getPreview(int dimension) {
 		final BufferedImage img = this.getSprite(0);
-		BufferedImage scaled = null;
-		String cacheKey = "iconx" + dimension + this.getName();
+		final ImageCache.Key cacheKey = new ImageCache.Key(this, CACHE_PREVIEW, 0, dimension, dimension, 0);
 
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			scaled = opt.get();
-		} else {
+		BufferedImage scaled = Resources.images().cache().get(cacheKey);
+		if (scaled == null) {
 			if (img != null) {
 				scaled = Imaging.scale(img, dimension, dimension, true);
 			} else {
 				scaled = Imaging.getCompatibleImage(dimension, dimension);
 			}
 
-			Resources.images().add(cacheKey, scaled);
+			Resources.images().cache().put(cacheKey, scaled);
 		}
 
 		return scaled;
@@ -106,12 +102,14 @@ public final class Spritesheet {
 	}
 
 	public BufferedImage getSprite(final int index, final int margin, final int spacing) {
-		if (this.emptySprites.contains(index) || this.sprites.length == 0) {
+		if (this.getTotalNumberOfSprites() == 0) {
 			return null;
 		}
 
-		if (this.sprites[index] != null) {
-			return this.sprites[index];
+		final SpriteLayout layout = this.getLayout(margin, spacing);
+		final BufferedImage[] sprites = layout.sprites;
+		if (sprites[index] != null) {
+			return sprites[index];
 		}
 
 		if (this.getImage() == null) {
@@ -119,16 +117,15 @@ public final class Spritesheet {
 			return null;
 		}
 
+		if (layout.emptySprites.get(index)) {
+			return null;
+		}
+
 		final Point position = this.getLocation(index, margin, spacing);
 		try {
 			final BufferedImage sprite = this.getImage().getSubimage(position.x, position.y, this.spriteWidth,
 					this.spriteHeight);
-			if (Imaging.isEmpty(sprite)) {
-				emptySprites.add(index);
-				return null;
-			}
-
-			this.sprites[index] = sprite;
+			sprites[index] = sprite;
 			return sprite;
 		} catch (final RasterFormatException rfe) {
 			log.warning("could not read sprite of size [" + this.spriteWidth + "x" + this.spriteHeight
@@ -137,6 +134,66 @@ public final class Spritesheet {
 		}
 	}
 
+	/**
+	 * Gets the bounds of the visible pixels of the sprite with the specified index,
+	 * relative to the sprite. Rendering only this part of the sprite at the
+	 * according offset skips its transparent margins.
+	 *
+	 * @param index The index of the sprite.
+	 * @return The bounds of the visible pixels or null if the sprite is empty or
+	 *         doesn't exist.
+	 * 
+	 * @see #getTrimmedSprite(int)
+	 */
+	public Rectangle getTrimBounds(final int index) {
+		return this.getTrimBounds(index, 0, 0);
+	}
+
+	public Rectangle getTrimBounds(final int index, final int margin, final int spacing) {
+		if (index < 0 || index >= this.getTotalNumberOfSprites()) {
+			return null;
+		}
+
+		final Rectangle bounds = this.getLayout(margin, spacing).trimBounds[index];
+		return bounds != null ? new Rectangle(bounds) : null;
+	}
+
+	/**
+	 * Gets the visible part of the sprite with the specified index, i.e. the
+	 * sprite without its transparent margins.
+	 *
+	 * @param index The index of the sprite.
+	 * @return The trimmed sprite or null if the sprite is empty or doesn't exist.
+	 * 
+	 * @see #getTrimBounds(int)
+	 */
+	public BufferedImage getTrimmedSprite(final int index) {
+		return this.getTrimmedSprite(index, 0, 0);
+	}
+
+	public BufferedImage getTrimmedSprite(final int index, final int margin, final int spacing) {
+		if (index < 0 || index >= this.getTotalNumberOfSprites()) {
+			return null;
+		}
+
+		final SpriteLayout layout = this.getLayout(margin, spacing);
+		final BufferedImage[] trimmedSprites = layout.trimmedSprites;
+		if (trimmedSprites[index] != null) {
+			return trimmedSprites[index];
+		}
+
+		final BufferedImage sprite = this.getSprite(index, margin, spacing);
+		final Rectangle bounds = layout.trimBounds[index];
+		if (sprite == null || bounds == null) {
+			return null;
+		}
+
+		final BufferedImage trimmed = bounds.width == sprite.getWidth() && bounds.height == sprite.getHeight() ? sprite
+				: sprite.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+		trimmedSprites[index] = trimmed;
+		return trimmed;
+	}
+
 	/**
 	 * Gets the sprite height.
 	 *
@@ -173,6 +230,7 @@ public final class Spritesheet {
 
 		this.spriteHeight = spriteHeight;
 		this.updateRowsAndCols();
+		this.layouts.clear();
 	}
 
 	public void setSpriteWidth(final int spriteWidth) {
@@ -180,6 +238,7 @@ public final class Spritesheet {
 
 		this.spriteWidth = spriteWidth;
 		this.updateRowsAndCols();
+		this.layouts.clear();
 	}
 
 	private void checkWidth(int value) {
@@ -215,6 +274,23 @@ public final class Spritesheet {
 		}
 	}
 
+	/**
+	 * Gets the sprites of this spritesheet for the specified margin and spacing.
+	 * The sprites of each layout are analyzed in parallel once, when the layout
+	 * is first accessed.
+	 */
+	private SpriteLayout getLayout(final int margin, final int spacing) {
+		final Long key = (long) margin << 32 | spacing & 0xFFFFFFFFL;
+		final SpriteLayout current = this.layouts.get(key);
+		if (current != null && current.spriteWidth == this.spriteWidth && current.spriteHeight == this.spriteHeight) {
+			return current;
+		}
+
+		final SpriteLayout layout = new SpriteLayout(this, margin, spacing);
+		this.layouts.put(key, layout);
+		return layout;
+	}
+
 	private Point getLocation(final int index, final int margin, final int spacing) {
 		final int row = index / this.getColumns();
 		final int column = index % this.getColumns();
@@ -228,4 +304,54 @@ public final class Spritesheet {
 		this.columns = sprite.getWidth() / this.spriteWidth;
 		this.rows = sprite.getHeight() / this.spriteHeight;
 	}
+
+	/**
+	 * The empty sprites and the bounds of the visible pixels of all other sprites
+	 * for one margin and spacing, along with the sprites that have been read with
+	 * them.
+	 */
+	private static final class SpriteLayout {
+		private final int spriteWidth;
+		private final int spriteHeight;
+		private final BitSet emptySprites;
+		private final Rectangle[] trimBounds;
+		private volatile BufferedImage[] sprites;
+		private volatile BufferedImage[] trimmedSprites;
+
+		private SpriteLayout(final Spritesheet spritesheet, final int margin, final int spacing) {
+			this.spriteWidth = spritesheet.getSpriteWidth();
+			this.spriteHeight = spritesheet.getSpriteHeight();
+
+			final BufferedImage image = spritesheet.getImage();
+			final int count = spritesheet.getTotalNumberOfSprites();
+			final boolean[] outOfBounds = new boolean[count];
+			this.trimBounds = new Rectangle[count];
+			IntStream.range(0, count).parallel().forEach(index -> {
+				final Point position = spritesheet.getLocation(index, margin, spacing);
+				if (position.x + this.spriteWidth > image.getWidth()
+						|| position.y + this.spriteHeight > image.getHeight()) {
+					// this is reported when the sprite is accessed
+					outOfBounds[index] = true;
+					return;
+				}
+
+				this.trimBounds[index] = Imaging.getVisibleBounds(image, position.x, position.y, this.spriteWidth,
+						this.spriteHeight);
+			});
+
+			this.emptySprites = new BitSet(count);
+			for (int i = 0; i < count; i++) {
+				if (this.trimBounds[i] == null && !outOfBounds[i]) {
+					this.emptySprites.set(i);
+				}
+			}
+
+			this.clearSprites();
+		}
+
+		private void clearSprites() {
+			this.sprites = new BufferedImage[this.trimBounds.length];
+			this.trimmedSprites = new BufferedImage[this.trimBounds.length];
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded cache for texts that were rasterized by the {@code TextRenderer},
+ * e.g. texts with an outline that would otherwise be converted to shapes,
+ * stroked and filled every frame.
+ * <p>
+ * A text is identified by its string and everything that affects its
+ * appearance: the font, the colors, the anti-aliasing and the scale of the
+ * graphics it's rendered on. Changing any of these results in a different
+ * entry, so the cache never has to be invalidated explicitly; entries that
+ * aren't rendered anymore are evicted when the cache exceeds its maximum size,
+ * least recently used first.
+ * </p>
+ * <p>
+ * Additionally, this cache keeps track of the time that was spent on rendering
+ * texts during the current frame.
+ * </p>
+ *
+ * @see TextRenderer#cache()
+ */
+public final class TextCache {
+	public static final long DEFAULT_MAX_SIZE = 8L * 1024 * 1024;
+
+	private final Map<Key, Text> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long maxSize = DEFAULT_MAX_SIZE;
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	private long frameRenderTime;
+	private int frameTexts;
+	private int frameCachedTexts;
+
+	TextCache() {
+	}
+
+	/**
+	 * Removes all texts from the cache. The hit, miss and eviction counters are
+	 * not reset.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.size = 0;
+	}
+
+	public synchronized int count() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the approximate number of bytes that are occupied by the pixels of the
+	 * cached texts.
+	 *
+	 * @return The size of the cached texts in bytes.
+	 */
+	public synchronized long getSize() {
+		return this.size;
+	}
+
+	public synchronized long getMaxSize() {
+		return this.maxSize;
+	}
+
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	public synchronized long getEvictions() {
+		return this.evictions;
+	}
+
+	/**
+	 * Gets the time that was spent on rendering texts with the
+	 * {@code TextRenderer} since the current frame started.
+	 *
+	 * @return The render time of the texts in nanoseconds.
+	 */
+	public synchronized long getFrameRenderTime() {
+		return this.frameRenderTime;
+	}
+
+	/**
+	 * Gets the number of texts that were rendered with the {@code TextRenderer}
+	 * since the current frame started.
+	 *
+	 * @return The number of rendered texts.
+	 */
+	public synchronized int getFrameTexts() {
+		return this.frameTexts;
+	}
+
+	/**
+	 * Gets the number of texts that were rendered from this cache since the
+	 * current frame started.
+	 *
+	 * @return The number of texts that were rendered from the cache.
+	 */
+	public synchronized int getFrameCachedTexts() {
+		return this.frameCachedTexts;
+	}
+
+	/**
+	 * Sets the maximum number of bytes that the pixels of the cached texts may
+	 * occupy. Texts are evicted right away if the cache exceeds the new maximum.
+	 *
+	 * @param maxSize The maximum size of the cache in bytes.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+		this.evict();
+	}
+
+	synchronized Text get(Key key) {
+		final Text text = this.entries.get(key);
+		if (text != null) {
+			this.hits++;
+		} else {
+			this.misses++;
+		}
+
+		return text;
+	}
+
+	synchronized void put(Key key, Text text) {
+		final Text previous = this.entries.put(key, text);
+		if (previous != null) {
+			this.size -= previous.size;
+		}
+
+		this.size += text.size;
+		this.evict();
+	}
+
+	synchronized boolean fits(int width, int height) {
+		// a single text may only occupy a fraction of the cache
+		return (long) width * height * Integer.BYTES <= this.maxSize / 4;
+	}
+
+	synchronized void track(long renderTime, boolean cached) {
+		this.frameRenderTime += renderTime;
+		this.frameTexts++;
+		if (cached) {
+			this.frameCachedTexts++;
+		}
+	}
+
+	synchronized void nextFrame() {
+		this.frameRenderTime = 0;
+		this.frameTexts = 0;
+		this.frameCachedTexts = 0;
+	}
+
+	private void evict() {
+		final Iterator<Text> iterator = this.entries.values().iterator();
+		while (this.size > this.maxSize && iterator.hasNext()) {
+			final Text eldest = iterator.next();
+			iterator.remove();
+			this.size -= eldest.size;
+			this.evictions++;
+		}
+	}
+
+	/**
+	 * A rasterized text and the offset of its image relative to the location at
+	 * which the text is rendered.
+	 */
+	static final class Text {
+		private final BufferedImage image;
+		private final double offsetX;
+		private final double offsetY;
+		private final long size;
+
+		Text(BufferedImage image, double offsetX, double offsetY) {
+			this.image = image;
+			this.offsetX = offsetX;
+			this.offsetY = offsetY;
+			this.size = (long) image.getWidth() * image.getHeight() * Integer.BYTES;
+		}
+
+		BufferedImage getImage() {
+			return this.image;
+		}
+
+		double getOffsetX() {
+			return this.offsetX;
+		}
+
+		double getOffsetY() {
+			return this.offsetY;
+		}
+	}
+
+	static final class Key {
+		private final String text;
+		private final Font font;
+		private final Color color;
+		private final Color outlineColor;
+		private final Object textAntialiasing;
+		private final Object antialiasing;
+		private final double scaleX;
+		private final double scaleY;
+		private final int hashCode;
+
+		Key(String text, Font font, Color color, Color outlineColor, Object textAntialiasing, Object antialiasing,
+				double scaleX, double scaleY) {
+			this.text = text;
+			this.font = font;
+			this.color = color;
+			this.outlineColor = outlineColor;
+			this.textAntialiasing = textAntialiasing;
+			this.antialiasing = antialiasing;
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+
+			int hash = text.hashCode();
+			hash = 31 * hash + Objects.hashCode(font);
+			hash = 31 * hash + Objects.hashCode(color);
+			hash = 31 * hash + Objects.hashCode(outlineColor);
+			hash = 31 * hash + Objects.hashCode(textAntialiasing);
+			hash = 31 * hash + Objects.hashCode(antialiasing);
+			hash = 31 * hash + Double.hashCode(scaleX);
+			this.hashCode = 31 * hash + Double.hashCode(scaleY);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) obj;
+			return this.hashCode == other.hashCode && this.scaleX == other.scaleX && this.scaleY == other.scaleY
+					&& this.text.equals(other.text) && Objects.equals(this.font, other.font)
+					&& Objects.equals(this.color, other.color) && Objects.equals(this.outlineColor, other.outlineColor)
+					&& Objects.equals(this.textAntialiasing, other.textAntialiasing)
+					&& Objects.equals(this.antialiasing, other.antialiasing);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+}
@@ -13,16 +13,30 @@ import java.awt.font.TextAttribute;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 
 import de.gurkenlabs.litiengine.gui.GuiProperties;
+import de.gurkenlabs.litiengine.util.Imaging;
 
 public final class TextRenderer {
+	private static final TextCache CACHE = new TextCache();
+
 	private TextRenderer() {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Gets the cache that holds the rasterized texts of this renderer.
+	 *
+	 * @return The text cache.
+	 */
+	public static TextCache cache() {
+		return CACHE;
+	}
+
 	/**
 	 * Draw text at the given coordinates. This variant of drawText() uses
 	 * RenderingHints.VALUE_TEXT_ANTIALIAS_OFF as Anti-Aliasing method by standard.
@@ -60,11 +74,13 @@ public final class TextRenderer {
 			return;
 		}
 
+		final long start = System.nanoTime();
 		RenderingHints originalHints = g.getRenderingHints();
 		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antiAliasing);
 
 		g.drawString(text, (float) x, (float) y);
 		g.setRenderingHints(originalHints);
+		CACHE.track(System.nanoTime() - start, false);
 	}
 
 	public static void render(final Graphics2D g, final String text, Point2D location, Object antiAliasing) {
@@ -137,6 +153,8 @@ public final class TextRenderer {
 		if (text == null || text.isEmpty()) {
 			return;
 		}
+
+		final long start = System.nanoTime();
 		RenderingHints originalHints = g.getRenderingHints();
 		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antiAliasing);
 
@@ -155,6 +173,7 @@ public final class TextRenderer {
 			textY += nextLayout.getDescent() + nextLayout.getLeading();
 		}
 		g.setRenderingHints(originalHints);
+		CACHE.track(System.nanoTime() - start, false);
 	}
 
 	public static void renderWithLinebreaks(final Graphics2D g, final String text, Point2D location,
@@ -188,6 +207,11 @@ public final class TextRenderer {
 	/**
 	 * Draw text at the given coordinates with an outline in the provided color and
 	 * a provided Anti-Aliasing parameter.
+	 * <p>
+	 * The outlined text is rasterized once and then rendered from the
+	 * {@link #cache()}, unless the graphics object is rotated, sheared or filled
+	 * with something else than a color.
+	 * </p>
 	 * 
 	 * @param g            the Graphics2D object to draw on
 	 * @param text         the String to be distributed over all generated lines
@@ -204,6 +228,91 @@ public final class TextRenderer {
 			return;
 		}
 
+		final long start = System.nanoTime();
+		final AffineTransform transform = g.getTransform();
+		final int scaleTypes = AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE;
+		if (!(g.getPaint() instanceof Color)
+				|| (transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | scaleTypes)) != 0
+				|| transform.getScaleX() <= 0 || transform.getScaleY() <= 0) {
+			renderOutline(g, text, x, y, outlineColor, antiAliasing);
+			CACHE.track(System.nanoTime() - start, false);
+			return;
+		}
+
+		final TextCache.Key key = new TextCache.Key(text, g.getFont(), g.getColor(), outlineColor, antiAliasing,
+				g.getRenderingHint(RenderingHints.KEY_ANTIALIASING), transform.getScaleX(), transform.getScaleY());
+		TextCache.Text cached = CACHE.get(key);
+		final boolean hit = cached != null;
+		if (cached == null) {
+			cached = rasterizeOutline(g, text, outlineColor, antiAliasing, transform.getScaleX(),
+					transform.getScaleY());
+			if (cached == null) {
+				renderOutline(g, text, x, y, outlineColor, antiAliasing);
+				CACHE.track(System.nanoTime() - start, false);
+				return;
+			}
+
+			CACHE.put(key, cached);
+		}
+
+		// the image was rasterized at the scale of the graphics, so it's rendered without
+		// scaling it again and aligned to the device pixels to keep it sharp
+		final double scaleX = transform.getScaleX();
+		final double scaleY = transform.getScaleY();
+		final double renderX = (Math.round((x + cached.getOffsetX()) * scaleX + transform.getTranslateX())
+				- transform.getTranslateX()) / scaleX;
+		final double renderY = (Math.round((y + cached.getOffsetY()) * scaleY + transform.getTranslateY())
+				- transform.getTranslateY()) / scaleY;
+		ImageRenderer.renderScaled(g, cached.getImage(), renderX, renderY, 1 / scaleX, 1 / scaleY);
+		CACHE.track(System.nanoTime() - start, hit);
+	}
+
+	public static void renderWithOutline(final Graphics2D g, final String text, Point2D location,
+			final Color outlineColor, final Object antiAliasing) {
+		renderWithOutline(g, text, location.getX(), location.getY(), outlineColor, antiAliasing);
+	}
+
+	private static TextCache.Text rasterizeOutline(final Graphics2D g, final String text, final Color outlineColor,
+			final Object antiAliasing, final double scaleX, final double scaleY) {
+		final BasicStroke outlineStroke = new BasicStroke(g.getFont().getSize() * 1 / 10f);
+		final Shape textShape = g.getFont().createGlyphVector(g.getFontRenderContext(), text).getOutline();
+		final Rectangle2D bounds = outlineStroke.createStrokedShape(textShape).getBounds2D()
+				.createUnion(textShape.getBounds2D());
+
+		// leave a pixel on each side for anti-aliased edges
+		final int minX = (int) Math.floor(bounds.getMinX() * scaleX) - 1;
+		final int minY = (int) Math.floor(bounds.getMinY() * scaleY) - 1;
+		final int width = (int) Math.ceil(bounds.getMaxX() * scaleX) + 1 - minX;
+		final int height = (int) Math.ceil(bounds.getMaxY() * scaleY) + 1 - minY;
+		if (width <= 0 || height <= 0 || !CACHE.fits(width, height)) {
+			return null;
+		}
+
+		final BufferedImage image = Imaging.getCompatibleImage(width, height);
+		if (image == null) {
+			return null;
+		}
+
+		final Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setRenderingHints(g.getRenderingHints());
+		imageGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antiAliasing);
+		imageGraphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		imageGraphics.translate(-minX, -minY);
+		imageGraphics.scale(scaleX, scaleY);
+
+		imageGraphics.setColor(outlineColor);
+		imageGraphics.setStroke(outlineStroke);
+		imageGraphics.draw(textShape);
+
+		imageGraphics.setColor(g.getColor());
+		imageGraphics.fill(textShape);
+		imageGraphics.dispose();
+
+		return new TextCache.Text(image, minX / scaleX, minY / scaleY);
+	}
+
+	private static void renderOutline(final Graphics2D g, final String text, final double x, final double y,
+			final Color outlineColor, final Object antiAliasing) {
 		Color fillColor = g.getColor();
 		BasicStroke outlineStroke = new BasicStroke(g.getFont().getSize() * 1 / 10f);
 
@@ -235,9 +344,4 @@ public final class TextRenderer {
 		g.setStroke(originalStroke);
 		g.setRenderingHints(originalHints);
 	}
-
-	public static void renderWithOutline(final Graphics2D g, final String text, Point2D location,
-			final Color outlineColor, final Object antiAliasing) {
-		renderWithOutline(g, text, location.getX(), location.getY(), outlineColor, antiAliasing);
-	}
 }
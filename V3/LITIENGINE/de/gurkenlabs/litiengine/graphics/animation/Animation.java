@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.graphics.animation;
 
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -73,6 +74,22 @@ public class Animation implements IUpdateable, ILaunchable {
 		return this.currentFrame;
 	}
 
+	/**
+	 * Gets the sprite of the current keyframe.
+	 * 
+	 * @return The current sprite or null if there is no current keyframe or its
+	 *         sprite is empty.
+	 */
+	public BufferedImage getCurrentSprite() {
+		final Spritesheet sheet = this.getSpritesheet();
+		final KeyFrame frame = this.getCurrentKeyFrame();
+		if (sheet == null || frame == null) {
+			return null;
+		}
+
+		return frame.getSprite(sheet);
+	}
+
 	public List<KeyFrame> getKeyframes() {
 		return this.keyframes;
 	}
@@ -2,27 +2,37 @@ package de.gurkenlabs.litiengine.graphics.animation;
 
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.graphics.ImageEffect;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.resources.ImageCache;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 
 public class AnimationController implements IAnimationController {
 	private static final int MAX_IMAGE_EFFECTS = 20;
+	private static final String CACHE_SCALED = "scaled";
 	private final Map<String, Animation> animations;
 	private final List<ImageEffect> imageEffects;
 	private final List<AnimationListener> listeners;
 
+	// sprites with cacheable image effects applied, by their original sprite
+	private final Map<BufferedImage, BufferedImage> effectSprites;
+	private int imageEffectsVersion;
+	private int effectSpritesVersion;
+
+	private BufferedImage scaledSource;
+	private BufferedImage scaledSprite;
+	private int scaledWidth;
+	private int scaledHeight;
+
 	private Animation currentAnimation;
 	private Animation defaultAnimation;
 	private AffineTransform affineTransform;
@@ -31,6 +41,7 @@ public class AnimationController implements IAnimationController {
 		this.animations = new ConcurrentHashMap<>();
 		this.imageEffects = new CopyOnWriteArrayList<>();
 		this.listeners = new CopyOnWriteArrayList<>();
+		this.effectSprites = new ConcurrentHashMap<>();
 	}
 
 	public AnimationController(final Animation defaultAnimation) {
@@ -75,6 +86,7 @@ public class AnimationController implements IAnimationController {
 
 		this.getImageEffects().add(effect);
 		Collections.sort(this.getImageEffects());
+		this.imageEffectsVersion++;
 	}
 
 	public void attach() {
@@ -128,37 +140,63 @@ public class AnimationController implements IAnimationController {
 	@Override
 	public BufferedImage getCurrentSprite() {
 		final Animation current = this.getCurrentAnimation();
-		if (current == null || current.getSpritesheet() == null || current.getCurrentKeyFrame() == null) {
+		if (current == null) {
 			return null;
 		}
 
-		final String cacheKey = buildCurrentCacheKey();
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			return opt.get();
+		final BufferedImage sprite = current.getCurrentSprite();
+		if (sprite == null || this.getImageEffects().isEmpty()) {
+			return sprite;
+		}
+
+		if (!this.hasCacheableImageEffects()) {
+			return this.applyImageEffects(sprite);
+		}
+
+		if (this.effectSpritesVersion != this.imageEffectsVersion) {
+			this.effectSprites.clear();
+			this.effectSpritesVersion = this.imageEffectsVersion;
 		}
 
-		BufferedImage sprite = current.getSpritesheet().getSprite(current.getCurrentKeyFrame().getSpriteIndex());
-		for (final ImageEffect effect : this.getImageEffects()) {
-			sprite = effect.apply(sprite);
+		BufferedImage effectSprite = this.effectSprites.get(sprite);
+		if (effectSprite == null) {
+			effectSprite = this.applyImageEffects(sprite);
+			if (effectSprite != null) {
+				this.effectSprites.put(sprite, effectSprite);
+			}
 		}
 
-		return sprite;
+		return effectSprite;
 	}
 
 	@Override
 	public BufferedImage getCurrentSprite(final int width, final int height) {
-		if (this.getCurrentSprite() == null) {
+		final BufferedImage sprite = this.getCurrentSprite();
+		if (sprite == null) {
 			return null;
 		}
 
-		final String cacheKey = buildCurrentCacheKey() + "_" + width + "_" + height;
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			return opt.get();
+		if (sprite == this.scaledSource && width == this.scaledWidth && height == this.scaledHeight) {
+			return this.scaledSprite;
+		}
+
+		if (!this.getImageEffects().isEmpty() && !this.hasCacheableImageEffects()) {
+			// the sprite is a new image on every call, so there's no point in caching it
+			return Imaging.scale(sprite, width, height);
 		}
 
-		return Imaging.scale(this.getCurrentSprite(), width, height);
+		final ImageCache.Key cacheKey = new ImageCache.Key(sprite, CACHE_SCALED, 0, width, height, 0);
+		BufferedImage scaled = Resources.images().cache().get(cacheKey);
+		if (scaled == null) {
+			scaled = Imaging.scale(sprite, width, height);
+			Resources.images().cache().put(cacheKey, scaled);
+		}
+
+		this.scaledSource = sprite;
+		this.scaledWidth = width;
+		this.scaledHeight = height;
+		this.scaledSprite = scaled;
+		return scaled;
 	}
 
 	@Override
@@ -242,7 +280,9 @@ public class AnimationController implements IAnimationController {
 			return;
 		}
 
-		this.imageEffects.remove(effect);
+		if (this.imageEffects.remove(effect)) {
+			this.imageEffectsVersion++;
+		}
 	}
 
 	@Override
@@ -282,35 +322,35 @@ public class AnimationController implements IAnimationController {
 		}
 	}
 
-	protected String buildCurrentCacheKey() {
-		if (this.getCurrentAnimation() == null || this.getCurrentAnimation().getCurrentKeyFrame() == null
-				|| this.getCurrentAnimation().getSpritesheet() == null) {
-			return null;
+	private boolean hasCacheableImageEffects() {
+		for (final ImageEffect effect : this.imageEffects) {
+			if (!effect.isCacheable()) {
+				return false;
+			}
 		}
-		final StringBuilder cacheKey = new StringBuilder();
-		cacheKey.append(this.getCurrentAnimation().getSpritesheet().hashCode());
-		cacheKey.append('_');
-		cacheKey.append(this.getCurrentAnimation().getCurrentKeyFrame().getSpriteIndex());
-		cacheKey.append('_');
 
-		this.getImageEffects().forEach(x -> cacheKey.append(x.getName().hashCode()));
-		return cacheKey.toString();
+		return true;
 	}
 
-	private void removeFinishedImageEffects() {
-		final List<ImageEffect> effectsToRemove = new ArrayList<>();
+	private BufferedImage applyImageEffects(BufferedImage sprite) {
+		BufferedImage result = sprite;
 		for (final ImageEffect effect : this.imageEffects) {
-			if (effect == null) {
-				continue;
-			}
+			result = effect.apply(result);
+		}
 
-			if (effect.timeToLiveReached()) {
-				effectsToRemove.add(effect);
+		return result;
+	}
+
+	private void removeFinishedImageEffects() {
+		// this is called on every frame, so only copy the list if an effect is
+		// actually finished
+		for (final ImageEffect effect : this.imageEffects) {
+			if (effect == null || effect.timeToLiveReached()) {
+				this.imageEffects.removeIf(x -> x == null || x.timeToLiveReached());
+				this.imageEffectsVersion++;
+				return;
 			}
 		}
-
-		this.imageEffects.removeAll(effectsToRemove);
-		this.imageEffects.removeAll(Collections.singleton(null));
 	}
 
 	@Override
@@ -1,9 +1,18 @@
 package de.gurkenlabs.litiengine.graphics.animation;
 
+import java.awt.image.BufferedImage;
+
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+
 public class KeyFrame {
 	private int duration;
 	private int sprite;
 
+	private Spritesheet resolvedSpritesheet;
+	private int resolvedSpriteWidth;
+	private int resolvedSpriteHeight;
+	private BufferedImage resolvedSprite;
+
 	public KeyFrame(final int duration, final int sprite) {
 		this.duration = duration;
 		this.sprite = sprite;
@@ -23,5 +32,28 @@ public class KeyFrame {
 
 	public void setSprite(final int sprite) {
 		this.sprite = sprite;
+		this.resolvedSpritesheet = null;
+		this.resolvedSprite = null;
+	}
+
+	/**
+	 * Gets the sprite of this keyframe from the specified spritesheet. The sprite is
+	 * only looked up once and then kept by this keyframe, as long as it's requested
+	 * for the same spritesheet and the sprite size of the spritesheet doesn't
+	 * change.
+	 * 
+	 * @param spritesheet The spritesheet that contains the sprite.
+	 * @return The sprite of this keyframe or null if it's empty.
+	 */
+	BufferedImage getSprite(final Spritesheet spritesheet) {
+		if (this.resolvedSpritesheet != spritesheet || this.resolvedSpriteWidth != spritesheet.getSpriteWidth()
+				|| this.resolvedSpriteHeight != spritesheet.getSpriteHeight()) {
+			this.resolvedSprite = spritesheet.getSprite(this.sprite);
+			this.resolvedSpritesheet = spritesheet;
+			this.resolvedSpriteWidth = spritesheet.getSpriteWidth();
+			this.resolvedSpriteHeight = spritesheet.getSpriteHeight();
+		}
+
+		return this.resolvedSprite;
 	}
 }
@@ -1,12 +1,12 @@
 package de.gurkenlabs.litiengine.graphics.animation;
 
 import java.awt.image.BufferedImage;
-import java.util.Optional;
 
 import de.gurkenlabs.litiengine.entities.Prop;
 import de.gurkenlabs.litiengine.entities.PropState;
 import de.gurkenlabs.litiengine.entities.Rotation;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.resources.ImageCache;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 
@@ -27,19 +27,23 @@ public class PropAnimationController<T extends Prop> extends EntityAnimationCont
 		// cache
 		// get complete image from the cache
 		final Animation animation = this.getCurrentAnimation();
-		if (animation == null || animation.getSpritesheet() == null) {
+		if (animation == null || animation.getSpritesheet() == null || animation.getCurrentKeyFrame() == null) {
 			return null;
 		}
 
-		String cacheKey = this.buildCurrentCacheKey();
-		cacheKey += "_" + this.getEntity().isAddShadow();
-		cacheKey += "_" + this.getEntity().getState();
-		cacheKey += "_" + this.getEntity().getSpriteRotation();
-		cacheKey += "_" + this.getEntity().flipHorizontally();
-		cacheKey += "_" + this.getEntity().flipVertically();
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			return opt.get();
+		// images with short-lived image effects are not cached
+		final Spritesheet spritesheet = animation.getSpritesheet();
+		final int flags = (this.getEntity().isAddShadow() ? 1 : 0) | (this.getEntity().flipHorizontally() ? 2 : 0)
+				| (this.getEntity().flipVertically() ? 4 : 0) | this.getEntity().getSpriteRotation().ordinal() << 3;
+		final ImageCache.Key cacheKey = this.getImageEffects().isEmpty()
+				? new ImageCache.Key(spritesheet, this.getEntity().getState(), animation.getCurrentKeyFrame().getSpriteIndex(),
+						spritesheet.getSpriteWidth(), spritesheet.getSpriteHeight(), flags)
+				: null;
+		if (cacheKey != null) {
+			final BufferedImage cached = Resources.images().cache().get(cacheKey);
+			if (cached != null) {
+				return cached;
+			}
 		}
 
 		BufferedImage currentImage = super.getCurrentSprite();
@@ -59,16 +63,17 @@ public class PropAnimationController<T extends Prop> extends EntityAnimationCont
 			currentImage = Imaging.verticalFlip(currentImage);
 		}
 
-		if (!this.getEntity().isAddShadow()) {
-			return currentImage;
+		if (this.getEntity().isAddShadow()) {
+			// add a shadow at the lower end of the current sprite.
+			final int ShadowYOffset = currentImage.getHeight();
+			currentImage = Imaging.addShadow(currentImage, 0, ShadowYOffset);
 		}
 
-		// add a shadow at the lower end of the current sprite.
-		final int ShadowYOffset = currentImage.getHeight();
-		final BufferedImage shadow = Imaging.addShadow(currentImage, 0, ShadowYOffset);
-		Resources.images().add(cacheKey, shadow);
+		if (cacheKey != null && flags != 0) {
+			Resources.images().cache().put(cacheKey, currentImage);
+		}
 
-		return shadow;
+		return currentImage;
 	}
 
 	@Override
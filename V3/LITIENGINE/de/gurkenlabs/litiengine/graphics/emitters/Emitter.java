@@ -22,6 +22,7 @@ import de.gurkenlabs.litiengine.annotation.CollisionInfo;
 import de.gurkenlabs.litiengine.annotation.EmitterInfo;
 import de.gurkenlabs.litiengine.configuration.Quality;
 import de.gurkenlabs.litiengine.entities.Entity;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderType;
@@ -42,6 +43,7 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
 
 	private final List<Consumer<Emitter>> finishedConsumer;
 	private final CopyOnWriteArrayList<Particle> particles;
+	private Random random;
 	private final List<Color> colors;
 
 	private Quality requiredQuality;
@@ -426,12 +428,28 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
 	 */
 	protected abstract Particle createNewParticle();
 
+	/**
+	 * Gets the random number generator of this emitter. If the emitter is part of
+	 * an environment, the generator is seeded from the environment's generator, so
+	 * that deterministic game loops also produce the same particles.
+	 *
+	 * @return The random number generator of this emitter.
+	 */
+	protected Random getRandom() {
+		if (this.random == null) {
+			final Environment environment = Game.world().environment();
+			this.random = environment != null ? new Random(environment.getRandom().nextLong()) : RANDOM;
+		}
+
+		return this.random;
+	}
+
 	protected Color getRandomParticleColor() {
 		if (this.colors.isEmpty()) {
 			return DEFAULT_PARTICLE_COLOR;
 		}
 
-		return this.colors.get(RANDOM.nextInt(this.colors.size()));
+		return this.colors.get(this.getRandom().nextInt(this.colors.size()));
 	}
 
 	protected int getRandomParticleTTL() {
@@ -444,15 +462,15 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
 			return this.getParticleMaxTTL();
 		}
 
-		return RANDOM.nextInt(this.getParticleMaxTTL() - this.getParticleMinTTL()) + this.getParticleMinTTL();
+		return this.getRandom().nextInt(this.getParticleMaxTTL() - this.getParticleMinTTL()) + this.getParticleMinTTL();
 	}
 
 	protected int getRandomParticleX() {
-		return RANDOM.nextInt((int) this.getWidth());
+		return this.getRandom().nextInt((int) this.getWidth());
 	}
 
 	protected int getRandomParticleY() {
-		return RANDOM.nextInt((int) this.getHeight());
+		return this.getRandom().nextInt((int) this.getHeight());
 	}
 
 	/**
@@ -138,14 +138,17 @@ public class Appearance {
 
 	public void setBorderColor(Color color) {
 		this.borderColor = color;
+		this.fireOnChangeEvent();
 	}
 
 	public void setBorderStyle(Stroke style) {
 		this.borderStyle = style;
+		this.fireOnChangeEvent();
 	}
 
 	public void setBorderRadius(float radius) {
 		this.borderRadius = radius;
+		this.fireOnChangeEvent();
 	}
 
 	public void setHorizontalBackgroundGradient(boolean horizontal) {
@@ -167,6 +170,7 @@ public class Appearance {
 	 */
 	public void setTextAntialiasing(Object antialiasing) {
 		this.textAntialiasing = antialiasing;
+		this.fireOnChangeEvent();
 	}
 
 	public void onChange(Consumer<Appearance> cons) {
@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.gui;
 
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
@@ -24,6 +25,7 @@ import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.ShapeRenderer;
 import de.gurkenlabs.litiengine.graphics.TextRenderer;
+import de.gurkenlabs.litiengine.gui.screens.Screen;
 import de.gurkenlabs.litiengine.input.Input;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.sound.Sound;
@@ -75,6 +77,11 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	private int textAngle = 0;
 	private final List<Consumer<String>> textChangedConsumer;
 	private Color textShadowColor;
+	private String textToRender;
+	private FontMetrics textToRenderMetrics;
+	private double textToRenderMaxWidth;
+	private String textToRenderSource;
+	private int textToRenderWidth;
 	private double textX;
 	private double textY;
 	private boolean visible;
@@ -122,6 +129,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			for (final GuiComponent child : this.getComponents()) {
 				child.getAppearance().update(this.getAppearance());
 			}
+
+			this.invalidate();
 		});
 
 		this.hoveredAppearance = new Appearance();
@@ -130,6 +139,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			for (final GuiComponent child : this.getComponents()) {
 				child.getAppearanceHovered().update(this.getAppearanceHovered());
 			}
+
+			this.invalidate();
 		});
 
 		this.disabledAppearance = new Appearance();
@@ -138,6 +149,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			for (final GuiComponent child : this.getComponents()) {
 				child.getAppearanceDisabled().update(this.getAppearanceDisabled());
 			}
+
+			this.invalidate();
 		});
 		this.componentId = ++id;
 
@@ -214,6 +227,28 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		return this.components;
 	}
 
+	/**
+	 * Gets the area that is covered by this GuiComponent and its child components,
+	 * including their borders and a small margin for anti-aliased edges.
+	 * Subclasses that render outside of their bounding box should extend this
+	 * area accordingly.
+	 *
+	 * @return the area that needs to be redrawn when this GuiComponent changes
+	 */
+	public Rectangle2D getDirtyBounds() {
+		final Rectangle2D bounds = this.getBoundingBox();
+		for (final GuiComponent component : this.getComponents()) {
+			Rectangle2D.union(bounds, component.getDirtyBounds(), bounds);
+		}
+
+		final float borderWidth = Math.max(getBorderWidth(this.getAppearance()),
+				Math.max(getBorderWidth(this.getAppearanceHovered()), getBorderWidth(this.getAppearanceDisabled())));
+		final double margin = Math.ceil(borderWidth / 2) + 2;
+		bounds.setRect(bounds.getX() - margin, bounds.getY() - margin, bounds.getWidth() + 2 * margin,
+				bounds.getHeight() + 2 * margin);
+		return bounds;
+	}
+
 	/**
 	 * Gets the font of this GuiComponent's text.
 	 *
@@ -328,14 +363,9 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		if (this.getText() == null) {
 			return "";
 		}
-		final FontMetrics fm = g.getFontMetrics();
-		String newText = this.getText();
-
-		while (newText.length() > 1 && fm.stringWidth(newText) >= this.getWidth() - this.getHorizontalTextMargin()) {
-			newText = newText.substring(1, newText.length());
-		}
-		return newText;
 
+		this.updateTextToRender(g.getFontMetrics());
+		return this.textToRender;
 	}
 
 	/**
@@ -383,6 +413,22 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		return this.y;
 	}
 
+	/**
+	 * Marks the area of this GuiComponent and its child components as dirty, so
+	 * that it gets redrawn by the current screen if that screen renders its
+	 * components retained. This is done automatically by all setters of this
+	 * class, but subclasses that change their appearance in any other way must
+	 * call this method.
+	 *
+	 * @see Screen#setRetainedRendering(boolean)
+	 */
+	public void invalidate() {
+		final Screen screen = Game.screens() != null ? Game.screens().current() : null;
+		if (screen != null && screen.isRetainedRendering()) {
+			screen.invalidate(this.getDirtyBounds());
+		}
+	}
+
 	/**
 	 * Checks if the GuiComponent is enabled.
 	 *
@@ -456,7 +502,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		if (this.isPressed) {
 			final ComponentMouseEvent event = new ComponentMouseEvent(e, this);
 			this.getClickConsumer().forEach(consumer -> consumer.accept(event));
-			this.isPressed = false;
+			this.setPressed(false);
 		}
 	}
 
@@ -477,11 +523,11 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		}
 
 		if (!this.mouseEventShouldBeForwarded(e)) {
-			this.isHovered = false;
+			this.setHovered(false);
 			return;
 		}
 
-		this.isHovered = true;
+		this.setHovered(true);
 		final ComponentMouseEvent event = new ComponentMouseEvent(e, this);
 		this.getHoverConsumer().forEach(consumer -> consumer.accept(event));
 		if (this.getHoverSound() != null) {
@@ -497,8 +543,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			return;
 		}
 
-		this.isHovered = false;
-		this.isPressed = false;
+		this.setHovered(false);
+		this.setPressed(false);
 		final ComponentMouseEvent event = new ComponentMouseEvent(e, this);
 		this.getMouseLeaveConsumer().forEach(consumer -> consumer.accept(event));
 	}
@@ -526,7 +572,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			return;
 		}
 
-		this.isPressed = true;
+		this.setPressed(true);
 		final ComponentMouseEvent event = new ComponentMouseEvent(e, this);
 		this.getMousePressedConsumer().forEach(consumer -> consumer.accept(event));
 	}
@@ -537,7 +583,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			return;
 		}
 
-		this.isPressed = false;
+		this.setPressed(false);
 
 		final ComponentMouseEvent event = new ComponentMouseEvent(e, this);
 
@@ -683,6 +729,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		for (final GuiComponent component : this.getComponents()) {
 			component.prepare();
 		}
+
+		this.invalidate();
 	}
 
 	@Override
@@ -758,8 +806,10 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param height the height
 	 */
 	public void setDimension(final double width, final double height) {
+		this.invalidate();
 		this.width = width;
 		this.height = height;
+		this.invalidate();
 	}
 
 	/**
@@ -772,6 +822,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		for (final GuiComponent comp : this.getComponents()) {
 			comp.setEnabled(this.isEnabled());
 		}
+
+		this.invalidate();
 	}
 
 	/**
@@ -781,6 +833,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setFont(final Font font) {
 		this.font = font;
+		this.invalidate();
 	}
 
 	/**
@@ -790,6 +843,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setFontSize(final float size) {
 		this.font = this.font.deriveFont(size);
+		this.invalidate();
 	}
 
 	/**
@@ -807,7 +861,9 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param height the new height
 	 */
 	public void setHeight(final double height) {
+		this.invalidate();
 		this.height = height;
+		this.invalidate();
 	}
 
 	/**
@@ -818,6 +874,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setHorizontalTextMargin(final double xMargin) {
 		this.xMargin = xMargin;
+		this.invalidate();
 	}
 
 	/**
@@ -826,7 +883,10 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param hovered the new hovered
 	 */
 	public void setHovered(final boolean hovered) {
-		this.isHovered = hovered;
+		if (this.isHovered != hovered) {
+			this.isHovered = hovered;
+			this.invalidate();
+		}
 	}
 
 	/**
@@ -873,7 +933,10 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param bool the new selected
 	 */
 	public void setSelected(final boolean bool) {
-		this.isSelected = bool;
+		if (this.isSelected != bool) {
+			this.isSelected = bool;
+			this.invalidate();
+		}
 	}
 
 	/**
@@ -896,6 +959,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			cons.accept(this.getText());
 		}
 		this.setTextX(0);
+		this.invalidate();
 	}
 
 	/**
@@ -905,6 +969,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setTextAlign(final Align textAlignment) {
 		this.textAlignment = textAlignment;
+		this.invalidate();
 	}
 
 	/**
@@ -914,6 +979,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setTextAngle(final int textAngle) {
 		this.textAngle = textAngle;
+		this.invalidate();
 	}
 
 	/**
@@ -927,6 +993,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		for (final GuiComponent comp : this.getComponents()) {
 			comp.setTextShadow(drawTextShadow);
 		}
+
+		this.invalidate();
 	}
 
 	/**
@@ -936,6 +1004,7 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setTextShadowColor(final Color textShadowColor) {
 		this.textShadowColor = textShadowColor;
+		this.invalidate();
 	}
 
 	/**
@@ -944,7 +1013,10 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param x the new text X
 	 */
 	public void setTextX(final double x) {
-		this.textX = x;
+		if (this.textX != x) {
+			this.textX = x;
+			this.invalidate();
+		}
 	}
 
 	/**
@@ -953,7 +1025,10 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param y the new text Y
 	 */
 	public void setTextY(final double y) {
-		this.textY = y;
+		if (this.textY != y) {
+			this.textY = y;
+			this.invalidate();
+		}
 	}
 
 	/**
@@ -966,6 +1041,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		for (final GuiComponent component : this.getComponents()) {
 			component.setVisible(visible);
 		}
+
+		this.invalidate();
 	}
 
 	/**
@@ -974,7 +1051,9 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 * @param width the new width
 	 */
 	public void setWidth(final double width) {
+		this.invalidate();
 		this.width = width;
+		this.invalidate();
 	}
 
 	/**
@@ -984,7 +1063,9 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setX(final double x) {
 		final double delta = x - this.x;
+		this.invalidate();
 		this.x = x;
+		this.invalidate();
 
 		for (final GuiComponent component : this.getComponents()) {
 			component.setX(component.getX() + delta);
@@ -998,7 +1079,9 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 	 */
 	public void setY(final double y) {
 		final double delta = y - this.y;
+		this.invalidate();
 		this.y = y;
+		this.invalidate();
 		for (final GuiComponent component : this.getComponents()) {
 			component.setY(component.getY() + delta);
 		}
@@ -1018,6 +1101,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		for (final GuiComponent childComp : this.getComponents()) {
 			childComp.suspend();
 		}
+
+		this.invalidate();
 	}
 
 	/**
@@ -1126,6 +1211,49 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 				&& this.getBoundingBox().contains(e.getPoint());
 	}
 
+	private static float getBorderWidth(final Appearance appearance) {
+		if (appearance.getBorderColor() == null || !(appearance.getBorderStyle() instanceof BasicStroke)) {
+			return 0;
+		}
+
+		return ((BasicStroke) appearance.getBorderStyle()).getLineWidth();
+	}
+
+	private void setPressed(final boolean pressed) {
+		if (this.isPressed != pressed) {
+			this.isPressed = pressed;
+			this.invalidate();
+		}
+	}
+
+	/**
+	 * Crops the text of this component to the visible part, unless the text, the
+	 * width of the component or the font metrics didn't change since the last
+	 * time.
+	 *
+	 * @param fm the metrics of the font that is used to render the text
+	 */
+	private void updateTextToRender(final FontMetrics fm) {
+		final double maxWidth = this.getWidth() - this.getHorizontalTextMargin();
+		if (this.getText().equals(this.textToRenderSource) && maxWidth == this.textToRenderMaxWidth
+				&& fm.equals(this.textToRenderMetrics)) {
+			return;
+		}
+
+		String newText = this.getText();
+		int newTextWidth = fm.stringWidth(newText);
+		while (newText.length() > 1 && newTextWidth >= maxWidth) {
+			newText = newText.substring(1, newText.length());
+			newTextWidth = fm.stringWidth(newText);
+		}
+
+		this.textToRender = newText;
+		this.textToRenderWidth = newTextWidth;
+		this.textToRenderSource = this.getText();
+		this.textToRenderMaxWidth = maxWidth;
+		this.textToRenderMetrics = fm;
+	}
+
 	/**
 	 * Render this GuiComponent's text.
 	 *
@@ -1137,6 +1265,8 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 		}
 
 		final FontMetrics fm = g.getFontMetrics();
+		this.updateTextToRender(fm);
+		final String visibleText = this.textToRender;
 
 		double defaultTextX;
 		final double defaultTextY = fm.getAscent() + (this.getHeight() - (fm.getAscent() + fm.getDescent())) / 2;
@@ -1145,11 +1275,11 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 			defaultTextX = this.getHorizontalTextMargin();
 			break;
 		case RIGHT:
-			defaultTextX = this.getWidth() - this.getHorizontalTextMargin() - fm.stringWidth(this.getTextToRender(g));
+			defaultTextX = this.getWidth() - this.getHorizontalTextMargin() - this.textToRenderWidth;
 			break;
 		case CENTER:
 		default:
-			defaultTextX = this.getWidth() / 2 - fm.stringWidth(this.getTextToRender(g)) / 2.0;
+			defaultTextX = this.getWidth() / 2 - this.textToRenderWidth / 2.0;
 			break;
 		}
 		if (this.getTextY() == 0) {
@@ -1170,18 +1300,18 @@ public abstract class GuiComponent implements MouseListener, MouseMotionListener
 
 		if (this.getTextAngle() == 0) {
 			if (this.drawTextShadow()) {
-				TextRenderer.renderWithOutline(g, this.getTextToRender(g), this.getX() + this.getTextX(),
+				TextRenderer.renderWithOutline(g, visibleText, this.getX() + this.getTextX(),
 						this.getY() + this.getTextY(), this.getTextShadowColor(), antialiasing);
 			} else {
-				TextRenderer.render(g, this.getTextToRender(g), this.getX() + this.getTextX(),
+				TextRenderer.render(g, visibleText, this.getX() + this.getTextX(),
 						this.getY() + this.getTextY(), antialiasing);
 			}
 		} else if (this.getTextAngle() == 90) {
-			TextRenderer.renderRotated(g, this.getTextToRender(g), this.getX() + this.getTextX(),
-					this.getY() + this.getTextY() - fm.stringWidth(this.getTextToRender(g)), this.getTextAngle(),
+			TextRenderer.renderRotated(g, visibleText, this.getX() + this.getTextX(),
+					this.getY() + this.getTextY() - this.textToRenderWidth, this.getTextAngle(),
 					antialiasing);
 		} else {
-			TextRenderer.renderRotated(g, this.getTextToRender(g), this.getX() + this.getTextX(),
+			TextRenderer.renderRotated(g, visibleText, this.getX() + this.getTextX(),
 					this.getY() + this.getTextY(), this.getTextAngle(), antialiasing);
 		}
 	}
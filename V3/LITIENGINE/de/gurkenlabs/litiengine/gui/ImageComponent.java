@@ -5,7 +5,6 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
-import java.util.Optional;
 
 import javax.swing.JLabel;
 
@@ -13,6 +12,7 @@ import de.gurkenlabs.litiengine.Align;
 import de.gurkenlabs.litiengine.Valign;
 import de.gurkenlabs.litiengine.graphics.ImageRenderer;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.resources.ImageCache;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 
@@ -22,6 +22,9 @@ public class ImageComponent extends GuiComponent {
 	public static final int BACKGROUND_PRESSED_INDEX = 2;
 	public static final int BACKGROUND_DISABLED_INDEX = 3;
 
+	private static final String CACHE_BACKGROUND = "background";
+	private static final String CACHE_SCALED = "scaled";
+
 	private Image image;
 
 	private Spritesheet spritesheet;
@@ -72,11 +75,11 @@ public class ImageComponent extends GuiComponent {
 			return null;
 		}
 
-		final String cacheKey = this.getSpritesheet().getName().hashCode() + "_" + this.isHovered() + "_"
-				+ this.isPressed() + "_" + this.isEnabled() + "_" + this.getWidth() + "x" + this.getHeight();
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			return opt.get();
+		final int state = (this.isHovered() ? 1 : 0) | (this.isPressed() ? 2 : 0) | (this.isEnabled() ? 4 : 0);
+		final ImageCache.Key cacheKey = new ImageCache.Key(this.getSpritesheet(), CACHE_BACKGROUND, 0, (int) this.getWidth(), (int) this.getHeight(), state);
+		final BufferedImage cached = Resources.images().cache().get(cacheKey);
+		if (cached != null) {
+			return cached;
 		}
 
 		int spriteIndex = BACKGROUND_INDEX;
@@ -90,9 +93,7 @@ public class ImageComponent extends GuiComponent {
 
 		BufferedImage img = Imaging.scale(this.getSpritesheet().getSprite(spriteIndex), (int) this.getWidth(),
 				(int) this.getHeight());
-		if (img != null) {
-			Resources.images().add(cacheKey, img);
-		}
+		Resources.images().cache().put(cacheKey, img);
 
 		return img;
 	}
@@ -110,10 +111,10 @@ public class ImageComponent extends GuiComponent {
 			imageHeight = (int) this.getHeight();
 		}
 
-		final String cacheKey = this.image.hashCode() + "_" + imageWidth + "+" + imageHeight;
-		Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-		if (opt.isPresent()) {
-			return opt.get();
+		final ImageCache.Key cacheKey = new ImageCache.Key(this.image, CACHE_SCALED, 0, imageWidth, imageHeight, 0);
+		final BufferedImage cached = Resources.images().cache().get(cacheKey);
+		if (cached != null) {
+			return cached;
 		}
 
 		BufferedImage bufferedImage = Imaging.toBufferedImage(this.image);
@@ -122,7 +123,7 @@ public class ImageComponent extends GuiComponent {
 		}
 
 		BufferedImage img = Imaging.scale(bufferedImage, imageWidth, imageHeight);
-		Resources.images().add(cacheKey, img);
+		Resources.images().cache().put(cacheKey, img);
 		return img;
 	}
 
@@ -162,22 +163,27 @@ public class ImageComponent extends GuiComponent {
 
 	public void setImage(final Image image) {
 		this.image = image;
+		this.invalidate();
 	}
 
 	public void setImageScaleMode(ImageScaleMode imageScaleMode) {
 		this.imageScaleMode = imageScaleMode;
+		this.invalidate();
 	}
 
 	public void setSpriteSheet(final Spritesheet spr) {
 		this.spritesheet = spr;
+		this.invalidate();
 	}
 
 	public void setImageAlign(Align imageAlign) {
 		this.imageAlign = imageAlign;
+		this.invalidate();
 	}
 
 	public void setImageValign(Valign imageValign) {
 		this.imageValign = imageValign;
+		this.invalidate();
 	}
 
 	private Point2D getImageLocation(final Image img) {
@@ -59,12 +59,15 @@ public class MouseDrawComponent extends ImageComponent {
 			g.setComposite(AlphaComposite.Clear);
 			g.fillRect(brushXInt - brushSizeInt / 2, brushYInt - brushSizeInt / 2, brushSizeInt * 2, brushSizeInt * 2);
 		}
+
+		this.invalidate();
 	}
 
 	public void clearDrawingSpace() {
 		Graphics2D g = (Graphics2D) this.drawingSpace.getGraphics();
 		g.setComposite(AlphaComposite.Clear);
 		g.fillRect(0, 0, (int) this.getWidth(), (int) this.getHeight());
+		this.invalidate();
 	}
 
 	public BufferedImage getDrawingSpace() {
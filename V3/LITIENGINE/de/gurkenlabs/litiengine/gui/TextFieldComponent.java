@@ -5,6 +5,7 @@ import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.logging.Level;
@@ -22,12 +23,12 @@ public class TextFieldComponent extends ImageComponent {
 	public static final String INTEGER_FORMAT = "[0-9]{1,10}";
 	private static final Logger log = Logger.getLogger(TextFieldComponent.class.getName());
 	private final List<Consumer<String>> changeConfirmedConsumers;
-	private boolean cursorVisible;
+	private volatile boolean cursorToggleScheduled;
+	private volatile boolean cursorVisible;
 	private final int flickerDelay;
 	private String format;
 
 	private String fullText;
-	private long lastToggled;
 	private int maxLength = 0;
 
 	public TextFieldComponent(final double x, final double y, final double width, final double height,
@@ -102,10 +103,6 @@ public class TextFieldComponent extends ImageComponent {
 		g.setFont(this.getFont());
 		final FontMetrics fm = g.getFontMetrics();
 
-		if (this.isSelected() && Game.time().since(this.lastToggled) > this.flickerDelay) {
-			this.cursorVisible = !this.cursorVisible;
-			this.lastToggled = Game.time().now();
-		}
 		if (this.isSelected() && this.cursorVisible) {
 			final Rectangle2D cursor = new Rectangle2D.Double(
 					this.getX() + this.getTextX() + fm.stringWidth(this.getTextToRender(g)),
@@ -124,9 +121,23 @@ public class TextFieldComponent extends ImageComponent {
 		this.maxLength = maxLength;
 	}
 
+	@Override
+	public void setSelected(final boolean bool) {
+		this.cursorVisible = bool;
+		super.setSelected(bool);
+		if (bool) {
+			this.scheduleCursorToggle();
+		}
+	}
+
 	@Override
 	public void setText(final String text) {
+		if (Objects.equals(this.fullText, text)) {
+			return;
+		}
+
 		this.fullText = text;
+		this.invalidate();
 	}
 
 	private void handleBackSpace() {
@@ -174,4 +185,26 @@ public class TextFieldComponent extends ImageComponent {
 
 		this.setText(this.getText() + text);
 	}
+
+	/**
+	 * Toggles the cursor after the flicker delay and invalidates the field, for
+	 * as long as it stays selected.
+	 */
+	private void scheduleCursorToggle() {
+		if (this.cursorToggleScheduled || Game.loop() == null) {
+			return;
+		}
+
+		this.cursorToggleScheduled = true;
+		Game.loop().perform(this.flickerDelay, () -> {
+			this.cursorToggleScheduled = false;
+			if (!this.isSelected()) {
+				return;
+			}
+
+			this.cursorVisible = !this.cursorVisible;
+			this.invalidate();
+			this.scheduleCursorToggle();
+		});
+	}
 }
@@ -1,6 +1,15 @@
 package de.gurkenlabs.litiengine.gui.screens;
 
+import java.awt.AlphaComposite;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.gui.GuiComponent;
+import de.gurkenlabs.litiengine.util.Imaging;
 
 /**
  * Screens are the containers that allow you to organize the visible contents of
@@ -10,14 +19,147 @@ import de.gurkenlabs.litiengine.gui.GuiComponent;
  * define an Appearance and listen to all kinds of Input events (e.g.
  * <code>onMouseMoved(…)</code>). Everything that should be visible to the
  * player needs to be rendered to the currently active screen.
+ * <p>
+ * Optionally, a screen can render its components retained: They are drawn to an
+ * offscreen layer that is only updated in the regions of components that have
+ * been invalidated, and the layer is drawn with a single image draw per frame.
+ * </p>
  * 
+ * @see #setRetainedRendering(boolean)
  */
 public abstract class Screen extends GuiComponent {
+	private boolean retainedRendering;
+	private boolean layerInvalidated;
+	private BufferedImage layer;
+	private Rectangle dirtyRegion;
+	private Rectangle contentBounds;
+
 	protected Screen(final String screenName) {
 		super(0, 0);
 		this.setName(screenName);
 	}
 
+	@Override
+	public Rectangle2D getDirtyBounds() {
+		Rectangle2D bounds = null;
+		for (final GuiComponent component : this.getComponents()) {
+			if (bounds == null) {
+				bounds = component.getDirtyBounds();
+			} else {
+				Rectangle2D.union(bounds, component.getDirtyBounds(), bounds);
+			}
+		}
+
+		return bounds != null ? bounds : new Rectangle2D.Double();
+	}
+
+	/**
+	 * Marks the whole screen as dirty, so that all of its components are redrawn
+	 * to the offscreen layer during the next frame if this screen renders its
+	 * components retained.
+	 */
+	@Override
+	public synchronized void invalidate() {
+		if (this.retainedRendering) {
+			this.layerInvalidated = true;
+		}
+	}
+
+	/**
+	 * Marks the specified region of this screen as dirty, so that it is redrawn to
+	 * the offscreen layer during the next frame if this screen renders its
+	 * components retained.
+	 * 
+	 * @param region the region that needs to be redrawn
+	 */
+	public synchronized void invalidate(final Rectangle2D region) {
+		if (!this.retainedRendering || this.layerInvalidated) {
+			return;
+		}
+
+		final Rectangle bounds = region.getBounds();
+		if (this.dirtyRegion == null) {
+			this.dirtyRegion = bounds;
+		} else {
+			this.dirtyRegion.add(bounds);
+		}
+	}
+
+	public synchronized boolean isRetainedRendering() {
+		return this.retainedRendering;
+	}
+
+	@Override
+	public void render(final Graphics2D g) {
+		if (!this.isRetainedRendering() || !g.getTransform().isIdentity()
+				|| Game.config().debug().renderGuiComponentBoundingBoxes()) {
+			super.render(g);
+			return;
+		}
+
+		final Rectangle layerBounds = new Rectangle(Game.window().getResolution());
+		final BufferedImage currentLayer;
+		final boolean layerInvalid;
+		Rectangle region;
+		synchronized (this) {
+			if (this.layer == null || this.layer.getWidth() != layerBounds.width
+					|| this.layer.getHeight() != layerBounds.height) {
+				this.layer = Imaging.getCompatibleImage(layerBounds.width, layerBounds.height);
+				this.layerInvalidated = true;
+			}
+
+			currentLayer = this.layer;
+			layerInvalid = this.layerInvalidated;
+			region = this.dirtyRegion;
+			this.layerInvalidated = false;
+			this.dirtyRegion = null;
+		}
+
+		if (currentLayer == null) {
+			super.render(g);
+			return;
+		}
+
+		if (layerInvalid) {
+			// only the area that is covered by the components is redrawn and blitted
+			region = this.getDirtyBounds().getBounds().intersection(layerBounds);
+			this.contentBounds = region;
+			clear(currentLayer, layerBounds);
+		} else if (region != null) {
+			region = region.intersection(layerBounds);
+			this.contentBounds.add(region);
+		}
+
+		if (region != null && !region.isEmpty()) {
+			this.renderLayer(g, currentLayer, region);
+		}
+
+		final Rectangle content = this.contentBounds;
+		if (!content.isEmpty()) {
+			final int right = content.x + content.width;
+			final int bottom = content.y + content.height;
+			g.drawImage(currentLayer, content.x, content.y, right, bottom, content.x, content.y, right, bottom, null);
+		}
+	}
+
+	/**
+	 * Specifies whether this screen renders its components retained. If enabled,
+	 * the components are only redrawn to an offscreen layer after they changed,
+	 * e.g. because they were hovered or their text or appearance was changed, and
+	 * the layer is drawn once per frame. This is well suited for screens with
+	 * static menus, but components that change their appearance in any other way
+	 * must call {@link GuiComponent#invalidate()} to be redrawn.
+	 * 
+	 * @param retainedRendering true if the components of this screen should be
+	 *                          rendered retained
+	 */
+	public synchronized void setRetainedRendering(final boolean retainedRendering) {
+		this.retainedRendering = retainedRendering;
+		this.layer = null;
+		this.dirtyRegion = null;
+		this.layerInvalidated = retainedRendering;
+	}
+
 	@Override
 	public void setX(final double x) {
 		// do nothing because screens always start at 0/0
@@ -27,4 +169,31 @@ public abstract class Screen extends GuiComponent {
 	public void setY(final double y) {
 		// do nothing because screens always start at 0/0
 	}
+
+	@Override
+	public void suspend() {
+		super.suspend();
+
+		// release the layer while the screen isn't displayed
+		synchronized (this) {
+			this.layer = null;
+		}
+	}
+
+	private void renderLayer(final Graphics2D g, final BufferedImage currentLayer, final Rectangle region) {
+		clear(currentLayer, region);
+		final Graphics2D layerGraphics = currentLayer.createGraphics();
+		layerGraphics.setRenderingHints(g.getRenderingHints());
+		layerGraphics.setClip(region);
+
+		super.render(layerGraphics);
+		layerGraphics.dispose();
+	}
+
+	private static void clear(final BufferedImage image, final Rectangle region) {
+		final Graphics2D imageGraphics = image.createGraphics();
+		imageGraphics.setComposite(AlphaComposite.Clear);
+		imageGraphics.fill(region);
+		imageGraphics.dispose();
+	}
 }
@@ -147,17 +147,68 @@ public class Gamepad implements GamepadEvents, IUpdateable {
 		}
 	}
 
-	private void handlePressed(Component comp) {
-		final String name = comp.getIdentifier().getName();
+	/**
+	 * Notifies the poll consumers of this gamepad about the specified component
+	 * value.
+	 *
+	 * @param identifier The identifier of the polled component.
+	 * @param value      The polled value.
+	 */
+	void notifyPoll(final String identifier, final float value) {
+		for (final BiConsumer<String, Float> cons : this.pollConsumer) {
+			cons.accept(identifier, value);
+		}
+
+		final List<Consumer<Float>> consumers = this.componentPollConsumer.get(identifier);
+		if (consumers != null) {
+			for (final Consumer<Float> cons : consumers) {
+				cons.accept(value);
+			}
+		}
+	}
+
+	/**
+	 * Notifies the pressed consumers of this gamepad about the specified component
+	 * value.
+	 *
+	 * @param identifier The identifier of the pressed component.
+	 * @param value      The polled value.
+	 */
+	void notifyPressed(final String identifier, final float value) {
 		for (final BiConsumer<String, Float> cons : this.pressedConsumer) {
-			cons.accept(name, comp.getPollData());
+			cons.accept(identifier, value);
+		}
+
+		if (this.componentPressedConsumer.containsKey(identifier)) {
+			for (Consumer<Float> cons : this.componentPressedConsumer.get(identifier)) {
+				cons.accept(value);
+			}
+		}
+	}
+
+	/**
+	 * Notifies the released consumers of this gamepad about the specified
+	 * component value.
+	 *
+	 * @param identifier The identifier of the released component.
+	 * @param value      The polled value.
+	 */
+	void notifyReleased(final String identifier, final float value) {
+		for (final BiConsumer<String, Float> cons : this.releasedConsumer) {
+			cons.accept(identifier, value);
 		}
 
-		if (this.componentPressedConsumer.containsKey(name)) {
-			for (Consumer<Float> cons : this.componentPressedConsumer.get(name)) {
-				cons.accept(comp.getPollData());
+		final List<Consumer<Float>> consumers = this.componentReleasedConsumer.get(identifier);
+		if (consumers != null) {
+			for (final Consumer<Float> cons : consumers) {
+				cons.accept(value);
 			}
 		}
+	}
+
+	private void handlePressed(Component comp) {
+		final String name = comp.getIdentifier().getName();
+		this.notifyPressed(name, comp.getPollData());
 
 		if (!this.pressedComponents.contains(name)) {
 			this.pressedComponents.add(name);
@@ -193,18 +244,7 @@ public class Gamepad implements GamepadEvents, IUpdateable {
 	}
 
 	private void handlePollEvents(Event event) {
-
-		for (final BiConsumer<String, Float> cons : this.pollConsumer) {
-			cons.accept(event.getComponent().getIdentifier().getName(), event.getValue());
-		}
-
-		final List<Consumer<Float>> consumers = this.componentPollConsumer
-				.get(event.getComponent().getIdentifier().getName());
-		if (consumers != null) {
-			for (final Consumer<Float> cons : consumers) {
-				cons.accept(event.getValue());
-			}
-		}
+		this.notifyPoll(event.getComponent().getIdentifier().getName(), event.getValue());
 	}
 
 	private void handleRelease(Component comp) {
@@ -214,17 +254,7 @@ public class Gamepad implements GamepadEvents, IUpdateable {
 		}
 
 		this.pressedComponents.remove(name);
-
-		for (final BiConsumer<String, Float> cons : this.releasedConsumer) {
-			cons.accept(name, comp.getPollData());
-		}
-
-		final List<Consumer<Float>> consumers = this.componentReleasedConsumer.get(comp.getIdentifier().getName());
-		if (consumers != null) {
-			for (final Consumer<Float> cons : consumers) {
-				cons.accept(comp.getPollData());
-			}
-		}
+		this.notifyReleased(name, comp.getPollData());
 	}
 
 	public static class Axis {
@@ -137,6 +137,26 @@ public class GamepadManager implements ILaunchable, GamepadEvents {
 		this.releasedConsumer.add(consumer);
 	}
 
+	/**
+	 * Notifies the poll consumers of this manager about the specified component
+	 * value, as if it was polled from the default gamepad. This is used to replay
+	 * recorded gamepad input without a connected controller.
+	 *
+	 * @param identifier The identifier of the polled component.
+	 * @param value      The polled value.
+	 */
+	void notifyPoll(final String identifier, final float value) {
+		notify(this.pollConsumer, this.componentPollConsumer, identifier, value);
+	}
+
+	void notifyPressed(final String identifier, final float value) {
+		notify(this.pressedConsumer, this.componentPressedConsumer, identifier, value);
+	}
+
+	void notifyReleased(final String identifier, final float value) {
+		notify(this.releasedConsumer, this.componentReleasedConsumer, identifier, value);
+	}
+
 	public void remove(final Gamepad gamepad) {
 		if (gamepad == null) {
 			return;
@@ -177,6 +197,20 @@ public class GamepadManager implements ILaunchable, GamepadEvents {
 		consumerList.get(identifier).add(consumer);
 	}
 
+	private static void notify(List<BiConsumer<String, Float>> consumers,
+			Map<String, List<Consumer<Float>>> componentConsumers, String identifier, float value) {
+		for (final BiConsumer<String, Float> cons : consumers) {
+			cons.accept(identifier, value);
+		}
+
+		final List<Consumer<Float>> components = componentConsumers.get(identifier);
+		if (components != null) {
+			for (final Consumer<Float> cons : components) {
+				cons.accept(value);
+			}
+		}
+	}
+
 	/**
 	 * In JInput it is not possible to get newly added controllers or detached
 	 * controllers because it will never update its controllers. If you would
@@ -0,0 +1,130 @@
+package de.gurkenlabs.litiengine.input;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The binary format of the input journals written by the {@code InputRecorder}
+ * and read by the {@code InputReplay}.
+ * <p>
+ * A journal starts with a header that consists of the magic number, the format
+ * version and the update rate of the recording game loop. It is followed by the
+ * records, each of which starts with the number of ticks that passed since the
+ * previous record (as a variable-length integer) and the record type. The
+ * payload of the record depends on its type. The last record is an
+ * {@link #END} record that marks the tick at which the recording was stopped.
+ * </p>
+ * <p>
+ * The fields are encoded by a {@code MessageWriter}, just like the fields of
+ * network messages: var ints are unsigned, signed integers are zigzag encoded
+ * var ints.
+ * </p>
+ *
+ * @see InputRecorder
+ * @see InputReplay
+ * @see MessageWriter
+ */
+final class InputJournal {
+	private static final byte[] MAGIC = { 'L', 'I', 'J', 'N' };
+	static final int VERSION = 2;
+
+	static final int END = 0;
+
+	/**
+	 * key code, key char, modifiers (all var ints) and the key location (byte).
+	 */
+	static final int KEY_PRESSED = 1;
+	static final int KEY_RELEASED = 2;
+
+	/**
+	 * event id offset (byte), x, y of the ingame mouse (doubles), button, modifiers
+	 * and click count (var ints).
+	 */
+	static final int MOUSE = 3;
+
+	/**
+	 * x, y of the ingame mouse (doubles), modifiers, scroll type, scroll amount
+	 * (var ints) and the wheel rotation (signed int).
+	 */
+	static final int MOUSE_WHEEL = 4;
+
+	/**
+	 * gamepad index (var int), component identifier (see
+	 * {@link #writeIdentifier(MessageWriter, String, Map)}) and the value
+	 * (float).
+	 */
+	static final int GAMEPAD_POLL = 5;
+	static final int GAMEPAD_PRESSED = 6;
+	static final int GAMEPAD_RELEASED = 7;
+
+	private InputJournal() {
+		throw new UnsupportedOperationException();
+	}
+
+	static void writeHeader(final MessageWriter out, final int updateRate) {
+		out.writeBytes(MAGIC);
+		out.writeByte(VERSION);
+		out.writeVarInt(updateRate);
+	}
+
+	/**
+	 * Reads and validates the header of a journal.
+	 *
+	 * @param in The input to read from.
+	 * @return The update rate of the game loop that recorded the journal.
+	 * @throws IOException If the input is not a journal in a supported version.
+	 */
+	static int readHeader(final MessageReader in) throws IOException {
+		if (in.remaining() < MAGIC.length + 1 || !Arrays.equals(in.readBytes(MAGIC.length), MAGIC)) {
+			throw new IOException("not an input journal");
+		}
+
+		final int version = in.readByte() & 0xFF;
+		if (version != VERSION) {
+			throw new IOException("unsupported input journal version " + version);
+		}
+
+		return in.readVarInt();
+	}
+
+	/**
+	 * Writes a gamepad component identifier. Each identifier is written once as a
+	 * string the first time it occurs and referenced by its index afterwards.
+	 *
+	 * @param out         The output to write to.
+	 * @param identifier  The component identifier.
+	 * @param identifiers The indices of the identifiers that were already written.
+	 */
+	static void writeIdentifier(final MessageWriter out, final String identifier,
+			final Map<String, Integer> identifiers) {
+		final Integer index = identifiers.get(identifier);
+		if (index != null) {
+			out.writeVarInt(index);
+			return;
+		}
+
+		out.writeVarInt(identifiers.size());
+		out.writeString(identifier);
+		identifiers.put(identifier, identifiers.size());
+	}
+
+	static String readIdentifier(final MessageReader in, final List<String> identifiers) throws IOException {
+		final int index = in.readVarInt();
+		if (index >= 0 && index < identifiers.size()) {
+			return identifiers.get(index);
+		}
+
+		if (index != identifiers.size()) {
+			throw new IOException("invalid identifier index " + index);
+		}
+
+		final String identifier = in.readString();
+		identifiers.add(identifier);
+		return identifier;
+	}
+}
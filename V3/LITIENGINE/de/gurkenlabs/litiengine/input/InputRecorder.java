@@ -0,0 +1,314 @@
+package de.gurkenlabs.litiengine.input;
+
+import java.awt.KeyEventDispatcher;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Point2D;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.ILaunchable;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * Records the events of the keyboard, the mouse and the gamepads together with
+ * the game loop tick at which they occurred into a compact binary journal that
+ * can be played back by an {@code InputReplay}.
+ * <p>
+ * Keyboard events are recorded as they are dispatched by AWT, mouse events with
+ * the location of the ingame mouse and gamepad events as they are polled by the
+ * {@code Gamepad}s. The ticks are stored relative to the tick at which the
+ * recording was started. A recorder can only be started once; terminating it
+ * completes the journal and closes the underlying stream.
+ * </p>
+ *
+ * @see InputReplay
+ * @see Input
+ */
+public class InputRecorder implements ILaunchable {
+	private static final Logger log = Logger.getLogger(InputRecorder.class.getName());
+
+	private final OutputStream out;
+	private final MessageWriter record = new MessageWriter();
+	private final Map<String, Integer> identifiers = new HashMap<>();
+	private final Set<Gamepad> hookedGamepads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	private final KeyEventDispatcher keyRecorder = this::recordKey;
+	private final MouseRecorder mouseRecorder = new MouseRecorder();
+
+	private volatile boolean recording;
+	private boolean completed;
+	private long startTick;
+	private long lastTick;
+	private int recordedEvents;
+
+	public InputRecorder(final File file) throws FileNotFoundException {
+		this(new FileOutputStream(file));
+	}
+
+	public InputRecorder(final OutputStream out) {
+		this.out = new BufferedOutputStream(out);
+	}
+
+	@Override
+	public void start() {
+		synchronized (this) {
+			if (this.recording || this.completed) {
+				return;
+			}
+
+			try {
+				this.record.reset();
+				InputJournal.writeHeader(this.record, Game.loop().getUpdateRate());
+				this.flushRecord();
+			} catch (final IOException e) {
+				log.log(Level.SEVERE, e.getMessage(), e);
+				return;
+			}
+
+			this.startTick = Game.loop().getTicks();
+			this.recording = true;
+		}
+
+		KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this.keyRecorder);
+
+		if (Input.mouse() != null) {
+			Input.mouse().addMouseListener(this.mouseRecorder);
+			Input.mouse().addMouseMotionListener(this.mouseRecorder);
+			Input.mouse().addMouseWheelListener(this.mouseRecorder);
+		}
+
+		if (Input.gamepadManager() != null) {
+			for (final Gamepad pad : Input.gamepads()) {
+				this.hook(pad);
+			}
+
+			Input.gamepadManager().onGamepadAdded(this::hook);
+		}
+	}
+
+	/**
+	 * Stops the recording, writes the end of the journal and closes the underlying
+	 * stream.
+	 */
+	@Override
+	public void terminate() {
+		synchronized (this) {
+			if (!this.recording) {
+				return;
+			}
+
+			this.recording = false;
+			this.completed = true;
+		}
+
+		KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(this.keyRecorder);
+
+		if (Input.mouse() != null) {
+			Input.mouse().removeMouseListener(this.mouseRecorder);
+			Input.mouse().removeMouseMotionListener(this.mouseRecorder);
+			Input.mouse().removeMouseWheelListener(this.mouseRecorder);
+		}
+
+		synchronized (this) {
+			try {
+				this.writeRecordStart(InputJournal.END);
+				this.flushRecord();
+				this.out.close();
+			} catch (final IOException e) {
+				log.log(Level.SEVERE, e.getMessage(), e);
+			}
+		}
+	}
+
+	public boolean isRecording() {
+		return this.recording;
+	}
+
+	/**
+	 * Gets the number of events that have been recorded so far.
+	 *
+	 * @return The number of recorded events.
+	 */
+	public synchronized int getRecordedEvents() {
+		return this.recordedEvents;
+	}
+
+	private boolean recordKey(final KeyEvent e) {
+		final int type;
+		switch (e.getID()) {
+		case KeyEvent.KEY_PRESSED:
+			type = InputJournal.KEY_PRESSED;
+			break;
+		case KeyEvent.KEY_RELEASED:
+			type = InputJournal.KEY_RELEASED;
+			break;
+		default:
+			// typed events are not processed by the keyboard
+			return false;
+		}
+
+		synchronized (this) {
+			if (!this.recording) {
+				return false;
+			}
+
+			try {
+				this.writeRecordStart(type);
+				this.record.writeVarInt(e.getKeyCode());
+				this.record.writeVarInt(e.getKeyChar());
+				this.record.writeVarInt(e.getModifiersEx());
+				this.record.writeByte(e.getKeyLocation());
+				this.flushRecord();
+				this.recordedEvents++;
+			} catch (final IOException ex) {
+				this.fail(ex);
+			}
+		}
+
+		// never consume the event; the keyboard still needs to process it
+		return false;
+	}
+
+	private synchronized void recordMouse(final MouseEvent e) {
+		if (!this.recording) {
+			return;
+		}
+
+		// the events only carry the rounded location of the ingame mouse
+		final Point2D location = Input.mouse().getLocation();
+		try {
+			if (e instanceof MouseWheelEvent) {
+				final MouseWheelEvent wheel = (MouseWheelEvent) e;
+				this.writeRecordStart(InputJournal.MOUSE_WHEEL);
+				this.record.writeDouble(location.getX());
+				this.record.writeDouble(location.getY());
+				this.record.writeVarInt(wheel.getModifiersEx());
+				this.record.writeVarInt(wheel.getScrollType());
+				this.record.writeVarInt(wheel.getScrollAmount());
+				this.record.writeInt(wheel.getWheelRotation());
+			} else {
+				this.writeRecordStart(InputJournal.MOUSE);
+				this.record.writeByte(e.getID() - MouseEvent.MOUSE_FIRST);
+				this.record.writeDouble(location.getX());
+				this.record.writeDouble(location.getY());
+				this.record.writeVarInt(e.getButton());
+				this.record.writeVarInt(e.getModifiersEx());
+				this.record.writeVarInt(e.getClickCount());
+			}
+
+			this.flushRecord();
+			this.recordedEvents++;
+		} catch (final IOException ex) {
+			this.fail(ex);
+		}
+	}
+
+	private synchronized void recordGamepad(final int type, final int index, final String identifier,
+			final float value) {
+		if (!this.recording) {
+			return;
+		}
+
+		try {
+			this.writeRecordStart(type);
+			this.record.writeVarInt(index);
+			InputJournal.writeIdentifier(this.record, identifier, this.identifiers);
+			this.record.writeFloat(value);
+			this.flushRecord();
+			this.recordedEvents++;
+		} catch (final IOException ex) {
+			this.fail(ex);
+		}
+	}
+
+	private void hook(final Gamepad pad) {
+		if (!this.hookedGamepads.add(pad)) {
+			return;
+		}
+
+		// gamepads don't support removing consumers, so they just stop recording
+		// once the recorder is terminated
+		final int index = pad.getIndex();
+		pad.onPoll((identifier, value) -> this.recordGamepad(InputJournal.GAMEPAD_POLL, index, identifier, value));
+		pad.onPressed(
+				(identifier, value) -> this.recordGamepad(InputJournal.GAMEPAD_PRESSED, index, identifier, value));
+		pad.onReleased(
+				(identifier, value) -> this.recordGamepad(InputJournal.GAMEPAD_RELEASED, index, identifier, value));
+	}
+
+	private void writeRecordStart(final int type) {
+		final long tick = Math.max(this.lastTick, Game.loop().getTicks() - this.startTick);
+		this.record.reset();
+		this.record.writeVarInt((int) (tick - this.lastTick));
+		this.record.writeByte(type);
+		this.lastTick = tick;
+	}
+
+	private void flushRecord() throws IOException {
+		this.out.write(this.record.getBuffer(), 0, this.record.size());
+	}
+
+	private void fail(final IOException e) {
+		log.log(Level.SEVERE, e.getMessage(), e);
+		this.recording = false;
+		this.completed = true;
+	}
+
+	private class MouseRecorder extends MouseAdapter {
+		@Override
+		public void mouseClicked(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mousePressed(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseReleased(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseEntered(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseExited(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseDragged(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseMoved(final MouseEvent e) {
+			recordMouse(e);
+		}
+
+		@Override
+		public void mouseWheelMoved(final MouseWheelEvent e) {
+			recordMouse(e);
+		}
+	}
+}
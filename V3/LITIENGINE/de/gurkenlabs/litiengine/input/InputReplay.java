@@ -0,0 +1,311 @@
+package de.gurkenlabs.litiengine.input;
+
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.ILaunchable;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.util.io.StreamUtilities;
+
+/**
+ * Plays back an input journal that was written by an {@code InputRecorder}.
+ * <p>
+ * The replay is attached to the game loop and delivers the recorded events at
+ * the same ticks (relative to the start of the replay) at which they were
+ * recorded. While it is running, the keyboard is detached from the input loop
+ * and updated by the replay after the events of each tick have been delivered,
+ * so that the game logic sees the recorded input independently of the wall
+ * clock. The real keyboard and mouse events are suppressed until the replay is
+ * terminated. Recorded gamepad events are delivered to the gamepad with the recorded
+ * index or, if no such gamepad is plugged in, to the consumers of the
+ * {@code GamepadManager}.
+ * </p>
+ * <p>
+ * To replay a journal as fast as possible, e.g. in a game that was started with
+ * the {@code -nogui} argument, combine it with a deterministic and unthrottled
+ * game loop:
+ * </p>
+ *
+ * <pre>
+ * Game.loop().setDeterministic(true);
+ * Game.loop().setUnthrottled(true);
+ * InputReplay replay = new InputReplay(new File("session.journal"));
+ * replay.onFinished(() -&gt; System.exit(Game.EXIT_GAME_CLOSED));
+ * replay.start();
+ * </pre>
+ *
+ * @see InputRecorder
+ * @see de.gurkenlabs.litiengine.IGameLoop#setDeterministic(boolean)
+ * @see de.gurkenlabs.litiengine.IGameLoop#setUnthrottled(boolean)
+ */
+public class InputReplay implements IUpdateable, ILaunchable {
+	private static final Logger log = Logger.getLogger(InputReplay.class.getName());
+
+	private final MessageReader in;
+	private final int updateRate;
+	private final List<String> identifiers = new ArrayList<>();
+	private final List<Runnable> finishedListeners = new CopyOnWriteArrayList<>();
+
+	private long startTick;
+	private long nextTick;
+	private int nextType;
+	private int replayedEvents;
+
+	private volatile boolean running;
+	private volatile boolean finished;
+
+	public InputReplay(final File file) throws IOException {
+		this(new FileInputStream(file));
+	}
+
+	/**
+	 * Creates a new replay of the specified journal. The journal is read into
+	 * memory and the stream is closed immediately; the records are decoded while
+	 * they are replayed.
+	 *
+	 * @param in The stream of the journal.
+	 * @throws IOException If the stream doesn't contain a supported journal.
+	 */
+	public InputReplay(final InputStream in) throws IOException {
+		try {
+			this.in = new MessageReader(StreamUtilities.getByte(in));
+		} finally {
+			in.close();
+		}
+
+		this.updateRate = InputJournal.readHeader(this.in);
+		this.readNextRecord();
+	}
+
+	/**
+	 * Gets the update rate of the game loop that recorded the journal. The replay
+	 * only matches the recording if the game loop runs at the same rate.
+	 *
+	 * @return The update rate of the recording.
+	 */
+	public int getUpdateRate() {
+		return this.updateRate;
+	}
+
+	public int getReplayedEvents() {
+		return this.replayedEvents;
+	}
+
+	public boolean isFinished() {
+		return this.finished;
+	}
+
+	public void onFinished(final Runnable listener) {
+		this.finishedListeners.add(listener);
+	}
+
+	@Override
+	public void start() {
+		if (this.running || this.finished) {
+			return;
+		}
+
+		if (this.updateRate != Game.loop().getUpdateRate()) {
+			log.log(Level.WARNING, "The journal was recorded at {0} updates per second, but the game loop runs at {1}.",
+					new Object[] { this.updateRate, Game.loop().getUpdateRate() });
+		}
+
+		this.running = true;
+		this.startTick = Game.loop().getTicks();
+		if (Input.keyboard() != null) {
+			Game.inputLoop().detach(Input.keyboard());
+		}
+
+		setReplayActive(true);
+
+		Game.loop().attach(this);
+	}
+
+	/**
+	 * Stops the replay and restores the regular keyboard and mouse processing.
+	 */
+	@Override
+	public void terminate() {
+		if (!this.running) {
+			return;
+		}
+
+		this.running = false;
+		Game.loop().detach(this);
+		setReplayActive(false);
+		if (Input.keyboard() != null) {
+			Game.inputLoop().attach(Input.keyboard());
+		}
+	}
+
+	@Override
+	public void update() {
+		if (!this.running) {
+			return;
+		}
+
+		// events that were recorded during a tick are processed by the next one
+		final long tick = Game.loop().getTicks() - this.startTick;
+		try {
+			while (!this.finished && this.nextTick < tick) {
+				this.replayRecord();
+				if (!this.finished) {
+					this.readNextRecord();
+				}
+			}
+		} catch (final IOException | IllegalStateException e) {
+			// the message reader fails with an IllegalStateException on a truncated or
+			// malformed record
+			log.log(Level.SEVERE, e.getMessage(), e);
+			this.finished = true;
+		}
+
+		if (Input.keyboard() != null) {
+			Input.keyboard().update();
+		}
+
+		if (this.finished) {
+			this.terminate();
+			for (final Runnable listener : this.finishedListeners) {
+				listener.run();
+			}
+		}
+	}
+
+	private void readNextRecord() {
+		if (this.in.remaining() == 0) {
+			// the recording was not completed, e.g. because the game crashed
+			log.log(Level.WARNING, "The input journal ends without an end record.");
+			this.nextType = InputJournal.END;
+			return;
+		}
+
+		this.nextTick += this.in.readVarInt();
+		this.nextType = this.in.readByte() & 0xFF;
+	}
+
+	private void replayRecord() throws IOException {
+		switch (this.nextType) {
+		case InputJournal.END:
+			this.finished = true;
+			return;
+		case InputJournal.KEY_PRESSED:
+		case InputJournal.KEY_RELEASED:
+			this.replayKey(this.nextType == InputJournal.KEY_PRESSED ? KeyEvent.KEY_PRESSED : KeyEvent.KEY_RELEASED);
+			break;
+		case InputJournal.MOUSE:
+			this.replayMouse();
+			break;
+		case InputJournal.MOUSE_WHEEL:
+			this.replayMouseWheel();
+			break;
+		case InputJournal.GAMEPAD_POLL:
+		case InputJournal.GAMEPAD_PRESSED:
+		case InputJournal.GAMEPAD_RELEASED:
+			this.replayGamepad(this.nextType);
+			break;
+		default:
+			throw new IOException("unknown input journal record " + this.nextType);
+		}
+
+		this.replayedEvents++;
+	}
+
+	private void replayKey(final int id) {
+		final int keyCode = this.in.readVarInt();
+		final char keyChar = (char) this.in.readVarInt();
+		final int modifiers = this.in.readVarInt();
+		final int location = this.in.readByte() & 0xFF;
+
+		if (Input.keyboard() instanceof Keyboard) {
+			final KeyEvent event = new KeyEvent(getSource(), id, this.getWhen(), modifiers, keyCode, keyChar, location);
+			((Keyboard) Input.keyboard()).replay(event);
+		}
+	}
+
+	private void replayMouse() {
+		final int id = MouseEvent.MOUSE_FIRST + (this.in.readByte() & 0xFF);
+		final Point2D location = new Point2D.Double(this.in.readDouble(), this.in.readDouble());
+		final int button = this.in.readVarInt();
+		final int modifiers = this.in.readVarInt();
+		final int clickCount = this.in.readVarInt();
+
+		if (Input.mouse() instanceof Mouse) {
+			final MouseEvent event = new MouseEvent(getSource(), id, this.getWhen(), modifiers, (int) location.getX(),
+					(int) location.getY(), clickCount, false, button);
+			((Mouse) Input.mouse()).replay(event, location);
+		}
+	}
+
+	private void replayMouseWheel() {
+		final Point2D location = new Point2D.Double(this.in.readDouble(), this.in.readDouble());
+		final int modifiers = this.in.readVarInt();
+		final int scrollType = this.in.readVarInt();
+		final int scrollAmount = this.in.readVarInt();
+		final int wheelRotation = this.in.readInt();
+
+		if (Input.mouse() instanceof Mouse) {
+			final MouseWheelEvent event = new MouseWheelEvent(getSource(), MouseEvent.MOUSE_WHEEL, this.getWhen(),
+					modifiers, (int) location.getX(), (int) location.getY(), 0, false, scrollType, scrollAmount,
+					wheelRotation);
+			((Mouse) Input.mouse()).replay(event, location);
+		}
+	}
+
+	private void replayGamepad(final int type) throws IOException {
+		final int index = this.in.readVarInt();
+		final String identifier = InputJournal.readIdentifier(this.in, this.identifiers);
+		final float value = this.in.readFloat();
+
+		final Gamepad pad = Input.gamepads() != null ? Input.getGamepad(index) : null;
+		if (pad != null) {
+			if (type == InputJournal.GAMEPAD_POLL) {
+				pad.notifyPoll(identifier, value);
+			} else if (type == InputJournal.GAMEPAD_PRESSED) {
+				pad.notifyPressed(identifier, value);
+			} else {
+				pad.notifyReleased(identifier, value);
+			}
+		} else if (Input.gamepadManager() != null) {
+			if (type == InputJournal.GAMEPAD_POLL) {
+				Input.gamepadManager().notifyPoll(identifier, value);
+			} else if (type == InputJournal.GAMEPAD_PRESSED) {
+				Input.gamepadManager().notifyPressed(identifier, value);
+			} else {
+				Input.gamepadManager().notifyReleased(identifier, value);
+			}
+		}
+	}
+
+	private static void setReplayActive(final boolean active) {
+		if (Input.keyboard() instanceof Keyboard) {
+			((Keyboard) Input.keyboard()).setReplayActive(active);
+		}
+
+		if (Input.mouse() instanceof Mouse) {
+			((Mouse) Input.mouse()).setReplayActive(active);
+		}
+	}
+
+	private long getWhen() {
+		return Game.time().toMilliseconds(this.nextTick);
+	}
+
+	private static Component getSource() {
+		return Game.window().getRenderComponent();
+	}
+}
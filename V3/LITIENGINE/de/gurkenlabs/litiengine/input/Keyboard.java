@@ -27,6 +27,7 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
 	private final List<KeyEvent> typedKeys = new CopyOnWriteArrayList<>();
 
 	private boolean consumeAlt;
+	private volatile boolean replayActive;
 
 	protected Keyboard() {
 		KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
@@ -45,6 +46,40 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
 		if (this.consumeAlt && e.getKeyCode() == KeyEvent.VK_ALT) {
 			e.consume();
 		}
+
+		if (this.replayActive) {
+			// the game only sees the recorded keys while a replay is running
+			return false;
+		}
+
+		this.process(e);
+		return false;
+	}
+
+	/**
+	 * Processes a recorded event like a key event that was dispatched by AWT.
+	 *
+	 * @param e The recorded event.
+	 * 
+	 * @see InputReplay
+	 */
+	void replay(final KeyEvent e) {
+		this.process(e);
+	}
+
+	/**
+	 * Suppresses the real key events while a replay is active. The keys that are
+	 * currently pressed are forgotten, so that they don't stay pressed because
+	 * their release is suppressed.
+	 *
+	 * @param active True if a replay is active; otherwise false.
+	 */
+	void setReplayActive(final boolean active) {
+		this.replayActive = active;
+		this.pressedKeys.clear();
+	}
+
+	private void process(final KeyEvent e) {
 		final int eventId = e.getID();
 		switch (eventId) {
 		case KeyEvent.KEY_PRESSED:
@@ -61,8 +96,6 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
 		default:
 			break;
 		}
-
-		return false;
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.input;
 
 import java.awt.AWTException;
+import java.awt.GraphicsEnvironment;
 import java.awt.Point;
 import java.awt.Robot;
 import java.awt.event.MouseEvent;
@@ -42,6 +43,8 @@ public class Mouse implements IMouse {
 
 	private final float sensitivity;
 	private boolean grabMouse;
+	private boolean replaying;
+	private volatile boolean replayActive;
 
 	private boolean pressed;
 	private boolean isLeftMouseButtonDown;
@@ -57,12 +60,17 @@ public class Mouse implements IMouse {
 	 *                      initialized.
 	 */
 	protected Mouse() throws AWTException {
-		try {
-			this.robot = new Robot();
-			this.robot.setAutoDelay(0);
-		} catch (final AWTException e) {
-			log.log(Level.SEVERE, "The mouse input could not be initialized.");
-			throw e;
+		if (GraphicsEnvironment.isHeadless()) {
+			// there's no cursor to grab; events can still be delivered by a replay
+			this.robot = null;
+		} else {
+			try {
+				this.robot = new Robot();
+				this.robot.setAutoDelay(0);
+			} catch (final AWTException e) {
+				log.log(Level.SEVERE, "The mouse input could not be initialized.");
+				throw e;
+			}
 		}
 
 		this.location = new Point2D.Double(Game.world().camera().getViewport().getCenterX(),
@@ -111,6 +119,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseClicked(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		final MouseEvent wrappedEvent = this.createEvent(e);
 		this.mouseListeners.forEach(listener -> listener.mouseClicked(wrappedEvent));
@@ -122,6 +134,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseDragged(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		final MouseEvent wrappedEvent = this.createEvent(e);
 		this.mouseMotionListeners.forEach(listener -> listener.mouseDragged(wrappedEvent));
@@ -133,7 +149,11 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseEntered(final MouseEvent e) {
-		if (!this.grabMouse) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
+		if (!this.grabMouse && !this.replaying) {
 			this.lastLocation = e.getPoint();
 			this.location = e.getPoint();
 		} else {
@@ -146,6 +166,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseExited(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		final MouseEvent wrappedEvent = this.createEvent(e);
 		this.mouseListeners.forEach(listener -> listener.mouseExited(wrappedEvent));
@@ -153,6 +177,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseMoved(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		final MouseEvent wrappedEvent = this.createEvent(e);
 		this.mouseMotionListeners.forEach(listener -> listener.mouseMoved(wrappedEvent));
@@ -164,6 +192,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mousePressed(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		this.setPressed(true);
 		final MouseEvent wrappedEvent = this.createEvent(e);
@@ -184,6 +216,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseReleased(final MouseEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.setLocation(e);
 		this.setPressed(false);
 		final MouseEvent wrappedEvent = this.createEvent(e);
@@ -204,6 +240,10 @@ public class Mouse implements IMouse {
 
 	@Override
 	public void mouseWheelMoved(final MouseWheelEvent e) {
+		if (this.isSuppressed()) {
+			return;
+		}
+
 		this.mouseWheelListeners.forEach(listener -> listener.mouseWheelMoved(e));
 		this.wheelMovedConsumer.forEach(cons -> cons.accept(e));
 	}
@@ -307,6 +347,71 @@ public class Mouse implements IMouse {
 		this.mouseWheelListeners.remove(listener);
 	}
 
+	/**
+	 * Delivers a recorded event to the listeners and consumers of this mouse.
+	 *
+	 * @param e        The recorded event.
+	 * @param location The recorded location of the ingame mouse, which is more
+	 *                 precise than the location of the event.
+	 * 
+	 * @see InputReplay
+	 */
+	void replay(final MouseEvent e, final Point2D location) {
+		this.replaying = true;
+		this.location = location;
+		this.lastLocation = location;
+		try {
+			switch (e.getID()) {
+			case MouseEvent.MOUSE_CLICKED:
+				this.mouseClicked(e);
+				break;
+			case MouseEvent.MOUSE_PRESSED:
+				this.mousePressed(e);
+				break;
+			case MouseEvent.MOUSE_RELEASED:
+				this.mouseReleased(e);
+				break;
+			case MouseEvent.MOUSE_MOVED:
+				this.mouseMoved(e);
+				break;
+			case MouseEvent.MOUSE_ENTERED:
+				this.mouseEntered(e);
+				break;
+			case MouseEvent.MOUSE_EXITED:
+				this.mouseExited(e);
+				break;
+			case MouseEvent.MOUSE_DRAGGED:
+				this.mouseDragged(e);
+				break;
+			case MouseEvent.MOUSE_WHEEL:
+				this.mouseWheelMoved((MouseWheelEvent) e);
+				break;
+			default:
+				break;
+			}
+		} finally {
+			this.replaying = false;
+		}
+	}
+
+	/**
+	 * Suppresses the real mouse events while a replay is active. The buttons are
+	 * released, so that they don't stay pressed because their release is
+	 * suppressed.
+	 *
+	 * @param active True if a replay is active; otherwise false.
+	 */
+	void setReplayActive(final boolean active) {
+		this.replayActive = active;
+		this.pressed = false;
+		this.isLeftMouseButtonDown = false;
+		this.isRightMouseButtonDown = false;
+	}
+
+	private boolean isSuppressed() {
+		return this.replayActive && !this.replaying;
+	}
+
 	private MouseEvent createEvent(final MouseEvent original) {
 		return new MouseEvent(original.getComponent(), original.getID(), original.getWhen(), original.getModifiers(),
 				(int) this.getLocation().getX(), (int) this.getLocation().getY(), original.getXOnScreen(),
@@ -320,6 +425,11 @@ public class Mouse implements IMouse {
 	 * @param mouseLocation The location of the original mouse.
 	 */
 	private void setLocation(final MouseEvent e) {
+		if (this.replaying) {
+			// the replay already restored the recorded location
+			return;
+		}
+
 		if (this.grabMouse && !Game.window().isFocusOwner()) {
 			return;
 		}
@@ -341,7 +451,9 @@ public class Mouse implements IMouse {
 			final int grabY = (int) (screenLocation.y + screenCenterY);
 
 			// lock original mouse back to the center of the screen
-			this.robot.mouseMove(grabX, grabY);
+			if (this.robot != null) {
+				this.robot.mouseMove(grabX, grabY);
+			}
 
 			// calculate diffs and new location for the ingame mouse
 			diffX = e.getXOnScreen() - (double) grabX;
@@ -0,0 +1,69 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of direct {@code ByteBuffer}s with a fixed capacity.
+ * Direct buffers are expensive to allocate but can be passed to channels
+ * without an additional copy, so they should be reused.
+ */
+public class ByteBufferPool {
+	private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pooled = new AtomicInteger();
+	private final int bufferSize;
+	private final int maxPooled;
+
+	/**
+	 * Instantiates a new byte buffer pool.
+	 *
+	 * @param bufferSize the capacity of each buffer
+	 * @param maxPooled  the maximum number of idle buffers that are kept
+	 */
+	public ByteBufferPool(final int bufferSize, final int maxPooled) {
+		this.bufferSize = bufferSize;
+		this.maxPooled = maxPooled;
+	}
+
+	/**
+	 * Gets a cleared buffer from this pool or allocates a new one if the pool is
+	 * empty.
+	 *
+	 * @return the buffer
+	 */
+	public ByteBuffer acquire() {
+		final ByteBuffer buffer = this.buffers.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocateDirect(this.bufferSize);
+		}
+
+		this.pooled.decrementAndGet();
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Returns the specified buffer to this pool. The buffer must not be used by the
+	 * caller afterwards.
+	 *
+	 * @param buffer the buffer
+	 */
+	public void release(final ByteBuffer buffer) {
+		if (buffer.capacity() != this.bufferSize || !buffer.isDirect()) {
+			return;
+		}
+
+		if (this.pooled.incrementAndGet() > this.maxPooled) {
+			this.pooled.decrementAndGet();
+			return;
+		}
+
+		this.buffers.offer(buffer);
+	}
+
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+}
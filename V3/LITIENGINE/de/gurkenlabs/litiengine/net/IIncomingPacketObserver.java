@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.net;
 
 import java.net.InetAddress;
+import java.nio.ByteBuffer;
 
 /**
  * An asynchronous update interface for receiving notifications about
@@ -17,4 +18,24 @@ public interface IIncomingPacketObserver {
 	 * @param port    the port
 	 */
 	public void packetReceived(byte[] data, InetAddress address, int port);
+
+	/**
+	 * This method is called by receivers that read packets into reused buffers.
+	 * The specified buffer contains exactly the data of the received packet, but it
+	 * is only valid for the duration of this call.
+	 * <p>
+	 * By default, the data is copied and passed to
+	 * {@link #packetReceived(byte[], InetAddress, int)}. Observers that can process
+	 * the buffer directly should override this method to avoid the copy.
+	 * </p>
+	 *
+	 * @param data    the data
+	 * @param address the address
+	 * @param port    the port
+	 */
+	public default void packetReceived(ByteBuffer data, InetAddress address, int port) {
+		final byte[] bytes = new byte[data.remaining()];
+		data.get(bytes);
+		this.packetReceived(bytes, address, port);
+	}
 }
@@ -0,0 +1,145 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A packet receiver that reads from a non-blocking {@code DatagramChannel}.
+ * <p>
+ * All packets are received into a single reused direct buffer and observers are
+ * notified with a read-only view that is bounded to the received data (see
+ * {@link IIncomingPacketObserver#packetReceived(ByteBuffer, java.net.InetAddress, int)}).
+ * Each wakeup of the selector drains all pending packets (up to
+ * {@link #MAX_BATCH_SIZE}) before waiting again.
+ * </p>
+ */
+public class NioPacketReceiver extends Thread implements IPacketReceiver {
+	private static final Logger log = Logger.getLogger(NioPacketReceiver.class.getName());
+
+	/** The maximum number of packets that are drained per wakeup. */
+	public static final int MAX_BATCH_SIZE = 256;
+
+	private final List<IIncomingPacketObserver> incomingPacketObservers = new CopyOnWriteArrayList<>();
+
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(UdpPacketReceiver.MAX_PACKET_SIZE);
+
+	private DatagramChannel channel;
+
+	private Selector selector;
+
+	/**
+	 * Instantiates a new NIO packet receiver on an already bound channel.
+	 *
+	 * @param channel the channel
+	 */
+	public NioPacketReceiver(final DatagramChannel channel) {
+		super("NIO Packet Receiver");
+		this.channel = channel;
+		try {
+			this.channel.configureBlocking(false);
+			this.selector = Selector.open();
+			this.channel.register(this.selector, SelectionKey.OP_READ);
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Instantiates a new NIO packet receiver that listens on the specified port.
+	 *
+	 * @param port the port
+	 */
+	public NioPacketReceiver(final int port) {
+		this(open(port));
+	}
+
+	/**
+	 * Gets the channel that this instance receives from. It can also be used to
+	 * send packets from the listening port.
+	 *
+	 * @return the channel
+	 * 
+	 * @see NioPacketSender#NioPacketSender(DatagramChannel)
+	 */
+	public DatagramChannel getChannel() {
+		return this.channel;
+	}
+
+	@Override
+	public void registerForIncomingPackets(final IIncomingPacketObserver observer) {
+		this.incomingPacketObservers.add(observer);
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (!interrupted()) {
+				if (this.selector.select() == 0) {
+					continue;
+				}
+
+				this.selector.selectedKeys().clear();
+				this.drain();
+			}
+		} catch (final ClosedSelectorException e) {
+			// terminated
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		} finally {
+			this.close();
+		}
+	}
+
+	@Override
+	public void terminate() {
+		interrupt();
+		this.selector.wakeup();
+	}
+
+	private void drain() throws IOException {
+		for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+			this.buffer.clear();
+			final SocketAddress sender = this.channel.receive(this.buffer);
+			if (sender == null) {
+				return;
+			}
+
+			this.buffer.flip();
+			final InetSocketAddress address = (InetSocketAddress) sender;
+			final ByteBuffer view = this.buffer.asReadOnlyBuffer();
+			for (final IIncomingPacketObserver packetObserver : this.incomingPacketObservers) {
+				view.rewind();
+				packetObserver.packetReceived(view, address.getAddress(), address.getPort());
+			}
+		}
+	}
+
+	private void close() {
+		try {
+			this.selector.close();
+			this.channel.close();
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+	}
+
+	private static DatagramChannel open(final int port) {
+		try {
+			final DatagramChannel channel = DatagramChannel.open();
+			channel.bind(new InetSocketAddress(port));
+			return channel;
+		} catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
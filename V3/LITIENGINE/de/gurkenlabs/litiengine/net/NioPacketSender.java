@@ -0,0 +1,78 @@
+package de.gurkenlabs.litiengine.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A packet sender that writes to a {@code DatagramChannel} through pooled
+ * direct buffers. It is safe to use from multiple threads.
+ */
+public class NioPacketSender implements IPacketSender {
+	private static final Logger log = Logger.getLogger(NioPacketSender.class.getName());
+
+	private static final int MAX_POOLED_BUFFERS = 64;
+
+	private final ByteBufferPool pool = new ByteBufferPool(UdpPacketReceiver.MAX_PACKET_SIZE, MAX_POOLED_BUFFERS);
+
+	private DatagramChannel channel;
+
+	/**
+	 * Instantiates a new NIO packet sender on an unbound channel.
+	 */
+	public NioPacketSender() {
+		try {
+			this.channel = DatagramChannel.open();
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Instantiates a new NIO packet sender that sends on the specified channel,
+	 * e.g. the channel of a {@code NioPacketReceiver} so that replies originate
+	 * from the listening port.
+	 *
+	 * @param channel the channel
+	 */
+	public NioPacketSender(final DatagramChannel channel) {
+		this.channel = channel;
+	}
+
+	public DatagramChannel getChannel() {
+		return this.channel;
+	}
+
+	@Override
+	public void sendData(final Packet packet, final InetAddress ipAddress, final int port) {
+		final byte[] data = packet.getData();
+		if (data.length > this.pool.getBufferSize()) {
+			log.log(Level.SEVERE, "Packet of {0} bytes exceeds the maximum packet size.", data.length);
+			return;
+		}
+
+		final ByteBuffer buffer = this.pool.acquire();
+		try {
+			buffer.put(data).flip();
+			this.channel.send(buffer, new InetSocketAddress(ipAddress, port));
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		} finally {
+			this.pool.release(buffer);
+		}
+	}
+
+	@Override
+	public void sendData(final Packet packet, final String ipAddress, final int port) {
+		try {
+			this.sendData(packet, InetAddress.getByName(ipAddress), port);
+		} catch (final UnknownHostException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+	}
+}
@@ -6,6 +6,7 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.SocketException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,6 +16,9 @@ import java.util.logging.Logger;
 public class UdpPacketReceiver extends Thread implements IPacketReceiver {
 	private static final Logger log = Logger.getLogger(UdpPacketReceiver.class.getName());
 
+	/** The maximum size of a received packet in bytes. */
+	public static final int MAX_PACKET_SIZE = 10000;
+
 	/** The incoming packet observers. */
 	private final ArrayList<IIncomingPacketObserver> incomingPacketObservers;
 
@@ -52,19 +56,23 @@ public class UdpPacketReceiver extends Thread implements IPacketReceiver {
 
 	@Override
 	public void run() {
+		final byte[] buffer = new byte[MAX_PACKET_SIZE];
+		final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
 		while (!interrupted()) {
-			final byte[] data = new byte[10000];
-			final DatagramPacket packet = new DatagramPacket(data, data.length);
+			packet.setLength(buffer.length);
 			try {
 				this.socket.receive(packet);
 			} catch (InterruptedIOException e) {
 				break;
 			} catch (final IOException e) {
 				log.log(Level.SEVERE, e.getMessage(), e);
+				continue;
 			}
 
+			// only pass the received bytes, the buffer is reused for the next packet
+			final byte[] data = Arrays.copyOf(buffer, packet.getLength());
 			for (final IIncomingPacketObserver packetObserver : this.incomingPacketObservers) {
-				packetObserver.packetReceived(packet.getData(), packet.getAddress(), packet.getPort());
+				packetObserver.packetReceived(data, packet.getAddress(), packet.getPort());
 			}
 		}
 
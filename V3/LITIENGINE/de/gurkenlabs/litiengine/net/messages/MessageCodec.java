@@ -0,0 +1,15 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+/**
+ * A codec that writes messages of a certain type to the compact binary format
+ * of network packets and reads them back.
+ *
+ * @param <T> The type of the messages that are handled by this codec.
+ * 
+ * @see MessageCodecs
+ */
+public interface MessageCodec<T> {
+	public void write(T message, MessageWriter writer);
+
+	public T read(MessageReader reader);
+}
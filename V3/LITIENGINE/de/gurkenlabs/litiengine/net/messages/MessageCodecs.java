@@ -0,0 +1,145 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of all {@code MessageCodec}s that are used to transmit message
+ * objects in a {@code MessagePacket}. Each codec is registered for a message
+ * class together with an id that identifies the codec within a packet, so both
+ * ends of a connection need to register the same codecs with the same ids.
+ * <p>
+ * The ids in the range between 1 and 15 are reserved for the messages of the
+ * litiengine, which register their codecs themselves; id 0 marks message
+ * objects without a registered codec, which fall back to Java serialization.
+ * This fallback is disabled by default, see
+ * {@link #setSerializationEnabled(boolean)}.
+ * </p>
+ * 
+ * @see MessagePacket
+ */
+public final class MessageCodecs {
+	static final int SERIALIZED = 0;
+
+	private static final Map<Class<?>, Registration<?>> byType = new ConcurrentHashMap<>();
+	private static final Map<Integer, Registration<?>> byId = new ConcurrentHashMap<>();
+	private static volatile boolean serializationEnabled;
+
+	static final class Registration<T> {
+		private final int id;
+		private final MessageCodec<T> codec;
+
+		private Registration(final int id, final MessageCodec<T> codec) {
+			this.id = id;
+			this.codec = codec;
+		}
+
+		int getId() {
+			return this.id;
+		}
+
+		MessageCodec<T> getCodec() {
+			return this.codec;
+		}
+	}
+
+	static {
+		register(1, ClientMessage.class, new MessageCodec<ClientMessage>() {
+			@Override
+			public void write(ClientMessage message, MessageWriter writer) {
+				writer.writeInt(message.getClientId());
+			}
+
+			@Override
+			public ClientMessage read(MessageReader reader) {
+				return new ClientMessage(reader.readInt());
+			}
+		});
+
+		register(2, PingResponseMessage.class, new MessageCodec<PingResponseMessage>() {
+			@Override
+			public void write(PingResponseMessage message, MessageWriter writer) {
+				// no fields
+			}
+
+			@Override
+			public PingResponseMessage read(MessageReader reader) {
+				return new PingResponseMessage();
+			}
+		});
+
+		register(3, InvalidVersionMessage.class, new MessageCodec<InvalidVersionMessage>() {
+			@Override
+			public void write(InvalidVersionMessage message, MessageWriter writer) {
+				writer.writeFloat(message.getServerVersion());
+			}
+
+			@Override
+			public InvalidVersionMessage read(MessageReader reader) {
+				return new InvalidVersionMessage(reader.readFloat());
+			}
+		});
+	}
+
+	private MessageCodecs() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Registers the specified codec for the specified message class.
+	 * 
+	 * @param <T>         The type of the message.
+	 * @param id          The id of the codec within a packet.
+	 * @param messageType The message class.
+	 * @param codec       The codec for the message class.
+	 */
+	public static synchronized <T> void register(final int id, final Class<T> messageType,
+			final MessageCodec<T> codec) {
+		if (id <= SERIALIZED) {
+			throw new IllegalArgumentException("message codec ids must be positive");
+		}
+
+		if (byId.containsKey(id)) {
+			throw new IllegalArgumentException(String.format(
+					"Cannot register a message codec with id '%d' because another codec has an equal id.", id));
+		}
+
+		if (byType.containsKey(messageType)) {
+			throw new IllegalArgumentException(String.format(
+					"Cannot register a message codec for '%s' because a codec is already registered for it.",
+					messageType.getName()));
+		}
+
+		final Registration<T> registration = new Registration<>(id, codec);
+		byId.put(id, registration);
+		byType.put(messageType, registration);
+	}
+
+	public static boolean isSerializationEnabled() {
+		return serializationEnabled;
+	}
+
+	/**
+	 * Specifies whether message objects without a registered codec may be
+	 * transmitted with Java serialization.
+	 * <p>
+	 * This is disabled by default, because deserializing a received packet allows
+	 * any remote sender to instantiate arbitrary serializable classes. Only enable
+	 * it if all peers are trusted; both ends of a connection need to enable it.
+	 * </p>
+	 * 
+	 * @param enabled True if message objects without a codec may be serialized.
+	 */
+	public static void setSerializationEnabled(final boolean enabled) {
+		serializationEnabled = enabled;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> Registration<T> get(final Class<T> messageType) {
+		return (Registration<T>) byType.get(messageType);
+	}
+
+	static Registration<?> get(final int id) {
+		return byId.get(id);
+	}
+}
@@ -6,22 +6,34 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.net.Packet;
-import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import de.gurkenlabs.litiengine.util.io.CompressionUtilities;
 import de.gurkenlabs.litiengine.util.io.Serializer;
 
 /**
  * The Class ObjectPacket.
+ * <p>
+ * A packet consists of a flags byte followed by the message body, which is
+ * only compressed if it exceeds the {@link #COMPRESSION_THRESHOLD}. The body
+ * contains the packet id, the id of the codec and the message object, written
+ * by the {@code MessageCodec} that is registered for its class.
+ * </p>
  *
  * @param <T> the generic type
+ * 
+ * @see MessageCodecs
  */
 public class MessagePacket<T> extends Packet {
 
 	private static final Logger log = Logger.getLogger(MessagePacket.class.getName());
+
 	/**
-	 * The Content length byte count. UDP does only support up to 64k.
+	 * The size of a message body in bytes above which it gets compressed.
 	 */
-	private static final int CONTENTLENGTHBYTECOUNT = 7;
+	public static final int COMPRESSION_THRESHOLD = 512;
+
+	private static final byte FLAG_COMPRESSED = 1;
+
+	private static final ThreadLocal<MessageWriter> writers = ThreadLocal.withInitial(MessageWriter::new);
 
 	/** The object. */
 	private T object;
@@ -39,33 +51,43 @@ public class MessagePacket<T> extends Packet {
 	}
 
 	/**
-	 * Instantiates a new object packet.
+	 * Instantiates a new object packet from a message body.
 	 *
 	 * @param content the content
+	 * 
+	 * @see #unwrap(byte[])
 	 */
 	@SuppressWarnings("unchecked")
 	public MessagePacket(final byte[] content) {
 		super(content);
-		final int headerOffset = TYPEBYTECOUNT;
-		final int dataOffset = headerOffset + CONTENTLENGTHBYTECOUNT;
-
-		// message size
-		final ByteBuffer wrapped = ByteBuffer
-				.wrap(Arrays.copyOfRange(content, headerOffset, headerOffset + CONTENTLENGTHBYTECOUNT));
-
-		// header + size info + actual message size
-		this.size = CONTENTLENGTHBYTECOUNT + wrapped.getInt();
-
-		// actual message
-		final byte[] objectBytes = Arrays.copyOfRange(content, dataOffset, this.getSize() + dataOffset);
+		final MessageReader reader = new MessageReader(content, TYPEBYTECOUNT, content.length - TYPEBYTECOUNT);
 
 		try {
-			final Object dataObject = Serializer.deserialize(objectBytes);
-			this.object = (T) dataObject;
+			final int codecId = reader.readVarInt();
+			if (codecId == MessageCodecs.SERIALIZED) {
+				// never let a remote sender reach the ObjectInputStream unless explicitly allowed
+				if (!MessageCodecs.isSerializationEnabled()) {
+					log.log(Level.WARNING, "Dropped a serialized message object because serialization is disabled.");
+					return;
+				}
+
+				final int length = reader.readVarInt();
+				this.object = (T) Serializer.deserialize(reader.readBytes(length));
+			} else {
+				final MessageCodecs.Registration<?> registration = MessageCodecs.get(codecId);
+				if (registration == null) {
+					log.log(Level.SEVERE, "No message codec registered for id {0}.", codecId);
+					return;
+				}
+
+				this.object = (T) registration.getCodec().read(reader);
+			}
 		} catch (final Exception e) {
 			log.log(Level.SEVERE, e.getMessage(), e);
 			this.object = null;
 		}
+
+		this.size = reader.getPosition();
 	}
 
 	/**
@@ -79,17 +101,64 @@ public class MessagePacket<T> extends Packet {
 		this.object = object;
 	}
 
+	/**
+	 * Extracts the message body from the specified packet data, decompressing it
+	 * if necessary. The result can be passed to {@link #MessagePacket(byte[])}.
+	 *
+	 * @param data the data of a received packet
+	 * @return the message body
+	 */
+	public static byte[] unwrap(final byte[] data) {
+		if ((data[0] & FLAG_COMPRESSED) != 0) {
+			return CompressionUtilities.decompress(Arrays.copyOfRange(data, 1, data.length));
+		}
+
+		return Arrays.copyOfRange(data, 1, data.length);
+	}
+
+	/**
+	 * Extracts the message body from the remaining bytes of the specified buffer,
+	 * decompressing it if necessary.
+	 *
+	 * @param data the data of a received packet
+	 * @return the message body
+	 * 
+	 * @see #unwrap(byte[])
+	 */
+	public static byte[] unwrap(final ByteBuffer data) {
+		final byte flags = data.get();
+		final byte[] body = new byte[data.remaining()];
+		data.get(body);
+		if ((flags & FLAG_COMPRESSED) != 0) {
+			return CompressionUtilities.decompress(body);
+		}
+
+		return body;
+	}
+
 	@Override
 	public byte[] getData() {
 		if (super.getData() != null && super.getData().length > 0) {
 			return super.getData();
 		}
 
-		final byte[] header = new byte[] { this.getPacketId() };
-		final byte[] serializedObject = Serializer.serialize(this.object);
-		final byte[] objectSize = ByteBuffer.allocate(CONTENTLENGTHBYTECOUNT).putInt(serializedObject.length).array();
-		byte[] data = ArrayUtilities.arrayConcat(header, ArrayUtilities.arrayConcat(objectSize, serializedObject));
-		data = CompressionUtilities.compress(data);
+		final MessageWriter writer = writers.get();
+		writer.reset();
+		writer.writeByte(this.getPacketId());
+		this.writeObject(writer);
+
+		byte[] data;
+		if (writer.size() > COMPRESSION_THRESHOLD) {
+			final byte[] compressed = CompressionUtilities.compress(writer.toByteArray());
+			data = new byte[compressed.length + 1];
+			data[0] = FLAG_COMPRESSED;
+			System.arraycopy(compressed, 0, data, 1, compressed.length);
+		} else {
+			data = new byte[writer.size() + 1];
+			System.arraycopy(writer.getBuffer(), 0, data, 1, writer.size());
+		}
+
+		this.size = writer.size();
 		this.setData(data);
 		return data;
 	}
@@ -104,11 +173,34 @@ public class MessagePacket<T> extends Packet {
 	}
 
 	/**
-	 * Gets the size.
+	 * Gets the size of the message body in bytes.
 	 *
 	 * @return the size
 	 */
 	public int getSize() {
 		return this.size;
 	}
+
+	@SuppressWarnings("unchecked")
+	private void writeObject(final MessageWriter writer) {
+		final MessageCodecs.Registration<T> registration = this.object != null
+				? MessageCodecs.get((Class<T>) this.object.getClass())
+				: null;
+		if (registration == null) {
+			if (!MessageCodecs.isSerializationEnabled()) {
+				throw new IllegalArgumentException(String.format(
+						"No message codec is registered for '%s'. Register one or enable serialization in MessageCodecs.",
+						this.object != null ? this.object.getClass().getName() : null));
+			}
+
+			final byte[] serializedObject = Serializer.serialize(this.object);
+			writer.writeVarInt(MessageCodecs.SERIALIZED);
+			writer.writeVarInt(serializedObject.length);
+			writer.writeBytes(serializedObject);
+			return;
+		}
+
+		writer.writeVarInt(registration.getId());
+		registration.getCodec().write(this.object, writer);
+	}
 }
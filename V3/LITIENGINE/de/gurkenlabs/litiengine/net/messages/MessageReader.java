@@ -0,0 +1,122 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads message fields that were previously written by a {@code MessageWriter}
+ * from a byte array.
+ *
+ * @see MessageWriter
+ * @see MessageCodec
+ */
+public class MessageReader {
+	private final byte[] data;
+	private final int limit;
+	private int position;
+
+	public MessageReader(final byte[] data) {
+		this(data, 0, data.length);
+	}
+
+	public MessageReader(final byte[] data, final int offset, final int length) {
+		this.data = data;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+
+	public int getPosition() {
+		return this.position;
+	}
+
+	public int remaining() {
+		return this.limit - this.position;
+	}
+
+	public boolean readBoolean() {
+		return this.readByte() != 0;
+	}
+
+	public byte readByte() {
+		if (this.position >= this.limit) {
+			throw new IllegalStateException("read beyond the end of the message");
+		}
+
+		return this.data[this.position++];
+	}
+
+	public byte[] readBytes(final int length) {
+		if (length < 0 || length > this.remaining()) {
+			throw new IllegalStateException("read beyond the end of the message");
+		}
+
+		final byte[] bytes = new byte[length];
+		System.arraycopy(this.data, this.position, bytes, 0, length);
+		this.position += length;
+		return bytes;
+	}
+
+	public short readShort() {
+		return (short) this.readInt();
+	}
+
+	public int readInt() {
+		final int zigZag = this.readVarInt();
+		return (zigZag >>> 1) ^ -(zigZag & 1);
+	}
+
+	public int readVarInt() {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final byte b = this.readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IllegalStateException("malformed variable-length integer");
+	}
+
+	public long readLong() {
+		long zigZag = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = this.readByte();
+			zigZag |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (zigZag >>> 1) ^ -(zigZag & 1);
+			}
+		}
+
+		throw new IllegalStateException("malformed variable-length integer");
+	}
+
+	public float readFloat() {
+		final int bits = (this.readByte() & 0xFF) | (this.readByte() & 0xFF) << 8 | (this.readByte() & 0xFF) << 16
+				| (this.readByte() & 0xFF) << 24;
+		return Float.intBitsToFloat(bits);
+	}
+
+	public double readDouble() {
+		long bits = 0;
+		for (int i = 0; i < 8; i++) {
+			bits |= (long) (this.readByte() & 0xFF) << (i * 8);
+		}
+
+		return Double.longBitsToDouble(bits);
+	}
+
+	public String readString() {
+		final int length = this.readVarInt();
+		if (length == 0) {
+			return null;
+		}
+
+		if (length < 0 || length - 1 > this.remaining()) {
+			throw new IllegalStateException("read beyond the end of the message");
+		}
+
+		final String value = new String(this.data, this.position, length - 1, StandardCharsets.UTF_8);
+		this.position += length - 1;
+		return value;
+	}
+}
@@ -11,13 +11,18 @@ import java.util.Optional;
  * range between 20 and 127.
  */
 public class MessageType {
+	private static final List<MessageType> messageTypes = new ArrayList<>();
+
 	public static final MessageType INVALID = new MessageType("INVALID", (byte) -1);
 	public static final MessageType INVALIDVERSION = new MessageType("INVALIDVERSION", (byte) 18);
 	public static final MessageType LOGIN = new MessageType("LOGIN", (byte) 0);
 	public static final MessageType LOGINRESPONSE = new MessageType("LOGINRESPONSE", (byte) 5);
 	public static final MessageType LOGOUT = new MessageType("LOGOUT", (byte) 1);
 	public static final MessageType PING = new MessageType("PING", (byte) 4);
-	private static final List<MessageType> messageTypes = new ArrayList<>();
+	public static final MessageType SNAPSHOT = new MessageType("SNAPSHOT", (byte) 6);
+	public static final MessageType SNAPSHOTACK = new MessageType("SNAPSHOTACK", (byte) 7);
+	public static final MessageType INPUT = new MessageType("INPUT", (byte) 8);
+	public static final MessageType INPUTACK = new MessageType("INPUTACK", (byte) 9);
 
 	private final String name;
 	private final byte packetId;
@@ -0,0 +1,151 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable buffer that writes message fields in a compact binary format.
+ * Integral numbers are written as variable-length integers (zig-zag encoded for
+ * signed values), so small values only take a single byte.
+ * <p>
+ * Instances are meant to be reused: call {@link #reset()} before writing the
+ * next message to avoid allocating a new buffer.
+ * </p>
+ *
+ * @see MessageReader
+ * @see MessageCodec
+ */
+public class MessageWriter {
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private byte[] buffer;
+	private int position;
+
+	public MessageWriter() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MessageWriter(final int capacity) {
+		this.buffer = new byte[capacity];
+	}
+
+	/**
+	 * Gets the internal buffer of this writer. Only the first {@link #size()} bytes
+	 * contain written data.
+	 *
+	 * @return The internal buffer.
+	 */
+	public byte[] getBuffer() {
+		return this.buffer;
+	}
+
+	public int size() {
+		return this.position;
+	}
+
+	public void reset() {
+		this.position = 0;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer, this.position);
+	}
+
+	public void writeBoolean(final boolean value) {
+		this.writeByte(value ? 1 : 0);
+	}
+
+	public void writeByte(final int value) {
+		this.ensureCapacity(1);
+		this.buffer[this.position++] = (byte) value;
+	}
+
+	public void writeBytes(final byte[] bytes) {
+		this.writeBytes(bytes, 0, bytes.length);
+	}
+
+	public void writeBytes(final byte[] bytes, final int offset, final int length) {
+		this.ensureCapacity(length);
+		System.arraycopy(bytes, offset, this.buffer, this.position, length);
+		this.position += length;
+	}
+
+	public void writeShort(final short value) {
+		this.writeInt(value);
+	}
+
+	/**
+	 * Writes a signed integer as zig-zag encoded variable-length integer, which
+	 * takes one byte for values in the range [-64, 63].
+	 *
+	 * @param value The value to write.
+	 */
+	public void writeInt(final int value) {
+		this.writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes a non-negative integer as variable-length integer, which takes one
+	 * byte for values in the range [0, 127].
+	 *
+	 * @param value The value to write.
+	 */
+	public void writeVarInt(int value) {
+		this.ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.buffer[this.position++] = (byte) value;
+	}
+
+	public void writeLong(final long value) {
+		long zigZag = (value << 1) ^ (value >> 63);
+		this.ensureCapacity(10);
+		while ((zigZag & ~0x7FL) != 0) {
+			this.buffer[this.position++] = (byte) ((zigZag & 0x7F) | 0x80);
+			zigZag >>>= 7;
+		}
+		this.buffer[this.position++] = (byte) zigZag;
+	}
+
+	public void writeFloat(final float value) {
+		final int bits = Float.floatToIntBits(value);
+		this.ensureCapacity(4);
+		this.buffer[this.position++] = (byte) bits;
+		this.buffer[this.position++] = (byte) (bits >> 8);
+		this.buffer[this.position++] = (byte) (bits >> 16);
+		this.buffer[this.position++] = (byte) (bits >> 24);
+	}
+
+	public void writeDouble(final double value) {
+		final long bits = Double.doubleToLongBits(value);
+		this.ensureCapacity(8);
+		for (int i = 0; i < 8; i++) {
+			this.buffer[this.position++] = (byte) (bits >> (i * 8));
+		}
+	}
+
+	/**
+	 * Writes the specified string as UTF-8 with a preceding length. A null string
+	 * is written as a single byte.
+	 *
+	 * @param value The value to write.
+	 */
+	public void writeString(final String value) {
+		if (value == null) {
+			this.writeVarInt(0);
+			return;
+		}
+
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.writeVarInt(bytes.length + 1);
+		this.writeBytes(bytes);
+	}
+
+	private void ensureCapacity(final int additional) {
+		if (this.position + additional > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + additional));
+		}
+	}
+}
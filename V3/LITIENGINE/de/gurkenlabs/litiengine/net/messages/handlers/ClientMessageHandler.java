@@ -1,16 +1,15 @@
 package de.gurkenlabs.litiengine.net.messages.handlers;
 
-import java.io.Serializable;
 import java.net.InetAddress;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.net.messages.MessagePacket;
 
-public abstract class ClientMessageHandler<T extends Serializable> extends MessageHandler<T> {
+public abstract class ClientMessageHandler<T> extends MessageHandler<T> {
 
 	@Override
-	public void handle(final byte[] data, final InetAddress address, final int port) {
-		super.handle(data, address, port);
-		Game.metrics().packageReceived(new MessagePacket<T>(data).getSize());
+	protected void handle(final MessagePacket<T> packet, final InetAddress address, final int port) {
+		super.handle(packet, address, port);
+		Game.metrics().packageReceived(packet.getSize());
 	}
 }
@@ -1,6 +1,5 @@
 package de.gurkenlabs.litiengine.net.messages.handlers;
 
-import java.io.Serializable;
 import java.net.InetAddress;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -14,12 +13,16 @@ import de.gurkenlabs.litiengine.net.messages.MessagePacket;
  *
  * @param <T> the type of the message that will be validated and handled.
  */
-public abstract class MessageHandler<T extends Serializable> implements IMessageHandler {
+public abstract class MessageHandler<T> implements IMessageHandler {
 	private static final Logger log = Logger.getLogger(MessageHandler.class.getName());
 
 	@Override
 	public void handle(final byte[] data, final InetAddress address, final int port) {
-		final T message = new MessagePacket<T>(data).getObject();
+		this.handle(new MessagePacket<T>(data), address, port);
+	}
+
+	protected void handle(final MessagePacket<T> packet, final InetAddress address, final int port) {
+		final T message = packet.getObject();
 		if (message == null) {
 			return;
 		}
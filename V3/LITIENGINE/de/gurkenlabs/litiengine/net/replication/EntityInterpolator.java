@@ -0,0 +1,169 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * Smoothly moves remote entities between the snapshots received by a
+ * {@code ReplicationClient}.
+ * <p>
+ * Entities are rendered with a configurable delay behind the server, so that
+ * there usually is a snapshot before and after the rendered point in time and
+ * the position can be interpolated between them. The delay should cover a few
+ * snapshot intervals plus the expected jitter. Entities that are predicted
+ * locally (see {@link #exclude(int)}) are not touched.
+ * </p>
+ * <p>
+ * The interpolator needs to be updated by the game loop.
+ * </p>
+ */
+public class EntityInterpolator implements IUpdateable {
+	public static final long DEFAULT_DELAY = 100;
+
+	private final long tickDuration;
+	private final LongSupplier clock;
+	private final IntFunction<IEntity> entityLookup;
+	private final ArrayDeque<Snapshot> snapshots = new ArrayDeque<>();
+	private final Set<Integer> excluded = ConcurrentHashMap.newKeySet();
+
+	private long delay = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DELAY);
+	private long clockOffset;
+	private boolean synchronizedClock;
+
+	/**
+	 * Instantiates a new interpolator for the entities of the current environment.
+	 * 
+	 * @param client   The client that receives the snapshots.
+	 * @param tickRate The rate at which the server captures snapshots, in ticks
+	 *                 per second.
+	 */
+	public EntityInterpolator(final ReplicationClient client, final int tickRate) {
+		this(client, tickRate, System::nanoTime,
+				mapId -> Game.world() != null && Game.world().environment() != null
+						? Game.world().environment().get(mapId)
+						: null);
+	}
+
+	/**
+	 * Instantiates a new interpolator.
+	 * 
+	 * @param client       The client that receives the snapshots.
+	 * @param tickRate     The rate at which the server captures snapshots, in
+	 *                     ticks per second.
+	 * @param clock        The clock in nanoseconds.
+	 * @param entityLookup The function that provides the entity for a map id.
+	 */
+	public EntityInterpolator(final ReplicationClient client, final int tickRate, final LongSupplier clock,
+			final IntFunction<IEntity> entityLookup) {
+		this.tickDuration = TimeUnit.SECONDS.toNanos(1) / tickRate;
+		this.clock = clock;
+		this.entityLookup = entityLookup;
+		client.setApplySnapshots(false);
+		client.onSnapshotReceived(this::add);
+	}
+
+	/**
+	 * Gets the time span by which the entities are displayed behind the server.
+	 * 
+	 * @return The interpolation delay in milliseconds.
+	 */
+	public long getDelay() {
+		return TimeUnit.NANOSECONDS.toMillis(this.delay);
+	}
+
+	public void setDelay(final long delay) {
+		this.delay = TimeUnit.MILLISECONDS.toNanos(delay);
+	}
+
+	/**
+	 * Excludes the entity with the specified map id from interpolation, e.g.
+	 * because it is predicted locally.
+	 * 
+	 * @param mapId The map id of the entity.
+	 */
+	public void exclude(final int mapId) {
+		this.excluded.add(mapId);
+	}
+
+	public void include(final int mapId) {
+		this.excluded.remove(mapId);
+	}
+
+	@Override
+	public void update() {
+		final Snapshot from;
+		final Snapshot to;
+		final double alpha;
+		synchronized (this.snapshots) {
+			if (this.snapshots.isEmpty()) {
+				return;
+			}
+
+			final double renderTick = (double) (this.clock.getAsLong() - this.clockOffset - this.delay)
+				/ this.tickDuration;
+
+			// discard snapshots that are no longer needed as interpolation start
+			Iterator<Snapshot> iter = this.snapshots.iterator();
+			Snapshot first = iter.next();
+			while (iter.hasNext()) {
+				final Snapshot next = iter.next();
+				if (next.getTick() > renderTick) {
+					break;
+				}
+
+				this.snapshots.poll();
+				first = next;
+			}
+
+			from = first;
+			iter = this.snapshots.iterator();
+			iter.next();
+			to = iter.hasNext() ? iter.next() : from;
+			alpha = to == from ? 1
+					: Math.max(0, Math.min(1, (renderTick - from.getTick()) / (to.getTick() - from.getTick())));
+		}
+
+		for (final EntityState state : to.getStates()) {
+			if (this.excluded.contains(state.getMapId())) {
+				continue;
+			}
+
+			final IEntity entity = this.entityLookup.apply(state.getMapId());
+			if (entity == null) {
+				continue;
+			}
+
+			state.apply(entity);
+			final EntityState previous = from.get(state.getMapId());
+			if (previous != null && alpha < 1) {
+				entity.setLocation(previous.getX() + (state.getX() - previous.getX()) * alpha,
+						previous.getY() + (state.getY() - previous.getY()) * alpha);
+			}
+		}
+	}
+
+	private void add(final Snapshot snapshot) {
+		final long now = this.clock.getAsLong();
+		final long offset = now - snapshot.getTick() * this.tickDuration;
+		synchronized (this.snapshots) {
+			// the offset is estimated from the fastest snapshot, with a slow drift for changing latencies
+			if (!this.synchronizedClock || offset < this.clockOffset) {
+				this.clockOffset = offset;
+				this.synchronizedClock = true;
+			} else {
+				this.clockOffset += Math.min(offset - this.clockOffset, this.tickDuration / 100);
+			}
+
+			this.snapshots.add(snapshot);
+		}
+	}
+}
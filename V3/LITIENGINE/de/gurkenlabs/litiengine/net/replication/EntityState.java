@@ -0,0 +1,140 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import de.gurkenlabs.litiengine.entities.ICombatEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.animation.Animation;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+
+/**
+ * The quantized state of a single replicated entity within a {@code Snapshot}.
+ * <p>
+ * Each field is quantized with its own precision: the location in steps of
+ * 1/{@value #POSITION_SCALE} pixel and the angle in {@value #ANGLE_STEPS} steps
+ * per full turn. Hit points are only captured for combat entities.
+ * </p>
+ */
+public final class EntityState {
+	/** The number of quantization steps per pixel of the location. */
+	public static final int POSITION_SCALE = 16;
+
+	/** The number of quantization steps per full turn of the angle. */
+	public static final int ANGLE_STEPS = 256;
+
+	static final EntityState EMPTY = new EntityState(0, 0, 0, 0, 0, null);
+
+	private final int mapId;
+	private final int x;
+	private final int y;
+	private final int angle;
+	private final int hitPoints;
+	private final String animation;
+
+	EntityState(final int mapId, final int x, final int y, final int angle, final int hitPoints,
+			final String animation) {
+		this.mapId = mapId;
+		this.x = x;
+		this.y = y;
+		this.angle = angle;
+		this.hitPoints = hitPoints;
+		this.animation = animation;
+	}
+
+	/**
+	 * Captures the current state of the specified entity.
+	 * 
+	 * @param entity The entity.
+	 * @return The quantized state of the entity.
+	 */
+	public static EntityState capture(final IEntity entity) {
+		final int hitPoints = entity instanceof ICombatEntity
+				? ((ICombatEntity) entity).getHitPoints().getCurrentValue()
+				: 0;
+
+		String animation = null;
+		final IEntityAnimationController animationController = entity.getAnimationController();
+		if (animationController != null) {
+			final Animation current = animationController.getCurrentAnimation();
+			animation = current != null ? current.getName() : null;
+		}
+
+		return new EntityState(entity.getMapId(), quantizePosition(entity.getX()), quantizePosition(entity.getY()),
+				quantizeAngle(entity.getAngle()), hitPoints, animation);
+	}
+
+	/**
+	 * Applies this state to the specified entity.
+	 * 
+	 * @param entity The entity.
+	 */
+	public void apply(final IEntity entity) {
+		entity.setLocation(this.getX(), this.getY());
+		entity.setAngle(this.getAngle());
+		if (entity instanceof ICombatEntity) {
+			((ICombatEntity) entity).getHitPoints().setBaseValue(this.hitPoints);
+		}
+
+		final IEntityAnimationController animationController = entity.getAnimationController();
+		if (this.animation != null && animationController != null && !animationController.isPlaying(this.animation)) {
+			animationController.playAnimation(this.animation);
+		}
+	}
+
+	public int getMapId() {
+		return this.mapId;
+	}
+
+	public double getX() {
+		return this.x / (double) POSITION_SCALE;
+	}
+
+	public double getY() {
+		return this.y / (double) POSITION_SCALE;
+	}
+
+	public double getAngle() {
+		return this.angle * 360.0 / ANGLE_STEPS;
+	}
+
+	public int getHitPoints() {
+		return this.hitPoints;
+	}
+
+	public String getAnimation() {
+		return this.animation;
+	}
+
+	int getQuantizedX() {
+		return this.x;
+	}
+
+	int getQuantizedY() {
+		return this.y;
+	}
+
+	int getQuantizedAngle() {
+		return this.angle;
+	}
+
+	boolean hasAnimation(final String animationName) {
+		return this.animation == null ? animationName == null : this.animation.equals(animationName);
+	}
+
+	boolean equalsState(final EntityState other) {
+		return this.x == other.x && this.y == other.y && this.angle == other.angle && this.hitPoints == other.hitPoints
+				&& this.hasAnimation(other.animation);
+	}
+
+	@Override
+	public String toString() {
+		return "#" + this.mapId + " (" + this.getX() + ", " + this.getY() + "), angle: " + this.getAngle() + ", hp: "
+				+ this.hitPoints + ", animation: " + this.animation;
+	}
+
+	private static int quantizePosition(final double value) {
+		return (int) Math.round(value * POSITION_SCALE);
+	}
+
+	private static int quantizeAngle(final double angle) {
+		return (int) Math.round(angle / 360.0 * ANGLE_STEPS) & (ANGLE_STEPS - 1);
+	}
+}
@@ -0,0 +1,80 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.io.Serializable;
+
+import de.gurkenlabs.litiengine.net.messages.MessageCodec;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The message with which the server acknowledges the inputs of a client. It
+ * contains the authoritative state of the controlled entity after the last
+ * processed input.
+ */
+public class InputAckMessage implements Serializable {
+	private static final long serialVersionUID = -5408016624780963373L;
+
+	public static final MessageCodec<InputAckMessage> CODEC = new MessageCodec<InputAckMessage>() {
+		@Override
+		public void write(final InputAckMessage message, final MessageWriter writer) {
+			writer.writeVarInt(message.mapId);
+			writer.writeVarInt(message.sequence);
+			writer.writeDouble(message.x);
+			writer.writeDouble(message.y);
+			writer.writeDouble(message.velocityX);
+			writer.writeDouble(message.velocityY);
+		}
+
+		@Override
+		public InputAckMessage read(final MessageReader reader) {
+			return new InputAckMessage(reader.readVarInt(), reader.readVarInt(), reader.readDouble(),
+					reader.readDouble(), reader.readDouble(), reader.readDouble());
+		}
+	};
+
+	private final int mapId;
+	private final int sequence;
+	private final double x;
+	private final double y;
+	private final double velocityX;
+	private final double velocityY;
+
+	public InputAckMessage(final int mapId, final int sequence, final double x, final double y, final double velocityX,
+			final double velocityY) {
+		this.mapId = mapId;
+		this.sequence = sequence;
+		this.x = x;
+		this.y = y;
+		this.velocityX = velocityX;
+		this.velocityY = velocityY;
+	}
+
+	public int getMapId() {
+		return this.mapId;
+	}
+
+	/**
+	 * Gets the sequence number of the last input that the server processed.
+	 * 
+	 * @return The acknowledged sequence number.
+	 */
+	public int getSequence() {
+		return this.sequence;
+	}
+
+	public double getX() {
+		return this.x;
+	}
+
+	public double getY() {
+		return this.y;
+	}
+
+	public double getVelocityX() {
+		return this.velocityX;
+	}
+
+	public double getVelocityY() {
+		return this.velocityY;
+	}
+}
@@ -0,0 +1,64 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.gurkenlabs.litiengine.net.messages.ClientMessage;
+import de.gurkenlabs.litiengine.net.messages.MessageCodec;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The message that a client sends with its recent movement inputs. Each message
+ * repeats all inputs that were not yet acknowledged by the server, so a lost
+ * message doesn't lose inputs.
+ */
+public class InputMessage extends ClientMessage {
+	private static final long serialVersionUID = 2471460468374526434L;
+
+	public static final MessageCodec<InputMessage> CODEC = new MessageCodec<InputMessage>() {
+		@Override
+		public void write(final InputMessage message, final MessageWriter writer) {
+			writer.writeInt(message.getClientId());
+			writer.writeVarInt(message.inputs.length);
+			int previous = 0;
+			for (final MoveInput input : message.inputs) {
+				writer.writeVarInt(input.getSequence() - previous);
+				writer.writeByte((input.getDx() + 1) | (input.getDy() + 1) << 2);
+				writer.writeVarInt(input.getDeltaTime());
+				previous = input.getSequence();
+			}
+		}
+
+		@Override
+		public InputMessage read(final MessageReader reader) {
+			final int clientId = reader.readInt();
+			final MoveInput[] inputs = new MoveInput[reader.readVarInt()];
+			int sequence = 0;
+			for (int i = 0; i < inputs.length; i++) {
+				sequence += reader.readVarInt();
+				final int direction = reader.readByte();
+				inputs[i] = new MoveInput(sequence, (direction & 3) - 1, (direction >> 2 & 3) - 1, reader.readVarInt());
+			}
+
+			return new InputMessage(clientId, inputs);
+		}
+	};
+
+	private final MoveInput[] inputs;
+
+	public InputMessage(final int clientId, final MoveInput... inputs) {
+		super(clientId);
+		this.inputs = inputs;
+	}
+
+	/**
+	 * Gets the inputs of this message, in the order of their sequence numbers.
+	 * 
+	 * @return The inputs.
+	 */
+	public List<MoveInput> getInputs() {
+		return Collections.unmodifiableList(Arrays.asList(this.inputs));
+	}
+}
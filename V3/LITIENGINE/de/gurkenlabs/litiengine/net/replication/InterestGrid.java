@@ -0,0 +1,97 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * A uniform grid that buckets entities by the cell of their center, which
+ * allows to find the entities within a rectangle by only visiting the cells
+ * that the rectangle overlaps. The cost of a query therefore depends on the
+ * density of entities around the rectangle instead of the total number of
+ * entities.
+ * <p>
+ * The grid is meant to be rebuilt once per server tick; the cell lists are
+ * reused between rebuilds.
+ * </p>
+ */
+public class InterestGrid {
+	public static final double DEFAULT_CELL_SIZE = 256;
+
+	private final double cellSize;
+	private final Map<Long, List<IEntity>> cells = new HashMap<>();
+
+	public InterestGrid() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	public InterestGrid(final double cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("cell size must be positive");
+		}
+
+		this.cellSize = cellSize;
+	}
+
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Clears the grid and inserts the specified entities.
+	 * 
+	 * @param entities The entities to index.
+	 */
+	public void rebuild(final Collection<? extends IEntity> entities) {
+		for (final List<IEntity> cell : this.cells.values()) {
+			cell.clear();
+		}
+
+		for (final IEntity entity : entities) {
+			final long key = key(this.cell(entity.getCenter().getX()), this.cell(entity.getCenter().getY()));
+			this.cells.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+		}
+	}
+
+	/**
+	 * Adds all entities whose center lies within the specified rectangle to the
+	 * result collection.
+	 * 
+	 * @param area   The area to look up.
+	 * @param result The collection that the found entities are added to.
+	 */
+	public void query(final Rectangle2D area, final Collection<IEntity> result) {
+		final int minX = this.cell(area.getMinX());
+		final int minY = this.cell(area.getMinY());
+		final int maxX = this.cell(area.getMaxX());
+		final int maxY = this.cell(area.getMaxY());
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				final List<IEntity> cell = this.cells.get(key(x, y));
+				if (cell == null) {
+					continue;
+				}
+
+				final boolean inner = x > minX && x < maxX && y > minY && y < maxY;
+				for (final IEntity entity : cell) {
+					if (inner || area.contains(entity.getCenter())) {
+						result.add(entity);
+					}
+				}
+			}
+		}
+	}
+
+	private int cell(final double coordinate) {
+		return (int) Math.floor(coordinate / this.cellSize);
+	}
+
+	private static long key(final int x, final int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+}
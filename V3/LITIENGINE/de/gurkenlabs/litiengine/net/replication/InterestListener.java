@@ -0,0 +1,29 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.util.EventListener;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * This listener provides callbacks for when an entity enters or leaves the
+ * area of interest of a client.
+ *
+ * @see ReplicationServer#setInterest(int, java.util.function.Supplier, double, double)
+ */
+public interface InterestListener extends EventListener {
+	/**
+	 * This method is called when an entity starts being replicated to a client.
+	 * 
+	 * @param clientId The id of the client.
+	 * @param entity   The entity that entered the client's area of interest.
+	 */
+	public void entered(int clientId, IEntity entity);
+
+	/**
+	 * This method is called when an entity stops being replicated to a client.
+	 * 
+	 * @param clientId The id of the client.
+	 * @param entity   The entity that left the client's area of interest.
+	 */
+	public void left(int clientId, IEntity entity);
+}
@@ -0,0 +1,46 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+/**
+ * A single movement input of a client, tagged with a sequence number.
+ * <p>
+ * The input contains the direction of the movement (-1, 0 or 1 per axis) and
+ * the time span in milliseconds that it was applied, so that the client and the
+ * server can simulate it with the exact same result.
+ * </p>
+ * 
+ * @see PredictedMovement
+ */
+public final class MoveInput {
+	private final int sequence;
+	private final int dx;
+	private final int dy;
+	private final int deltaTime;
+
+	public MoveInput(final int sequence, final int dx, final int dy, final int deltaTime) {
+		this.sequence = sequence;
+		this.dx = Integer.signum(dx);
+		this.dy = Integer.signum(dy);
+		this.deltaTime = deltaTime;
+	}
+
+	public int getSequence() {
+		return this.sequence;
+	}
+
+	public int getDx() {
+		return this.dx;
+	}
+
+	public int getDy() {
+		return this.dy;
+	}
+
+	public int getDeltaTime() {
+		return this.deltaTime;
+	}
+
+	@Override
+	public String toString() {
+		return "input #" + this.sequence + " (" + this.dx + ", " + this.dy + ") " + this.deltaTime + "ms";
+	}
+}
@@ -0,0 +1,41 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.input.KeyboardEntityController;
+
+/**
+ * A keyboard controller that doesn't move its entity directly but turns the
+ * pressed keys of each tick into a {@code MoveInput} of a
+ * {@code PredictionClient}, which predicts the movement locally and sends the
+ * input to the server.
+ */
+public class PredictedEntityController<T extends IMobileEntity> extends KeyboardEntityController<T> {
+	private final PredictionClient client;
+
+	public PredictedEntityController(final T entity, final PredictionClient client) {
+		super(entity);
+		this.client = client;
+	}
+
+	public PredictedEntityController(final T entity, final PredictionClient client, final int up, final int down,
+			final int left, final int right) {
+		super(entity, up, down, left, right);
+		this.client = client;
+	}
+
+	public PredictionClient getClient() {
+		return this.client;
+	}
+
+	@Override
+	public void handleMovement() {
+		final boolean allowed = this.isMovementAllowed();
+		final int dx = allowed ? (int) Math.signum(this.getDx()) : 0;
+		final int dy = allowed ? (int) Math.signum(this.getDy()) : 0;
+		this.setDx(0);
+		this.setDy(0);
+
+		this.client.applyInput(dx, dy, (int) (Game.loop().getDeltaTime() * Game.loop().getTimeScale()));
+	}
+}
@@ -0,0 +1,112 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.awt.geom.Point2D;
+import java.util.function.BiPredicate;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameLoop;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.util.MathUtilities;
+
+/**
+ * The deterministic movement simulation of an entity that is controlled by
+ * {@code MoveInput}s. Clients use it to predict the movement of their own
+ * entity and the server uses it to apply the same inputs authoritatively.
+ * <p>
+ * The acceleration and deceleration follow the {@code MovementController}, but
+ * the elapsed time is taken from the input instead of the game loop, so that
+ * replaying the same inputs from the same state always yields the same result.
+ * The entity is moved through {@link de.gurkenlabs.litiengine.physics.PhysicsEngine#move(IMobileEntity, Point2D)}
+ * by default.
+ * </p>
+ */
+public class PredictedMovement {
+	private static final double STOP_THRESHOLD = 0.0025;
+
+	private final IMobileEntity entity;
+	private final BiPredicate<IMobileEntity, Point2D> mover;
+
+	private double velocityX;
+	private double velocityY;
+
+	public PredictedMovement(final IMobileEntity entity) {
+		this(entity, (e, target) -> Game.physics().move(e, target));
+	}
+
+	/**
+	 * Instantiates a new movement simulation.
+	 * 
+	 * @param entity The moved entity.
+	 * @param mover  The function that moves the entity to a target location,
+	 *               respecting collisions.
+	 */
+	public PredictedMovement(final IMobileEntity entity, final BiPredicate<IMobileEntity, Point2D> mover) {
+		this.entity = entity;
+		this.mover = mover;
+	}
+
+	public IMobileEntity getEntity() {
+		return this.entity;
+	}
+
+	public double getVelocityX() {
+		return this.velocityX;
+	}
+
+	public double getVelocityY() {
+		return this.velocityY;
+	}
+
+	/**
+	 * Resets the simulation to the specified state, e.g. an authoritative state
+	 * of the server.
+	 * 
+	 * @param x         The x-coordinate of the entity.
+	 * @param y         The y-coordinate of the entity.
+	 * @param velocityX The horizontal velocity in pixels per tick.
+	 * @param velocityY The vertical velocity in pixels per tick.
+	 */
+	public void reset(final double x, final double y, final double velocityX, final double velocityY) {
+		this.entity.setLocation(x, y);
+		this.velocityX = velocityX;
+		this.velocityY = velocityY;
+	}
+
+	/**
+	 * Applies the specified input to the entity.
+	 * 
+	 * @param input The input to apply.
+	 */
+	public void apply(final MoveInput input) {
+		final double deltaTime = Math.min(input.getDeltaTime(), GameLoop.TICK_DELTATIME_LAG);
+		final double maxPixelsPerTick = deltaTime * 0.001 * this.entity.getVelocity().getCurrentValue();
+		double inc = this.entity.getAcceleration() == 0 ? maxPixelsPerTick
+				: deltaTime / this.entity.getAcceleration() * maxPixelsPerTick;
+		final double dec = this.entity.getDeceleration() == 0 ? maxPixelsPerTick
+				: deltaTime / this.entity.getDeceleration() * maxPixelsPerTick;
+
+		if (input.getDx() != 0 && input.getDy() != 0) {
+			// we don't want the entity to move faster when moving diagonally
+			inc /= Math.sqrt(2);
+		}
+
+		this.velocityX = input.getDx() != 0
+				? MathUtilities.clamp(this.velocityX + input.getDx() * inc, -maxPixelsPerTick, maxPixelsPerTick)
+				: decelerate(this.velocityX, dec, deltaTime);
+		this.velocityY = input.getDy() != 0
+				? MathUtilities.clamp(this.velocityY + input.getDy() * inc, -maxPixelsPerTick, maxPixelsPerTick)
+				: decelerate(this.velocityY, dec, deltaTime);
+
+		if (this.velocityX == 0 && this.velocityY == 0) {
+			return;
+		}
+
+		this.mover.test(this.entity,
+				new Point2D.Double(this.entity.getX() + this.velocityX, this.entity.getY() + this.velocityY));
+	}
+
+	private static double decelerate(final double velocity, final double dec, final double deltaTime) {
+		final double decelerated = Math.abs(velocity) <= dec ? 0 : velocity - Math.signum(velocity) * dec;
+		return Math.abs(decelerated) < STOP_THRESHOLD * deltaTime ? 0 : decelerated;
+	}
+}
@@ -0,0 +1,146 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.net.IPacketSender;
+import de.gurkenlabs.litiengine.net.messages.IMessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
+import de.gurkenlabs.litiengine.net.messages.MessageType;
+import de.gurkenlabs.litiengine.net.messages.handlers.ClientMessageHandler;
+
+/**
+ * Predicts the movement of the entity that is controlled by this client.
+ * <p>
+ * Each input is tagged with a sequence number, applied locally right away and
+ * sent to the server together with all inputs that the server did not yet
+ * acknowledge. When the server acknowledges an input with the authoritative
+ * state of the entity, the client rewinds the entity to that state and replays
+ * the inputs that are still unacknowledged. As long as client and server agree,
+ * this doesn't change anything; otherwise the prediction is corrected without
+ * losing the inputs in flight.
+ * </p>
+ * <p>
+ * Acknowledgements are received on the network thread and reconciled on
+ * {@link #update()}, which needs to be attached to the game loop.
+ * </p>
+ * 
+ * @see PredictionServer
+ * @see PredictedEntityController
+ */
+public class PredictionClient extends ClientMessageHandler<InputAckMessage> implements IUpdateable {
+	public static final int MAX_PENDING_INPUTS = 64;
+
+	private final int clientId;
+	private final PredictedMovement movement;
+	private final IPacketSender sender;
+	private final InetAddress serverAddress;
+	private final int serverPort;
+
+	private final ArrayDeque<MoveInput> pendingInputs = new ArrayDeque<>();
+	private final AtomicReference<InputAckMessage> latestAck = new AtomicReference<>();
+
+	private int sequence;
+	private int acknowledgedSequence;
+	private double lastCorrection;
+
+	public PredictionClient(final int clientId, final PredictedMovement movement,
+			final IMessageHandlerProvider provider, final IPacketSender sender, final InetAddress serverAddress,
+			final int serverPort) {
+		this.clientId = clientId;
+		this.movement = movement;
+		this.sender = sender;
+		this.serverAddress = serverAddress;
+		this.serverPort = serverPort;
+		ReplicationCodecs.register();
+		provider.register(MessageType.INPUTACK, this);
+	}
+
+	public PredictedMovement getMovement() {
+		return this.movement;
+	}
+
+	/**
+	 * Applies a new input to the controlled entity and sends it to the server.
+	 * 
+	 * @param dx        The horizontal direction (-1, 0 or 1).
+	 * @param dy        The vertical direction (-1, 0 or 1).
+	 * @param deltaTime The time span of the input in milliseconds.
+	 * @return The applied input.
+	 */
+	public synchronized MoveInput applyInput(final int dx, final int dy, final int deltaTime) {
+		final MoveInput input = new MoveInput(++this.sequence, dx, dy, deltaTime);
+		this.movement.apply(input);
+
+		this.pendingInputs.add(input);
+		if (this.pendingInputs.size() > MAX_PENDING_INPUTS) {
+			this.pendingInputs.poll();
+		}
+
+		final InputMessage message = new InputMessage(this.clientId, this.pendingInputs.toArray(new MoveInput[0]));
+		this.sender.sendData(new MessagePacket<>(MessageType.INPUT, message), this.serverAddress, this.serverPort);
+		return input;
+	}
+
+	/**
+	 * Reconciles the predicted state with the latest acknowledgement of the
+	 * server, if there is a new one.
+	 */
+	@Override
+	public synchronized void update() {
+		final InputAckMessage ack = this.latestAck.getAndSet(null);
+		if (ack == null || ack.getSequence() <= this.acknowledgedSequence) {
+			return;
+		}
+
+		this.acknowledgedSequence = ack.getSequence();
+		while (!this.pendingInputs.isEmpty() && this.pendingInputs.peek().getSequence() <= ack.getSequence()) {
+			this.pendingInputs.poll();
+		}
+
+		final double predictedX = this.movement.getEntity().getX();
+		final double predictedY = this.movement.getEntity().getY();
+
+		this.movement.reset(ack.getX(), ack.getY(), ack.getVelocityX(), ack.getVelocityY());
+		for (final MoveInput input : this.pendingInputs) {
+			this.movement.apply(input);
+		}
+
+		this.lastCorrection = Math.hypot(this.movement.getEntity().getX() - predictedX,
+				this.movement.getEntity().getY() - predictedY);
+	}
+
+	public synchronized int getSequence() {
+		return this.sequence;
+	}
+
+	public synchronized int getAcknowledgedSequence() {
+		return this.acknowledgedSequence;
+	}
+
+	public synchronized int getPendingInputCount() {
+		return this.pendingInputs.size();
+	}
+
+	/**
+	 * Gets the distance by which the last reconciliation moved the entity. This is
+	 * zero as long as the prediction matches the server.
+	 * 
+	 * @return The distance of the last correction in pixels.
+	 */
+	public synchronized double getLastCorrection() {
+		return this.lastCorrection;
+	}
+
+	@Override
+	protected void handle(final InputAckMessage message, final InetAddress address, final int port) {
+		if (message.getMapId() != this.movement.getEntity().getMapId()) {
+			return;
+		}
+
+		this.latestAck.accumulateAndGet(message,
+				(current, next) -> current == null || next.getSequence() > current.getSequence() ? next : current);
+	}
+}
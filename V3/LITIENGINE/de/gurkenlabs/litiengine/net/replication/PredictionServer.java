@@ -0,0 +1,217 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.net.IPacketSender;
+import de.gurkenlabs.litiengine.net.messages.IMessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
+import de.gurkenlabs.litiengine.net.messages.MessageType;
+import de.gurkenlabs.litiengine.net.messages.handlers.MessageHandler;
+import de.gurkenlabs.litiengine.net.server.ClientConnection;
+import de.gurkenlabs.litiengine.net.server.IClientConnectionManager;
+
+/**
+ * Applies the movement inputs of the clients to the entities they control and
+ * acknowledges them with the resulting authoritative state.
+ * <p>
+ * Inputs are received on the network thread and applied on {@link #update()},
+ * which needs to be attached to the game loop. Inputs that were already
+ * processed (e.g. because a client repeats unacknowledged inputs) are ignored.
+ * </p>
+ * <p>
+ * The client of an input is determined by the connection that sent it, so a
+ * client can only move the entity that it controls. Inputs from unknown
+ * senders, inputs whose client id doesn't match the sender and inputs with a
+ * negative delta time are dropped.
+ * </p>
+ * <p>
+ * The input time that is simulated for a client is limited to the time that
+ * elapsed on the server plus {@link #getInputTimeBuffer()}, which absorbs the
+ * jitter of the connection. The excess of clients that send more input time
+ * (e.g. by speeding up their clock) is dropped.
+ * </p>
+ * 
+ * @see PredictionClient
+ */
+public class PredictionServer implements IUpdateable {
+	private static final Logger log = Logger.getLogger(PredictionServer.class.getName());
+	public static final int DEFAULT_INPUT_TIME_BUFFER = 200;
+
+	private final IPacketSender sender;
+	private final IClientConnectionManager connections;
+	private final Map<Integer, ControlledEntity> controlled = new ConcurrentHashMap<>();
+	private final Queue<ReceivedInput> receivedInputs = new ConcurrentLinkedQueue<>();
+	private volatile int inputTimeBuffer = DEFAULT_INPUT_TIME_BUFFER;
+
+	private static final class ControlledEntity {
+		private final PredictedMovement movement;
+		private int lastSequence;
+		private long inputTime;
+		private InetAddress address;
+		private int port;
+
+		private ControlledEntity(final PredictedMovement movement) {
+			this.movement = movement;
+		}
+	}
+
+	private static final class ReceivedInput {
+		private final int clientId;
+		private final InputMessage message;
+		private final InetAddress address;
+		private final int port;
+
+		private ReceivedInput(final int clientId, final InputMessage message, final InetAddress address,
+				final int port) {
+			this.clientId = clientId;
+			this.message = message;
+			this.address = address;
+			this.port = port;
+		}
+	}
+
+	/**
+	 * Instantiates a new prediction server.
+	 * 
+	 * @param provider    The message handler provider on which the inputs of the
+	 *                    clients are received.
+	 * @param sender      The sender that transmits the acknowledgements.
+	 * @param connections The connections of the clients, which determine the
+	 *                    client of each received input.
+	 */
+	public PredictionServer(final IMessageHandlerProvider provider, final IPacketSender sender,
+			final IClientConnectionManager connections) {
+		this.sender = sender;
+		this.connections = connections;
+		ReplicationCodecs.register();
+		provider.register(MessageType.INPUT, new MessageHandler<InputMessage>() {
+			@Override
+			protected void handle(final InputMessage message, final InetAddress address, final int port) {
+				final ClientConnection connection = PredictionServer.this.connections.get(address, port);
+				if (connection == null || connection.getId() != message.getClientId()) {
+					log.log(Level.WARNING, "Dropped inputs for client {0} from {1}:{2}, which is not its connection.",
+							new Object[] { message.getClientId(), address.getHostAddress(), port });
+					return;
+				}
+
+				receivedInputs.add(new ReceivedInput(connection.getId(), message, address, port));
+			}
+
+			@Override
+			protected boolean validate(final InputMessage message) {
+				if (message == null) {
+					return false;
+				}
+
+				for (final MoveInput input : message.getInputs()) {
+					if (input.getDeltaTime() < 0) {
+						return false;
+					}
+				}
+
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * Assigns the entity of the specified movement simulation to the client.
+	 * 
+	 * @param clientId The id of the client.
+	 * @param movement The movement simulation of the controlled entity.
+	 */
+	public void control(final int clientId, final PredictedMovement movement) {
+		final ControlledEntity entity = new ControlledEntity(movement);
+		entity.inputTime = this.inputTimeBuffer;
+		this.controlled.put(clientId, entity);
+	}
+
+	public void release(final int clientId) {
+		this.controlled.remove(clientId);
+	}
+
+	/**
+	 * Gets the input time in milliseconds that a client may send ahead of the
+	 * time that elapsed on the server.
+	 * 
+	 * @return The input time buffer in milliseconds.
+	 */
+	public int getInputTimeBuffer() {
+		return this.inputTimeBuffer;
+	}
+
+	public void setInputTimeBuffer(final int inputTimeBuffer) {
+		if (inputTimeBuffer < 0) {
+			throw new IllegalArgumentException("the input time buffer must not be negative");
+		}
+
+		this.inputTimeBuffer = inputTimeBuffer;
+	}
+
+	@Override
+	public void update() {
+		// every client may simulate the elapsed time, plus the buffer that it didn't use
+		final long elapsed = Game.loop().getDeltaTime();
+		for (final ControlledEntity entity : this.controlled.values()) {
+			entity.inputTime = Math.min(entity.inputTime + elapsed, elapsed + this.inputTimeBuffer);
+		}
+
+		ReceivedInput received;
+		while ((received = this.receivedInputs.poll()) != null) {
+			final ControlledEntity entity = this.controlled.get(received.clientId);
+			if (entity == null) {
+				continue;
+			}
+
+			for (final MoveInput input : received.message.getInputs()) {
+				if (input.getSequence() > entity.lastSequence) {
+					this.apply(received.clientId, entity, input);
+					entity.lastSequence = input.getSequence();
+				}
+			}
+
+			entity.address = received.address;
+			entity.port = received.port;
+		}
+
+		for (final ControlledEntity entity : this.controlled.values()) {
+			if (entity.address == null) {
+				continue;
+			}
+
+			final PredictedMovement movement = entity.movement;
+			final InputAckMessage ack = new InputAckMessage(movement.getEntity().getMapId(), entity.lastSequence,
+					movement.getEntity().getX(), movement.getEntity().getY(), movement.getVelocityX(),
+					movement.getVelocityY());
+			this.sender.sendData(new MessagePacket<>(MessageType.INPUTACK, ack), entity.address, entity.port);
+
+			// only acknowledge again after new inputs arrived
+			entity.address = null;
+		}
+	}
+
+	private void apply(final int clientId, final ControlledEntity entity, final MoveInput input) {
+		final int deltaTime = (int) Math.min(input.getDeltaTime(), entity.inputTime);
+		if (deltaTime < input.getDeltaTime()) {
+			// the input is still acknowledged, so the client reconciles with the resulting state
+			log.log(Level.FINE, "Dropped {0}ms of the inputs of client {1}, which exceed the elapsed time.",
+					new Object[] { input.getDeltaTime() - deltaTime, clientId });
+		}
+
+		if (deltaTime == input.getDeltaTime()) {
+			entity.movement.apply(input);
+		} else if (deltaTime > 0) {
+			entity.movement.apply(new MoveInput(input.getSequence(), input.getDx(), input.getDy(), deltaTime));
+		}
+
+		entity.inputTime -= deltaTime;
+	}
+}
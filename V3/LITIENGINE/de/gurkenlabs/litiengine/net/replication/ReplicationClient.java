@@ -0,0 +1,143 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.net.IPacketSender;
+import de.gurkenlabs.litiengine.net.messages.IMessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
+import de.gurkenlabs.litiengine.net.messages.MessageType;
+import de.gurkenlabs.litiengine.net.messages.handlers.ClientMessageHandler;
+
+/**
+ * Receives the snapshots of a {@code ReplicationServer}, acknowledges them and
+ * notifies listeners about each new snapshot. Outdated or undecodable snapshots
+ * (whose baseline is unknown) are dropped.
+ * <p>
+ * By default, received snapshots are applied to the entities with the same map
+ * id in the current environment (see {@link #setApplySnapshots(boolean)}). The
+ * snapshots are received on the network thread, so they're applied on the game
+ * loop; if several snapshots arrive within a tick, only the latest is applied.
+ * The snapshot consumers are notified on the network thread.
+ * </p>
+ * 
+ * @see ReplicationServer
+ */
+public class ReplicationClient extends ClientMessageHandler<SnapshotMessage> {
+	private final int clientId;
+	private final IPacketSender sender;
+	private final InetAddress serverAddress;
+	private final int serverPort;
+	private final SnapshotBuffer snapshots;
+	private final Collection<Consumer<Snapshot>> snapshotConsumers = new CopyOnWriteArrayList<>();
+	private final AtomicReference<Snapshot> pendingSnapshot = new AtomicReference<>();
+	private volatile boolean applySnapshots = true;
+
+	public ReplicationClient(final int clientId, final IMessageHandlerProvider provider, final IPacketSender sender,
+			final InetAddress serverAddress, final int serverPort) {
+		this(clientId, provider, sender, serverAddress, serverPort, ReplicationServer.DEFAULT_SNAPSHOT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Instantiates a new replication client.
+	 * 
+	 * @param clientId           The id of the client.
+	 * @param provider           The message handler provider on which the
+	 *                           snapshots are received.
+	 * @param sender             The sender that transmits the acknowledgements.
+	 * @param serverAddress      The address of the server.
+	 * @param serverPort         The port of the server.
+	 * @param snapshotBufferSize The number of recent snapshots that are kept as
+	 *                           baselines. The server encodes against any
+	 *                           snapshot in its own buffer, so this should be
+	 *                           the buffer size of the server, i.e. it should
+	 *                           cover the round trip time at the server's update
+	 *                           rate.
+	 */
+	public ReplicationClient(final int clientId, final IMessageHandlerProvider provider, final IPacketSender sender,
+			final InetAddress serverAddress, final int serverPort, final int snapshotBufferSize) {
+		this.clientId = clientId;
+		this.sender = sender;
+		this.serverAddress = serverAddress;
+		this.serverPort = serverPort;
+		this.snapshots = new SnapshotBuffer(snapshotBufferSize);
+		ReplicationCodecs.register();
+		provider.register(MessageType.SNAPSHOT, this);
+	}
+
+	public void onSnapshotReceived(final Consumer<Snapshot> consumer) {
+		this.snapshotConsumers.add(consumer);
+	}
+
+	public void removeSnapshotConsumer(final Consumer<Snapshot> consumer) {
+		this.snapshotConsumers.remove(consumer);
+	}
+
+	/**
+	 * Determines whether received snapshots are applied to the entities of the
+	 * current environment right away. This is disabled when the entities are
+	 * moved by other means, e.g. by an {@code EntityInterpolator}.
+	 * 
+	 * @param applySnapshots True if snapshots should be applied on receipt.
+	 */
+	public void setApplySnapshots(final boolean applySnapshots) {
+		this.applySnapshots = applySnapshots;
+	}
+
+	public boolean isApplySnapshots() {
+		return this.applySnapshots;
+	}
+
+	public SnapshotBuffer getSnapshots() {
+		return this.snapshots;
+	}
+
+	@Override
+	protected void handle(final SnapshotMessage message, final InetAddress address, final int port) {
+		final Snapshot latest = this.snapshots.getLatest();
+		if (latest != null && message.getTick() <= latest.getTick()) {
+			return;
+		}
+
+		Snapshot baseline = null;
+		if (message.getBaselineTick() != SnapshotMessage.NO_BASELINE) {
+			baseline = this.snapshots.get(message.getBaselineTick());
+			if (baseline == null) {
+				return;
+			}
+		}
+
+		final Snapshot snapshot = message.decode(baseline);
+		this.snapshots.add(snapshot);
+		final SnapshotAckMessage ack = new SnapshotAckMessage(this.clientId, snapshot.getTick());
+		this.sender.sendData(new MessagePacket<>(MessageType.SNAPSHOTACK, ack), this.serverAddress, this.serverPort);
+
+		if (this.applySnapshots && this.pendingSnapshot.getAndSet(snapshot) == null) {
+			Game.loop().perform(0, () -> apply(this.pendingSnapshot.getAndSet(null)));
+		}
+
+		for (final Consumer<Snapshot> consumer : this.snapshotConsumers) {
+			consumer.accept(snapshot);
+		}
+	}
+
+	private static void apply(final Snapshot snapshot) {
+		final Environment environment = Game.world() != null ? Game.world().environment() : null;
+		if (environment == null) {
+			return;
+		}
+
+		for (final EntityState state : snapshot.getStates()) {
+			final IEntity entity = environment.get(state.getMapId());
+			if (entity != null) {
+				state.apply(entity);
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import de.gurkenlabs.litiengine.net.messages.MessageCodecs;
+
+/**
+ * Registers the {@code MessageCodec}s of the replication messages with the
+ * {@code MessageCodecs} registry. This happens implicitly when one of the
+ * replication or prediction endpoints is created; it only needs to be called
+ * explicitly by code that sends or receives these messages on its own.
+ * 
+ * @see MessageCodecs
+ */
+public final class ReplicationCodecs {
+	public static final int SNAPSHOT = 4;
+	public static final int SNAPSHOT_ACK = 5;
+	public static final int INPUT = 6;
+	public static final int INPUT_ACK = 7;
+
+	private static boolean registered;
+
+	private ReplicationCodecs() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Registers the codecs of the replication messages, unless they're already
+	 * registered.
+	 */
+	public static synchronized void register() {
+		if (registered) {
+			return;
+		}
+
+		MessageCodecs.register(SNAPSHOT, SnapshotMessage.class, SnapshotMessage.CODEC);
+		MessageCodecs.register(SNAPSHOT_ACK, SnapshotAckMessage.class, SnapshotAckMessage.CODEC);
+		MessageCodecs.register(INPUT, InputMessage.class, InputMessage.CODEC);
+		MessageCodecs.register(INPUT_ACK, InputAckMessage.class, InputAckMessage.CODEC);
+		registered = true;
+	}
+}
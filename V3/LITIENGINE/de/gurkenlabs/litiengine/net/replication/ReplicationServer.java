@@ -0,0 +1,346 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.net.IPacketSender;
+import de.gurkenlabs.litiengine.net.UdpPacketReceiver;
+import de.gurkenlabs.litiengine.net.messages.IMessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
+import de.gurkenlabs.litiengine.net.messages.MessageType;
+import de.gurkenlabs.litiengine.net.messages.handlers.MessageHandler;
+import de.gurkenlabs.litiengine.net.server.ClientConnection;
+
+/**
+ * Replicates the state of entities to the connected clients.
+ * <p>
+ * On each update, the server captures a {@code Snapshot} of the replicated
+ * entities and keeps it in a ring buffer of recent snapshots. Each client gets
+ * the snapshot as delta against the last snapshot that it acknowledged (or in
+ * full, if that snapshot is no longer buffered), as long as the client's
+ * bandwidth budget permits it. Clients that exceed their budget skip snapshots
+ * until the budget recovers; since deltas are always relative to acknowledged
+ * snapshots, no state is lost.
+ * </p>
+ * <p>
+ * The delta that is sent to a client per tick is limited to
+ * {@link #getMaxSnapshotSize()}, so a snapshot always fits into a single
+ * datagram. The changes that exceed it are sent in the next ticks.
+ * </p>
+ * <p>
+ * Clients with an area of interest (see
+ * {@link #setInterest(int, Supplier, double, double)}) only receive the
+ * entities within their view rectangle plus a margin. The entities are looked up
+ * in an {@code InterestGrid} that is rebuilt once per tick, so the cost per
+ * client depends on the density of entities around it rather than on the total
+ * number of entities. {@code InterestListener}s are notified when entities
+ * enter or leave the area of a client.
+ * </p>
+ * <p>
+ * The server needs to be updated by a loop, e.g. <code>Game.loop().attach(replicationServer)</code>.
+ * </p>
+ * 
+ * @see ReplicationClient
+ */
+public class ReplicationServer implements IUpdateable {
+	public static final int DEFAULT_SNAPSHOT_BUFFER_SIZE = 32;
+	public static final int DEFAULT_BANDWIDTH = 16 * 1024;
+	public static final double DEFAULT_INTEREST_MARGIN = 64;
+
+	/**
+	 * The default maximum size of a snapshot message in bytes, which keeps the
+	 * datagrams below the common MTU of 1500 bytes.
+	 */
+	public static final int DEFAULT_MAX_SNAPSHOT_SIZE = 1200;
+
+	private final IPacketSender sender;
+	private final Supplier<? extends Collection<? extends IEntity>> entities;
+	private final SnapshotBuffer snapshots;
+	private final Map<Integer, ReplicatedClient> clients = new ConcurrentHashMap<>();
+	private final Collection<InterestListener> interestListeners = new CopyOnWriteArrayList<>();
+	private final InterestGrid grid;
+
+	private int bandwidth = DEFAULT_BANDWIDTH;
+	private int maxSnapshotSize = DEFAULT_MAX_SNAPSHOT_SIZE;
+	private double interestMargin = DEFAULT_INTEREST_MARGIN;
+	private int tick;
+	private long lastUpdate;
+
+	private static final class ReplicatedClient {
+		private final ClientConnection connection;
+		private final SnapshotBuffer sent;
+		private volatile int acknowledgedTick = SnapshotMessage.NO_BASELINE;
+		private double budget;
+		private long bytesSent;
+
+		private volatile Supplier<Point2D> focus;
+		private volatile double viewWidth;
+		private volatile double viewHeight;
+		private Set<IEntity> interest = new HashSet<>();
+		private Set<IEntity> previousInterest = new HashSet<>();
+
+		private ReplicatedClient(final ClientConnection connection, final double budget, final int snapshotBufferSize) {
+			this.connection = connection;
+			this.budget = budget;
+			this.sent = new SnapshotBuffer(snapshotBufferSize);
+		}
+	}
+
+	/**
+	 * Instantiates a new replication server.
+	 * 
+	 * @param sender   The sender that transmits the snapshots.
+	 * @param provider The message handler provider on which acknowledgements of
+	 *                 the clients are received.
+	 * @param entities The supplier of the replicated entities, e.g.
+	 *                 <code>() -&gt; Game.world().environment().getEntities()</code>.
+	 */
+	public ReplicationServer(final IPacketSender sender, final IMessageHandlerProvider provider,
+			final Supplier<? extends Collection<? extends IEntity>> entities) {
+		this(sender, provider, entities, DEFAULT_SNAPSHOT_BUFFER_SIZE);
+	}
+
+	public ReplicationServer(final IPacketSender sender, final IMessageHandlerProvider provider,
+			final Supplier<? extends Collection<? extends IEntity>> entities, final int snapshotBufferSize) {
+		this.sender = sender;
+		this.entities = entities;
+		this.snapshots = new SnapshotBuffer(snapshotBufferSize);
+		this.grid = new InterestGrid();
+		ReplicationCodecs.register();
+		provider.register(MessageType.SNAPSHOTACK, new MessageHandler<SnapshotAckMessage>() {
+			@Override
+			protected void handle(final SnapshotAckMessage message, final InetAddress address, final int port) {
+				acknowledge(message.getClientId(), message.getTick());
+			}
+		});
+	}
+
+	public void addClient(final ClientConnection connection) {
+		this.clients.put(connection.getId(),
+				new ReplicatedClient(connection, this.bandwidth, this.snapshots.getCapacity()));
+	}
+
+	public void removeClient(final int clientId) {
+		this.clients.remove(clientId);
+	}
+
+	/**
+	 * Restricts the entities that are replicated to a client to the ones within
+	 * its view rectangle plus the interest margin.
+	 * 
+	 * @param clientId   The id of the client.
+	 * @param focus      The supplier of the center of the client's view, e.g. the
+	 *                   center of the entity that the client controls.
+	 * @param viewWidth  The width of the client's view (usually the width of its
+	 *                   camera viewport).
+	 * @param viewHeight The height of the client's view.
+	 */
+	public void setInterest(final int clientId, final Supplier<Point2D> focus, final double viewWidth,
+			final double viewHeight) {
+		final ReplicatedClient client = this.clients.get(clientId);
+		if (client == null) {
+			return;
+		}
+
+		client.viewWidth = viewWidth;
+		client.viewHeight = viewHeight;
+		client.focus = focus;
+	}
+
+	/**
+	 * Removes the area of interest of the client, which then receives all
+	 * entities again.
+	 * 
+	 * @param clientId The id of the client.
+	 */
+	public void clearInterest(final int clientId) {
+		final ReplicatedClient client = this.clients.get(clientId);
+		if (client != null) {
+			client.focus = null;
+		}
+	}
+
+	/**
+	 * Gets the area of interest of the specified client.
+	 * 
+	 * @param clientId The id of the client.
+	 * @return The current area of interest or null if the client receives all
+	 *         entities.
+	 */
+	public Rectangle2D getInterestArea(final int clientId) {
+		final ReplicatedClient client = this.clients.get(clientId);
+		return client != null ? this.getInterestArea(client) : null;
+	}
+
+	public double getInterestMargin() {
+		return this.interestMargin;
+	}
+
+	public void setInterestMargin(final double interestMargin) {
+		this.interestMargin = interestMargin;
+	}
+
+	public void addInterestListener(final InterestListener listener) {
+		this.interestListeners.add(listener);
+	}
+
+	public void removeInterestListener(final InterestListener listener) {
+		this.interestListeners.remove(listener);
+	}
+
+	/**
+	 * Gets the maximum number of bytes per second that are sent to each client.
+	 * 
+	 * @return The bandwidth per client in bytes per second.
+	 */
+	public int getBandwidth() {
+		return this.bandwidth;
+	}
+
+	public void setBandwidth(final int bytesPerSecond) {
+		this.bandwidth = bytesPerSecond;
+	}
+
+	/**
+	 * Gets the maximum size of the snapshot data that is sent to a client per
+	 * tick. The changes that exceed it are sent in the next ticks.
+	 * 
+	 * @return The maximum snapshot size in bytes.
+	 */
+	public int getMaxSnapshotSize() {
+		return this.maxSnapshotSize;
+	}
+
+	public void setMaxSnapshotSize(final int maxSnapshotSize) {
+		// leave room for the packet header and the ticks of the snapshot message
+		if (maxSnapshotSize <= 0 || maxSnapshotSize > UdpPacketReceiver.MAX_PACKET_SIZE - 32) {
+			throw new IllegalArgumentException("the maximum snapshot size must be positive and fit into a packet");
+		}
+
+		this.maxSnapshotSize = maxSnapshotSize;
+	}
+
+	/**
+	 * Gets the total number of snapshot bytes that were sent to the specified
+	 * client.
+	 * 
+	 * @param clientId The id of the client.
+	 * @return The number of bytes sent to the client.
+	 */
+	public long getBytesSent(final int clientId) {
+		final ReplicatedClient client = this.clients.get(clientId);
+		return client != null ? client.bytesSent : 0;
+	}
+
+	public int getTick() {
+		return this.tick;
+	}
+
+	public SnapshotBuffer getSnapshots() {
+		return this.snapshots;
+	}
+
+	@Override
+	public void update() {
+		final long now = System.nanoTime();
+		final double elapsed = this.lastUpdate == 0 ? 0 : (now - this.lastUpdate) / 1e9;
+		this.lastUpdate = now;
+
+		final Collection<? extends IEntity> replicated = this.entities.get();
+		final Snapshot snapshot = Snapshot.capture(++this.tick, replicated);
+		this.snapshots.add(snapshot);
+
+		boolean gridBuilt = false;
+		for (final ReplicatedClient client : this.clients.values()) {
+			Snapshot clientSnapshot = snapshot;
+			final Rectangle2D area = this.getInterestArea(client);
+			if (area != null) {
+				if (!gridBuilt) {
+					this.grid.rebuild(replicated);
+					gridBuilt = true;
+				}
+
+				clientSnapshot = snapshot.select(this.updateInterest(client, area));
+			} else if (!client.interest.isEmpty()) {
+				client.interest.clear();
+			}
+
+			client.budget = Math.min(this.bandwidth, client.budget + this.bandwidth * elapsed);
+			if (client.budget <= 0) {
+				continue;
+			}
+
+			// a snapshot is always limited against the baseline that it's sent with, so the
+			// sent snapshot is exactly what the client reconstructs
+			final Snapshot baseline = client.sent.get(client.acknowledgedTick);
+			final Snapshot limited = clientSnapshot.limit(baseline, this.maxSnapshotSize);
+			client.sent.add(limited);
+
+			final MessagePacket<SnapshotMessage> packet = new MessagePacket<>(MessageType.SNAPSHOT,
+					new SnapshotMessage(limited, baseline));
+			final int size = packet.getData().length;
+			this.sender.sendData(packet, client.connection.getIpAddress(), client.connection.getPort());
+			client.budget -= size;
+			client.bytesSent += size;
+		}
+	}
+
+	private Rectangle2D getInterestArea(final ReplicatedClient client) {
+		final Supplier<Point2D> focus = client.focus;
+		if (focus == null) {
+			return null;
+		}
+
+		final Point2D center = focus.get();
+		final double width = client.viewWidth + this.interestMargin * 2;
+		final double height = client.viewHeight + this.interestMargin * 2;
+		return new Rectangle2D.Double(center.getX() - width / 2, center.getY() - height / 2, width, height);
+	}
+
+	private Set<IEntity> updateInterest(final ReplicatedClient client, final Rectangle2D area) {
+		final Set<IEntity> previous = client.interest;
+		final Set<IEntity> current = client.previousInterest;
+		current.clear();
+		this.grid.query(area, current);
+		client.interest = current;
+		client.previousInterest = previous;
+
+		if (!this.interestListeners.isEmpty()) {
+			final int clientId = client.connection.getId();
+			for (final IEntity entity : current) {
+				if (!previous.contains(entity)) {
+					for (final InterestListener listener : this.interestListeners) {
+						listener.entered(clientId, entity);
+					}
+				}
+			}
+
+			for (final IEntity entity : previous) {
+				if (!current.contains(entity)) {
+					for (final InterestListener listener : this.interestListeners) {
+						listener.left(clientId, entity);
+					}
+				}
+			}
+		}
+
+		return current;
+	}
+
+	private void acknowledge(final int clientId, final int tick) {
+		final ReplicatedClient client = this.clients.get(clientId);
+		if (client != null && tick > client.acknowledgedTick && tick <= this.tick) {
+			client.acknowledgedTick = tick;
+		}
+	}
+}
@@ -0,0 +1,381 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The replicated state of all entities at a certain tick of the server.
+ * <p>
+ * Snapshots are transmitted as a delta against a baseline snapshot that the
+ * receiver already knows: only entities whose state changed are written, and
+ * only the fields that changed, relative to their previous values.
+ * </p>
+ * 
+ * @see ReplicationServer
+ * @see ReplicationClient
+ */
+public final class Snapshot {
+	private static final int FIELD_X = 1;
+	private static final int FIELD_Y = 1 << 1;
+	private static final int FIELD_ANGLE = 1 << 2;
+	private static final int FIELD_HITPOINTS = 1 << 3;
+	private static final int FIELD_ANIMATION = 1 << 4;
+
+	private static final Comparator<EntityState> BY_MAP_ID = Comparator.comparingInt(EntityState::getMapId);
+	private static final EntityState[] NO_STATES = new EntityState[0];
+
+	// the counts of changed and removed entities
+	private static final int HEADER_SIZE = 10;
+
+	private final int tick;
+
+	// sorted by map id
+	private final EntityState[] states;
+
+	// the map id of the first change that was deferred by limit(...)
+	private final int resumeMapId;
+
+	Snapshot(final int tick, final EntityState[] states) {
+		this(tick, states, 0);
+	}
+
+	private Snapshot(final int tick, final EntityState[] states, final int resumeMapId) {
+		this.tick = tick;
+		this.states = states;
+		this.resumeMapId = resumeMapId;
+	}
+
+	/**
+	 * Captures the state of the specified entities.
+	 * 
+	 * @param tick     The tick of this snapshot.
+	 * @param entities The replicated entities.
+	 * @return The snapshot of the entities.
+	 */
+	public static Snapshot capture(final int tick, final Collection<? extends IEntity> entities) {
+		final EntityState[] states = new EntityState[entities.size()];
+		int i = 0;
+		for (final IEntity entity : entities) {
+			states[i++] = EntityState.capture(entity);
+		}
+
+		Arrays.sort(states, BY_MAP_ID);
+		return new Snapshot(tick, states);
+	}
+
+	/**
+	 * Selects the states of the specified entities from this snapshot.
+	 * 
+	 * @param entities The entities to select.
+	 * @return A snapshot of the same tick that only contains the specified
+	 *         entities.
+	 */
+	Snapshot select(final Collection<? extends IEntity> entities) {
+		final EntityState[] selected = new EntityState[entities.size()];
+		int count = 0;
+		for (final IEntity entity : entities) {
+			final EntityState state = this.get(entity.getMapId());
+			if (state != null) {
+				selected[count++] = state;
+			}
+		}
+
+		Arrays.sort(selected, 0, count, BY_MAP_ID);
+		return new Snapshot(this.tick, count == selected.length ? selected : Arrays.copyOf(selected, count));
+	}
+
+	public int getTick() {
+		return this.tick;
+	}
+
+	public int size() {
+		return this.states.length;
+	}
+
+	public List<EntityState> getStates() {
+		return Collections.unmodifiableList(Arrays.asList(this.states));
+	}
+
+	/**
+	 * Gets the state of the entity with the specified map id.
+	 * 
+	 * @param mapId The map id of the entity.
+	 * @return The state of the entity or null if it is not part of this snapshot.
+	 */
+	public EntityState get(final int mapId) {
+		int low = 0;
+		int high = this.states.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int id = this.states[mid].getMapId();
+			if (id < mapId) {
+				low = mid + 1;
+			} else if (id > mapId) {
+				high = mid - 1;
+			} else {
+				return this.states[mid];
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Limits the delta of this snapshot against the specified baseline to the
+	 * specified number of bytes.
+	 * <p>
+	 * The changes that don't fit are deferred: the returned snapshot contains the
+	 * baseline state of these entities instead, so they're still different from
+	 * the next snapshot and get transmitted in one of the next ticks. The changes
+	 * are taken in the order of their map ids, starting at the first change that
+	 * was deferred when the baseline was limited and wrapping around. So all
+	 * snapshots against the same baseline contain the same changes first, and the
+	 * deferred changes come first once the limited snapshot is acknowledged, which
+	 * keeps any entity from starving.
+	 * </p>
+	 * 
+	 * @param baseline The snapshot that the receiver already knows or null if the
+	 *                 snapshot is transmitted in full.
+	 * @param maxSize  The maximum size of the delta in bytes.
+	 * @return This snapshot if its whole delta fits; otherwise a snapshot of the
+	 *         same tick that only contains the changes that fit.
+	 */
+	Snapshot limit(final Snapshot baseline, final int maxSize) {
+		final EntityState[] base = baseline != null ? baseline.states : NO_STATES;
+
+		// pair the current and the baseline state of each entity, both sorted by map id
+		final int capacity = this.states.length + base.length;
+		final EntityState[] current = new EntityState[capacity];
+		final EntityState[] previous = new EntityState[capacity];
+		final int[] sizes = new int[capacity];
+		final MessageWriter scratch = new MessageWriter();
+		int count = 0;
+		int changes = 0;
+		int total = HEADER_SIZE;
+		int s = 0;
+		int b = 0;
+		while (s < this.states.length || b < base.length) {
+			final int stateId = s < this.states.length ? this.states[s].getMapId() : Integer.MAX_VALUE;
+			final int baseId = b < base.length ? base[b].getMapId() : Integer.MAX_VALUE;
+			current[count] = stateId <= baseId ? this.states[s++] : null;
+			previous[count] = baseId <= stateId ? base[b++] : null;
+
+			final EntityState state = current[count];
+			final EntityState old = previous[count];
+			if (state == null || old == null || !old.equalsState(state)) {
+				// the delta of the map id is at most the map id itself
+				scratch.reset();
+				scratch.writeInt(mapId(state, old));
+				if (state != null) {
+					writeFields(old != null ? old : EntityState.EMPTY, state, scratch);
+				}
+
+				sizes[count] = scratch.size();
+				total += sizes[count];
+				changes++;
+			}
+
+			count++;
+		}
+
+		if (total <= maxSize) {
+			return this;
+		}
+
+		// take up the changes where the baseline stopped and end at the first one that doesn't fit
+		final int resumeMapId = baseline != null ? baseline.resumeMapId : 0;
+		int start = 0;
+		while (start < count && mapId(current[start], previous[start]) < resumeMapId) {
+			start++;
+		}
+
+		final boolean[] included = new boolean[count];
+		int budget = maxSize - HEADER_SIZE;
+		int resume = 0;
+		for (int i = 0; i < count && changes > 0; i++) {
+			final int index = (start + i) % count;
+			if (sizes[index] == 0) {
+				continue;
+			}
+
+			// a single change that exceeds the limit is transmitted anyway
+			if (sizes[index] > budget && budget < maxSize - HEADER_SIZE) {
+				resume = mapId(current[index], previous[index]);
+				break;
+			}
+
+			included[index] = true;
+			budget -= sizes[index];
+			changes--;
+		}
+
+		final List<EntityState> limited = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final EntityState state = sizes[i] == 0 || included[i] ? current[i] : previous[i];
+			if (state != null) {
+				limited.add(state);
+			}
+		}
+
+		return new Snapshot(this.tick, limited.toArray(new EntityState[limited.size()]), resume);
+	}
+
+	/**
+	 * Writes the difference between the specified baseline and this snapshot.
+	 * 
+	 * @param baseline The snapshot that the receiver already knows or null to write
+	 *                 the full snapshot.
+	 * @param writer   The writer.
+	 */
+	void writeDelta(final Snapshot baseline, final MessageWriter writer) {
+		final EntityState[] base = baseline != null ? baseline.states : NO_STATES;
+
+		// changed or added entities
+		int changed = 0;
+		int b = 0;
+		for (final EntityState state : this.states) {
+			while (b < base.length && base[b].getMapId() < state.getMapId()) {
+				b++;
+			}
+
+			if (b >= base.length || base[b].getMapId() != state.getMapId() || !base[b].equalsState(state)) {
+				changed++;
+			}
+		}
+
+		writer.writeVarInt(changed);
+		int previousId = 0;
+		b = 0;
+		for (final EntityState state : this.states) {
+			while (b < base.length && base[b].getMapId() < state.getMapId()) {
+				b++;
+			}
+
+			final EntityState old = b < base.length && base[b].getMapId() == state.getMapId() ? base[b]
+					: EntityState.EMPTY;
+			if (old != EntityState.EMPTY && old.equalsState(state)) {
+				continue;
+			}
+
+			writer.writeInt(state.getMapId() - previousId);
+			previousId = state.getMapId();
+			writeFields(old, state, writer);
+		}
+
+		// removed entities
+		int removed = 0;
+		for (final EntityState state : base) {
+			if (this.get(state.getMapId()) == null) {
+				removed++;
+			}
+		}
+
+		writer.writeVarInt(removed);
+		previousId = 0;
+		for (final EntityState state : base) {
+			if (this.get(state.getMapId()) == null) {
+				writer.writeInt(state.getMapId() - previousId);
+				previousId = state.getMapId();
+			}
+		}
+	}
+
+	/**
+	 * Reads a snapshot that was written as delta against the specified baseline.
+	 * 
+	 * @param tick     The tick of the snapshot.
+	 * @param baseline The snapshot that the delta was written against or null if it
+	 *                 is a full snapshot.
+	 * @param reader   The reader.
+	 * @return The snapshot.
+	 */
+	static Snapshot readDelta(final int tick, final Snapshot baseline, final MessageReader reader) {
+		final EntityState[] base = baseline != null ? baseline.states : NO_STATES;
+
+		final int changed = reader.readVarInt();
+		final List<EntityState> changes = new ArrayList<>(changed);
+		int mapId = 0;
+		for (int i = 0; i < changed; i++) {
+			mapId += reader.readInt();
+			final EntityState old = baseline != null ? baseline.get(mapId) : null;
+			changes.add(readFields(mapId, old != null ? old : EntityState.EMPTY, reader));
+		}
+
+		final int removed = reader.readVarInt();
+		final int[] removedIds = new int[removed];
+		mapId = 0;
+		for (int i = 0; i < removed; i++) {
+			mapId += reader.readInt();
+			removedIds[i] = mapId;
+		}
+
+		// merge the baseline with the changes, both are sorted by map id
+		final List<EntityState> states = new ArrayList<>(base.length + changes.size());
+		int b = 0;
+		int c = 0;
+		while (b < base.length || c < changes.size()) {
+			if (c >= changes.size() || b < base.length && base[b].getMapId() < changes.get(c).getMapId()) {
+				if (Arrays.binarySearch(removedIds, base[b].getMapId()) < 0) {
+					states.add(base[b]);
+				}
+				b++;
+			} else {
+				if (b < base.length && base[b].getMapId() == changes.get(c).getMapId()) {
+					b++;
+				}
+				states.add(changes.get(c++));
+			}
+		}
+
+		return new Snapshot(tick, states.toArray(new EntityState[states.size()]));
+	}
+
+	private static int mapId(final EntityState state, final EntityState old) {
+		return state != null ? state.getMapId() : old.getMapId();
+	}
+
+	private static void writeFields(final EntityState old, final EntityState state, final MessageWriter writer) {
+		int mask = 0;
+		mask |= state.getQuantizedX() != old.getQuantizedX() ? FIELD_X : 0;
+		mask |= state.getQuantizedY() != old.getQuantizedY() ? FIELD_Y : 0;
+		mask |= state.getQuantizedAngle() != old.getQuantizedAngle() ? FIELD_ANGLE : 0;
+		mask |= state.getHitPoints() != old.getHitPoints() ? FIELD_HITPOINTS : 0;
+		mask |= !state.hasAnimation(old.getAnimation()) ? FIELD_ANIMATION : 0;
+		writer.writeByte(mask);
+
+		if ((mask & FIELD_X) != 0) {
+			writer.writeInt(state.getQuantizedX() - old.getQuantizedX());
+		}
+		if ((mask & FIELD_Y) != 0) {
+			writer.writeInt(state.getQuantizedY() - old.getQuantizedY());
+		}
+		if ((mask & FIELD_ANGLE) != 0) {
+			writer.writeByte(state.getQuantizedAngle());
+		}
+		if ((mask & FIELD_HITPOINTS) != 0) {
+			writer.writeInt(state.getHitPoints() - old.getHitPoints());
+		}
+		if ((mask & FIELD_ANIMATION) != 0) {
+			writer.writeString(state.getAnimation());
+		}
+	}
+
+	private static EntityState readFields(final int mapId, final EntityState old, final MessageReader reader) {
+		final int mask = reader.readByte();
+		final int x = (mask & FIELD_X) != 0 ? old.getQuantizedX() + reader.readInt() : old.getQuantizedX();
+		final int y = (mask & FIELD_Y) != 0 ? old.getQuantizedY() + reader.readInt() : old.getQuantizedY();
+		final int angle = (mask & FIELD_ANGLE) != 0 ? reader.readByte() & 0xFF : old.getQuantizedAngle();
+		final int hitPoints = (mask & FIELD_HITPOINTS) != 0 ? old.getHitPoints() + reader.readInt()
+				: old.getHitPoints();
+		final String animation = (mask & FIELD_ANIMATION) != 0 ? reader.readString() : old.getAnimation();
+		return new EntityState(mapId, x, y, angle, hitPoints, animation);
+	}
+}
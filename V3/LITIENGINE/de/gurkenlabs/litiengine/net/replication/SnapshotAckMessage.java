@@ -0,0 +1,37 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import de.gurkenlabs.litiengine.net.messages.ClientMessage;
+import de.gurkenlabs.litiengine.net.messages.MessageCodec;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The message that a client sends to acknowledge the receipt of a snapshot.
+ */
+public class SnapshotAckMessage extends ClientMessage {
+	private static final long serialVersionUID = -3160315624870435094L;
+
+	public static final MessageCodec<SnapshotAckMessage> CODEC = new MessageCodec<SnapshotAckMessage>() {
+		@Override
+		public void write(final SnapshotAckMessage message, final MessageWriter writer) {
+			writer.writeInt(message.getClientId());
+			writer.writeVarInt(message.tick);
+		}
+
+		@Override
+		public SnapshotAckMessage read(final MessageReader reader) {
+			return new SnapshotAckMessage(reader.readInt(), reader.readVarInt());
+		}
+	};
+
+	private final int tick;
+
+	public SnapshotAckMessage(final int clientId, final int tick) {
+		super(clientId);
+		this.tick = tick;
+	}
+
+	public int getTick() {
+		return this.tick;
+	}
+}
@@ -0,0 +1,45 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+/**
+ * A ring buffer that keeps the most recent snapshots so they can be used as
+ * baselines for delta compression.
+ */
+public class SnapshotBuffer {
+	private final Snapshot[] snapshots;
+	private Snapshot latest;
+
+	public SnapshotBuffer(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+
+		this.snapshots = new Snapshot[capacity];
+	}
+
+	public synchronized void add(final Snapshot snapshot) {
+		this.snapshots[Math.floorMod(snapshot.getTick(), this.snapshots.length)] = snapshot;
+		if (this.latest == null || snapshot.getTick() > this.latest.getTick()) {
+			this.latest = snapshot;
+		}
+	}
+
+	/**
+	 * Gets the snapshot of the specified tick.
+	 * 
+	 * @param tick The tick.
+	 * @return The snapshot or null if it's not (or no longer) contained by this
+	 *         buffer.
+	 */
+	public synchronized Snapshot get(final int tick) {
+		final Snapshot snapshot = this.snapshots[Math.floorMod(tick, this.snapshots.length)];
+		return snapshot != null && snapshot.getTick() == tick ? snapshot : null;
+	}
+
+	public synchronized Snapshot getLatest() {
+		return this.latest;
+	}
+
+	public int getCapacity() {
+		return this.snapshots.length;
+	}
+}
@@ -0,0 +1,76 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import de.gurkenlabs.litiengine.net.messages.MessageCodec;
+import de.gurkenlabs.litiengine.net.messages.MessageReader;
+import de.gurkenlabs.litiengine.net.messages.MessageWriter;
+
+/**
+ * The message that transmits a {@code Snapshot} as delta against a baseline
+ * snapshot that was acknowledged by the client.
+ */
+public class SnapshotMessage {
+	/** The baseline tick of snapshots that are transmitted in full. */
+	public static final int NO_BASELINE = 0;
+
+	public static final MessageCodec<SnapshotMessage> CODEC = new MessageCodec<SnapshotMessage>() {
+		@Override
+		public void write(final SnapshotMessage message, final MessageWriter writer) {
+			writer.writeVarInt(message.tick);
+			writer.writeVarInt(message.baselineTick);
+			message.snapshot.writeDelta(message.baseline, writer);
+		}
+
+		@Override
+		public SnapshotMessage read(final MessageReader reader) {
+			final int tick = reader.readVarInt();
+			final int baselineTick = reader.readVarInt();
+			return new SnapshotMessage(tick, baselineTick, reader.readBytes(reader.remaining()));
+		}
+	};
+
+	private final int tick;
+	private final int baselineTick;
+
+	// only present on the sending side
+	private Snapshot snapshot;
+	private Snapshot baseline;
+
+	// only present on the receiving side
+	private byte[] delta;
+
+	SnapshotMessage(final Snapshot snapshot, final Snapshot baseline) {
+		this.tick = snapshot.getTick();
+		this.baselineTick = baseline != null ? baseline.getTick() : NO_BASELINE;
+		this.snapshot = snapshot;
+		this.baseline = baseline;
+	}
+
+	private SnapshotMessage(final int tick, final int baselineTick, final byte[] delta) {
+		this.tick = tick;
+		this.baselineTick = baselineTick;
+		this.delta = delta;
+	}
+
+	public int getTick() {
+		return this.tick;
+	}
+
+	public int getBaselineTick() {
+		return this.baselineTick;
+	}
+
+	/**
+	 * Decodes the transmitted snapshot.
+	 * 
+	 * @param baseline The snapshot of the baseline tick or null if the message
+	 *                 contains a full snapshot.
+	 * @return The snapshot.
+	 */
+	Snapshot decode(final Snapshot baseline) {
+		if (this.snapshot != null) {
+			return this.snapshot;
+		}
+
+		return Snapshot.readDelta(this.tick, baseline, new MessageReader(this.delta));
+	}
+}
@@ -1,8 +1,11 @@
 package de.gurkenlabs.litiengine.net.server;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.InetAddress;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Class ClientConnection.
@@ -20,7 +23,13 @@ public class ClientConnection implements Serializable {
 	private final InetAddress ipAddress;
 
 	/** The last sign of life. */
-	private Date lastSignOfLife;
+	private final Date lastSignOfLife;
+
+	/**
+	 * The last sign of life as {@link System#nanoTime()}, which is only
+	 * meaningful within this JVM.
+	 */
+	private transient volatile long lastSignOfLifeNanos;
 
 	/** The port. */
 	private final int port;
@@ -33,7 +42,8 @@ public class ClientConnection implements Serializable {
 		this.ipAddress = connection.getIpAddress();
 		this.port = connection.getPort();
 		this.userName = connection.getUserName();
-		this.lastSignOfLife = connection.getLastSignOfLife();
+		this.lastSignOfLife = new Date(connection.getLastSignOfLife().getTime());
+		this.lastSignOfLifeNanos = connection.getLastSignOfLifeNanos();
 		this.id = connection.getId();
 	}
 
@@ -50,6 +60,7 @@ public class ClientConnection implements Serializable {
 		this.port = port;
 		this.userName = userName;
 		this.lastSignOfLife = new Date();
+		this.lastSignOfLifeNanos = System.nanoTime();
 		this.id = ++idSequence;
 	}
 
@@ -92,8 +103,17 @@ public class ClientConnection implements Serializable {
 		return this.lastSignOfLife;
 	}
 
+	/**
+	 * Gets the last sign of life as {@link System#nanoTime()} value.
+	 *
+	 * @return the last sign of life in nanoseconds
+	 */
+	public long getLastSignOfLifeNanos() {
+		return this.lastSignOfLifeNanos;
+	}
+
 	public long getLastSignOfLifeInMs() {
-		return new Date().getTime() - this.getLastSignOfLife().getTime();
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.lastSignOfLifeNanos);
 	}
 
 	/**
@@ -120,7 +140,16 @@ public class ClientConnection implements Serializable {
 	 * @param lastSignOfLife the new last sign of life
 	 */
 	public void setSignOfLife(final Date lastSignOfLife) {
-		this.lastSignOfLife = lastSignOfLife;
+		this.lastSignOfLife.setTime(lastSignOfLife.getTime());
+		this.lastSignOfLifeNanos = toNanoTime(lastSignOfLife);
+	}
+
+	/**
+	 * Sets the last sign of life to now, without allocating.
+	 */
+	public void setSignOfLife() {
+		this.lastSignOfLife.setTime(System.currentTimeMillis());
+		this.lastSignOfLifeNanos = System.nanoTime();
 	}
 
 	@Override
@@ -128,4 +157,13 @@ public class ClientConnection implements Serializable {
 		return "Client(" + this.getId() + "): " + this.getIpAddress().getHostAddress() + ":" + this.getPort()
 				+ "; last sign of life: " + this.getLastSignOfLifeInMs() + "ms ago";
 	}
+
+	private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.lastSignOfLifeNanos = toNanoTime(this.lastSignOfLife);
+	}
+
+	private static long toNanoTime(final Date date) {
+		return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - date.getTime());
+	}
 }
@@ -1,21 +1,55 @@
 package de.gurkenlabs.litiengine.net.server;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.net.InetAddress;
-import java.util.Date;
-import java.util.Optional;
+import java.net.InetSocketAddress;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The Class ClientConnectionManager.
+ * <p>
+ * Connections are stored in a concurrent map by their id and additionally
+ * indexed by their address and port, so neither the lookups that happen for
+ * incoming packets nor the removal of a connection scan all connections.
+ * Connections that didn't give a sign of life within the timeout are expired by
+ * {@link #sweep()}, which uses a timer wheel instead of checking every
+ * connection.
+ * </p>
+ * <p>
+ * The connections are iterated in the order of their ids. Only the connections
+ * are serialized; the consumers of expired connections are not.
+ * </p>
  */
-public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnection>
-		implements IClientConnectionManager {
+public class ClientConnectionManager extends AbstractCollection<ClientConnection>
+		implements IClientConnectionManager, Serializable {
+	public static final long DEFAULT_TIMEOUT = 10000;
 
-	/**
-	 *
-	 */
 	private static final long serialVersionUID = 3719486731770172645L;
 
+	private static final int WHEEL_SLOTS = 64;
+	private static final long WHEEL_TICK = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final Map<Integer, ClientConnection> connectionsById = new ConcurrentSkipListMap<>();
+	private long timeout = DEFAULT_TIMEOUT;
+
+	private transient Map<InetSocketAddress, ClientConnection> connectionsByAddress;
+	private transient Collection<Consumer<ClientConnection>> expiredConsumers;
+	private transient ConnectionTimeoutWheel timeoutWheel;
+
+	public ClientConnectionManager() {
+		this.initialize();
+	}
+
 	/**
 	 * Gets the connection.
 	 *
@@ -24,12 +58,12 @@ public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnecti
 	 */
 	@Override
 	public ClientConnection get(final int clientId) {
-		if (this.stream().noneMatch(connection -> connection.getId() == clientId)) {
-			return null;
-		}
+		return this.connectionsById.get(clientId);
+	}
 
-		Optional<ClientConnection> opt = this.stream().filter(connection -> connection.getId() == clientId).findFirst();
-		return opt.isPresent() ? opt.get() : null;
+	@Override
+	public ClientConnection get(final InetAddress address, final int port) {
+		return this.connectionsByAddress.get(new InetSocketAddress(address, port));
 	}
 
 	/**
@@ -42,16 +76,163 @@ public class ClientConnectionManager extends CopyOnWriteArrayList<ClientConnecti
 	 */
 	@Override
 	public boolean isConnected(final int clientId, final InetAddress address, final int port) {
-		return this.stream().anyMatch(connection -> connection.equals(clientId, address, port));
+		final ClientConnection connection = this.connectionsById.get(clientId);
+		return connection != null && connection.equals(clientId, address, port);
 	}
 
 	@Override
 	public void setSignOfLife(final int clientId) {
-		// update sign of life
-		for (final ClientConnection connection : this) {
-			if (connection.getId() == clientId) {
-				connection.setSignOfLife(new Date());
+		final ClientConnection connection = this.connectionsById.get(clientId);
+		if (connection != null) {
+			connection.setSignOfLife();
+		}
+	}
+
+	/**
+	 * Gets the time span after which connections without sign of life expire.
+	 *
+	 * @return the timeout in milliseconds
+	 */
+	public long getTimeout() {
+		return TimeUnit.NANOSECONDS.toMillis(this.timeoutWheel.getTimeout());
+	}
+
+	public void setTimeout(final long timeout) {
+		this.timeout = timeout;
+		this.timeoutWheel.setTimeout(TimeUnit.MILLISECONDS.toNanos(timeout));
+	}
+
+	/**
+	 * Gets the interval in which {@link #sweep()} should be called.
+	 *
+	 * @return the sweep interval in milliseconds
+	 */
+	public long getSweepInterval() {
+		return TimeUnit.NANOSECONDS.toMillis(this.timeoutWheel.getTickDuration());
+	}
+
+	public void onConnectionExpired(final Consumer<ClientConnection> consumer) {
+		this.expiredConsumers.add(consumer);
+	}
+
+	/**
+	 * Removes all connections whose last sign of life is older than the timeout
+	 * and notifies the registered consumers about them.
+	 */
+	@Override
+	public void sweep() {
+		this.timeoutWheel.sweep(System.nanoTime(), this::contains, connection -> {
+			if (!this.remove(connection)) {
+				return;
+			}
+
+			for (final Consumer<ClientConnection> consumer : this.expiredConsumers) {
+				consumer.accept(connection);
+			}
+		});
+	}
+
+	/**
+	 * Adds the specified connection. A connection with the same id that was added
+	 * before is replaced.
+	 */
+	@Override
+	public boolean add(final ClientConnection connection) {
+		synchronized (this.connectionsById) {
+			final ClientConnection previous = this.connectionsById.put(connection.getId(), connection);
+			if (previous != null) {
+				this.connectionsByAddress.remove(getAddress(previous), previous);
+			}
+
+			this.connectionsByAddress.put(getAddress(connection), connection);
+		}
+
+		this.timeoutWheel.schedule(connection);
+		return true;
+	}
+
+	@Override
+	public boolean remove(final Object object) {
+		if (!(object instanceof ClientConnection)) {
+			return false;
+		}
+
+		final ClientConnection connection = (ClientConnection) object;
+		synchronized (this.connectionsById) {
+			if (!this.connectionsById.remove(connection.getId(), connection)) {
+				return false;
+			}
+
+			this.connectionsByAddress.remove(getAddress(connection), connection);
+			return true;
+		}
+	}
+
+	@Override
+	public boolean contains(final Object object) {
+		return object instanceof ClientConnection
+				&& this.connectionsById.get(((ClientConnection) object).getId()) == object;
+	}
+
+	@Override
+	public int size() {
+		return this.connectionsById.size();
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.connectionsById) {
+			this.connectionsById.clear();
+			this.connectionsByAddress.clear();
+		}
+	}
+
+	@Override
+	public Iterator<ClientConnection> iterator() {
+		final Iterator<ClientConnection> connections = this.connectionsById.values().iterator();
+		return new Iterator<ClientConnection>() {
+			private ClientConnection current;
+
+			@Override
+			public boolean hasNext() {
+				return connections.hasNext();
+			}
+
+			@Override
+			public ClientConnection next() {
+				this.current = connections.next();
+				return this.current;
 			}
+
+			@Override
+			public void remove() {
+				if (this.current == null) {
+					throw new IllegalStateException();
+				}
+
+				ClientConnectionManager.this.remove(this.current);
+				this.current = null;
+			}
+		};
+	}
+
+	private void initialize() {
+		this.connectionsByAddress = new ConcurrentHashMap<>();
+		this.expiredConsumers = new CopyOnWriteArrayList<>();
+		this.timeoutWheel = new ConnectionTimeoutWheel(WHEEL_SLOTS, WHEEL_TICK,
+				TimeUnit.MILLISECONDS.toNanos(this.timeout));
+	}
+
+	private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.initialize();
+		for (final ClientConnection connection : this.connectionsById.values()) {
+			this.connectionsByAddress.put(getAddress(connection), connection);
+			this.timeoutWheel.schedule(connection);
 		}
 	}
+
+	private static InetSocketAddress getAddress(final ClientConnection connection) {
+		return new InetSocketAddress(connection.getIpAddress(), connection.getPort());
+	}
 }
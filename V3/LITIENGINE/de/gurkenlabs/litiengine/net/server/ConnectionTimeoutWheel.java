@@ -0,0 +1,107 @@
+package de.gurkenlabs.litiengine.net.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A hashed timer wheel that expires client connections whose last sign of life
+ * is older than the timeout.
+ * <p>
+ * Each connection is scheduled into the slot of its expected expiration. Signs
+ * of life don't touch the wheel at all: when a slot is due, its connections are
+ * checked against their current sign of life and either expired or scheduled
+ * again for their new deadline. A sweep therefore only visits the connections
+ * of the elapsed slots instead of scanning all connections.
+ * </p>
+ */
+class ConnectionTimeoutWheel {
+	private final List<ArrayDeque<ClientConnection>> slots;
+	private final long tickDuration;
+	private ArrayDeque<ClientConnection> due = new ArrayDeque<>();
+	private long timeout;
+	private long lastTick;
+
+	/**
+	 * Instantiates a new timer wheel.
+	 *
+	 * @param slotCount    the number of slots
+	 * @param tickDuration the time span of one slot in nanoseconds
+	 * @param timeout      the timeout of the connections in nanoseconds
+	 */
+	ConnectionTimeoutWheel(final int slotCount, final long tickDuration, final long timeout) {
+		this.slots = new ArrayList<>(slotCount);
+		for (int i = 0; i < slotCount; i++) {
+			this.slots.add(new ArrayDeque<>());
+		}
+
+		this.tickDuration = tickDuration;
+		this.timeout = timeout;
+		this.lastTick = Math.floorDiv(System.nanoTime(), tickDuration);
+	}
+
+	long getTickDuration() {
+		return this.tickDuration;
+	}
+
+	synchronized long getTimeout() {
+		return this.timeout;
+	}
+
+	synchronized void setTimeout(final long timeout) {
+		this.timeout = timeout;
+	}
+
+	synchronized void schedule(final ClientConnection connection) {
+		this.schedule(connection, connection.getLastSignOfLifeNanos() + this.timeout);
+	}
+
+	/**
+	 * Expires all connections of the slots that elapsed since the last sweep.
+	 *
+	 * @param now       the current {@link System#nanoTime()}
+	 * @param isTracked checks if a connection is still managed; others are
+	 *                  silently dropped from the wheel
+	 * @param expired   the consumer of the expired connections
+	 */
+	synchronized void sweep(final long now, final Predicate<ClientConnection> isTracked,
+			final Consumer<ClientConnection> expired) {
+		final long nowTick = Math.floorDiv(now, this.tickDuration);
+		final long firstTick = Math.max(this.lastTick + 1, nowTick - this.slots.size() + 1);
+		this.lastTick = nowTick;
+
+		for (long tick = firstTick; tick <= nowTick; tick++) {
+			final int slot = (int) Math.floorMod(tick, (long) this.slots.size());
+			final ArrayDeque<ClientConnection> current = this.slots.get(slot);
+			if (current.isEmpty()) {
+				continue;
+			}
+
+			// swap the slot so that rescheduled connections can land in the same slot
+			this.slots.set(slot, this.due);
+			this.due = current;
+
+			ClientConnection connection;
+			while ((connection = current.poll()) != null) {
+				if (!isTracked.test(connection)) {
+					continue;
+				}
+
+				final long deadline = connection.getLastSignOfLifeNanos() + this.timeout;
+				if (deadline - now <= 0) {
+					expired.accept(connection);
+				} else {
+					this.schedule(connection, deadline);
+				}
+			}
+		}
+	}
+
+	private void schedule(final ClientConnection connection, final long deadline) {
+		// never schedule into an elapsed slot, it would only be visited after a full round
+		final long tick = Math.max(Math.floorDiv(deadline, this.tickDuration), this.lastTick + 1);
+		this.slots.get((int) Math.floorMod(tick, (long) this.slots.size())).add(connection);
+	}
+}
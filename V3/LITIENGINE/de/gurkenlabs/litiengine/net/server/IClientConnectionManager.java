@@ -1,22 +1,30 @@
 package de.gurkenlabs.litiengine.net.server;
 
 import java.net.InetAddress;
-import java.util.List;
+import java.util.Collection;
 
 /**
  * The Interface IClientConnectionManager.
  */
-public interface IClientConnectionManager extends List<ClientConnection> {
+public interface IClientConnectionManager extends Collection<ClientConnection> {
 
 	/**
-	 * Gets the.
+	 * Gets the connection of the client with the specified id.
 	 *
 	 * @param clientId the client id
-	 * @return the client connection
+	 * @return the client connection or null if there is no such client
 	 */
-	@Override
 	public ClientConnection get(int clientId);
 
+	/**
+	 * Gets the connection of the client with the specified address and port.
+	 *
+	 * @param address the address
+	 * @param port    the port
+	 * @return the client connection or null if there is no such client
+	 */
+	public ClientConnection get(InetAddress address, int port);
+
 	/**
 	 * Checks if is connected.
 	 *
@@ -28,4 +36,9 @@ public interface IClientConnectionManager extends List<ClientConnection> {
 	public boolean isConnected(int connectionId, InetAddress address, int port);
 
 	public void setSignOfLife(final int clientId);
+
+	/**
+	 * Removes the connections that didn't give a sign of life for too long.
+	 */
+	public void sweep();
 }
@@ -0,0 +1,275 @@
+package de.gurkenlabs.litiengine.net.server;
+
+import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.ILaunchable;
+
+/**
+ * A staged pipeline that moves the processing of incoming packets off the
+ * receiving thread.
+ * <p>
+ * The receiving thread only submits the raw packets. They are decoded (e.g.
+ * decompressed) in parallel on a pool of decode workers and then handled on one
+ * of several handler shards. Each shard is a single thread and all packets of
+ * the same client (identified by the shard key) are handled by the same shard
+ * in the order they were submitted, even if their decoding finished out of
+ * order. A slow handler therefore only delays the clients of its shard.
+ * </p>
+ * <p>
+ * The number of packets in the pipeline is bounded. When it's full, the
+ * {@link OverflowPolicy} either drops new packets or blocks the receiving
+ * thread until there is room again, which leaves further packets to the
+ * socket's receive buffer.
+ * </p>
+ */
+public class MessagePipeline implements ILaunchable {
+	private static final Logger log = Logger.getLogger(MessagePipeline.class.getName());
+
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	public enum OverflowPolicy {
+		/** Packets that don't fit into the pipeline are discarded. */
+		DROP,
+		/** The submitting thread waits until there is room in the pipeline. */
+		BLOCK
+	}
+
+	@FunctionalInterface
+	public interface PacketHandler {
+		public void handle(byte[] data, InetAddress address, int port);
+	}
+
+	private final Function<byte[], byte[]> decoder;
+	private final PacketHandler handler;
+	private final OverflowPolicy policy;
+	private final int capacity;
+	private final Semaphore slots;
+
+	private final ExecutorService decodeWorkers;
+	private final ExecutorService[] shards;
+	private final CompletableFuture<?>[] tails;
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder handled = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final AtomicInteger peakPending = new AtomicInteger();
+
+	private volatile boolean terminated;
+
+	/**
+	 * Instantiates a new pipeline that uses one decode worker and one handler
+	 * shard per available processor.
+	 *
+	 * @param decoder the function that decodes the submitted packets
+	 * @param handler the handler of the decoded packets
+	 */
+	public MessagePipeline(final Function<byte[], byte[]> decoder, final PacketHandler handler) {
+		this(decoder, handler, Runtime.getRuntime().availableProcessors());
+	}
+
+	private MessagePipeline(final Function<byte[], byte[]> decoder, final PacketHandler handler, final int threads) {
+		this(decoder, handler, threads, threads, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+	}
+
+	/**
+	 * Instantiates a new pipeline.
+	 *
+	 * @param decoder       the function that decodes the submitted packets
+	 * @param handler       the handler of the decoded packets
+	 * @param decodeThreads the number of decode workers
+	 * @param shardCount    the number of handler shards
+	 * @param capacity      the maximum number of packets in the pipeline
+	 * @param policy        the behavior when the pipeline is full
+	 */
+	public MessagePipeline(final Function<byte[], byte[]> decoder, final PacketHandler handler, final int decodeThreads,
+			final int shardCount, final int capacity, final OverflowPolicy policy) {
+		if (decodeThreads <= 0 || shardCount <= 0 || capacity <= 0) {
+			throw new IllegalArgumentException("thread counts and capacity must be positive");
+		}
+
+		this.decoder = decoder;
+		this.handler = handler;
+		this.policy = policy;
+		this.capacity = capacity;
+		this.slots = new Semaphore(capacity);
+		this.decodeWorkers = Executors.newFixedThreadPool(decodeThreads, threads("Message Decoder"));
+		this.shards = new ExecutorService[shardCount];
+		this.tails = new CompletableFuture<?>[shardCount];
+	}
+
+	@Override
+	public synchronized void start() {
+		for (int i = 0; i < this.shards.length; i++) {
+			if (this.shards[i] == null) {
+				this.shards[i] = Executors.newSingleThreadExecutor(threads("Message Handler " + (i + 1)));
+				this.tails[i] = CompletableFuture.completedFuture(null);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void terminate() {
+		this.terminated = true;
+		this.decodeWorkers.shutdownNow();
+		for (final ExecutorService shard : this.shards) {
+			if (shard != null) {
+				shard.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Submits a packet to the pipeline.
+	 *
+	 * @param data     the raw packet; it must not be modified after submission
+	 * @param address  the address of the sender
+	 * @param port     the port of the sender
+	 * @param shardKey the key that determines the handler shard, e.g. the id of
+	 *                 the sending client; packets with the same key are handled
+	 *                 in submission order
+	 * @return true if the packet was accepted; false if it was dropped, also
+	 *         after the pipeline was terminated
+	 */
+	public boolean submit(final byte[] data, final InetAddress address, final int port, final int shardKey) {
+		if (this.terminated || !this.acquire()) {
+			this.dropped.increment();
+			return false;
+		}
+
+		// once handed off, the permit is released after the packet was handled or rejected
+		boolean handedOff = false;
+		try {
+			final int shard = Math.floorMod(shardKey, this.shards.length);
+			final CompletableFuture<byte[]> decoded = CompletableFuture.supplyAsync(() -> this.decoder.apply(data),
+					this.decodeWorkers);
+			synchronized (this.tails) {
+				final ExecutorService executor = this.shards[shard];
+				if (executor == null) {
+					throw new IllegalStateException("the pipeline has not been started");
+				}
+
+				// the chain never completes exceptionally, so a failure doesn't block the following packets
+				final CompletableFuture<byte[]> body = decoded.handle((result, e) -> e == null ? result
+						: this.failed(e));
+				this.tails[shard] = this.tails[shard].thenCombineAsync(body, (previous, current) -> {
+					this.handle(current, address, port);
+					return null;
+				}, executor).exceptionally(e -> {
+					if (e instanceof RejectedExecutionException || e.getCause() instanceof RejectedExecutionException) {
+						// the handler never ran
+						this.slots.release();
+					}
+
+					return this.failed(e);
+				});
+			}
+
+			handedOff = true;
+		} catch (final RejectedExecutionException e) {
+			// the pipeline was terminated concurrently
+			this.dropped.increment();
+			return false;
+		} finally {
+			if (!handedOff) {
+				this.slots.release();
+			}
+		}
+
+		this.submitted.increment();
+		this.peakPending.accumulateAndGet(this.getPending(), Math::max);
+		return true;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return this.policy;
+	}
+
+	/**
+	 * Gets the number of packets that are currently being decoded or waiting to
+	 * be handled.
+	 *
+	 * @return the number of pending packets
+	 */
+	public int getPending() {
+		return this.capacity - this.slots.availablePermits();
+	}
+
+	public int getPeakPending() {
+		return this.peakPending.get();
+	}
+
+	public long getSubmitted() {
+		return this.submitted.sum();
+	}
+
+	public long getDropped() {
+		return this.dropped.sum();
+	}
+
+	public long getHandled() {
+		return this.handled.sum();
+	}
+
+	public long getFailed() {
+		return this.failed.sum();
+	}
+
+	private boolean acquire() {
+		if (this.policy == OverflowPolicy.DROP) {
+			return this.slots.tryAcquire();
+		}
+
+		try {
+			this.slots.acquire();
+			return true;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void handle(final byte[] body, final InetAddress address, final int port) {
+		try {
+			if (body != null) {
+				this.handler.handle(body, address, port);
+				this.handled.increment();
+			}
+		} catch (final RuntimeException e) {
+			this.failed(e);
+		} finally {
+			// also if the handler throws an error, which then fails the stage
+			this.slots.release();
+		}
+	}
+
+	private <T> T failed(final Throwable e) {
+		this.failed.increment();
+		log.log(Level.SEVERE, e.getMessage(), e);
+		return null;
+	}
+
+	private static ThreadFactory threads(final String name) {
+		final AtomicInteger count = new AtomicInteger();
+		return r -> {
+			final Thread thread = new Thread(r, name + " #" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
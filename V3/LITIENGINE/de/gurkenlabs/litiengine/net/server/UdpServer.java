@@ -1,23 +1,26 @@
 package de.gurkenlabs.litiengine.net.server;
 
 import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.ILaunchable;
 import de.gurkenlabs.litiengine.net.IPacketReceiver;
 import de.gurkenlabs.litiengine.net.IPacketSender;
 import de.gurkenlabs.litiengine.net.UdpPacketReceiver;
 import de.gurkenlabs.litiengine.net.UdpPacketSender;
 import de.gurkenlabs.litiengine.net.messages.IMessageHandler;
 import de.gurkenlabs.litiengine.net.messages.IMessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
 import de.gurkenlabs.litiengine.net.messages.MessageType;
 import de.gurkenlabs.litiengine.util.CommandManager;
-import de.gurkenlabs.litiengine.util.io.CompressionUtilities;
 
 public class UdpServer implements IServer {
 	private static final String SHUTDOWN = "shutdown";
+	private static final int SWEEP_INTERVAL = 250;
 
 	private static final Logger log = Logger.getLogger(UdpServer.class.getName());
 
@@ -35,10 +38,29 @@ public class UdpServer implements IServer {
 	/** The sender. */
 	private final IPacketSender sender;
 
+	private final ConnectionSweeper sweeper = new ConnectionSweeper();
+
+	private volatile MessagePipeline pipeline;
+
+	private boolean started;
+
 	public UdpServer(final int listenPort, final IMessageHandlerProvider provider) {
-		this.receiver = new UdpPacketReceiver(listenPort);
+		this(new UdpPacketReceiver(listenPort), new UdpPacketSender(), provider);
+	}
+
+	/**
+	 * Instantiates a new server with the specified transport, e.g. a
+	 * {@code NioPacketReceiver} and a {@code NioPacketSender} that share a channel.
+	 *
+	 * @param receiver the receiver
+	 * @param sender   the sender
+	 * @param provider the message handler provider
+	 */
+	public UdpServer(final IPacketReceiver receiver, final IPacketSender sender,
+			final IMessageHandlerProvider provider) {
+		this.receiver = receiver;
 		this.receiver.registerForIncomingPackets(this);
-		this.sender = new UdpPacketSender();
+		this.sender = sender;
 		this.messageHandlerProvider = provider;
 		this.commandManager = new CommandManager();
 		this.commandManager.bind(SHUTDOWN, this::handleShutdownCommand);
@@ -62,13 +84,81 @@ public class UdpServer implements IServer {
 		return this.sender;
 	}
 
+	/**
+	 * Moves the decoding and handling of incoming packets from the receiving
+	 * thread to a {@code MessagePipeline}. Packets of the same client are
+	 * handled in the order they were received.
+	 *
+	 * @param decodeThreads the number of threads that decode packets
+	 * @param shardCount    the number of threads that run the message handlers
+	 * @param capacity      the maximum number of packets in the pipeline
+	 * @param policy        the behavior when the pipeline is full
+	 * @return the pipeline
+	 */
+	public synchronized MessagePipeline enablePipeline(final int decodeThreads, final int shardCount,
+			final int capacity, final MessagePipeline.OverflowPolicy policy) {
+		if (this.pipeline != null) {
+			throw new IllegalStateException("the pipeline is already enabled");
+		}
+
+		final MessagePipeline messagePipeline = new MessagePipeline(MessagePacket::unwrap, this::handle, decodeThreads,
+				shardCount, capacity, policy);
+		if (this.started) {
+			messagePipeline.start();
+		}
+
+		this.pipeline = messagePipeline;
+		return messagePipeline;
+	}
+
+	public MessagePipeline getPipeline() {
+		return this.pipeline;
+	}
+
 	@Override
 	public void packetReceived(final byte[] data, final InetAddress address, final int port) {
 		if (data.length == 0) {
 			return;
 		}
 
-		final byte[] decompressedData = CompressionUtilities.decompress(data);
+		final MessagePipeline messagePipeline = this.pipeline;
+		if (messagePipeline != null) {
+			messagePipeline.submit(data, address, port, getShardKey(address, port));
+			return;
+		}
+
+		this.handle(MessagePacket.unwrap(data), address, port);
+	}
+
+	@Override
+	public void packetReceived(final ByteBuffer data, final InetAddress address, final int port) {
+		if (!data.hasRemaining()) {
+			return;
+		}
+
+		final MessagePipeline messagePipeline = this.pipeline;
+		if (messagePipeline != null) {
+			// the buffer is reused by the receiver, so the packet has to be copied
+			final byte[] copy = new byte[data.remaining()];
+			data.get(copy);
+			messagePipeline.submit(copy, address, port, getShardKey(address, port));
+			return;
+		}
+
+		this.handle(MessagePacket.unwrap(data), address, port);
+	}
+
+	// the key must not change when the client logs in, otherwise its packets would
+	// move to another shard and could be handled out of order
+	private static int getShardKey(final InetAddress address, final int port) {
+		return address.hashCode() * 31 + port;
+	}
+
+	private void handle(final byte[] decompressedData, final InetAddress address, final int port) {
+		if (decompressedData.length == 0) {
+			return;
+		}
+
 		final MessageType type = MessageType.get(decompressedData[0]);
 		final List<IMessageHandler> messageHandlers = this.messageHandlerProvider.getMessageHanders(type);
 		if (messageHandlers == null || messageHandlers.isEmpty()) {
@@ -81,14 +171,25 @@ public class UdpServer implements IServer {
 	}
 
 	@Override
-	public void start() {
+	public synchronized void start() {
+		this.started = true;
+		if (this.pipeline != null) {
+			this.pipeline.start();
+		}
+
 		this.receiver.start();
+		this.sweeper.start();
 		this.getCommandManager().start();
 	}
 
 	@Override
 	public void terminate() {
 		this.receiver.terminate();
+		this.sweeper.terminate();
+		if (this.pipeline != null) {
+			this.pipeline.terminate();
+		}
+
 		this.getCommandManager().terminate();
 		System.exit(Game.EXIT_GAME_CLOSED);
 	}
@@ -98,4 +199,32 @@ public class UdpServer implements IServer {
 		this.terminate();
 		return true;
 	}
+
+	private class ConnectionSweeper extends Thread implements ILaunchable {
+		private volatile boolean isTerminated;
+
+		private ConnectionSweeper() {
+			this.setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			while (!this.isTerminated) {
+				UdpServer.this.getConnectionManager().sweep();
+
+				try {
+					Thread.sleep(SWEEP_INTERVAL);
+				} catch (final InterruptedException e) {
+					this.interrupt();
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void terminate() {
+			this.isTerminated = true;
+			this.interrupt();
+		}
+	}
 }
@@ -10,11 +10,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.Prop;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
 import de.gurkenlabs.litiengine.physics.Collision;
 import de.gurkenlabs.litiengine.util.MathUtilities;
+import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
 public class AStarGrid implements IRenderable {
 	public static final double PENALTY_STATIC_PROP = 5;
@@ -22,6 +26,7 @@ public class AStarGrid implements IRenderable {
 	private final AStarNode[][] grid;
 	private final int nodeSize;
 	private final Dimension size;
+	private final Environment environment;
 
 	private boolean allowDiagonalMovement = true;
 	private boolean allowCuttingCorners;
@@ -31,8 +36,26 @@ public class AStarGrid implements IRenderable {
 	}
 
 	public AStarGrid(final Dimension size, final int nodeSize) {
+		this(size, nodeSize, null);
+	}
+
+	/**
+	 * Instantiates a new grid for the map of the specified environment. The
+	 * walkable nodes and their penalties are determined by the entities of the
+	 * environment instead of the physics engine, so the grid can be built before
+	 * the environment is loaded, e.g. on a background thread.
+	 * 
+	 * @param environment The environment.
+	 * @param nodeSize    The size of the nodes.
+	 */
+	public AStarGrid(final Environment environment, final int nodeSize) {
+		this(environment.getMap().getSizeInPixels(), nodeSize, environment);
+	}
+
+	private AStarGrid(final Dimension size, final int nodeSize, final Environment environment) {
 		this.size = size;
 		this.nodeSize = nodeSize;
+		this.environment = environment;
 		final int gridSizeX = this.size.width / nodeSize;
 		final int gridSizeY = this.size.height / nodeSize;
 		this.grid = new AStarNode[gridSizeX][gridSizeY];
@@ -173,18 +196,19 @@ public class AStarGrid implements IRenderable {
 	 */
 	public void updateWalkable(final Rectangle2D rectangle) {
 		for (final AStarNode node : this.getIntersectedNodes(rectangle)) {
-			node.setWalkable(!Game.physics().collides(node.getBounds(), Collision.STATIC));
+			node.setWalkable(!this.collides(node.getBounds(), Collision.STATIC));
 		}
 	}
 
 	protected void assignPenalty(AStarNode node) {
-		if (!Game.physics().collides(node.getLocation(), Collision.DYNAMIC)) {
+		if (!this.collides(node, Collision.DYNAMIC)) {
 			return;
 		}
 
 		// by default we calculate a penalty for props that cannot be destroyed
 		int penalty = 0;
-		for (Prop prop : Game.world().environment().getProps()) {
+		final Environment env = this.environment != null ? this.environment : Game.world().environment();
+		for (Prop prop : env.getProps()) {
 			if (!prop.hasCollision() || !prop.isIndestructible()
 					|| !prop.getBoundingBox().intersects(node.getBounds())) {
 				continue;
@@ -218,6 +242,45 @@ public class AStarGrid implements IRenderable {
 		}
 	}
 
+	private boolean collides(final Rectangle2D bounds, final Collision type) {
+		if (this.environment == null) {
+			return Game.physics().collides(bounds, type);
+		}
+
+		for (final IEntity entity : this.environment.findEntities(bounds)) {
+			if (hasCollision(entity, type)
+					&& GeometricUtilities.intersects(((ICollisionEntity) entity).getCollisionBox(), bounds)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean collides(final AStarNode node, final Collision type) {
+		if (this.environment == null) {
+			return Game.physics().collides(node.getLocation(), type);
+		}
+
+		for (final IEntity entity : this.environment.findEntities(node.getBounds())) {
+			if (hasCollision(entity, type)
+					&& ((ICollisionEntity) entity).getCollisionBox().contains(node.getLocation())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean hasCollision(final IEntity entity, final Collision type) {
+		if (!(entity instanceof ICollisionEntity)) {
+			return false;
+		}
+
+		final ICollisionEntity collisionEntity = (ICollisionEntity) entity;
+		return collisionEntity.hasCollision() && collisionEntity.getCollisionType() == type;
+	}
+
 	private AStarNode getNode(final int x, final int y) {
 		if (x >= 0 && x < this.getGrid().length && y >= 0 && y < this.getGrid()[0].length) {
 			return this.getGrid()[x][y];
@@ -231,8 +294,7 @@ public class AStarGrid implements IRenderable {
 			for (int y = 0; y < gridSizeY; y++) {
 				final Rectangle nodeBounds = new Rectangle(x * this.nodeSize, y * this.nodeSize, this.nodeSize,
 						this.nodeSize);
-				final AStarNode node = new AStarNode(!Game.physics().collides(nodeBounds, Collision.STATIC), nodeBounds,
-						x, y);
+				final AStarNode node = new AStarNode(!this.collides(nodeBounds, Collision.STATIC), nodeBounds, x, y);
 				this.assignPenalty(node);
 				this.getGrid()[x][y] = node;
 			}
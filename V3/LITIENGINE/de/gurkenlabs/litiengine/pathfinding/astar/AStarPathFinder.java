@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.pathfinding.Path;
 import de.gurkenlabs.litiengine.pathfinding.PathFinder;
@@ -34,6 +35,10 @@ public class AStarPathFinder extends PathFinder {
 		this(map.getSizeInPixels(), map.getTileSize().width);
 	}
 
+	public AStarPathFinder(final Environment environment) {
+		this(environment.getPathfindingGrid());
+	}
+
 	@Override
 	public Path findPath(final IMobileEntity entity, final Point2D target) {
 		// if there is no collision between the start and the target return a direct
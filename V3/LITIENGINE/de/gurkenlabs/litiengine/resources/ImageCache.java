@@ -0,0 +1,291 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache for images that are derived from other resources at runtime,
+ * e.g. scaled sprites, sprites with image effects or the hover states of GUI
+ * components.
+ * <p>
+ * Unlike the {@code Images} container, this cache is identified by typed
+ * {@link Key}s instead of URLs and holds no more than a configurable number of
+ * bytes. When an image is added that would exceed the budget, the least
+ * recently used images are evicted. Optionally, the images are only held by
+ * soft references so that the garbage collector can reclaim them when memory
+ * gets low.
+ * </p>
+ *
+ * @see Images#cache()
+ */
+public final class ImageCache {
+	public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+	private long maxSize = DEFAULT_MAX_SIZE;
+	private boolean softReferences;
+
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	ImageCache() {
+	}
+
+	/**
+	 * Gets the cached image for the specified key.
+	 *
+	 * @param key The key of the image.
+	 * @return The cached image or null if no image is cached for the key.
+	 */
+	public synchronized BufferedImage get(Key key) {
+		final Entry entry = this.entries.get(key);
+		final BufferedImage image = entry != null ? entry.get() : null;
+		if (image != null) {
+			this.hits++;
+			return image;
+		}
+
+		if (entry != null) {
+			// the soft reference was cleared by the garbage collector
+			this.remove(key, entry);
+		}
+
+		this.misses++;
+		return null;
+	}
+
+	/**
+	 * Gets the cached image for the specified key or creates it with the specified
+	 * supplier and adds it to the cache, if no image is cached for the key.
+	 * <p>
+	 * The image is created outside of the cache's lock, so concurrent callers may
+	 * create the same image more than once.
+	 * </p>
+	 *
+	 * @param key      The key of the image.
+	 * @param supplier The supplier that creates the image.
+	 * @return The cached or created image or null if the supplier returned null.
+	 */
+	public BufferedImage get(Key key, Supplier<BufferedImage> supplier) {
+		BufferedImage image = this.get(key);
+		if (image != null) {
+			return image;
+		}
+
+		image = supplier.get();
+		this.put(key, image);
+		return image;
+	}
+
+	/**
+	 * Adds the specified image to the cache. If this exceeds the maximum size of
+	 * the cache, the least recently used images are evicted. Images that are larger
+	 * than the maximum size are not cached at all.
+	 *
+	 * @param key   The key of the image.
+	 * @param image The image.
+	 */
+	public synchronized void put(Key key, BufferedImage image) {
+		if (image == null) {
+			return;
+		}
+
+		final Entry entry = new Entry(image, this.softReferences);
+		final Entry previous = this.entries.put(key, entry);
+		if (previous != null) {
+			this.size -= previous.size;
+		}
+
+		this.size += entry.size;
+		this.evict();
+	}
+
+	/**
+	 * Removes the image with the specified key from the cache.
+	 *
+	 * @param key The key of the image.
+	 */
+	public synchronized void remove(Key key) {
+		final Entry entry = this.entries.get(key);
+		if (entry != null) {
+			this.remove(key, entry);
+		}
+	}
+
+	/**
+	 * Removes all images from the cache. The hit, miss and eviction counters are
+	 * not reset.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.size = 0;
+	}
+
+	public synchronized int count() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the approximate number of bytes that are occupied by the pixels of the
+	 * cached images.
+	 *
+	 * @return The size of the cached images in bytes.
+	 */
+	public synchronized long getSize() {
+		return this.size;
+	}
+
+	public synchronized long getMaxSize() {
+		return this.maxSize;
+	}
+
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	public synchronized long getEvictions() {
+		return this.evictions;
+	}
+
+	public synchronized boolean isUsingSoftReferences() {
+		return this.softReferences;
+	}
+
+	/**
+	 * Sets the maximum number of bytes that the pixels of the cached images may
+	 * occupy. Images are evicted right away if the cache exceeds the new maximum.
+	 *
+	 * @param maxSize The maximum size of the cache in bytes.
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+		this.evict();
+	}
+
+	/**
+	 * Specifies whether images that are added to this cache from now on are held
+	 * by soft references, which allows the garbage collector to reclaim them
+	 * before the cache is full.
+	 *
+	 * @param softReferences True if the images should be held by soft references.
+	 */
+	public synchronized void setUseSoftReferences(boolean softReferences) {
+		this.softReferences = softReferences;
+	}
+
+	static long getSize(BufferedImage image) {
+		return (long) image.getWidth() * image.getHeight() * Math.max(1, image.getColorModel().getPixelSize() / Byte.SIZE);
+	}
+
+	private void evict() {
+		final Iterator<Entry> iterator = this.entries.values().iterator();
+		while (this.size > this.maxSize && iterator.hasNext()) {
+			final Entry eldest = iterator.next();
+			iterator.remove();
+			this.size -= eldest.size;
+			this.evictions++;
+		}
+	}
+
+	private void remove(Key key, Entry entry) {
+		this.entries.remove(key);
+		this.size -= entry.size;
+	}
+
+	private static final class Entry {
+		private final long size;
+		private final BufferedImage image;
+		private final SoftReference<BufferedImage> reference;
+
+		private Entry(BufferedImage image, boolean soft) {
+			this.size = getSize(image);
+			this.image = soft ? null : image;
+			this.reference = soft ? new SoftReference<>(image) : null;
+		}
+
+		private BufferedImage get() {
+			return this.reference != null ? this.reference.get() : this.image;
+		}
+	}
+
+	/**
+	 * Identifies a derived image by the object that it was derived from, the kind
+	 * of derivation and a few integer parameters, like an index, a size or a set
+	 * of flags. The source is compared by identity, unless it overrides
+	 * {@code equals}.
+	 */
+	public static final class Key {
+		private final Object source;
+		private final Object variant;
+		private final int index;
+		private final int width;
+		private final int height;
+		private final int flags;
+		private final int hashCode;
+
+		/**
+		 * Creates a new key.
+		 *
+		 * @param source  The object that the image is derived from, e.g. a
+		 *                {@code Spritesheet} or an {@code Image}.
+		 * @param variant The kind of derivation, e.g. an enum constant that
+		 *                identifies the operation that was applied to the source.
+		 * @param index   An index, e.g. the index of a sprite.
+		 * @param width   The width of the derived image.
+		 * @param height  The height of the derived image.
+		 * @param flags   Any additional parameters of the derivation.
+		 */
+		public Key(Object source, Object variant, int index, int width, int height, int flags) {
+			this.source = source;
+			this.variant = variant;
+			this.index = index;
+			this.width = width;
+			this.height = height;
+			this.flags = flags;
+
+			int hash = Objects.hashCode(source);
+			hash = 31 * hash + Objects.hashCode(variant);
+			hash = 31 * hash + index;
+			hash = 31 * hash + width;
+			hash = 31 * hash + height;
+			this.hashCode = 31 * hash + flags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) obj;
+			return this.hashCode == other.hashCode && this.index == other.index && this.width == other.width && this.height == other.height
+					&& this.flags == other.flags && Objects.equals(this.source, other.source) && Objects.equals(this.variant, other.variant);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return this.source + "_" + this.variant + "_" + this.index + "_" + this.width + "x" + this.height + "_" + this.flags;
+		}
+	}
+}
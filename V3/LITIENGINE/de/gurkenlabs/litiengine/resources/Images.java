@@ -10,9 +10,34 @@ import de.gurkenlabs.litiengine.entities.Rotation;
 import de.gurkenlabs.litiengine.util.Imaging;
 
 public final class Images extends ResourcesContainer<BufferedImage> {
+	private final ImageCache cache = new ImageCache();
+
 	Images() {
 	}
 
+	/**
+	 * Gets the bounded cache for images that are derived from other resources at
+	 * runtime, e.g. scaled sprites or the hover states of GUI components.
+	 * <p>
+	 * Derived images should be put into this cache rather than being added to this
+	 * container, which only grows.
+	 * </p>
+	 * 
+	 * @return The cache for derived images.
+	 */
+	public ImageCache cache() {
+		return this.cache;
+	}
+
+	/**
+	 * Clears this container and the cache for derived images.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		this.cache.clear();
+	}
+
 	/**
 	 * Loads all images from the specified texture atlas.
 	 * 
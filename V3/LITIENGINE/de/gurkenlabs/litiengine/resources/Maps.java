@@ -5,6 +5,8 @@ import java.net.URL;
 import javax.xml.bind.JAXBException;
 
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.BakedMapFormat;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.BakedMapReader;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
@@ -17,11 +19,16 @@ public final class Maps extends ResourcesContainer<IMap> {
 
 	public static boolean isSupported(String fileName) {
 		String extension = FileUtilities.getExtension(fileName);
-		return extension != null && !extension.isEmpty() && extension.equalsIgnoreCase(TmxMap.FILE_EXTENSION);
+		return extension != null && !extension.isEmpty() && (extension.equalsIgnoreCase(TmxMap.FILE_EXTENSION)
+				|| extension.equalsIgnoreCase(BakedMapFormat.FILE_EXTENSION));
 	}
 
 	@Override
 	protected IMap load(URL resourceName) throws TmxException {
+		if (BakedMapFormat.FILE_EXTENSION.equalsIgnoreCase(FileUtilities.getExtension(resourceName.getPath()))) {
+			return BakedMapReader.read(resourceName);
+		}
+
 		TmxMap map;
 		try {
 			map = XmlUtilities.readFromFile(TmxMap.class, resourceName);
@@ -31,6 +31,7 @@ import javax.xml.bind.annotation.XmlTransient;
 import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxException;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
 import de.gurkenlabs.litiengine.util.io.XmlUtilities;
@@ -95,12 +96,7 @@ public class ResourceBundle implements Serializable {
 			}
 
 			for (TmxMap map : gameFile.getMaps()) {
-				for (final ITileset tileset : map.getTilesets()) {
-					if (tileset instanceof Tileset) {
-						((Tileset) tileset).load(gameFile.getTilesets());
-					}
-				}
-				map.finish(file);
+				gameFile.finish(map, file);
 			}
 
 			return gameFile;
@@ -193,6 +189,41 @@ public class ResourceBundle implements Serializable {
 		return newFile.toString();
 	}
 
+	/**
+	 * Resolves the tilesets of the specified map against the tilesets of this
+	 * bundle and finishes the map. The tilesets of this bundle must be finished
+	 * before.
+	 * 
+	 * @param map      A map of this bundle.
+	 * @param location The location of this bundle.
+	 * @throws TmxException If the map can't be finished.
+	 */
+	void finish(TmxMap map, URL location) throws TmxException {
+		for (final ITileset tileset : map.getTilesets()) {
+			if (tileset instanceof Tileset) {
+				((Tileset) tileset).load(this.getTilesets());
+			}
+		}
+
+		map.finish(location);
+	}
+
+	/**
+	 * Reads the specified game resource file without finishing its contents.
+	 * 
+	 * @param file The URL to the game resource file.
+	 * @return The read bundle or null if the file couldn't be read.
+	 */
+	static ResourceBundle getGameFile(final URL file) {
+		try {
+			return getGameFileFromFile(file);
+		} catch (final JAXBException | IOException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		}
+
+		return null;
+	}
+
 	private static ResourceBundle getGameFileFromFile(URL file) throws JAXBException, IOException {
 		final JAXBContext jaxbContext = XmlUtilities.getContext(ResourceBundle.class);
 		final Unmarshaller um = jaxbContext.createUnmarshaller();
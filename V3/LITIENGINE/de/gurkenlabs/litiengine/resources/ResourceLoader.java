@@ -0,0 +1,327 @@
+package de.gurkenlabs.litiengine.resources;
+
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+import de.gurkenlabs.litiengine.util.io.Codec;
+
+/**
+ * Loads the contents of a game resource file in parallel on the asynchronous
+ * resource pool.
+ * <p>
+ * After the file has been read, every resource is loaded by its own task. The
+ * tasks are submitted in the order in which the resources are usually needed:
+ * The images of the spritesheets are decoded first, followed by the tilesets,
+ * the maps and finally the sounds. Tasks that depend on other resources wait for
+ * them: A map is only finished after all tilesets of the file have been
+ * finished and a spritesheet is only created after its image has been decoded.
+ * </p>
+ * <p>
+ * The progress of the loading can be observed with a
+ * {@link ResourceLoadingListener}, and the loading can be cancelled, in which
+ * case all resources that have already been loaded remain in their containers.
+ * </p>
+ *
+ * @see Resources#loadAsync(URL)
+ */
+public final class ResourceLoader {
+	private static final Logger log = Logger.getLogger(ResourceLoader.class.getName());
+
+	private final URL location;
+	private final ExecutorService pool;
+	private final List<ResourceLoadingListener> listeners = new CopyOnWriteArrayList<>();
+	private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+	private final AtomicInteger loaded = new AtomicInteger();
+	private final AtomicInteger loadedMaps = new AtomicInteger();
+	private final AtomicInteger loadedTilesets = new AtomicInteger();
+	private final AtomicInteger loadedSpritesheets = new AtomicInteger();
+	private final AtomicInteger loadedSprites = new AtomicInteger();
+	private final AtomicInteger loadedSounds = new AtomicInteger();
+
+	private volatile int total;
+	private volatile boolean cancelled;
+	private long loadStart;
+
+	ResourceLoader(URL location, ExecutorService pool) {
+		this.location = location;
+		this.pool = pool;
+	}
+
+	/**
+	 * Adds the specified listener to observe the progress of this loader.
+	 *
+	 * @param listener The listener to add.
+	 */
+	public void addListener(ResourceLoadingListener listener) {
+		this.listeners.add(listener);
+	}
+
+	public void removeListener(ResourceLoadingListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	/**
+	 * Cancels the loading. Resources that are currently being loaded are finished,
+	 * but no further resources are loaded.
+	 *
+	 * @return True if the loading was cancelled; false if it was already done.
+	 */
+	public boolean cancel() {
+		if (this.completion.isDone()) {
+			return false;
+		}
+
+		this.cancelled = true;
+		return true;
+	}
+
+	public URL getLocation() {
+		return this.location;
+	}
+
+	/**
+	 * Gets the number of resources that have been loaded so far, including the
+	 * resources that failed to load.
+	 *
+	 * @return The number of loaded resources.
+	 */
+	public int getLoadedCount() {
+		return this.loaded.get();
+	}
+
+	/**
+	 * Gets the total number of resources that are loaded by this loader. This is 0
+	 * until the resource file has been read.
+	 *
+	 * @return The total number of resources.
+	 */
+	public int getTotalCount() {
+		return this.total;
+	}
+
+	/**
+	 * Gets the progress of this loader.
+	 *
+	 * @return The progress between 0 and 1.
+	 */
+	public float getProgress() {
+		if (this.isDone()) {
+			return 1;
+		}
+
+		final int totalCount = this.getTotalCount();
+		return totalCount == 0 ? 0 : Math.min(1, this.getLoadedCount() / (float) totalCount);
+	}
+
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	public boolean isDone() {
+		return this.completion.isDone();
+	}
+
+	/**
+	 * Waits until all resources have been loaded or the loading was cancelled.
+	 * Errors that occurred while loading have already been logged and are not
+	 * rethrown.
+	 */
+	public void join() {
+		try {
+			this.completion.join();
+		} catch (CancellationException | CompletionException e) {
+			// the resources that were loaded before remain available
+		}
+	}
+
+	void start() {
+		this.loadStart = System.nanoTime();
+		CompletableFuture.supplyAsync(this::readBundle, this.pool).thenCompose(this::loadBundle)
+				.whenComplete((result, error) -> this.finish(error));
+	}
+
+	private ResourceBundle readBundle() {
+		this.checkCancelled();
+		return ResourceBundle.getGameFile(this.location);
+	}
+
+	private CompletableFuture<Void> loadBundle(ResourceBundle bundle) {
+		if (bundle == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		this.total = bundle.getSpriteSheets().size() + bundle.getTilesets().size() + bundle.getMaps().size()
+				+ bundle.getSounds().size();
+		final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+		for (final SpritesheetResource info : bundle.getSpriteSheets()) {
+			tasks.add(this.supply(() -> this.decodeImage(info))
+					.thenAcceptAsync(image -> this.loadSpritesheet(info, image), this.pool));
+		}
+
+		final List<CompletableFuture<Void>> tilesetTasks = new ArrayList<>();
+		for (final Tileset tileset : bundle.getTilesets()) {
+			tilesetTasks.add(this.run(() -> this.loadTileset(tileset)));
+		}
+
+		final CompletableFuture<Void> tilesetsLoaded = CompletableFuture
+				.allOf(tilesetTasks.toArray(new CompletableFuture<?>[0]));
+		tasks.add(tilesetsLoaded);
+		for (final TmxMap map : bundle.getMaps()) {
+			tasks.add(tilesetsLoaded.thenRunAsync(() -> this.loadMap(bundle, map), this.pool));
+		}
+
+		for (final SoundResource sound : bundle.getSounds()) {
+			tasks.add(this.run(() -> this.loadSound(sound)));
+		}
+
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+	}
+
+	private BufferedImage decodeImage(SpritesheetResource info) {
+		if (info.getImage() == null || info.getImage().isEmpty()) {
+			log.log(Level.SEVERE, "Sprite {0} could not be loaded because no image is defined.",
+					new Object[] { info.getName() });
+			return null;
+		}
+
+		return Codec.decodeImage(info.getImage());
+	}
+
+	private void loadSpritesheet(SpritesheetResource info, BufferedImage image) {
+		this.checkCancelled();
+		try {
+			if (image == null) {
+				return;
+			}
+
+			final Spritesheet spritesheet = Resources.spritesheets().load(info, image);
+			this.loadedSpritesheets.incrementAndGet();
+
+			// cut the sprites while loading rather than when they're first rendered
+			for (int i = 0; i < spritesheet.getTotalNumberOfSprites(); i++) {
+				if (spritesheet.getSprite(i) != null) {
+					this.loadedSprites.incrementAndGet();
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		} finally {
+			this.progressed();
+		}
+	}
+
+	private void loadTileset(Tileset tileset) {
+		try {
+			tileset.finish(this.location);
+			if (!Resources.tilesets().contains(tileset.getName())) {
+				Resources.tilesets().add(tileset.getName(), tileset);
+				this.loadedTilesets.incrementAndGet();
+			}
+		} catch (final Exception e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		} finally {
+			this.progressed();
+		}
+	}
+
+	private void loadMap(ResourceBundle bundle, TmxMap map) {
+		this.checkCancelled();
+		try {
+			bundle.finish(map, this.location);
+			Resources.maps().add(map.getName(), map);
+			this.loadedMaps.incrementAndGet();
+		} catch (final Exception e) {
+			log.log(Level.SEVERE, e.getMessage(), e);
+		} finally {
+			this.progressed();
+		}
+	}
+
+	private void loadSound(SoundResource sound) {
+		try {
+			if (Resources.sounds().load(sound) != null) {
+				this.loadedSounds.incrementAndGet();
+			}
+		} finally {
+			this.progressed();
+		}
+	}
+
+	private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(() -> {
+			this.checkCancelled();
+			return supplier.get();
+		}, this.pool);
+	}
+
+	private CompletableFuture<Void> run(Runnable runnable) {
+		return CompletableFuture.runAsync(() -> {
+			this.checkCancelled();
+			runnable.run();
+		}, this.pool);
+	}
+
+	private void checkCancelled() {
+		if (this.cancelled) {
+			throw new CancellationException();
+		}
+	}
+
+	private void progressed() {
+		final int loadedCount = this.loaded.incrementAndGet();
+		for (ResourceLoadingListener listener : this.listeners) {
+			listener.progressed(loadedCount, this.total);
+		}
+	}
+
+	private void finish(Throwable error) {
+		final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+				: error;
+		if (cause instanceof CancellationException) {
+			log.log(Level.INFO, "loading game resources from {0} was cancelled", new Object[] { this.location });
+		} else if (cause != null) {
+			log.log(Level.SEVERE, cause.getMessage(), cause);
+		} else {
+			log.log(Level.INFO, "{0} maps loaded from {1}", new Object[] { this.loadedMaps.get(), this.location });
+			log.log(Level.INFO, "{0} tilesets loaded from {1}",
+					new Object[] { this.loadedTilesets.get(), this.location });
+			log.log(Level.INFO, "{0} spritesheets loaded from {1}",
+					new Object[] { this.loadedSpritesheets.get(), this.location });
+			log.log(Level.INFO, "{0} sounds loaded from {1}", new Object[] { this.loadedSounds.get(), this.location });
+			log.log(Level.INFO, "{0} sprites loaded to memory", new Object[] { this.loadedSprites.get() });
+
+			final double loadTime = TimeUtilities.nanoToMs(System.nanoTime() - this.loadStart);
+			log.log(Level.INFO, "loading game resources from {0} took {1} ms",
+					new Object[] { this.location, loadTime });
+		}
+
+		for (ResourceLoadingListener listener : this.listeners) {
+			listener.finished(this);
+		}
+
+		if (cause instanceof CancellationException) {
+			this.completion.cancel(false);
+		} else if (cause != null) {
+			this.completion.completeExceptionally(cause);
+		} else {
+			this.completion.complete(null);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package de.gurkenlabs.litiengine.resources;
+
+/**
+ * This listener provides callbacks to observe the progress of a
+ * <code>ResourceLoader</code>, e.g. to display it on a loading screen.
+ * <p>
+ * Note that the callbacks are invoked on the threads that load the resources,
+ * so any UI updates must be synchronized accordingly.
+ * </p>
+ *
+ * @see ResourceLoader
+ * @see Resources#loadAsync(java.net.URL, ResourceLoadingListener)
+ */
+@FunctionalInterface
+public interface ResourceLoadingListener {
+
+	/**
+	 * This method gets called after a resource of the bundle was loaded.
+	 *
+	 * @param loaded The number of resources that have been loaded so far.
+	 * @param total  The total number of resources in the bundle.
+	 */
+	public void progressed(int loaded, int total);
+
+	/**
+	 * This method gets called once after all resources of the bundle were loaded
+	 * or the loading was cancelled.
+	 *
+	 * @param loader The loader that finished.
+	 */
+	public default void finished(ResourceLoader loader) {
+	}
+}
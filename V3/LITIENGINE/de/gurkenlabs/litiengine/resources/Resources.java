@@ -8,17 +8,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.sound.Sound;
-import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 /**
  * This class is the engines entry point for accessing any kind of resources. A
@@ -42,7 +36,6 @@ import de.gurkenlabs.litiengine.util.TimeUtilities;
  * @see ResourcesContainer
  */
 public final class Resources {
-	private static final Logger log = Logger.getLogger(Resources.class.getName());
 	private static Fonts fonts = new Fonts();
 	private static Sounds sounds = new Sounds();
 	private static Maps maps = new Maps();
@@ -155,61 +148,47 @@ public final class Resources {
 	 * @param gameResourceFile The URL to the game resource file
 	 */
 	public static void load(final URL gameResourceFile) {
-		final long loadStart = System.nanoTime();
-
-		final ResourceBundle file = ResourceBundle.load(gameResourceFile);
-		if (file == null) {
-			return;
-		}
-
-		file.getMaps().parallelStream().forEach(m -> Resources.maps().add(m.getName(), m));
-
-		log.log(Level.INFO, "{0} maps loaded from {1}", new Object[] { file.getMaps().size(), gameResourceFile });
-
-		int tileCnt = 0;
-		for (final Tileset tileset : file.getTilesets()) {
-			if (Resources.tilesets().contains(tileset.getName())) {
-				continue;
-			}
-
-			Resources.tilesets().add(tileset.getName(), tileset);
-			tileCnt++;
-		}
-
-		log.log(Level.INFO, "{0} tilesets loaded from {1}", new Object[] { tileCnt, gameResourceFile });
-
-		final List<Spritesheet> loadedSprites = Collections.synchronizedList(new ArrayList<>());
-		file.getSpriteSheets().parallelStream().forEach(spriteSheetInfo -> {
-			final Spritesheet sprite = Resources.spritesheets().load(spriteSheetInfo);
-			loadedSprites.add(sprite);
-		});
-
-		log.log(Level.INFO, "{0} spritesheets loaded from {1}",
-				new Object[] { loadedSprites.size(), gameResourceFile });
-
-		final List<Sound> loadedSounds = Collections.synchronizedList(new ArrayList<>());
-		// TODO:Fix the sound loading issues
-		file.getSounds().parallelStream().forEach(soundResource -> {
-			final Sound sound = Resources.sounds().load(soundResource);
-			loadedSounds.add(sound);
-		});
+		loadAsync(gameResourceFile).join();
+	}
 
-		log.log(Level.INFO, "{0} sounds loaded from {1}", new Object[] { loadedSounds.size(), gameResourceFile });
+	/**
+	 * Starts loading <code>Spritesheets</code>, <code>Tilesets</code>,
+	 * <code>Maps</code> and <code>Sounds</code> from a game resource file created
+	 * with the utiLITI editor in the background. The resources are loaded in
+	 * parallel and can be accessed via this API once they're loaded.
+	 * 
+	 * @param gameResourceFile The URL to the game resource file
+	 * @return The loader that can be used to track the progress of the loading or
+	 *         to cancel it.
+	 * 
+	 * @see ResourceLoader
+	 */
+	public static ResourceLoader loadAsync(final URL gameResourceFile) {
+		return loadAsync(gameResourceFile, null);
+	}
 
-		int spriteload = 0;
-		for (final Spritesheet s : loadedSprites) {
-			for (int i = 0; i < s.getRows() * s.getColumns(); i++) {
-				BufferedImage sprite = s.getSprite(i);
-				if (sprite != null) {
-					spriteload++;
-				}
-			}
+	/**
+	 * Starts loading <code>Spritesheets</code>, <code>Tilesets</code>,
+	 * <code>Maps</code> and <code>Sounds</code> from a game resource file created
+	 * with the utiLITI editor in the background and reports the progress to the
+	 * specified listener.
+	 * 
+	 * @param gameResourceFile The URL to the game resource file
+	 * @param listener         The listener that observes the progress of the
+	 *                         loading; may be null.
+	 * @return The loader that can be used to track the progress of the loading or
+	 *         to cancel it.
+	 * 
+	 * @see ResourceLoader
+	 */
+	public static ResourceLoader loadAsync(final URL gameResourceFile, final ResourceLoadingListener listener) {
+		final ResourceLoader loader = new ResourceLoader(gameResourceFile, ResourcesContainer.getAsyncPool());
+		if (listener != null) {
+			loader.addListener(listener);
 		}
 
-		log.log(Level.INFO, "{0} sprites loaded to memory", new Object[] { spriteload });
-		final double loadTime = TimeUtilities.nanoToMs(System.nanoTime() - loadStart);
-
-		log.log(Level.INFO, "loading game resources from {0} took {1} ms", new Object[] { gameResourceFile, loadTime });
+		loader.start();
+		return loader;
 	}
 
 	/**
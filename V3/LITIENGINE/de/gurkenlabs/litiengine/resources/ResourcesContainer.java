@@ -371,6 +371,10 @@ public abstract class ResourcesContainer<T> {
 		return null;
 	}
 
+	static ExecutorService getAsyncPool() {
+		return ASYNC_POOL;
+	}
+
 	protected Map<URL, T> getResources() {
 		return this.resources;
 	}
@@ -32,7 +32,7 @@ public class SoundResource extends NamedResource {
 
 	public SoundResource(InputStream data, String name, SoundFormat format)
 			throws IOException, UnsupportedAudioFileException {
-		this(new Sound(data, name), format);
+		this(new Sound(data, name, true), format);
 	}
 
 	@XmlTransient
@@ -4,6 +4,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,12 +18,111 @@ import de.gurkenlabs.litiengine.sound.Sound;
 import de.gurkenlabs.litiengine.util.io.Codec;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 
+/**
+ * The resource container for <code>Sound</code> instances.
+ * <p>
+ * Sounds that were loaded from a location on demand are kept in a
+ * least-recently-used cache that is limited by the memory budget of their
+ * decoded data. If the budget is exceeded, the least recently used of these
+ * sounds are removed from this container and will be loaded again when they are
+ * requested the next time. Playbacks that are still running are not affected by
+ * this. Sounds that were added manually or loaded from a resource bundle can't
+ * be reloaded and are therefore never evicted.
+ * </p>
+ */
 public final class Sounds extends ResourcesContainer<Sound> {
 	private static final Logger log = Logger.getLogger(Sounds.class.getName());
+	public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+	private final Map<URL, Sound> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+	private final Collection<URL> reloadable = ConcurrentHashMap.newKeySet();
+	private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+	private long memoryUsage;
 
 	Sounds() {
 	}
 
+	/**
+	 * Gets the maximum amount of memory in bytes that decoded sounds, which can be
+	 * reloaded on demand, may occupy before they get evicted from this container.
+	 * 
+	 * @return The memory budget for reloadable sounds in bytes.
+	 */
+	public long getMemoryBudget() {
+		return this.memoryBudget;
+	}
+
+	/**
+	 * Sets the maximum amount of memory in bytes that decoded sounds, which can be
+	 * reloaded on demand, may occupy before they get evicted from this container.
+	 * 
+	 * @param memoryBudget The memory budget for reloadable sounds in bytes.
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		if (memoryBudget < 0) {
+			throw new IllegalArgumentException("negative memory budget");
+		}
+
+		synchronized (this.recentlyUsed) {
+			this.memoryBudget = memoryBudget;
+		}
+
+		this.evict(null);
+	}
+
+	/**
+	 * Gets the amount of memory in bytes that is currently occupied by the decoded
+	 * data of all sounds in this container.
+	 * 
+	 * @return The memory usage of this container in bytes.
+	 */
+	public long getMemoryUsage() {
+		synchronized (this.recentlyUsed) {
+			return this.memoryUsage;
+		}
+	}
+
+	@Override
+	public void add(URL resourceName, Sound resource) {
+		super.add(resourceName, resource);
+		this.touch(resourceName, resource);
+	}
+
+	@Override
+	public Sound get(URL resourceName, boolean forceLoad) {
+		Sound sound = super.get(resourceName, forceLoad);
+		if (sound != null) {
+			this.touch(resourceName, sound);
+		}
+
+		return sound;
+	}
+
+	@Override
+	public Sound remove(URL resourceName) {
+		Sound removed = super.remove(resourceName);
+		synchronized (this.recentlyUsed) {
+			Sound tracked = this.recentlyUsed.remove(resourceName);
+			if (tracked != null) {
+				this.memoryUsage -= tracked.getStreamDataSize();
+			}
+		}
+
+		this.reloadable.remove(resourceName);
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		synchronized (this.recentlyUsed) {
+			this.recentlyUsed.clear();
+			this.memoryUsage = 0;
+		}
+
+		this.reloadable.clear();
+	}
+
 	/**
 	 * Loads the sound from the specified path and returns it.
 	 * 
@@ -33,7 +137,10 @@ public final class Sounds extends ResourcesContainer<Sound> {
 				log.log(Level.SEVERE, "The audio file {0} could not be loaded.", new Object[] { resourceName });
 				return null;
 			}
-			return new Sound(is, FileUtilities.getFileName(resourceName));
+
+			Sound sound = new Sound(is, FileUtilities.getFileName(resourceName));
+			this.reloadable.add(resourceName);
+			return sound;
 		}
 	}
 
@@ -51,4 +158,47 @@ public final class Sounds extends ResourcesContainer<Sound> {
 
 		return null;
 	}
+
+	private void touch(URL resourceName, Sound sound) {
+		synchronized (this.recentlyUsed) {
+			Sound previous = this.recentlyUsed.put(resourceName, sound);
+			if (previous == sound) {
+				return;
+			}
+
+			this.memoryUsage += sound.getStreamDataSize();
+			if (previous != null) {
+				this.memoryUsage -= previous.getStreamDataSize();
+			}
+		}
+
+		this.evict(resourceName);
+	}
+
+	private void evict(URL keep) {
+		while (true) {
+			URL eldest = null;
+			synchronized (this.recentlyUsed) {
+				if (this.memoryUsage <= this.memoryBudget) {
+					return;
+				}
+
+				// iteration order of the access-ordered map is least recently used first
+				Iterator<URL> iter = this.recentlyUsed.keySet().iterator();
+				while (iter.hasNext()) {
+					URL candidate = iter.next();
+					if (!candidate.equals(keep) && this.reloadable.contains(candidate)) {
+						eldest = candidate;
+						break;
+					}
+				}
+			}
+
+			if (eldest == null) {
+				return;
+			}
+
+			this.remove(eldest);
+		}
+	}
 }
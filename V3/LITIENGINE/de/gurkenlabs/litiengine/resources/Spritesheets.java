@@ -112,15 +112,25 @@ public final class Spritesheets {
 	}
 
 	public Spritesheet load(final SpritesheetResource info) {
-		Spritesheet sprite = null;
 		if (info.getImage() == null || info.getImage().isEmpty()) {
 			log.log(Level.SEVERE, "Sprite {0} could not be loaded because no image is defined.",
 					new Object[] { info.getName() });
 			return null;
-		} else {
-			sprite = load(Codec.decodeImage(info.getImage()), info.getName(), info.getWidth(), info.getHeight());
 		}
 
+		return this.load(info, Codec.decodeImage(info.getImage()));
+	}
+
+	/**
+	 * Loads the spritesheet that is described by the specified resource from the
+	 * already decoded image of the resource.
+	 * 
+	 * @param info  The spritesheet resource.
+	 * @param image The decoded image of the resource.
+	 * @return The loaded spritesheet.
+	 */
+	Spritesheet load(final SpritesheetResource info, final BufferedImage image) {
+		final Spritesheet sprite = load(image, info.getName(), info.getWidth(), info.getHeight());
 		if (info.getKeyframes() != null && info.getKeyframes().length > 0) {
 			customKeyFrameDurations.put(sprite.getName(), info.getKeyframes());
 		}
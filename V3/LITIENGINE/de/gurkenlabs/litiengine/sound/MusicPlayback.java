@@ -17,6 +17,14 @@ public class MusicPlayback extends SoundPlayback {
 
 	@Override
 	public void run() {
+		if (this.track instanceof StreamedTrack) {
+			// streamed tracks loop until they get cancelled or fail
+			if (!this.play((StreamedTrack) this.track)) {
+				this.finish();
+			}
+			return;
+		}
+
 		for (Sound sound : this.track) {
 			if (this.play(sound)) {
 				return;
@@ -1,54 +1,103 @@
 package de.gurkenlabs.litiengine.sound;
 
 import java.awt.geom.Point2D;
+import java.nio.ByteBuffer;
 import java.util.function.Supplier;
 
 import javax.sound.sampled.FloatControl;
 import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
 
 import de.gurkenlabs.litiengine.Game;
 
 public class SFXPlayback extends SoundPlayback {
 	private Sound sound;
-	private FloatControl panControl;
+	private ByteBuffer data;
+	private volatile FloatControl panControl;
+	private volatile float pan;
 	private Supplier<Point2D> source;
 	private VolumeControl distance;
 	private boolean loop;
+	private float loudness;
 
 	SFXPlayback(Sound sound, Supplier<Point2D> source, boolean loop) throws LineUnavailableException {
 		super(sound.getFormat());
 		this.loop = loop;
 		this.sound = sound;
-		this.panControl = this.line.isControlSupported(FloatControl.Type.PAN)
-				? (FloatControl) this.line.getControl(FloatControl.Type.PAN)
-				: null;
+		this.data = sound.getStreamBuffer();
+		this.panControl = getPanControl(this.line);
 		this.source = source;
 		this.distance = this.createVolumeControl();
 	}
 
 	@Override
 	public void run() {
+		// the task returns while the playback is virtual and continues with the same
+		// data once it's audible again
 		do {
-			if (this.play(this.sound)) {
+			if (this.play(this.data)) {
 				return;
 			}
+			this.data = this.sound.getStreamBuffer();
 		} while (this.loop);
 		this.finish();
 	}
 
+	/**
+	 * Gets the volume at which this playback is heard at the listener location, as
+	 * determined by the last update of the {@code SoundEngine}.
+	 * 
+	 * @return The volume at the listener location; 0 if this playback is out of
+	 *         audible range.
+	 */
+	public float getLoudness() {
+		return this.loudness;
+	}
+
 	void updateLocation(Point2D listenerLocation) {
+		final float soundVolume = Game.config().sound().getSoundVolume();
 		Point2D location = source.get();
-		if (location != null) {
-			double dx = location.getX() - listenerLocation.getX();
-			double dy = location.getY() - listenerLocation.getY();
-			double dist = Math.sqrt(dx * dx + dy * dy);
-			if (this.panControl != null) {
-				this.panControl.setValue(dist > 0 ? (float) (dx / dist) : 0f);
-			}
-			this.distance.set(Game.config().sound().getSoundVolume()
-					* (float) Math.max(1.0 - dist / Game.audio().getMaxDistance(), 0.0));
-		} else {
-			this.distance.set(Game.config().sound().getSoundVolume());
+		if (location == null) {
+			this.loudness = soundVolume * this.getVolume();
+			this.distance.set(soundVolume);
+			return;
+		}
+
+		double dx = location.getX() - listenerLocation.getX();
+		double dy = location.getY() - listenerLocation.getY();
+		double distSq = dx * dx + dy * dy;
+		double maxDist = Game.audio().getMaxDistance();
+		if (distSq >= maxDist * maxDist) {
+			// out of audible range: skip the line controls since the playback will be
+			// virtualized anyway
+			this.loudness = 0f;
+			return;
+		}
+
+		double dist = Math.sqrt(distSq);
+		this.pan = dist > 0 ? (float) (dx / dist) : 0f;
+		final FloatControl control = this.panControl;
+		if (control != null) {
+			control.setValue(this.pan);
 		}
+
+		float attenuation = soundVolume * (float) (1.0 - dist / maxDist);
+		this.loudness = attenuation * this.getVolume();
+		this.distance.set(attenuation);
+	}
+
+	@Override
+	protected void lineReacquired() {
+		final FloatControl control = getPanControl(this.line);
+		if (control != null) {
+			control.setValue(this.pan);
+		}
+		this.panControl = control;
+	}
+
+	private static FloatControl getPanControl(SourceDataLine line) {
+		return line.isControlSupported(FloatControl.Type.PAN)
+				? (FloatControl) line.getControl(FloatControl.Type.PAN)
+				: null;
 	}
 }
@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine.sound;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
@@ -20,8 +21,6 @@ public final class Sound {
 
 	private final String name;
 
-	private AudioInputStream stream;
-
 	private byte[] streamData;
 
 	private byte[] data;
@@ -29,7 +28,7 @@ public final class Sound {
 	/**
 	 * Creates a new Sound instance by the specified file path. Loads the sound data
 	 * into a byte array and also retrieves information about the format of the
-	 * sound file.
+	 * sound file. The raw (encoded) data of the file is discarded after decoding.
 	 * 
 	 * Note that the constructor is private. In order to load files use the static
 	 * <code>Resources.sounds().get(String)</code> method.
@@ -39,22 +38,39 @@ public final class Sound {
 	 * @throws IOException                   If something went wrong loading the
 	 *                                       file
 	 * @throws UnsupportedAudioFileException If the audio format is not supported
+	 * 
+	 * @see #Sound(InputStream, String, boolean)
 	 */
 	public Sound(InputStream is, String name) throws IOException, UnsupportedAudioFileException {
-		this.name = name;
+		this(is, name, false);
+	}
 
-		this.data = StreamUtilities.getBytes(is);
+	/**
+	 * Creates a new Sound instance by the specified file path. Loads the sound data
+	 * into a byte array and also retrieves information about the format of the
+	 * sound file.
+	 * 
+	 * @param is          The input stream to load the sound from.
+	 * @param name        The name of this sound file.
+	 * @param keepRawData Whether the raw (encoded) data of the file should be kept
+	 *                    in memory after decoding. This is only required if the
+	 *                    sound needs to be serialized again (e.g. by a
+	 *                    {@code SoundResource}).
+	 * @throws IOException                   If something went wrong loading the
+	 *                                       file
+	 * @throws UnsupportedAudioFileException If the audio format is not supported
+	 */
+	public Sound(InputStream is, String name, boolean keepRawData) throws IOException, UnsupportedAudioFileException {
+		this.name = name;
 
-		AudioInputStream in = AudioSystem.getAudioInputStream(is);
-		if (in != null) {
-			final AudioFormat baseFormat = in.getFormat();
-			final AudioFormat decodedFormat = getOutFormat(baseFormat);
-			// Get AudioInputStream that will be decoded by underlying VorbisSPI
-			in = AudioSystem.getAudioInputStream(decodedFormat, in);
-			this.stream = in;
-			this.streamData = StreamUtilities.getBytes(this.stream);
-			this.format = this.stream.getFormat();
+		if (keepRawData) {
+			// the stream gets reset after copying, so it can still be decoded afterwards
+			this.data = StreamUtilities.getBytes(is);
 		}
+
+		AudioInputStream in = getDecodedStream(is);
+		this.streamData = StreamUtilities.getBytes(in);
+		this.format = in.getFormat();
 	}
 
 	public AudioFormat getFormat() {
@@ -65,6 +81,14 @@ public final class Sound {
 		return this.name;
 	}
 
+	/**
+	 * Gets a copy of the decoded PCM data of this sound.
+	 * <p>
+	 * For playback, prefer {@link #getStreamBuffer()} which doesn't copy the data.
+	 * </p>
+	 * 
+	 * @return A copy of the decoded sound data.
+	 */
 	public byte[] getStreamData() {
 		if (this.streamData == null) {
 			return new byte[0];
@@ -73,10 +97,59 @@ public final class Sound {
 		return this.streamData.clone();
 	}
 
+	/**
+	 * Gets a new read-only view on the decoded PCM data of this sound. The data
+	 * itself is shared between all views, but each view has its own position, so
+	 * it can be used as an independent cursor for a single playback.
+	 * 
+	 * @return A read-only buffer positioned at the start of the sound data.
+	 */
+	public ByteBuffer getStreamBuffer() {
+		if (this.streamData == null) {
+			return ByteBuffer.allocate(0).asReadOnlyBuffer();
+		}
+
+		return ByteBuffer.wrap(this.streamData).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Gets the size of the decoded PCM data of this sound in bytes.
+	 * 
+	 * @return The size of the decoded sound data.
+	 */
+	public int getStreamDataSize() {
+		return this.streamData != null ? this.streamData.length : 0;
+	}
+
+	/**
+	 * Gets the raw (encoded) data of the sound file.
+	 * 
+	 * @return The raw data or null if this sound was not created with
+	 *         <code>keepRawData</code>.
+	 * 
+	 * @see #Sound(InputStream, String, boolean)
+	 */
 	public byte[] getRawData() {
 		return this.data;
 	}
 
+	/**
+	 * Gets a stream that decodes the specified (encoded) audio data to signed
+	 * 16-bit PCM on demand.
+	 * 
+	 * @param is The input stream of the encoded audio data.
+	 * @return The decoding audio stream.
+	 * @throws IOException                   If something went wrong reading the
+	 *                                       stream
+	 * @throws UnsupportedAudioFileException If the audio format is not supported
+	 */
+	static AudioInputStream getDecodedStream(InputStream is) throws IOException, UnsupportedAudioFileException {
+		AudioInputStream in = AudioSystem.getAudioInputStream(is);
+		final AudioFormat decodedFormat = getOutFormat(in.getFormat());
+		// Get AudioInputStream that will be decoded by underlying VorbisSPI
+		return AudioSystem.getAudioInputStream(decodedFormat, in);
+	}
+
 	private static AudioFormat getOutFormat(final AudioFormat inFormat) {
 		final int ch = inFormat.getChannels();
 		final float rate = inFormat.getSampleRate();
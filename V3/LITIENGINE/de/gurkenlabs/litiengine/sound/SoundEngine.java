@@ -1,10 +1,13 @@
 package de.gurkenlabs.litiengine.sound;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -35,6 +38,9 @@ import de.gurkenlabs.litiengine.sound.SoundPlayback.VolumeControl;
 public final class SoundEngine implements IUpdateable, ILaunchable {
 	private static final Logger log = Logger.getLogger(SoundEngine.class.getName());
 	public static final int DEFAULT_MAX_DISTANCE = 150;
+	public static final int DEFAULT_MAX_VOICES = 32;
+	private static final Comparator<SFXPlayback> LOUDEST_FIRST = (a, b) -> Float.compare(b.getLoudness(),
+			a.getLoudness());
 	static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
 		private int id = 0;
 
@@ -46,9 +52,11 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 	private Point2D listenerLocation;
 	private Function<Point2D, Point2D> listenerLocationCallback = old -> Game.world().camera().getFocus();
 	private float maxDist = DEFAULT_MAX_DISTANCE;
+	private int maxVoices = DEFAULT_MAX_VOICES;
 	private MusicPlayback music;
 	private final Collection<MusicPlayback> allMusic = ConcurrentHashMap.newKeySet();
 	private final Collection<SFXPlayback> sounds = ConcurrentHashMap.newKeySet();
+	private final List<SFXPlayback> audible = new ArrayList<>();
 
 	/**
 	 * Instantiates a new SoundEngine instance.
@@ -77,6 +85,19 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 		return maxDist;
 	}
 
+	/**
+	 * Gets the maximum number of sounds that are audible at the same time. If more
+	 * sounds are in audible range of the listener, only the loudest ones are
+	 * played and the others are virtualized.
+	 * 
+	 * @return The maximum number of audible sounds.
+	 * 
+	 * @see SoundPlayback#isVirtual()
+	 */
+	public int getMaxVoices() {
+		return maxVoices;
+	}
+
 	public void playMusic(String music) {
 		playMusic(Resources.sounds().get(music));
 	}
@@ -328,6 +349,21 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 		maxDist = radius;
 	}
 
+	/**
+	 * Sets the maximum number of sounds that are audible at the same time. If more
+	 * sounds are in audible range of the listener, only the loudest ones are
+	 * played and the others are virtualized until they are among the loudest
+	 * again.
+	 * 
+	 * @param voices The maximum number of audible sounds.
+	 */
+	public void setMaxVoices(final int voices) {
+		if (voices < 0) {
+			throw new IllegalArgumentException("negative number of voices");
+		}
+		maxVoices = voices;
+	}
+
 	/**
 	 * Stops the playback of the current background music.
 	 */
@@ -379,16 +415,33 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 	public void update() {
 		listenerLocation = listenerLocationCallback.apply(listenerLocation);
 
+		// sounds out of range are virtualized, the remaining ones compete for the
+		// available voices by their loudness at the listener location
+		audible.clear();
 		Iterator<SFXPlayback> iter = sounds.iterator();
 		while (iter.hasNext()) {
 			SFXPlayback s = iter.next();
 			if (s.isPlaying()) {
 				s.updateLocation(listenerLocation);
+				if (s.getLoudness() > 0) {
+					audible.add(s);
+				} else {
+					s.setVirtual(true);
+				}
 			} else {
 				iter.remove();
 			}
 		}
 
+		if (audible.size() > maxVoices) {
+			audible.sort(LOUDEST_FIRST);
+		}
+
+		for (int i = 0; i < audible.size(); i++) {
+			audible.get(i).setVirtual(i >= maxVoices);
+		}
+		audible.clear();
+
 		Iterator<MusicPlayback> iter2 = allMusic.iterator();
 		while (iter.hasNext()) {
 			MusicPlayback s = iter2.next();
@@ -417,6 +470,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
 			return null;
 		}
 		playback.updateLocation(listenerLocation);
+		playback.setVirtual(playback.getLoudness() <= 0);
 		playback.start();
 		sounds.add(playback);
 		return playback;
@@ -1,24 +1,43 @@
 package de.gurkenlabs.litiengine.sound;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.BooleanControl;
 import javax.sound.sampled.FloatControl;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
 
 public abstract class SoundPlayback implements Runnable {
-	protected final SourceDataLine line;
-	private FloatControl gainControl;
-	private BooleanControl muteControl;
+	private static final Logger log = Logger.getLogger(SoundPlayback.class.getName());
+	private final AudioFormat format;
+	protected SourceDataLine line;
+	private final byte[] buffer;
+	private volatile FloatControl gainControl;
+	private volatile BooleanControl muteControl;
 
 	private boolean started = false;
 	private volatile boolean cancelled = false;
+	private volatile boolean finished = false;
+	private volatile boolean paused = false;
+	private volatile boolean virtual = false;
+
+	// the state of a virtual playback whose line has been released: the data that
+	// was played when the task returned, the number of bytes by which the playback
+	// has advanced since then and the time up to which they have been counted
+	private ByteBuffer suspended;
+	private long skipped;
+	private long virtualSince;
 
 	private final Collection<SoundPlaybackListener> listeners = ConcurrentHashMap.newKeySet();
 
@@ -62,12 +81,14 @@ public abstract class SoundPlayback implements Runnable {
 	SoundPlayback(AudioFormat format) throws LineUnavailableException {
 		// acquire resources in the constructor so that they can be used before the task
 		// is started
-		this.line = AudioSystem.getSourceDataLine(format);
-		this.line.open();
-		this.line.start();
-		this.gainControl = (FloatControl) this.line.getControl(FloatControl.Type.MASTER_GAIN);
-		this.muteControl = (BooleanControl) this.line.getControl(BooleanControl.Type.MUTE);
+		this.format = format;
+		this.openLine();
 		this.masterVolume = this.createVolumeControl();
+
+		int frameSize = this.line.getFormat().getFrameSize();
+		// math hacks here: we're getting just over half the buffer size, but it needs
+		// to be an integral number of sample frames
+		this.buffer = new byte[(this.line.getBufferSize() / frameSize / 2 + 1) * frameSize];
 	}
 
 	/**
@@ -87,30 +108,124 @@ public abstract class SoundPlayback implements Runnable {
 	 * Plays a sound to this object's data line.
 	 *
 	 * @param sound The sound to play
-	 * @return Whether the sound was cancelled while playing
+	 * @return Whether the sound was cancelled while playing or the playback became
+	 *         virtual
 	 */
 	protected boolean play(Sound sound) {
-		byte[] data = sound.getStreamData();
-		int len = this.line.getFormat().getFrameSize();
-		// math hacks here: we're getting just over half the buffer size, but it needs
-		// to be an integral number of sample frames
-		len = (this.line.getBufferSize() / len / 2 + 1) * len;
-		for (int i = 0; i < data.length; i += this.line.write(data, i, Math.min(len, data.length - i))) {
-			if (this.cancelled) {
+		return this.play(sound.getStreamBuffer());
+	}
+
+	/**
+	 * Plays the remaining sound data of the specified buffer to this object's data
+	 * line, starting at its current position.
+	 * <p>
+	 * If this playback becomes virtual, its line is released and this method
+	 * returns {@code true} with the position of the buffer at the point that has
+	 * been heard, so the task can return and free its thread. Once the playback
+	 * becomes audible again, the task is submitted anew and is expected to call
+	 * this method with the same buffer, which then continues at the position that
+	 * the playback would have reached by then.
+	 * </p>
+	 *
+	 * @param data The sound data to play
+	 * @return Whether the sound was cancelled while playing or the playback became
+	 *         virtual
+	 */
+	protected boolean play(ByteBuffer data) {
+		// the sound data is shared between all playbacks, so only the chunk that is
+		// currently written to the line gets copied
+		this.skip(data);
+		while (data.hasRemaining()) {
+			if ((this.virtual || this.line == null) && this.suspend(data)) {
 				return true;
 			}
+
+			int len = Math.min(this.buffer.length, data.remaining());
+			data.get(this.buffer, 0, len);
+			for (int i = 0; i < len; i += this.line.write(this.buffer, i, len - i)) {
+				if (this.cancelled) {
+					return true;
+				}
+			}
 		}
 		return this.cancelled;
 	}
 
+	/**
+	 * Plays a streamed track to this object's data line, decoding it while it is
+	 * played. Each chunk is filled across the boundaries of the track's parts, so
+	 * there is no gap between the intro and the loop or between two repetitions of
+	 * the loop.
+	 *
+	 * @param track The track to play
+	 * @return Whether the track was cancelled while playing; false if the playback
+	 *         stopped because the track could not be read
+	 */
+	protected boolean play(StreamedTrack track) {
+		AudioInputStream stream = null;
+		try {
+			stream = track.open(true);
+			// whether the current stream has yielded any data since it was opened
+			boolean progress = false;
+			while (true) {
+				int len = 0;
+				while (len < this.buffer.length) {
+					int read = stream.read(this.buffer, len, this.buffer.length - len);
+					if (read < 0) {
+						if (!progress) {
+							// reopening an empty or undecodable loop would never end
+							throw new IOException("no audio data could be read from " + track);
+						}
+
+						stream.close();
+						stream = track.open(false);
+						progress = false;
+					} else if (read > 0) {
+						len += read;
+						progress = true;
+					}
+
+					if (this.cancelled) {
+						return true;
+					}
+				}
+
+				for (int i = 0; i < len; i += this.line.write(this.buffer, i, len - i)) {
+					if (this.cancelled) {
+						return true;
+					}
+				}
+			}
+		} catch (IOException | UnsupportedAudioFileException e) {
+			log.log(Level.SEVERE, "could not stream " + track, e);
+			return this.cancelled;
+		} finally {
+			if (stream != null) {
+				try {
+					stream.close();
+				} catch (IOException e) {
+					log.log(Level.WARNING, e.getMessage(), e);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Finishes the playback. If this playback was not cancelled in the process, it
 	 * will notify listeners.
 	 */
 	protected void finish() {
-		this.line.drain();
+		final SourceDataLine finishedLine = this.line;
+		if (finishedLine != null) {
+			finishedLine.drain();
+		}
+
 		synchronized (this) {
-			this.line.close();
+			this.finished = true;
+			if (this.line != null) {
+				this.line.close();
+			}
+
 			if (!this.cancelled) {
 				SoundEvent event = new SoundEvent(this, null);
 				for (SoundPlaybackListener listener : this.listeners) {
@@ -155,8 +270,10 @@ public abstract class SoundPlayback implements Runnable {
 	 * Pauses this playback. If this playback is already paused, this call has no
 	 * effect.
 	 */
-	public void pausePlayback() {
-		if (this.line.isOpen()) {
+	public synchronized void pausePlayback() {
+		this.advance();
+		this.paused = true;
+		if (this.line != null && this.line.isOpen()) {
 			this.line.stop();
 		}
 	}
@@ -165,8 +282,10 @@ public abstract class SoundPlayback implements Runnable {
 	 * Resumes this playback. If this playback is already playing, this call has no
 	 * effect.
 	 */
-	public void resumePlayback() {
-		if (this.line.isOpen()) {
+	public synchronized void resumePlayback() {
+		this.advance();
+		this.paused = false;
+		if (this.line != null && this.line.isOpen()) {
 			this.line.start();
 		}
 	}
@@ -177,7 +296,66 @@ public abstract class SoundPlayback implements Runnable {
 	 * @return Whether this playback is paused
 	 */
 	public boolean isPaused() {
-		return !this.line.isActive();
+		return this.paused;
+	}
+
+	/**
+	 * Determines if this playback is virtual, i.e. it only keeps track of its
+	 * position without holding a line or a thread.
+	 * 
+	 * @return Whether this playback is virtual
+	 */
+	public boolean isVirtual() {
+		return this.virtual;
+	}
+
+	/**
+	 * Sets whether this playback is virtual. A virtual playback releases its line
+	 * and its thread and only keeps track of its position in real time, so that it
+	 * can continue in sync once it is made audible again. At that point, a new line
+	 * is acquired; if none is available, the playback stays virtual.
+	 * <p>
+	 * This is supposed to be called with every update of the {@code SoundEngine},
+	 * because that's when the position of a virtual playback is advanced and when
+	 * it's determined whether it has reached the end of its sound.
+	 * </p>
+	 * 
+	 * @param virtual Whether this playback should be virtual
+	 */
+	synchronized void setVirtual(boolean virtual) {
+		if (this.cancelled || this.finished) {
+			return;
+		}
+
+		this.advance();
+		if (virtual) {
+			if (!this.virtual) {
+				// the task releases the line once it has written its current chunk
+				this.virtual = true;
+			} else if (this.suspended != null && this.skipped >= this.suspended.remaining()) {
+				// let the task continue with the next sound or finish the playback
+				this.skipped -= this.suspended.remaining();
+				this.suspended.position(this.suspended.limit());
+				this.suspended = null;
+				SoundEngine.EXECUTOR.submit(this);
+			}
+			return;
+		}
+
+		if (!this.virtual) {
+			return;
+		}
+
+		this.virtual = false;
+		if (this.suspended != null) {
+			if (!this.acquireLine()) {
+				this.virtual = true;
+				return;
+			}
+
+			this.suspended = null;
+			SoundEngine.EXECUTOR.submit(this);
+		}
 	}
 
 	/**
@@ -188,7 +366,7 @@ public abstract class SoundPlayback implements Runnable {
 	 * @return Whether this playback has sound to play
 	 */
 	public boolean isPlaying() {
-		return this.line.isOpen();
+		return !this.finished && !this.cancelled;
 	}
 
 	/**
@@ -199,11 +377,15 @@ public abstract class SoundPlayback implements Runnable {
 		if (!this.started) {
 			throw new IllegalStateException("not started");
 		}
-		if (!this.cancelled && this.line.isOpen()) {
-			this.line.stop();
+		if (!this.cancelled && !this.finished) {
 			this.cancelled = true;
-			this.line.flush();
-			this.line.close();
+			this.suspended = null;
+			if (this.line != null) {
+				this.line.stop();
+				this.line.flush();
+				this.line.close();
+			}
+
 			SoundEvent event = new SoundEvent(this, null);
 			for (SoundPlaybackListener listener : this.listeners) {
 				listener.cancelled(event);
@@ -218,10 +400,16 @@ public abstract class SoundPlayback implements Runnable {
 	 * @return The volume
 	 */
 	public float getMasterVolume() {
-		if (this.muteControl.getValue()) {
+		final FloatControl gain = this.gainControl;
+		final BooleanControl mute = this.muteControl;
+		if (gain == null || mute == null) {
+			return this.computeVolume();
+		}
+
+		if (mute.getValue()) {
 			return 0f;
 		}
-		return (float) Math.pow(10.0, this.gainControl.getValue() / 20.0);
+		return (float) Math.pow(10.0, gain.getValue() / 20.0);
 	}
 
 	/**
@@ -256,20 +444,30 @@ public abstract class SoundPlayback implements Runnable {
 
 	void updateVolume() {
 		synchronized (this.volumeControls) {
-			float volume = this.miscVolume;
-			for (VolumeControl control : this.volumeControls) {
-				volume *= control.get();
+			final FloatControl gain = this.gainControl;
+			final BooleanControl mute = this.muteControl;
+			if (gain == null || mute == null) {
+				// a virtual playback without a line gets its volume once it's audible again
+				return;
 			}
-			float dbGain = (float) (20.0 * Math.log10(volume));
-			if (dbGain < this.gainControl.getMinimum()) {
-				this.muteControl.setValue(true);
+
+			float dbGain = (float) (20.0 * Math.log10(this.computeVolume()));
+			if (dbGain < gain.getMinimum()) {
+				mute.setValue(true);
 			} else {
-				this.gainControl.setValue(dbGain);
-				this.muteControl.setValue(false);
+				gain.setValue(dbGain);
+				mute.setValue(false);
 			}
 		}
 	}
 
+	/**
+	 * Called when this playback has acquired a new line after being virtual, so
+	 * that subclasses can restore the state of their own line controls.
+	 */
+	protected void lineReacquired() {
+	}
+
 	@Override
 	protected void finalize() {
 		// resources will not be released if the start method is never called
@@ -277,4 +475,115 @@ public abstract class SoundPlayback implements Runnable {
 			this.line.close();
 		}
 	}
+
+	private float computeVolume() {
+		synchronized (this.volumeControls) {
+			float volume = this.miscVolume;
+			for (VolumeControl control : this.volumeControls) {
+				volume *= control.get();
+			}
+			return volume;
+		}
+	}
+
+	private void openLine() throws LineUnavailableException {
+		final SourceDataLine newLine = AudioSystem.getSourceDataLine(this.format);
+		newLine.open();
+		if (!this.paused) {
+			newLine.start();
+		}
+
+		this.line = newLine;
+		this.gainControl = (FloatControl) newLine.getControl(FloatControl.Type.MASTER_GAIN);
+		this.muteControl = (BooleanControl) newLine.getControl(BooleanControl.Type.MUTE);
+	}
+
+	private boolean acquireLine() {
+		try {
+			this.openLine();
+		} catch (LineUnavailableException e) {
+			log.log(Level.FINE, "could not reacquire a line, the playback stays virtual", e);
+			return false;
+		}
+
+		this.updateVolume();
+		this.lineReacquired();
+		return true;
+	}
+
+	/**
+	 * Releases the line of a virtual playback and remembers where its task
+	 * returned. The data that is still queued on the line is discarded and the
+	 * position is set back accordingly. If the playback has become audible again
+	 * in the meantime, a line is acquired instead and the playback continues.
+	 *
+	 * @param data The sound data of the current playback
+	 * @return Whether the task should return because it was cancelled or the
+	 *         playback is virtual
+	 */
+	private synchronized boolean suspend(ByteBuffer data) {
+		if (this.cancelled) {
+			return true;
+		}
+
+		if (!this.virtual) {
+			if (this.line != null) {
+				return false;
+			}
+
+			if (this.acquireLine()) {
+				this.skip(data);
+				return false;
+			}
+
+			this.virtual = true;
+		}
+
+		if (this.line != null) {
+			this.skipped -= this.line.getBufferSize() - this.line.available();
+			this.line.stop();
+			this.line.flush();
+			this.line.close();
+			this.line = null;
+			this.gainControl = null;
+			this.muteControl = null;
+			this.virtualSince = System.nanoTime();
+		}
+
+		this.suspended = data;
+		return true;
+	}
+
+	/**
+	 * Moves the position of the specified data by the number of bytes that this
+	 * playback has advanced while it was virtual. Bytes beyond the end of the data
+	 * are kept for the next sound.
+	 *
+	 * @param data The sound data of the current playback
+	 */
+	private synchronized void skip(ByteBuffer data) {
+		if (this.skipped == 0) {
+			return;
+		}
+
+		final long position = Math.max(0, data.position() + this.skipped);
+		this.skipped = Math.max(0, position - data.limit());
+		data.position((int) Math.min(data.limit(), position));
+	}
+
+	/**
+	 * Counts the time that has passed since the last call while this playback had
+	 * no line and wasn't paused.
+	 */
+	private void advance() {
+		final long now = System.nanoTime();
+		if (this.line == null && !this.paused) {
+			// only count whole frames, the rest of the time is counted with the next call
+			final long frames = (long) ((now - this.virtualSince) / 1e9 * this.format.getFrameRate());
+			this.skipped += frames * this.format.getFrameSize();
+			this.virtualSince += (long) (frames * 1e9 / this.format.getFrameRate());
+		} else {
+			this.virtualSince = now;
+		}
+	}
 }
@@ -0,0 +1,192 @@
+package de.gurkenlabs.litiengine.sound;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Objects;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+
+/**
+ * A looped {@code Track} with an optional intro that is decoded on demand while
+ * it is played, instead of being decoded into memory as a whole when it's
+ * loaded. This is the preferred way to play long music tracks, since only a
+ * small buffer of the decoded audio is kept in memory at any time.
+ * <p>
+ * When played by the {@code SoundEngine}, the audio files are streamed from
+ * their location and the transition between the intro and the loop (and each
+ * repetition of the loop) is gapless.
+ * </p>
+ */
+public class StreamedTrack implements Track {
+	private final URL intro;
+	private final URL loop;
+	private AudioFormat format;
+
+	public StreamedTrack(String loop) {
+		this(null, Resources.getLocation(loop));
+	}
+
+	public StreamedTrack(String intro, String loop) {
+		this(Resources.getLocation(intro), Resources.getLocation(loop));
+	}
+
+	public StreamedTrack(URL loop) {
+		this(null, loop);
+	}
+
+	/**
+	 * Creates a new streamed track. The files are not accessed until the track is
+	 * played or its format is requested.
+	 *
+	 * @param intro The location of the intro that is played once, or null if the
+	 *              track has no intro.
+	 * @param loop  The location of the part that is looped.
+	 */
+	public StreamedTrack(URL intro, URL loop) {
+		Objects.requireNonNull(loop);
+		this.intro = intro;
+		this.loop = loop;
+	}
+
+	private class Iter implements Iterator<Sound> {
+		private boolean first = StreamedTrack.this.intro != null;
+		private Sound loopSound;
+
+		@Override
+		public boolean hasNext() {
+			return true;
+		}
+
+		@Override
+		public Sound next() {
+			if (this.first) {
+				this.first = false;
+				return load(StreamedTrack.this.intro);
+			}
+
+			if (this.loopSound == null) {
+				this.loopSound = load(StreamedTrack.this.loop);
+			}
+
+			return this.loopSound;
+		}
+
+		private Sound load(URL location) {
+			try (InputStream is = Resources.get(location)) {
+				if (is == null) {
+					throw new IllegalStateException("could not open " + location);
+				}
+
+				return new Sound(is, FileUtilities.getFileName(location));
+			} catch (IOException | UnsupportedAudioFileException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * Gets an iterator that fully decodes the parts of this track into
+	 * {@code Sound}s. This is only provided for compatibility with other
+	 * {@code Track} consumers; the {@code SoundEngine} streams the track instead.
+	 */
+	@Override
+	public Iterator<Sound> iterator() {
+		return new Iter();
+	}
+
+	@Override
+	public synchronized AudioFormat getFormat() {
+		if (this.format == null) {
+			AudioFormat loopFormat = readFormat(this.loop);
+			if (this.intro != null) {
+				AudioFormat introFormat = readFormat(this.intro);
+				if (!introFormat.matches(loopFormat)) {
+					throw new IllegalArgumentException(introFormat + " does not match " + loopFormat);
+				}
+			}
+
+			this.format = loopFormat;
+		}
+
+		return this.format;
+	}
+
+	public URL getIntro() {
+		return this.intro;
+	}
+
+	public URL getLoop() {
+		return this.loop;
+	}
+
+	/**
+	 * Opens a decoding stream for the next part of this track.
+	 *
+	 * @param first Whether this is the first part of the playback.
+	 * @return The decoding stream of the intro, if this is the first part and the
+	 *         track has an intro; otherwise the decoding stream of the loop.
+	 * @throws IOException                   If the file could not be read
+	 * @throws UnsupportedAudioFileException If the audio format is not supported
+	 */
+	AudioInputStream open(boolean first) throws IOException, UnsupportedAudioFileException {
+		URL location = first && this.intro != null ? this.intro : this.loop;
+		InputStream is = Resources.get(location);
+		if (is == null) {
+			throw new IOException("could not open " + location);
+		}
+
+		try {
+			return Sound.getDecodedStream(is);
+		} catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+			// the decoding stream owns the raw stream only once it has been created
+			try {
+				is.close();
+			} catch (IOException closeException) {
+				e.addSuppressed(closeException);
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean equals(Object anObject) {
+		if (this == anObject) {
+			return true;
+		}
+		if (!(anObject instanceof StreamedTrack)) {
+			return false;
+		}
+		StreamedTrack other = (StreamedTrack) anObject;
+		return Objects.equals(this.intro, other.intro) && this.loop.equals(other.loop);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.loop.hashCode() * 31 + Objects.hashCode(this.intro);
+	}
+
+	@Override
+	public String toString() {
+		return "streamed track: " + this.loop + (this.intro != null ? ", with intro: " + this.intro : "");
+	}
+
+	private static AudioFormat readFormat(URL location) {
+		try (InputStream is = Resources.get(location)) {
+			if (is == null) {
+				throw new IllegalArgumentException("could not open " + location);
+			}
+
+			// only the header is read to determine the format
+			return Sound.getDecodedStream(is).getFormat();
+		} catch (IOException | UnsupportedAudioFileException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+}
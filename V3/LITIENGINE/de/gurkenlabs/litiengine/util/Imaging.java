@@ -8,6 +8,7 @@ import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
@@ -15,10 +16,15 @@ import java.awt.geom.Dimension2D;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DirectColorModel;
 import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageFilter;
 import java.awt.image.ImageProducer;
+import java.awt.image.IndexColorModel;
 import java.awt.image.RGBImageFilter;
+import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.util.function.UnaryOperator;
 
@@ -163,18 +169,96 @@ public final class Imaging {
 	}
 
 	public static boolean isEmpty(final BufferedImage image) {
+		if (!image.getColorModel().hasAlpha()) {
+			return false;
+		}
+
+		final AlphaRow row = new AlphaRow(image, 0, image.getWidth());
 		for (int y = 0; y < image.getHeight(); y++) {
-			for (int x = 0; x < image.getWidth(); x++) {
-				final int pixel = image.getRGB(x, y);
-				if (pixel >> 24 != 0x00) {
-					return false;
-				}
+			row.read(y);
+			if (row.indexOfVisible(0, image.getWidth()) != -1) {
+				return false;
 			}
 		}
 
 		return true;
 	}
 
+	/**
+	 * Gets the bounds of the visible pixels within the specified region of the
+	 * image, i.e. the smallest rectangle that contains all pixels of the region
+	 * that aren't fully transparent.
+	 * <p>
+	 * The pixels are read row by row from the raster of the image without
+	 * converting them to ARGB values, if they are stored as packed integers,
+	 * interleaved bytes or indices of a color palette.
+	 * </p>
+	 * 
+	 * @param image  The image.
+	 * @param x      The x-coordinate of the region.
+	 * @param y      The y-coordinate of the region.
+	 * @param width  The width of the region.
+	 * @param height The height of the region.
+	 * @return The bounds of the visible pixels relative to the region or null if
+	 *         all pixels of the region are transparent.
+	 */
+	public static Rectangle getVisibleBounds(final BufferedImage image, final int x, final int y, final int width,
+			final int height) {
+		if (!image.getColorModel().hasAlpha()) {
+			return new Rectangle(0, 0, width, height);
+		}
+
+		final AlphaRow row = new AlphaRow(image, x, width);
+
+		// find the first and the last row that contain a visible pixel
+		int minY = 0;
+		int minX = -1;
+		int maxX = -1;
+		while (minY < height) {
+			row.read(y + minY);
+			minX = row.indexOfVisible(0, width);
+			if (minX != -1) {
+				maxX = row.lastIndexOfVisible(minX, width);
+				break;
+			}
+
+			minY++;
+		}
+
+		if (minY == height) {
+			return null;
+		}
+
+		int maxY = height - 1;
+		while (maxY > minY) {
+			row.read(y + maxY);
+			final int first = row.indexOfVisible(0, width);
+			if (first != -1) {
+				minX = Math.min(minX, first);
+				maxX = Math.max(maxX, row.lastIndexOfVisible(first, width));
+				break;
+			}
+
+			maxY--;
+		}
+
+		// the rows in between can only extend the bounds horizontally
+		for (int rowY = minY + 1; rowY < maxY && (minX > 0 || maxX < width - 1); rowY++) {
+			row.read(y + rowY);
+			final int first = row.indexOfVisible(0, minX);
+			if (first != -1) {
+				minX = first;
+			}
+
+			final int last = row.lastIndexOfVisible(maxX + 1, width);
+			if (last != -1) {
+				maxX = last;
+			}
+		}
+
+		return new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+	}
+
 	/**
 	 * Crops a sub image from the specified image.
 	 *
@@ -301,6 +385,11 @@ public final class Imaging {
 			return null;
 		}
 
+		if (GraphicsEnvironment.isHeadless()) {
+			// there's no screen device to be compatible with
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+
 		if (graphicsConfig == null) {
 			final GraphicsEnvironment env = GraphicsEnvironment.getLocalGraphicsEnvironment();
 			final GraphicsDevice device = env.getDefaultScreenDevice();
@@ -546,4 +635,96 @@ public final class Imaging {
 		g.dispose();
 		return flippedSprite;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Reads the alpha values of a horizontal section of an image row by row.
+	 */
+	private static final class AlphaRow {
+		private static final int PACKED = 0;
+		private static final int INTERLEAVED = 1;
+		private static final int INDEXED = 2;
+		private static final int RGB = 3;
+
+		private final BufferedImage image;
+		private final Raster raster;
+		private final ColorModel colorModel;
+		private final int x;
+		private final int width;
+		private final int type;
+		private final int alphaMask;
+		private final int bands;
+		private final int[] rgb;
+		private Object data;
+
+		private AlphaRow(final BufferedImage image, final int x, final int width) {
+			this.image = image;
+			this.raster = image.getRaster();
+			this.colorModel = image.getColorModel();
+			this.x = x;
+			this.width = width;
+			this.bands = this.raster.getNumDataElements();
+
+			// Raster#getDataElements copies the samples without making the image unmanaged
+			// like a direct access to its data buffer would
+			final int transferType = this.raster.getTransferType();
+			if (this.colorModel instanceof DirectColorModel && transferType == DataBuffer.TYPE_INT) {
+				this.type = PACKED;
+				this.alphaMask = ((DirectColorModel) this.colorModel).getAlphaMask();
+			} else if (this.colorModel instanceof ComponentColorModel && transferType == DataBuffer.TYPE_BYTE) {
+				this.type = INTERLEAVED;
+				this.alphaMask = 0;
+			} else if (this.colorModel instanceof IndexColorModel && transferType == DataBuffer.TYPE_BYTE
+					&& this.bands == 1) {
+				this.type = INDEXED;
+				this.alphaMask = 0;
+			} else {
+				this.type = RGB;
+				this.alphaMask = 0;
+			}
+
+			this.rgb = this.type == RGB ? new int[width] : null;
+		}
+
+		private void read(final int y) {
+			if (this.type == RGB) {
+				this.image.getRGB(this.x, y, this.width, 1, this.rgb, 0, this.width);
+			} else {
+				this.data = this.raster.getDataElements(this.x, y, this.width, 1, this.data);
+			}
+		}
+
+		private int indexOfVisible(final int from, final int to) {
+			for (int i = from; i < to; i++) {
+				if (this.isVisible(i)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		private int lastIndexOfVisible(final int from, final int to) {
+			for (int i = to - 1; i >= from; i--) {
+				if (this.isVisible(i)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		private boolean isVisible(final int i) {
+			switch (this.type) {
+			case PACKED:
+				return (((int[]) this.data)[i] & this.alphaMask) != 0;
+			case INTERLEAVED:
+				// the alpha component is always the last one
+				return ((byte[]) this.data)[i * this.bands + this.bands - 1] != 0;
+			case INDEXED:
+				return ((IndexColorModel) this.colorModel).getAlpha(((byte[]) this.data)[i] & 0xff) != 0;
+			default:
+				return this.rgb[i] >>> 24 != 0;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -29,7 +29,7 @@ public class GeometricUtilities {
 		// 0 currently points EAST.
 		// NOTE: By preserving Y and X param order to atan2, we are expecting
 		// a CLOCKWISE angle direction.
-		final double theta = Math.atan2((float) (targetY - centerY), (float) (targetX - centerX));
+		final double theta = StrictMath.atan2((float) (targetY - centerY), (float) (targetX - centerX));
 
 		// convert from radians to degrees
 		// this will give you an angle from [0->270],[-180,0]
@@ -344,8 +344,8 @@ public class GeometricUtilities {
 	}
 
 	public static Point2D getPointOnCircle(final Point2D center, final double radius, final double angle) {
-		final double x = center.getX() + radius * Math.cos(Math.toRadians(angle));
-		final double y = center.getY() + radius * Math.sin(Math.toRadians(angle));
+		final double x = center.getX() + radius * StrictMath.cos(Math.toRadians(angle));
+		final double y = center.getY() + radius * StrictMath.sin(Math.toRadians(angle));
 
 		return new Point2D.Double(x, y);
 	}
@@ -583,11 +583,11 @@ public class GeometricUtilities {
 	}
 
 	public static double getXDelta(final double angle, final double delta) {
-		return Math.sin(Math.toRadians(angle)) * delta * 100 / 100.0;
+		return StrictMath.sin(Math.toRadians(angle)) * delta * 100 / 100.0;
 	}
 
 	public static double getYDelta(final double angle, final double delta) {
-		return Math.cos(Math.toRadians(angle)) * delta * 100 / 100.0;
+		return StrictMath.cos(Math.toRadians(angle)) * delta * 100 / 100.0;
 	}
 
 	/**
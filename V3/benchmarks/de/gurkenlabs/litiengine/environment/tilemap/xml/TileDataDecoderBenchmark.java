@@ -0,0 +1,162 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compares the {@code TileDataDecoder} with the former decoding of tile data
+ * for a layer of 1024x1024 tiles in every supported encoding.
+ * <p>
+ * The former path decoded base64 data through an inflating stream that was
+ * read byte by byte and split CSV data with a regular expression; both created
+ * a {@code Tile} for every cell. The decoder inflates the data directly into a
+ * buffer of the expected size and parses CSV data in a single pass, producing
+ * only the grid ids.
+ * </p>
+ */
+public final class TileDataDecoderBenchmark {
+	private static final int SIZE = 1024;
+	private static final int ROUNDS = 6;
+	private static final int WARMUP_ROUNDS = 3;
+
+	private TileDataDecoderBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		final Random random = new Random(2);
+		final int[] gids = new int[SIZE * SIZE];
+		for (int i = 0; i < gids.length; i++) {
+			gids[i] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(400);
+			if (random.nextInt(50) == 0) {
+				// flipped horizontally
+				gids[i] |= 0x80000000;
+			}
+		}
+
+		final String[] compressions = { TileData.COMPRESSION_ZLIB, TileData.COMPRESSION_GZIP, null };
+		for (final String compression : compressions) {
+			final String value = encodeBase64(gids, compression);
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				final List<Tile> tiles = decodeBase64WithStreams(value, compression);
+				final long streamTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				final int[] decoded = TileDataDecoder.decodeBase64(value, compression, gids.length);
+				final long decoderTime = System.nanoTime() - start;
+
+				verify(gids, decoded, tiles);
+				if (round >= WARMUP_ROUNDS) {
+					print(compression != null ? compression : "uncompressed", streamTime, decoderTime);
+				}
+			}
+		}
+
+		final String csv = encodeCsv(gids);
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			final List<Tile> tiles = decodeCsvWithSplit(csv);
+			final long splitTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			final int[] decoded = TileDataDecoder.decodeCsv(csv);
+			final long decoderTime = System.nanoTime() - start;
+
+			verify(gids, decoded, tiles);
+			if (round >= WARMUP_ROUNDS) {
+				print("csv", splitTime, decoderTime);
+			}
+		}
+	}
+
+	private static void print(String encoding, long formerTime, long decoderTime) {
+		System.out.printf("%s: former %.1f ms, decoder %.1f ms%n", encoding, formerTime / 1e6, decoderTime / 1e6);
+	}
+
+	private static void verify(int[] expected, int[] decoded, List<Tile> tiles) {
+		if (!Arrays.equals(expected, decoded) || tiles.size() != expected.length) {
+			throw new IllegalStateException("the decoded tile data doesn't match");
+		}
+	}
+
+	private static String encodeBase64(int[] gids, String compression) throws IOException {
+		final ByteBuffer data = ByteBuffer.allocate(gids.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		data.asIntBuffer().put(gids);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream out = bytes;
+		if (TileData.COMPRESSION_ZLIB.equals(compression)) {
+			out = new DeflaterOutputStream(bytes);
+		} else if (TileData.COMPRESSION_GZIP.equals(compression)) {
+			out = new GZIPOutputStream(bytes);
+		}
+
+		try (OutputStream stream = out) {
+			stream.write(data.array());
+		}
+
+		// like the tmx files written by Tiled, with the value on its own line
+		return "\n   " + Base64.getMimeEncoder().encodeToString(bytes.toByteArray()) + "\n  ";
+	}
+
+	private static String encodeCsv(int[] gids) {
+		final StringBuilder csv = new StringBuilder("\n");
+		for (int i = 0; i < gids.length; i++) {
+			csv.append(Integer.toUnsignedString(gids[i]));
+			if (i < gids.length - 1) {
+				csv.append(',');
+			}
+
+			if (i % SIZE == SIZE - 1) {
+				csv.append('\n');
+			}
+		}
+
+		return csv.toString();
+	}
+
+	private static List<Tile> decodeBase64WithStreams(String value, String compression) throws IOException {
+		final byte[] data = Base64.getMimeDecoder().decode(value.trim());
+		final List<Tile> tiles = new ArrayList<>();
+		InputStream in = new ByteArrayInputStream(data);
+		if (TileData.COMPRESSION_ZLIB.equals(compression)) {
+			in = new InflaterInputStream(in);
+		} else if (TileData.COMPRESSION_GZIP.equals(compression)) {
+			in = new GZIPInputStream(in, data.length);
+		}
+
+		try (InputStream stream = in) {
+			int read;
+			while ((read = stream.read()) != -1) {
+				final int gid = read | stream.read() << 8 | stream.read() << 16 | stream.read() << 24;
+				tiles.add(gid == Tile.NONE ? Tile.EMPTY : new Tile(gid));
+			}
+		}
+
+		return tiles;
+	}
+
+	private static List<Tile> decodeCsvWithSplit(String value) {
+		final List<Tile> tiles = new ArrayList<>();
+		for (final String gid : value.trim().split("[\\s]*,[\\s]*")) {
+			final int tileId = Integer.parseUnsignedInt(gid);
+			tiles.add(tileId == Tile.NONE ? Tile.EMPTY : new Tile(tileId));
+		}
+
+		return tiles;
+	}
+}
@@ -0,0 +1,101 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import de.gurkenlabs.litiengine.util.ArrayUtilities;
+import de.gurkenlabs.litiengine.util.io.CompressionUtilities;
+import de.gurkenlabs.litiengine.util.io.Serializer;
+
+/**
+ * Compares the binary message codecs with the former Java serialization path
+ * for small position updates, the most frequent messages of a networked game.
+ * <p>
+ * The former path serialized the message, prefixed it with a 7 byte length
+ * header and compressed every packet; the receiver decompressed and
+ * deserialized it. The current path writes the fields with a
+ * {@code MessageCodec} and only compresses large bodies.
+ * </p>
+ */
+public final class MessagePacketBenchmark {
+	private static final int MESSAGES = 200_000;
+	private static final int ROUNDS = 5;
+	private static final MessageType POSITION = new MessageType("POSITION", (byte) 30);
+
+	private MessagePacketBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		MessageCodecs.register(16, PositionMessage.class, PositionMessage.CODEC);
+
+		long sink = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			int serializedSize = 0;
+			for (int i = 0; i < MESSAGES; i++) {
+				final byte[] data = writeSerialized(new PositionMessage(i, i * 0.5f, i * 0.25f));
+				serializedSize = data.length;
+				sink += readSerialized(data).id;
+			}
+
+			final long serializedTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			int codecSize = 0;
+			for (int i = 0; i < MESSAGES; i++) {
+				final byte[] data = new MessagePacket<>(POSITION, new PositionMessage(i, i * 0.5f, i * 0.25f)).getData();
+				codecSize = data.length;
+				sink += new MessagePacket<PositionMessage>(MessagePacket.unwrap(data)).getObject().id;
+			}
+
+			final long codecTime = System.nanoTime() - start;
+			System.out.printf("serialization: %d bytes, %.2f us/message | codec: %d bytes, %.2f us/message%n", serializedSize,
+					serializedTime / 1000.0 / MESSAGES, codecSize, codecTime / 1000.0 / MESSAGES);
+		}
+
+		System.out.println("checksum " + sink);
+	}
+
+	private static byte[] writeSerialized(PositionMessage message) {
+		final byte[] serializedObject = Serializer.serialize(message);
+		final byte[] objectSize = ByteBuffer.allocate(7).putInt(serializedObject.length).array();
+		final byte[] data = ArrayUtilities.arrayConcat(new byte[] { POSITION.getId() },
+				ArrayUtilities.arrayConcat(objectSize, serializedObject));
+		return CompressionUtilities.compress(data);
+	}
+
+	private static PositionMessage readSerialized(byte[] data) {
+		final byte[] content = CompressionUtilities.decompress(data);
+		final int size = ByteBuffer.wrap(content, 1, 7).getInt();
+		return (PositionMessage) Serializer.deserialize(Arrays.copyOfRange(content, 8, 8 + size));
+	}
+
+	static final class PositionMessage implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		static final MessageCodec<PositionMessage> CODEC = new MessageCodec<PositionMessage>() {
+			@Override
+			public void write(PositionMessage message, MessageWriter writer) {
+				writer.writeVarInt(message.id);
+				writer.writeFloat(message.x);
+				writer.writeFloat(message.y);
+			}
+
+			@Override
+			public PositionMessage read(MessageReader reader) {
+				return new PositionMessage(reader.readVarInt(), reader.readFloat(), reader.readFloat());
+			}
+		};
+
+		private final int id;
+		private final float x;
+		private final float y;
+
+		PositionMessage(int id, float x, float y) {
+			this.id = id;
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
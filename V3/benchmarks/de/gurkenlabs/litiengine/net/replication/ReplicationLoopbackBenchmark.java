@@ -0,0 +1,151 @@
+package de.gurkenlabs.litiengine.net.replication;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.MapArea;
+import de.gurkenlabs.litiengine.net.IIncomingPacketObserver;
+import de.gurkenlabs.litiengine.net.UdpPacketReceiver;
+import de.gurkenlabs.litiengine.net.UdpPacketSender;
+import de.gurkenlabs.litiengine.net.messages.IMessageHandler;
+import de.gurkenlabs.litiengine.net.messages.MessagePacket;
+import de.gurkenlabs.litiengine.net.messages.MessageType;
+import de.gurkenlabs.litiengine.net.messages.handlers.MessageHandlerProvider;
+import de.gurkenlabs.litiengine.net.server.ClientConnection;
+
+/**
+ * Replicates 100 moving entities from a {@code ReplicationServer} to a
+ * {@code ReplicationClient} over UDP on the loopback interface, without a game
+ * window or an environment.
+ * <p>
+ * The server is updated at 60 Hz for ten seconds and the client acknowledges
+ * every snapshot it receives. The harness reports the bandwidth, the time per
+ * server update and the largest difference between the last received snapshot
+ * and the server state of the same tick, which is bounded by the position
+ * quantization. With the default bandwidth budget, the server skips some ticks,
+ * so fewer snapshots than ticks are received.
+ * </p>
+ */
+public final class ReplicationLoopbackBenchmark {
+	private static final int ENTITIES = 100;
+	private static final int UPDATE_RATE = 60;
+	private static final int TICKS = UPDATE_RATE * 10;
+	private static final int WORLD_SIZE = 2048;
+
+	private ReplicationLoopbackBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		final InetAddress loopback = InetAddress.getLoopbackAddress();
+		final DatagramSocket serverSocket = new DatagramSocket(0, loopback);
+		final DatagramSocket clientSocket = new DatagramSocket(0, loopback);
+		final Endpoint serverEndpoint = new Endpoint();
+		final Endpoint clientEndpoint = new Endpoint();
+		final UdpPacketReceiver serverReceiver = listen(serverSocket, serverEndpoint);
+		final UdpPacketReceiver clientReceiver = listen(clientSocket, clientEndpoint);
+
+		final Random random = new Random(1);
+		final List<IEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITIES; i++) {
+			final MapArea entity = new MapArea(random.nextInt(WORLD_SIZE), random.nextInt(WORLD_SIZE), 16, 16);
+			entity.setMapId(i + 1);
+			entities.add(entity);
+		}
+
+		final ReplicationServer server = new ReplicationServer(new UdpPacketSender(), serverEndpoint, () -> entities);
+		final ClientConnection connection = new ClientConnection(loopback, clientSocket.getLocalPort(), "benchmark");
+		server.addClient(connection);
+
+		final int clientId = connection.getId();
+		final ReplicationClient client = new ReplicationClient(clientId, clientEndpoint, new UdpPacketSender(),
+				loopback, serverSocket.getLocalPort());
+		client.setApplySnapshots(false);
+		final AtomicInteger received = new AtomicInteger();
+		final AtomicReference<Snapshot> latest = new AtomicReference<>();
+		client.onSnapshotReceived(snapshot -> {
+			received.incrementAndGet();
+			latest.set(snapshot);
+		});
+
+		final long interval = 1_000_000_000L / UPDATE_RATE;
+		long updateTime = 0;
+		long next = System.nanoTime();
+		for (int tick = 0; tick < TICKS; tick++) {
+			for (final IEntity entity : entities) {
+				final double dx = random.nextDouble() * 4 - 2;
+				final double dy = random.nextDouble() * 4 - 2;
+				entity.setLocation(entity.getX() + dx, entity.getY() + dy);
+			}
+
+			final long start = System.nanoTime();
+			server.update();
+			updateTime += System.nanoTime() - start;
+
+			next += interval;
+			final long sleep = next - System.nanoTime();
+			if (sleep > 0) {
+				Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+			}
+		}
+
+		// let the last packets arrive
+		Thread.sleep(200);
+
+		final Snapshot last = latest.get();
+		double maxError = Double.NaN;
+		if (last != null) {
+			final Snapshot expected = server.getSnapshots().get(last.getTick());
+			maxError = 0;
+			for (final EntityState state : last.getStates()) {
+				final EntityState original = expected.get(state.getMapId());
+				maxError = Math.max(maxError, Math.abs(state.getX() - original.getX()));
+				maxError = Math.max(maxError, Math.abs(state.getY() - original.getY()));
+			}
+		}
+
+		final double seconds = TICKS / (double) UPDATE_RATE;
+		System.out.printf("%d entities, %d ticks: %d snapshots received, %.1f KiB/s, %.1f us/update, max error %.4f%n",
+				ENTITIES, TICKS, received.get(), server.getBytesSent(clientId) / 1024.0 / seconds,
+				updateTime / 1000.0 / TICKS, maxError);
+
+		serverReceiver.terminate();
+		clientReceiver.terminate();
+	}
+
+	private static UdpPacketReceiver listen(final DatagramSocket socket, final Endpoint endpoint) {
+		final UdpPacketReceiver receiver = new UdpPacketReceiver(socket);
+		receiver.registerForIncomingPackets(endpoint);
+		receiver.setDaemon(true);
+		receiver.start();
+		return receiver;
+	}
+
+	/**
+	 * Dispatches the received packets to the registered message handlers, just
+	 * like the {@code UdpServer} does.
+	 */
+	private static final class Endpoint extends MessageHandlerProvider implements IIncomingPacketObserver {
+		@Override
+		public void packetReceived(final byte[] data, final InetAddress address, final int port) {
+			final byte[] body = MessagePacket.unwrap(data);
+			if (body.length == 0) {
+				return;
+			}
+
+			for (final IMessageHandler handler : this.getMessageHanders(MessageType.get(body[0]))) {
+				handler.handle(body, address, port);
+			}
+		}
+
+		@Override
+		protected void initializeHandlers() {
+			// the replication server and client register their own handlers
+		}
+	}
+}
@@ -63,6 +63,9 @@ public class Gatekeeper extends Creature {
 						this.requiredSlaves, (this.requiredSlaves > 1 ? "s" : ""));
 				if (GameManager.getOwnSlaveCount() >= this.getRequiredSlaves()) {
 					this.setTransitioning(true);
+
+					// build the next level while the speech bubble is displayed
+					Game.world().prefetch(this.getNextLevel());
 					text = String.format("WELL DONE! Now I can take you to %s.",
 							GameManager.getCity(this.getNextLevel()));
 					if (this.getNextLevel().equals("end")) {
@@ -43,6 +43,7 @@ public class MenuScreen extends Screen implements IUpdateable {
 
 	public MenuScreen() {
 		super("MENU");
+		this.setRetainedRendering(true);
 	}
 
 	private void exit() {